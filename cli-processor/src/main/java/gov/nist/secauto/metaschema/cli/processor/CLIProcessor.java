@@ -199,8 +199,23 @@ public class CLIProcessor {
     }
   }
 
+  /**
+   * Get the stream to write help and version information to.
+   * <p>
+   * This is the current standard output, which is the ANSI console once the
+   * console is installed. Using standard output allows this information to
+   * follow any redirection of standard output, such as when commands are run on
+   * behalf of a client.
+   *
+   * @return the stream
+   */
+  @NonNull
+  protected static PrintStream getOutputStream() {
+    return ObjectUtils.notNull(System.out);
+  }
+
   protected void showVersion() {
-    @SuppressWarnings("resource") PrintStream out = AnsiConsole.out(); // NOPMD - not owner
+    @SuppressWarnings("resource") PrintStream out = getOutputStream(); // NOPMD - not owner
     getVersionInfos().values().stream().forEach(info -> {
       out.println(ansi()
           .bold().a(info.getName()).boldOff()
@@ -577,8 +592,10 @@ public class CLIProcessor {
       HelpFormatter formatter = new HelpFormatter();
       formatter.setLongOptSeparator("=");
 
-      AnsiPrintStream out = AnsiConsole.out();
-      int terminalWidth = Math.max(out.getTerminalWidth(), 40);
+      @SuppressWarnings("resource") PrintStream out = getOutputStream(); // NOPMD - not owner
+      int terminalWidth = Math.max(
+          out instanceof AnsiPrintStream ? ((AnsiPrintStream) out).getTerminalWidth() : 0,
+          40);
 
       @SuppressWarnings("resource") PrintWriter writer = new PrintWriter( // NOPMD not owned
           out,
@@ -39,7 +39,7 @@ public abstract class AbstractIntegerAdapter<ITEM_TYPE extends IIntegerItem>
 
   @Override
   public BigInteger parse(String value) {
-    return new BigInteger(value);
+    return LexicalParsers.parseInteger(value);
   }
 
   @Override
@@ -18,10 +18,6 @@ import gov.nist.secauto.metaschema.core.metapath.item.atomic.IStringItem;
 import gov.nist.secauto.metaschema.core.metapath.item.atomic.IUntypedAtomicItem;
 import gov.nist.secauto.metaschema.core.util.ObjectUtils;
 
-import java.time.LocalDateTime;
-import java.time.ZoneOffset;
-import java.time.ZonedDateTime;
-import java.time.format.DateTimeParseException;
 import java.util.List;
 
 import javax.xml.namespace.QName;
@@ -51,21 +47,10 @@ public class DateTimeAdapter
     return JsonFormatTypes.STRING;
   }
 
-  @SuppressWarnings("null")
   @Override
   public DateTime parse(String value) {
-    try {
-      return new DateTime(ZonedDateTime.from(DateFormats.DATE_TIME_WITH_TZ.parse(value)), true); // NOPMD - readability
-    } catch (DateTimeParseException ex) {
-      try {
-        LocalDateTime dateTime = LocalDateTime.from(DateFormats.DATE_TIME_WITHOUT_TZ.parse(value));
-        return new DateTime(ZonedDateTime.of(dateTime, ZoneOffset.UTC), false);
-      } catch (DateTimeParseException ex2) {
-        IllegalArgumentException newEx = new IllegalArgumentException(ex2.getLocalizedMessage(), ex2);
-        newEx.addSuppressed(ex);
-        throw newEx; // NOPMD - it's ok
-      }
-    }
+    LexicalParsers.Temporal dateTime = LexicalParsers.parseDateTime(value);
+    return new DateTime(dateTime.toZonedDateTime(), dateTime.hasTimeZone());
   }
 
   @Override
@@ -13,7 +13,6 @@ import gov.nist.secauto.metaschema.core.metapath.item.atomic.IDateTimeItem;
 import gov.nist.secauto.metaschema.core.util.ObjectUtils;
 
 import java.time.ZonedDateTime;
-import java.time.format.DateTimeParseException;
 import java.util.List;
 
 import javax.xml.namespace.QName;
@@ -43,14 +42,14 @@ public class DateTimeWithTZAdapter
     return JsonFormatTypes.STRING;
   }
 
-  @SuppressWarnings("null")
   @Override
   public ZonedDateTime parse(String value) {
-    try {
-      return ZonedDateTime.from(DateFormats.DATE_TIME_WITH_TZ.parse(value));
-    } catch (DateTimeParseException ex) {
-      throw new IllegalArgumentException(ex.getLocalizedMessage(), ex);
+    LexicalParsers.Temporal dateTime = LexicalParsers.parseDateTime(value);
+    if (!dateTime.hasTimeZone()) {
+      throw new IllegalArgumentException(
+          String.format("Text '%s' could not be parsed at index %d", value, value.length()));
     }
+    return dateTime.toZonedDateTime();
   }
 
   @SuppressWarnings("null")
@@ -13,10 +13,7 @@ import gov.nist.secauto.metaschema.core.metapath.item.atomic.IDateItem;
 import gov.nist.secauto.metaschema.core.util.ObjectUtils;
 
 import java.time.ZonedDateTime;
-import java.time.format.DateTimeParseException;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import javax.xml.namespace.QName;
 
@@ -28,13 +25,6 @@ public class DateWithTZAdapter
   private static final List<QName> NAMES = ObjectUtils.notNull(
       List.of(
           new QName(MetapathConstants.NS_METAPATH.toASCIIString(), "date-with-timezone")));
-  private static final Pattern DATE_TIMEZONE = Pattern.compile("^("
-      + "^(?:(?:2000|2400|2800|(?:19|2[0-9](?:0[48]|[2468][048]|[13579][26])))-02-29)"
-      + "|(?:(?:(?:19|2[0-9])[0-9]{2})-02-(?:0[1-9]|1[0-9]|2[0-8]))"
-      + "|(?:(?:(?:19|2[0-9])[0-9]{2})-(?:0[13578]|10|12)-(?:0[1-9]|[12][0-9]|3[01]))"
-      + "|(?:(?:(?:19|2[0-9])[0-9]{2})-(?:0[469]|11)-(?:0[1-9]|[12][0-9]|30))"
-      + ")"
-      + "(Z|[+-][0-9]{2}:[0-9]{2})$");
 
   DateWithTZAdapter() {
     super(ZonedDateTime.class);
@@ -50,19 +40,13 @@ public class DateWithTZAdapter
     return JsonFormatTypes.STRING;
   }
 
-  @SuppressWarnings("null")
   @Override
   public ZonedDateTime parse(String value) {
-    Matcher matcher = DATE_TIMEZONE.matcher(value);
-    if (!matcher.matches()) {
+    LexicalParsers.Temporal date = LexicalParsers.parseDate(value);
+    if (!date.hasTimeZone()) {
       throw new IllegalArgumentException("Invalid date: " + value);
     }
-    String parseValue = String.format("%sT00:00:00%s", matcher.group(1), matcher.group(2));
-    try {
-      return ZonedDateTime.from(DateFormats.DATE_TIME_WITH_TZ.parse(parseValue));
-    } catch (DateTimeParseException ex) {
-      throw new IllegalArgumentException(ex.getLocalizedMessage(), ex);
-    }
+    return date.toZonedDateTime();
   }
 
   @SuppressWarnings("null")
@@ -52,7 +52,7 @@ public class DecimalAdapter
 
   @Override
   public BigDecimal parse(String value) {
-    return new BigDecimal(value, MATH_CONTEXT);
+    return LexicalParsers.parseDecimal(value, MATH_CONTEXT.getPrecision(), str -> new BigDecimal(str, MATH_CONTEXT));
   }
 
   @Override
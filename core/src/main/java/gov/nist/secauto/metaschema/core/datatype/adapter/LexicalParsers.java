@@ -0,0 +1,407 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.core.datatype.adapter;
+
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+import java.util.function.Function;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+/**
+ * Single-pass parsers for the lexical forms of the date, date-time, UUID,
+ * integer, and decimal data types.
+ * <p>
+ * These parsers avoid regular expressions and do not use exceptions for
+ * control flow. An {@link IllegalArgumentException} is thrown only when a value
+ * is invalid. Where a value does not use the common lexical form, the integer,
+ * decimal, and UUID parsers fall back to the standard Java parsers, so the
+ * accepted values are unchanged.
+ */
+final class LexicalParsers {
+  /**
+   * The maximum number of digits that always fit in a {@code long}.
+   */
+  private static final int MAX_LONG_DIGITS = 18;
+  private static final int UUID_LENGTH = 36;
+  private static final int NANO_DIGITS = 9;
+  private static final int MAX_OFFSET_HOURS = 18;
+
+  private LexicalParsers() {
+    // disable construction
+  }
+
+  /**
+   * Parse a date-time value, with an optional time zone, using the form
+   * {@code yyyy-MM-dd'T'HH:mm:ss[.fraction][zone]}.
+   * <p>
+   * Like the previously used {@link java.time.format.ResolverStyle#SMART}
+   * formatter, a day of month past the end of the month is adjusted to the last
+   * day of the month, and a time of {@code 24:00:00} is the start of the next
+   * day.
+   *
+   * @param value
+   *          the text to parse
+   * @return the parsed date-time
+   * @throws IllegalArgumentException
+   *           if the value is not a valid date-time
+   */
+  @NonNull
+  static Temporal parseDateTime(@NonNull String value) {
+    Scanner scanner = new Scanner(value);
+    int year = scanner.digits(4);
+    scanner.expect('-');
+    int month = scanner.digits(2);
+    scanner.expect('-');
+    int day = scanner.digits(2);
+    scanner.expect('T');
+    int hour = scanner.digits(2);
+    scanner.expect(':');
+    int minute = scanner.digits(2);
+    scanner.expect(':');
+    int second = scanner.digits(2);
+    int nano = 0;
+    if (scanner.peek('.')) {
+      nano = scanner.fraction();
+    }
+    ZoneOffset offset = scanner.offset();
+    scanner.end();
+
+    scanner.checkRange("YearOfEra", year, 1, 9999);
+    scanner.checkRange("MonthOfYear", month, 1, 12);
+    scanner.checkRange("DayOfMonth", day, 1, 31);
+    scanner.checkRange("HourOfDay", hour, 0, 24);
+    scanner.checkRange("MinuteOfHour", minute, 0, 59);
+    scanner.checkRange("SecondOfMinute", second, 0, 59);
+
+    boolean endOfDay = hour == 24;
+    if (endOfDay && (minute != 0 || second != 0 || nano != 0)) {
+      throw scanner.invalidValue("HourOfDay", hour, 0, 23);
+    }
+
+    // adjust the day to the end of a short month
+    int effectiveDay = Math.min(day, YearMonth.of(year, month).lengthOfMonth());
+    LocalDateTime dateTime = LocalDateTime.of(year, month, effectiveDay, endOfDay ? 0 : hour, minute, second, nano);
+    if (endOfDay) {
+      dateTime = dateTime.plusDays(1);
+    }
+    return new Temporal(ObjectUtils.notNull(dateTime), offset);
+  }
+
+  /**
+   * Parse a date value, with an optional time zone, using the form
+   * {@code yyyy-MM-dd[zone]}.
+   * <p>
+   * Consistent with the date data type, the year must be between 1900 and 2999
+   * and the day must exist in the month.
+   *
+   * @param value
+   *          the text to parse
+   * @return the parsed date, at the start of the day
+   * @throws IllegalArgumentException
+   *           if the value is not a valid date
+   */
+  @NonNull
+  static Temporal parseDate(@NonNull String value) {
+    Scanner scanner = new Scanner(value);
+    int year = scanner.digits(4);
+    scanner.expect('-');
+    int month = scanner.digits(2);
+    scanner.expect('-');
+    int day = scanner.digits(2);
+    ZoneOffset offset = scanner.offset();
+    scanner.end();
+
+    if (year < 1900 || year > 2999
+        || month < 1 || month > 12
+        || day < 1 || day > YearMonth.of(year, month).lengthOfMonth()) {
+      throw new IllegalArgumentException("Invalid date: " + value);
+    }
+    return new Temporal(ObjectUtils.notNull(LocalDate.of(year, month, day).atStartOfDay()), offset);
+  }
+
+  /**
+   * Parse a UUID value.
+   *
+   * @param value
+   *          the text to parse
+   * @return the parsed UUID
+   * @throws IllegalArgumentException
+   *           if the value is not a valid UUID
+   */
+  @NonNull
+  static UUID parseUuid(@NonNull String value) {
+    UUID retval = null;
+    if (value.length() == UUID_LENGTH
+        && value.charAt(8) == '-'
+        && value.charAt(13) == '-'
+        && value.charAt(18) == '-'
+        && value.charAt(23) == '-') {
+      long mostSigBits = hex(value, 0, 8);
+      long mid = hex(value, 9, 13);
+      long high = hex(value, 14, 18);
+      long leastHigh = hex(value, 19, 23);
+      long leastLow = hex(value, 24, 36);
+      if (mostSigBits >= 0 && mid >= 0 && high >= 0 && leastHigh >= 0 && leastLow >= 0) {
+        retval = new UUID(
+            mostSigBits << 32 | mid << 16 | high,
+            leastHigh << 48 | leastLow);
+      }
+    }
+    // fall back to the lenient standard parser for any other form
+    return retval == null ? ObjectUtils.notNull(UUID.fromString(value)) : retval;
+  }
+
+  /**
+   * Parse an integer value.
+   *
+   * @param value
+   *          the text to parse
+   * @return the parsed integer
+   * @throws NumberFormatException
+   *           if the value is not a valid integer
+   */
+  @NonNull
+  static BigInteger parseInteger(@NonNull String value) {
+    int length = value.length();
+    int start = length > 0 && (value.charAt(0) == '-' || value.charAt(0) == '+') ? 1 : 0;
+    BigInteger retval = null;
+    if (length > start && length - start <= MAX_LONG_DIGITS) {
+      long result = 0;
+      int index = start;
+      for (; index < length; index++) {
+        char ch = value.charAt(index);
+        if (ch < '0' || ch > '9') {
+          break;
+        }
+        result = result * 10 + ch - '0';
+      }
+      if (index == length) {
+        retval = BigInteger.valueOf(value.charAt(0) == '-' ? -result : result);
+      }
+    }
+    return retval == null ? new BigInteger(value) : retval;
+  }
+
+  /**
+   * Parse a decimal value.
+   *
+   * @param value
+   *          the text to parse
+   * @param precision
+   *          the maximum number of digits that do not need to be rounded
+   * @param parser
+   *          the parser used for values that are not a plain decimal within the
+   *          precision
+   * @return the parsed decimal
+   * @throws NumberFormatException
+   *           if the value is not a valid decimal
+   */
+  @NonNull
+  static BigDecimal parseDecimal(
+      @NonNull String value,
+      int precision,
+      @NonNull Function<String, BigDecimal> parser) {
+    int length = value.length();
+    int start = length > 0 && (value.charAt(0) == '-' || value.charAt(0) == '+') ? 1 : 0;
+    BigDecimal retval = null;
+    if (length > start && length - start <= Math.min(precision, MAX_LONG_DIGITS) + 1) {
+      long unscaled = 0;
+      int digits = 0;
+      int scale = 0;
+      boolean sawPoint = false;
+      int index = start;
+      for (; index < length; index++) {
+        char ch = value.charAt(index);
+        if (ch >= '0' && ch <= '9') {
+          unscaled = unscaled * 10 + ch - '0';
+          digits++;
+          if (sawPoint) {
+            scale++;
+          }
+        } else if (ch == '.' && !sawPoint) {
+          sawPoint = true;
+        } else {
+          break;
+        }
+      }
+      if (index == length && digits > 0 && digits <= precision) {
+        retval = BigDecimal.valueOf(value.charAt(0) == '-' ? -unscaled : unscaled, scale);
+      }
+    }
+    return retval == null ? ObjectUtils.notNull(parser.apply(value)) : retval;
+  }
+
+  /**
+   * Parse the hexadecimal digits in the range.
+   *
+   * @return the value, or {@code -1} if a character is not a hexadecimal digit
+   */
+  private static long hex(@NonNull String value, int start, int end) {
+    long retval = 0;
+    for (int index = start; index < end; index++) {
+      int digit = Character.digit(value.charAt(index), 16);
+      if (digit < 0) {
+        retval = -1;
+        break;
+      }
+      retval = retval << 4 | digit;
+    }
+    return retval;
+  }
+
+  /**
+   * A parsed date or date-time, with an optional time zone offset.
+   */
+  static final class Temporal {
+    @NonNull
+    private final LocalDateTime dateTime;
+    @Nullable
+    private final ZoneOffset offset;
+
+    private Temporal(@NonNull LocalDateTime dateTime, @Nullable ZoneOffset offset) {
+      this.dateTime = dateTime;
+      this.offset = offset;
+    }
+
+    /**
+     * Determine if the value had a time zone.
+     *
+     * @return {@code true} if a time zone was provided, or {@code false}
+     *         otherwise
+     */
+    boolean hasTimeZone() {
+      return offset != null;
+    }
+
+    /**
+     * Get the value using its time zone, or UTC if no time zone was provided.
+     *
+     * @return the value
+     */
+    @NonNull
+    ZonedDateTime toZonedDateTime() {
+      return ObjectUtils.notNull(ZonedDateTime.of(dateTime, offset == null ? ZoneOffset.UTC : offset));
+    }
+  }
+
+  private static final class Scanner {
+    @NonNull
+    private final String text;
+    private int index;
+
+    private Scanner(@NonNull String text) {
+      this.text = text;
+    }
+
+    private boolean peek(char ch) {
+      return index < text.length() && text.charAt(index) == ch;
+    }
+
+    private void expect(char ch) {
+      if (!peek(ch)) {
+        throw parseError();
+      }
+      index++;
+    }
+
+    private int digits(int count) {
+      int retval = 0;
+      for (int i = 0; i < count; i++) {
+        char ch = index < text.length() ? text.charAt(index) : 0;
+        if (ch < '0' || ch > '9') {
+          throw parseError();
+        }
+        retval = retval * 10 + ch - '0';
+        index++;
+      }
+      return retval;
+    }
+
+    /**
+     * Parse a fraction of a second, starting at the decimal point.
+     *
+     * @return the fraction in nanoseconds
+     */
+    private int fraction() {
+      expect('.');
+      int retval = 0;
+      int count = 0;
+      while (index < text.length() && count < NANO_DIGITS) {
+        char ch = text.charAt(index);
+        if (ch < '0' || ch > '9') {
+          break;
+        }
+        retval = retval * 10 + ch - '0';
+        count++;
+        index++;
+      }
+      for (; count < NANO_DIGITS; count++) {
+        retval *= 10;
+      }
+      return retval;
+    }
+
+    @Nullable
+    private ZoneOffset offset() {
+      ZoneOffset retval = null;
+      if (peek('Z')) {
+        index++;
+        retval = ZoneOffset.UTC;
+      } else if (peek('+') || peek('-')) {
+        int sign = text.charAt(index++) == '-' ? -1 : 1;
+        int hours = digits(2);
+        expect(':');
+        int minutes = digits(2);
+        if (minutes > 59 || hours > MAX_OFFSET_HOURS || hours == MAX_OFFSET_HOURS && minutes > 0) {
+          throw new IllegalArgumentException(
+              String.format("Text '%s' could not be parsed: Zone offset not in valid range: -18:00 to +18:00",
+                  text));
+        }
+        retval = ZoneOffset.ofHoursMinutes(sign * hours, sign * minutes);
+      }
+      return retval;
+    }
+
+    private void end() {
+      if (index != text.length()) {
+        throw parseError();
+      }
+    }
+
+    private void checkRange(@NonNull String field, int value, int min, int max) {
+      if (value < min || value > max) {
+        throw invalidValue(field, value, min, max);
+      }
+    }
+
+    @NonNull
+    private IllegalArgumentException invalidValue(@NonNull String field, int value, int min, int max) {
+      return new IllegalArgumentException(
+          String.format("Text '%s' could not be parsed: Invalid value for %s (valid values %d - %d): %d",
+              text,
+              field,
+              min,
+              max,
+              value));
+    }
+
+    @NonNull
+    private IllegalArgumentException parseError() {
+      return new IllegalArgumentException(
+          String.format("Text '%s' could not be parsed at index %d", text, index));
+    }
+  }
+}
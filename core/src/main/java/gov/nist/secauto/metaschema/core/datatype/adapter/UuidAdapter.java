@@ -42,10 +42,9 @@ public class UuidAdapter
     return JsonFormatTypes.STRING;
   }
 
-  @SuppressWarnings("null")
   @Override
   public UUID parse(String value) {
-    return UUID.fromString(value);
+    return LexicalParsers.parseUuid(value);
   }
 
   @Override
@@ -39,6 +39,7 @@ import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
@@ -65,8 +66,29 @@ public abstract class AbstractMarkupString<TYPE extends AbstractMarkupString<TYP
   // @NonNull
   // private static final String DEFAULT_HTML_PREFIX = "";
 
-  @NonNull
-  private final Document document;
+  /**
+   * The parsed AST graph, or {@code null} if the markup has not been parsed yet.
+   */
+  @Nullable
+  private volatile Document document;
+  /**
+   * Produces the AST graph on first use. This is released once the markup is
+   * parsed, allowing the source text to be collected.
+   */
+  @Nullable
+  private Supplier<Document> documentParser;
+  /**
+   * Cached rendering using the default formatter, or {@code null} if not
+   * rendered or the cache was invalidated.
+   */
+  @Nullable
+  private volatile String markdown;
+  /**
+   * Cached HTML rendering, or {@code null} if not rendered or the cache was
+   * invalidated.
+   */
+  @Nullable
+  private volatile String html;
 
   /**
    * Construct a new markup string based on the provided flexmark AST graph.
@@ -78,14 +100,90 @@ public abstract class AbstractMarkupString<TYPE extends AbstractMarkupString<TYP
     this.document = document;
   }
 
+  /**
+   * Construct a new markup string that is parsed on first use.
+   * <p>
+   * This avoids building and retaining the AST graph for markup that is never
+   * inspected or rendered.
+   *
+   * @param documentParser
+   *          produces the AST graph representing Markdown text
+   */
+  protected AbstractMarkupString(@NonNull Supplier<Document> documentParser) {
+    this.documentParser = documentParser;
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Since the caller may modify the returned graph, any cached renderings are
+   * discarded.
+   */
   @Override
   public Document getDocument() {
-    return document;
+    Document retval = document();
+    invalidateRenderings();
+    return retval;
+  }
+
+  /**
+   * Get the AST graph, parsing the markup if needed, without invalidating cached
+   * renderings.
+   *
+   * @return the AST graph
+   */
+  @NonNull
+  private Document document() {
+    Document retval = document;
+    if (retval == null) {
+      synchronized (this) {
+        retval = document;
+        if (retval == null) {
+          Supplier<Document> parser = documentParser;
+          assert parser != null;
+          retval = ObjectUtils.notNull(parser.get());
+          document = retval;
+          documentParser = null;
+        }
+      }
+    }
+    return retval;
+  }
+
+  /**
+   * Get a parser that produces a new AST graph with the same content as this
+   * markup, which is used to create an independent copy.
+   * <p>
+   * If this markup has not been parsed yet, its source is parsed again.
+   * Otherwise, the markdown rendering of the current graph is parsed, so that
+   * any changes made to the graph are reflected in the copy.
+   *
+   * @return the parser
+   */
+  @SuppressWarnings("PMD.OnlyOneReturn") // readability
+  @NonNull
+  protected Supplier<Document> newCopyParser() {
+    synchronized (this) {
+      Supplier<Document> parser = documentParser;
+      if (document == null && parser != null) {
+        // the source parser produces a new graph on each use
+        return parser;
+      }
+    }
+
+    String source = toMarkdown();
+    Parser markdownParser = getFlexmarkFactory().getMarkdownParser();
+    return () -> parseMarkdown(source, markdownParser);
+  }
+
+  private void invalidateRenderings() {
+    markdown = null;
+    html = null;
   }
 
   @Override
   public boolean isEmpty() {
-    return getDocument().getFirstChild() == null;
+    return document().getFirstChild() == null;
   }
 
   /**
@@ -158,7 +256,7 @@ public abstract class AbstractMarkupString<TYPE extends AbstractMarkupString<TYP
 
     String retval;
 
-    Document document = getDocument();
+    Document document = document();
     if (document.hasChildren()) {
 
       XMLOutputFactory2 factory = (XMLOutputFactory2) XMLOutputFactory.newInstance();
@@ -192,24 +290,34 @@ public abstract class AbstractMarkupString<TYPE extends AbstractMarkupString<TYP
     // }
     // return QUOTE_TAG_REPLACEMENT_PATTERN.matcher(html)
     // .replaceAll("&quot;");
-    String html = getFlexmarkFactory().getHtmlRenderer().render(getDocument());
-    return ObjectUtils.notNull(QUOTE_TAG_REPLACEMENT_PATTERN.matcher(html)
-        .replaceAll("&quot;"));
+    String retval = html;
+    if (retval == null) {
+      String rendered = getFlexmarkFactory().getHtmlRenderer().render(document());
+      retval = ObjectUtils.notNull(QUOTE_TAG_REPLACEMENT_PATTERN.matcher(rendered)
+          .replaceAll("&quot;"));
+      html = retval;
+    }
+    return retval;
   }
 
   @Override
   public String toMarkdown() {
-    return toMarkdown(getFlexmarkFactory().getFormatter());
+    String retval = markdown;
+    if (retval == null) {
+      retval = toMarkdown(getFlexmarkFactory().getFormatter());
+      markdown = retval;
+    }
+    return retval;
   }
 
   @Override
   public String toMarkdown(Formatter formatter) {
-    return ObjectUtils.notNull(formatter.render(getDocument()));
+    return ObjectUtils.notNull(formatter.render(document()));
   }
 
   @Override
   public void writeXHtml(String namespace, XMLStreamWriter2 streamWriter) throws XMLStreamException {
-    Document document = getDocument();
+    Document document = document();
     if (document.hasChildren()) {
       IMarkupWriter<XMLStreamWriter, XMLStreamException> writer = new MarkupXmlStreamWriter(
           namespace,
@@ -226,7 +334,7 @@ public abstract class AbstractMarkupString<TYPE extends AbstractMarkupString<TYP
   @Override
   public void writeXHtml(String namespace, XMLEventFactory2 eventFactory, XMLEventWriter eventWriter)
       throws XMLStreamException {
-    Document document = getDocument();
+    Document document = document();
     if (document.hasChildren()) {
 
       IMarkupWriter<XMLEventWriter, XMLStreamException> writer = new MarkupXmlEventWriter(
@@ -236,7 +344,7 @@ public abstract class AbstractMarkupString<TYPE extends AbstractMarkupString<TYP
           eventFactory);
 
       IMarkupVisitor<XMLEventWriter, XMLStreamException> visitor = new MarkupVisitor<>(isBlock());
-      visitor.visitDocument(getDocument(), writer);
+      visitor.visitDocument(document, writer);
     } else {
       eventWriter.add(eventFactory.createSpace(""));
     }
@@ -274,6 +382,6 @@ public abstract class AbstractMarkupString<TYPE extends AbstractMarkupString<TYP
 
   @Override
   public String toString() {
-    return AstCollectingVisitor.asString(getDocument());
+    return AstCollectingVisitor.asString(document());
   }
 }
@@ -17,10 +17,13 @@ import com.vladsch.flexmark.util.misc.Extension;
 import gov.nist.secauto.metaschema.core.datatype.markup.flexmark.FlexmarkConfiguration;
 import gov.nist.secauto.metaschema.core.datatype.markup.flexmark.FlexmarkFactory;
 import gov.nist.secauto.metaschema.core.datatype.markup.flexmark.SuppressPTagExtension;
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
 
 import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
 
@@ -33,6 +36,13 @@ public final class MarkupLine
   @NonNull
   private static final FlexmarkFactory FLEXMARK_FACTORY = FlexmarkFactory.newInstance(FLEXMARK_CONFIG);
 
+  /**
+   * Matches HTML elements that may produce more than one markdown block.
+   */
+  @NonNull
+  private static final Pattern HTML_BLOCK_ELEMENT_PATTERN = ObjectUtils.notNull(
+      Pattern.compile("<(p|h[1-6]|pre|ul|ol|li|table|blockquote|hr|div)\\b", Pattern.CASE_INSENSITIVE));
+
   @SuppressWarnings("null")
   @NonNull
   private static DataSet newParserOptions() {
@@ -60,8 +70,13 @@ public final class MarkupLine
    */
   @NonNull
   public static MarkupLine fromHtml(@NonNull String html) {
-    return new MarkupLine(
+    Supplier<Document> parser = () -> requireSingleBlock(
         parseHtml(html, FLEXMARK_FACTORY.getFlexmarkHtmlConverter(), FLEXMARK_FACTORY.getMarkdownParser()));
+    // defer parsing only when the result cannot have multiple blocks, so invalid
+    // markup is still reported immediately
+    return HTML_BLOCK_ELEMENT_PATTERN.matcher(html).find()
+        ? new MarkupLine(ObjectUtils.notNull(parser.get()))
+        : new MarkupLine(parser);
   }
 
   /**
@@ -73,7 +88,13 @@ public final class MarkupLine
    */
   @NonNull
   public static MarkupLine fromMarkdown(@NonNull String markdown) {
-    return new MarkupLine(parseMarkdown(markdown, FLEXMARK_FACTORY.getMarkdownParser()));
+    Supplier<Document> parser
+        = () -> requireSingleBlock(parseMarkdown(markdown, FLEXMARK_FACTORY.getMarkdownParser()));
+    // a single line of markdown cannot have multiple blocks, so parsing can be
+    // deferred without delaying the reporting of invalid markup
+    return markdown.indexOf('\n') >= 0 || markdown.indexOf('\r') >= 0
+        ? new MarkupLine(ObjectUtils.notNull(parser.get()))
+        : new MarkupLine(parser);
   }
 
   @Override
@@ -88,18 +109,32 @@ public final class MarkupLine
    *          the parsed markup AST
    */
   protected MarkupLine(@NonNull Document astNode) {
-    super(astNode);
+    super(requireSingleBlock(astNode));
+  }
+
+  /**
+   * Construct a new single line markup instance that is parsed on first use.
+   *
+   * @param parser
+   *          produces the parsed markup AST
+   */
+  private MarkupLine(@NonNull Supplier<Document> parser) {
+    super(parser);
+  }
+
+  @NonNull
+  private static Document requireSingleBlock(@NonNull Document astNode) {
     Node child = astNode.getFirstChild();
     if (child instanceof Block && child.getNext() != null) {
       throw new IllegalStateException("multiple blocks not allowed");
     } // else empty markdown
+    return astNode;
   }
 
   @Override
   public MarkupLine copy() {
-    // TODO: find a way to do a deep copy
-    // this is a shallow copy that uses the same underlying Document object
-    return new MarkupLine(getDocument());
+    // the copy has its own AST graph, so changes to either are not shared
+    return new MarkupLine(newCopyParser());
   }
 
   @Override
@@ -9,6 +9,8 @@ import com.vladsch.flexmark.util.ast.Document;
 
 import gov.nist.secauto.metaschema.core.datatype.markup.flexmark.FlexmarkFactory;
 
+import java.util.function.Supplier;
+
 import edu.umd.cs.findbugs.annotations.NonNull;
 
 public class MarkupMultiline
@@ -27,7 +29,7 @@ public class MarkupMultiline
   @NonNull
   public static MarkupMultiline fromHtml(@NonNull String html) {
     return new MarkupMultiline(
-        parseHtml(
+        () -> parseHtml(
             html,
             FLEXMARK_FACTORY.getFlexmarkHtmlConverter(),
             FLEXMARK_FACTORY.getMarkdownParser()));
@@ -43,7 +45,7 @@ public class MarkupMultiline
   @NonNull
   public static MarkupMultiline fromMarkdown(@NonNull String markdown) {
     return new MarkupMultiline(
-        parseMarkdown(markdown, FLEXMARK_FACTORY.getMarkdownParser()));
+        () -> parseMarkdown(markdown, FLEXMARK_FACTORY.getMarkdownParser()));
   }
 
   /**
@@ -56,6 +58,16 @@ public class MarkupMultiline
     super(astNode);
   }
 
+  /**
+   * Construct a new multiline markup instance that is parsed on first use.
+   *
+   * @param parser
+   *          produces the parsed markup AST
+   */
+  private MarkupMultiline(@NonNull Supplier<Document> parser) {
+    super(parser);
+  }
+
   @Override
   public FlexmarkFactory getFlexmarkFactory() {
     return FLEXMARK_FACTORY;
@@ -63,9 +75,8 @@ public class MarkupMultiline
 
   @Override
   public MarkupMultiline copy() {
-    // TODO: find a way to do a deep copy
-    // this is a shallow copy that uses the same underlying Document object
-    return new MarkupMultiline(getDocument());
+    // the copy has its own AST graph, so changes to either are not shared
+    return new MarkupMultiline(newCopyParser());
   }
 
   @Override
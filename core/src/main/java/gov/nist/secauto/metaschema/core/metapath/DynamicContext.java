@@ -11,7 +11,10 @@ import gov.nist.secauto.metaschema.core.configuration.IMutableConfiguration;
 import gov.nist.secauto.metaschema.core.metapath.function.DefaultFunction.CallingContext;
 import gov.nist.secauto.metaschema.core.metapath.function.IFunction.FunctionProperty;
 import gov.nist.secauto.metaschema.core.metapath.item.node.IDocumentNodeItem;
+import gov.nist.secauto.metaschema.core.metapath.item.node.INodeItem;
 import gov.nist.secauto.metaschema.core.model.IUriResolver;
+import gov.nist.secauto.metaschema.core.model.constraint.IIndex;
+import gov.nist.secauto.metaschema.core.profile.IProfiler;
 import gov.nist.secauto.metaschema.core.util.ObjectUtils;
 
 import java.io.IOException;
@@ -20,9 +23,10 @@ import java.time.Clock;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntSupplier;
 
 import javax.xml.namespace.QName;
 
@@ -33,12 +37,50 @@ import edu.umd.cs.findbugs.annotations.Nullable;
 /**
  * The implementation of a Metapath
  * <a href="https://www.w3.org/TR/xpath-31/#eval_context">dynamic context</a>.
+ * <p>
+ * Variable bindings are held in immutable frames that are linked to the frames
+ * of the context they were created from, so a {@link #subContext()} is created
+ * in constant time without copying any bindings. The document, function result,
+ * and index caches are shared by a context and all of its sub-contexts and are
+ * safe for concurrent use, which allows a context, or sub-contexts derived from
+ * it, to be used by multiple threads. The evaluation configuration and document
+ * loader are expected to be set up before the context is shared.
+ * <p>
+ * Since indexes refer to the nodes of the indexed documents, a context with its
+ * own index caches can be created using {@link #indexScope()}, which limits the
+ * lifetime of the indexes to a single run, such as a validation run.
+ * <p>
+ * The context also tracks the position and size of the
+ * <a href="https://www.w3.org/TR/xpath-31/#dt-focus">focus</a>, which are used
+ * by the {@code fn:position()} and {@code fn:last()} functions. A new focus is
+ * established using {@link #subContext(int, IntSupplier)}. The focus size is
+ * provided by a supplier, since it is only computed when needed.
  */
 public class DynamicContext { // NOPMD - intentional data class
   @NonNull
-  private final Map<QName, ISequence<?>> letVariableMap;
+  private static final IntSupplier SINGLETON_FOCUS_SIZE = () -> 1;
+
+  @Nullable
+  private volatile VariableFrame variables;
+  /**
+   * The frames shared with the context this context was created from, which
+   * must not be replaced by bindings made in this context.
+   */
+  @Nullable
+  private final VariableFrame inheritedVariables;
   @NonNull
   private final SharedState sharedState;
+  @NonNull
+  private final IndexState indexState;
+  /**
+   * The profiler used by this context, overriding the configured profiler, or
+   * {@code null} if the configured profiler is used.
+   */
+  @Nullable
+  private final IProfiler profiler;
+  private final int focusPosition;
+  @NonNull
+  private final IntSupplier focusSize;
 
   /**
    * Construct a new dynamic context with a default static context.
@@ -54,13 +96,46 @@ public class DynamicContext { // NOPMD - intentional data class
    *          the Metapath static context
    */
   public DynamicContext(@NonNull StaticContext staticContext) {
-    this.letVariableMap = new ConcurrentHashMap<>();
+    this.inheritedVariables = null;
     this.sharedState = new SharedState(staticContext);
+    this.indexState = new IndexState();
+    this.profiler = null;
+    this.focusPosition = 1;
+    this.focusSize = SINGLETON_FOCUS_SIZE;
   }
 
-  private DynamicContext(@NonNull DynamicContext context) {
-    this.letVariableMap = new ConcurrentHashMap<>(context.letVariableMap);
+  private DynamicContext(
+      @NonNull DynamicContext context,
+      @NonNull IndexState indexState,
+      @Nullable IProfiler profiler,
+      int focusPosition,
+      @NonNull IntSupplier focusSize) {
+    this.variables = context.variables;
+    this.inheritedVariables = this.variables;
     this.sharedState = context.sharedState;
+    this.indexState = indexState;
+    this.profiler = profiler;
+    this.focusPosition = focusPosition;
+    this.focusSize = focusSize;
+  }
+
+  /**
+   * An immutable variable binding, which shadows any binding of the same name in
+   * its parent frames.
+   */
+  private static final class VariableFrame {
+    @NonNull
+    private final QName name;
+    @NonNull
+    private final ISequence<?> value;
+    @Nullable
+    private final VariableFrame parent;
+
+    private VariableFrame(@NonNull QName name, @NonNull ISequence<?> value, @Nullable VariableFrame parent) {
+      this.name = name;
+      this.value = value;
+      this.parent = parent;
+    }
   }
 
   private static class SharedState {
@@ -75,7 +150,7 @@ public class DynamicContext { // NOPMD - intentional data class
     @NonNull
     private final Map<CallingContext, ISequence<?>> functionResultCache;
     @Nullable
-    private CachingLoader documentLoader;
+    private volatile CachingLoader documentLoader;
     @NonNull
     private final IMutableConfiguration<MetapathEvaluationFeature<?>> configuration;
 
@@ -86,13 +161,24 @@ public class DynamicContext { // NOPMD - intentional data class
 
       this.implicitTimeZone = ObjectUtils.notNull(clock.getZone());
       this.currentDateTime = ObjectUtils.notNull(ZonedDateTime.now(clock));
-      this.availableDocuments = new HashMap<>();
-      this.functionResultCache = new HashMap<>();
+      this.availableDocuments = new ConcurrentHashMap<>();
+      this.functionResultCache = new ConcurrentHashMap<>();
       this.configuration = new DefaultConfiguration<>();
       this.configuration.enableFeature(MetapathEvaluationFeature.METAPATH_EVALUATE_PREDICATES);
     }
   }
 
+  /**
+   * The indexes available to a context, which are shared with its sub-contexts
+   * other than those created using {@link DynamicContext#indexScope()}.
+   */
+  private static final class IndexState {
+    @NonNull
+    private final Map<String, IIndex> namedIndexes = new ConcurrentHashMap<>();
+    @NonNull
+    private final Map<List<?>, Map<String, List<INodeItem>>> keyIndexes = new ConcurrentHashMap<>();
+  }
+
   /**
    * Generate a new dynamic context that is a copy of this dynamic context.
    * <p>
@@ -100,12 +186,92 @@ public class DynamicContext { // NOPMD - intentional data class
    * without affecting this context. This is useful for setting information that
    * is only used in a limited evaluation sub-scope, such as for handling variable
    * assignment.
+   * <p>
+   * The new context shares the variable bindings of this context without copying
+   * them, along with the document and function result caches.
    *
    * @return a new dynamic context
    */
   @NonNull
   public DynamicContext subContext() {
-    return new DynamicContext(this);
+    return new DynamicContext(this, indexState, profiler, focusPosition, focusSize);
+  }
+
+  /**
+   * Generate a new dynamic context that is a copy of this dynamic context, which
+   * records the evaluation of Metapath expressions using the provided profiler.
+   * <p>
+   * The profiler is used by the new context and any sub-context derived from it,
+   * while this context continues to use its own profiler. Unlike setting the
+   * {@link MetapathEvaluationFeature#METAPATH_PROFILER} feature, this does not
+   * change the configuration shared with other contexts.
+   *
+   * @param profiler
+   *          the profiler to use
+   * @return a new dynamic context
+   */
+  @NonNull
+  public DynamicContext subContext(@NonNull IProfiler profiler) {
+    return new DynamicContext(this, indexState, profiler, focusPosition, focusSize);
+  }
+
+  /**
+   * Generate a new dynamic context that is a copy of this dynamic context, which
+   * has its own index caches.
+   * <p>
+   * Indexes registered or cached using the new context, or a sub-context derived
+   * from it, are not visible to this context and are released along with the new
+   * context. This is used to avoid retaining indexed documents in a long-lived
+   * context once the run that needed the indexes is complete.
+   *
+   * @return a new dynamic context
+   */
+  @NonNull
+  public DynamicContext indexScope() {
+    return new DynamicContext(this, new IndexState(), profiler, focusPosition, focusSize);
+  }
+
+  /**
+   * Generate a new dynamic context that is a copy of this dynamic context, which
+   * has a new focus position and size.
+   * <p>
+   * This is used when evaluating an expression for each item in a sequence, such
+   * as a predicate or the right side of a simple map.
+   *
+   * @param position
+   *          the one-based position of the focus item in the sequence being
+   *          evaluated
+   * @param size
+   *          provides the size of the sequence being evaluated, which is only
+   *          called if the size is needed
+   * @return a new dynamic context
+   */
+  @NonNull
+  public DynamicContext subContext(int position, @NonNull IntSupplier size) {
+    return new DynamicContext(this, indexState, profiler, position, size);
+  }
+
+  /**
+   * Get the <a href="https://www.w3.org/TR/xpath-31/#dt-context-position">context
+   * position</a>, which is the one-based position of the focus item in the
+   * sequence being evaluated.
+   *
+   * @return the focus position
+   */
+  public int getFocusPosition() {
+    return focusPosition;
+  }
+
+  /**
+   * Get the <a href="https://www.w3.org/TR/xpath-31/#dt-context-size">context
+   * size</a>, which is the number of items in the sequence being evaluated.
+   * <p>
+   * Computing the size may require the sequence to be fully evaluated.
+   *
+   * @return the focus size
+   */
+  public int getFocusSize() {
+    return focusSize.getAsInt();
   }
 
   /**
@@ -204,8 +370,66 @@ public class DynamicContext { // NOPMD - intentional data class
    *          the function call result
    */
   public void cacheResult(@NonNull CallingContext callingContext, @NonNull ISequence<?> result) {
-    ISequence<?> old = sharedState.functionResultCache.put(callingContext, result);
-    assert old == null;
+    // concurrent evaluations may compute the same deterministic result, so keep
+    // the first one cached
+    sharedState.functionResultCache.putIfAbsent(callingContext, result);
+  }
+
+  /**
+   * Get the index with the provided name, which was built for an
+   * {@link gov.nist.secauto.metaschema.core.model.constraint.IIndexConstraint}.
+   *
+   * @param name
+   *          the name of the index
+   * @return the index, or {@code null} if no index with the provided name has
+   *         been registered
+   */
+  @Nullable
+  public IIndex getIndex(@NonNull String name) {
+    return indexState.namedIndexes.get(name);
+  }
+
+  /**
+   * Register an index using the provided name, making it available for lookups
+   * during Metapath evaluation.
+   *
+   * @param name
+   *          the name of the index
+   * @param index
+   *          the index to register
+   */
+  public void registerIndex(@NonNull String name, @NonNull IIndex index) {
+    indexState.namedIndexes.put(name, index);
+  }
+
+  /**
+   * Get a cached key index, which maps key values to the nodes having that key.
+   *
+   * @param indexId
+   *          the information that distinguishes the index from any other index
+   * @return the cached index, or {@code null} if the index has not been cached
+   */
+  @Nullable
+  public Map<String, List<INodeItem>> getCachedKeyIndex(@NonNull List<?> indexId) {
+    return indexState.keyIndexes.get(indexId);
+  }
+
+  /**
+   * Cache a key index, which maps key values to the nodes having that key.
+   *
+   * @param indexId
+   *          the information that distinguishes the index from any other index
+   * @param index
+   *          the index to cache
+   * @return the cached index, which is a previously cached index if one was
+   *         cached concurrently
+   */
+  @NonNull
+  public Map<String, List<INodeItem>> cacheKeyIndex(
+      @NonNull List<?> indexId,
+      @NonNull Map<String, List<INodeItem>> index) {
+    Map<String, List<INodeItem>> retval = indexState.keyIndexes.putIfAbsent(indexId, index);
+    return retval == null ? index : retval;
   }
 
   /**
@@ -238,6 +462,21 @@ public class DynamicContext { // NOPMD - intentional data class
     return this;
   }
 
+  /**
+   * Set the value of a Metapath evaluation feature.
+   *
+   * @param feature
+   *          the feature to set
+   * @param value
+   *          the feature value
+   * @return this dynamic context
+   */
+  @NonNull
+  public DynamicContext set(@NonNull MetapathEvaluationFeature<?> feature, @NonNull Object value) {
+    this.sharedState.configuration.set(feature, value);
+    return this;
+  }
+
   /**
    * Get the Metapath evaluation configuration.
    *
@@ -248,6 +487,22 @@ public class DynamicContext { // NOPMD - intentional data class
     return sharedState.configuration;
   }
 
+  /**
+   * Get the profiler used to record the evaluation of Metapath expressions.
+   *
+   * @return the profiler, which does not record anything unless profiling is
+   *         enabled
+   * @see MetapathEvaluationFeature#METAPATH_PROFILER
+   */
+  @NonNull
+  public IProfiler getProfiler() {
+    IProfiler retval = profiler;
+    if (retval == null) {
+      retval = getConfiguration().get(MetapathEvaluationFeature.METAPATH_PROFILER);
+    }
+    return retval;
+  }
+
   /**
    * Get the sequence value assigned to a let variable with the provided qualified
    * name.
@@ -256,23 +511,24 @@ public class DynamicContext { // NOPMD - intentional data class
    *          the variable qualified name
    * @return the non-null variable value
    * @throws MetapathException
-   *           of the variable has not been assigned or if the variable value is
-   *           {@code null}
+   *           if the variable has not been assigned
    */
   @NonNull
   public ISequence<?> getVariableValue(@NonNull QName name) {
-    ISequence<?> retval = letVariableMap.get(name);
-    if (retval == null) {
-      if (!letVariableMap.containsKey(name)) {
-        throw new MetapathException(String.format("Variable '%s' not defined in context.", name));
+    for (VariableFrame frame = variables; frame != null; frame = frame.parent) {
+      if (frame.name.equals(name)) {
+        return frame.value;
       }
-      throw new MetapathException(String.format("Variable '%s' has null contents.", name));
     }
-    return retval;
+    throw new MetapathException(String.format("Variable '%s' not defined in context.", name));
   }
 
   /**
    * Bind the variable {@code name} to the sequence {@code value}.
+   * <p>
+   * If the variable was already bound in this context, the existing binding is
+   * replaced. Otherwise, the new binding shadows any binding of the same name in
+   * the context this context was created from.
    *
    * @param name
    *          the name of the variable to bind
@@ -282,10 +538,43 @@ public class DynamicContext { // NOPMD - intentional data class
    */
   @NonNull
   public DynamicContext bindVariableValue(@NonNull QName name, @NonNull ISequence<?> boundValue) {
-    letVariableMap.put(name, boundValue);
+    synchronized (this) {
+      VariableFrame existing = null;
+      for (VariableFrame frame = variables; frame != null && frame != inheritedVariables; frame = frame.parent) {
+        if (frame.name.equals(name)) {
+          existing = frame;
+          break;
+        }
+      }
+
+      variables = existing == null
+          ? new VariableFrame(name, boundValue, variables)
+          : replaceFrame(
+              ObjectUtils.notNull(variables),
+              existing,
+              new VariableFrame(name, boundValue, existing.parent));
+    }
     return this;
   }
 
+  /**
+   * Copy the frames above the {@code target} frame onto its replacement. Only
+   * frames bound in this context are copied, so this is bounded by the number
+   * of distinct variables bound in this context.
+   */
+  @NonNull
+  private static VariableFrame replaceFrame(
+      @NonNull VariableFrame frame,
+      @NonNull VariableFrame target,
+      @NonNull VariableFrame replacement) {
+    return frame == target
+        ? replacement
+        : new VariableFrame(
+            frame.name,
+            frame.value,
+            replaceFrame(ObjectUtils.requireNonNull(frame.parent), target, replacement));
+  }
+
   private class CachingLoader implements IDocumentLoader {
     @NonNull
     private final IDocumentLoader proxy;
@@ -314,8 +603,12 @@ public class DynamicContext { // NOPMD - intentional data class
     public IDocumentNodeItem loadAsNodeItem(URI uri) throws IOException {
       IDocumentNodeItem retval = sharedState.availableDocuments.get(uri);
       if (retval == null) {
-        retval = getProxiedDocumentLoader().loadAsNodeItem(uri);
-        sharedState.availableDocuments.put(uri, retval);
+        IDocumentNodeItem loaded = getProxiedDocumentLoader().loadAsNodeItem(uri);
+        // another thread may have loaded the same document, use the first one cached
+        retval = sharedState.availableDocuments.putIfAbsent(uri, loaded);
+        if (retval == null) {
+          retval = loaded;
+        }
       }
       return retval;
     }
@@ -6,6 +6,7 @@
 package gov.nist.secauto.metaschema.core.metapath;
 
 import gov.nist.secauto.metaschema.core.metapath.impl.AbstractSequence;
+import gov.nist.secauto.metaschema.core.metapath.impl.LazySequence;
 import gov.nist.secauto.metaschema.core.metapath.impl.SequenceN;
 import gov.nist.secauto.metaschema.core.metapath.impl.SingletonSequence;
 import gov.nist.secauto.metaschema.core.metapath.impl.StreamSequence;
@@ -75,6 +76,18 @@ public interface ISequence<ITEM extends IItem> extends List<ITEM>, IPrintable, I
   @NonNull
   Stream<ITEM> stream();
 
+  /**
+   * Determine if the items of this sequence are already available, in which case
+   * getting the items or the size of the sequence does not evaluate any deferred
+   * expression.
+   *
+   * @return {@code true} if the items are available, or {@code false} if they
+   *         are computed when first accessed
+   */
+  default boolean isMaterialized() {
+    return true;
+  }
+
   /**
    * Retrieves the first item in a sequence.
    * <p>
@@ -312,6 +325,21 @@ public interface ISequence<ITEM extends IItem> extends List<ITEM>, IPrintable, I
     return new StreamSequence<>(items);
   }
 
+  /**
+   * Returns an unmodifiable sequence containing the items provided by the
+   * {@code supplier}, which is not called until the items are first accessed.
+   *
+   * @param <T>
+   *          the type of items contained in the sequence.
+   * @param supplier
+   *          the supplier of the items
+   * @return the new sequence
+   */
+  @NonNull
+  static <T extends IItem> ISequence<T> ofLazy(@NonNull Supplier<? extends ISequence<T>> supplier) {
+    return new LazySequence<>(supplier);
+  }
+
   /**
    * Returns an unmodifiable sequence containing zero elements.
    *
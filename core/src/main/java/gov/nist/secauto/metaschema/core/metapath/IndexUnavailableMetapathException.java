@@ -0,0 +1,51 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.core.metapath;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * A {@link DynamicMetapathException#DYNAMIC_CONTEXT_ABSENT} error raised when a
+ * named index is looked up that has not been registered with the dynamic
+ * context.
+ * <p>
+ * This allows a caller that builds indexes while evaluating, such as a
+ * constraint validator, to distinguish a lookup of an index that may still be
+ * built from other missing dynamic context.
+ */
+public class IndexUnavailableMetapathException
+    extends DynamicMetapathException {
+
+  /**
+   * the serial version UID.
+   */
+  private static final long serialVersionUID = 1L;
+
+  @NonNull
+  private final String indexName;
+
+  /**
+   * Constructs a new exception for the index with the provided name.
+   *
+   * @param indexName
+   *          the name of the index that is not available
+   */
+  public IndexUnavailableMetapathException(@NonNull String indexName) {
+    super(DYNAMIC_CONTEXT_ABSENT,
+        String.format("The index '%s' is not available in the dynamic context.", indexName));
+    this.indexName = indexName;
+  }
+
+  /**
+   * Get the name of the index that is not available.
+   *
+   * @return the index name
+   */
+  @NonNull
+  public String getIndexName() {
+    return indexName;
+  }
+}
@@ -6,6 +6,7 @@
 package gov.nist.secauto.metaschema.core.metapath;
 
 import gov.nist.secauto.metaschema.core.configuration.AbstractConfigurationFeature;
+import gov.nist.secauto.metaschema.core.profile.IProfiler;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
 
@@ -26,6 +27,51 @@ public final class MetapathEvaluationFeature<V>
   public static final MetapathEvaluationFeature<Boolean> METAPATH_EVALUATE_PREDICATES
       = new MetapathEvaluationFeature<>("evaluate-predicates", Boolean.class, true);
 
+  /**
+   * If enabled, evaluate <a href=
+   * "https://www.w3.org/TR/xpath-31/#id-for-expressions">for</a>, <a href=
+   * "https://www.w3.org/TR/xpath-31/#id-map-operator">simple map</a>, and
+   * <a href=
+   * "https://www.w3.org/TR/xpath-31/#id-quantified-expressions">quantified</a>
+   * expressions in parallel, using a fork-join pool dedicated to Metapath
+   * evaluation, when they iterate over at least
+   * {@link #METAPATH_PARALLEL_THRESHOLD} items. A simple map is only evaluated in
+   * parallel if the mapped items are already available, so that items that are
+   * computed when needed are not computed just to determine their number.
+   * <p>
+   * The order of results is preserved. This is disabled by default, since the
+   * cost of coordinating the parallel work is only recovered for large
+   * sequences.
+   */
+  @NonNull
+  public static final MetapathEvaluationFeature<Boolean> METAPATH_EVALUATE_IN_PARALLEL
+      = new MetapathEvaluationFeature<>("evaluate-in-parallel", Boolean.class, false);
+
+  /**
+   * The minimum number of items an expression must iterate over to be evaluated
+   * in parallel, when {@link #METAPATH_EVALUATE_IN_PARALLEL} is enabled.
+   */
+  @NonNull
+  public static final MetapathEvaluationFeature<Integer> METAPATH_PARALLEL_THRESHOLD
+      = new MetapathEvaluationFeature<>("parallel-threshold", Integer.class, 1024);
+
+  /**
+   * The profiler used to record the evaluation of each Metapath expression, and
+   * of each node of the compiled expression within it. By default, nothing is
+   * recorded.
+   * <p>
+   * The profiler does not change how a result is evaluated. The result size is
+   * only recorded for results whose items are available when the evaluation
+   * completes, and the time to produce result items that are computed when
+   * needed is attributed to the work that consumes them.
+   * <p>
+   * This is typically provided for a single evaluation using
+   * {@link DynamicContext#subContext(IProfiler)}.
+   */
+  @NonNull
+  public static final MetapathEvaluationFeature<IProfiler> METAPATH_PROFILER
+      = new MetapathEvaluationFeature<>("profiler", IProfiler.class, IProfiler.disabled());
+
   private MetapathEvaluationFeature(
       @NonNull String name,
       @NonNull Class<V> valueClass,
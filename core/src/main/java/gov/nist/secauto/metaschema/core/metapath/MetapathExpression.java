@@ -11,6 +11,7 @@ import gov.nist.secauto.metaschema.core.metapath.antlr.Metapath10Lexer;
 import gov.nist.secauto.metaschema.core.metapath.antlr.ParseTreePrinter;
 import gov.nist.secauto.metaschema.core.metapath.cst.BuildCSTVisitor;
 import gov.nist.secauto.metaschema.core.metapath.cst.CSTPrinter;
+import gov.nist.secauto.metaschema.core.metapath.cst.ExpressionUtils;
 import gov.nist.secauto.metaschema.core.metapath.cst.IExpression;
 import gov.nist.secauto.metaschema.core.metapath.cst.path.ContextItem;
 import gov.nist.secauto.metaschema.core.metapath.function.FunctionUtils;
@@ -21,12 +22,15 @@ import gov.nist.secauto.metaschema.core.metapath.item.atomic.IAnyAtomicItem;
 import gov.nist.secauto.metaschema.core.metapath.item.atomic.IDecimalItem;
 import gov.nist.secauto.metaschema.core.metapath.item.atomic.INumericItem;
 import gov.nist.secauto.metaschema.core.metapath.item.node.INodeItem;
+import gov.nist.secauto.metaschema.core.profile.IProfiler;
 import gov.nist.secauto.metaschema.core.util.ObjectUtils;
 
+import org.antlr.v4.runtime.BailErrorStrategy;
 import org.antlr.v4.runtime.CharStreams;
 import org.antlr.v4.runtime.CommonTokenStream;
 import org.antlr.v4.runtime.DefaultErrorStrategy;
 import org.antlr.v4.runtime.Parser;
+import org.antlr.v4.runtime.atn.PredictionMode;
 import org.antlr.v4.runtime.misc.ParseCancellationException;
 import org.antlr.v4.runtime.tree.ParseTree;
 import org.apache.logging.log4j.LogManager;
@@ -79,6 +83,12 @@ public class MetapathExpression {
 
   private static final Logger LOGGER = LogManager.getLogger(MetapathExpression.class);
 
+  /**
+   * The Metapath parser used by each thread, which is reused for each
+   * compilation performed by the thread.
+   */
+  private static final ThreadLocal<MetapathParser> PARSER = ThreadLocal.withInitial(MetapathParser::new);
+
   @NonNull
   public static final MetapathExpression CONTEXT_NODE
       = new MetapathExpression(".", ContextItem.instance(), StaticContext.instance());
@@ -122,32 +132,16 @@ public class MetapathExpression {
       retval = CONTEXT_NODE;
     } else {
       try {
-        Metapath10Lexer lexer = new Metapath10Lexer(CharStreams.fromString(path));
-        lexer.removeErrorListeners();
-        lexer.addErrorListener(new FailingErrorListener());
-
-        CommonTokenStream tokens = new CommonTokenStream(lexer);
-        Metapath10 parser = new Metapath10(tokens);
-        parser.removeErrorListeners();
-        parser.addErrorListener(new FailingErrorListener());
-        parser.setErrorHandler(new DefaultErrorStrategy() {
+        ParseTree tree = PARSER.get().parse(path);
 
-          @Override
-          public void sync(Parser recognizer) {
-            // disable
-          }
-        });
-
-        ParseTree tree = ObjectUtils.notNull(parser.expr());
-
-        if (LOGGER.isDebugEnabled()) {
+        if (LOGGER.isTraceEnabled()) {
           try (ByteArrayOutputStream os = new ByteArrayOutputStream()) {
             try (PrintStream ps = new PrintStream(os, true, StandardCharsets.UTF_8)) {
               ParseTreePrinter printer = new ParseTreePrinter(ps);
               printer.print(tree, Metapath10.ruleNames);
               ps.flush();
             }
-            LOGGER.atDebug().log(String.format("Metapath AST:%n%s", os.toString(StandardCharsets.UTF_8)));
+            LOGGER.atTrace().log(String.format("Metapath AST:%n%s", os.toString(StandardCharsets.UTF_8)));
           } catch (IOException ex) {
             LOGGER.atError().withThrowable(ex).log("An unexpected error occurred while closing the steam.");
           }
@@ -207,6 +201,22 @@ public class MetapathExpression {
     return expression;
   }
 
+  /**
+   * Determine if this Metapath produces the same result for any focus within the
+   * same document, regardless of the variables in scope.
+   * <p>
+   * This is determined using a conservative static analysis of the expression
+   * (see {@link ExpressionUtils#isFocusIndependent(IExpression)}). Expressions
+   * that reference variables are never considered focus independent.
+   *
+   * @return {@code true} if the result depends only on the document, or
+   *         {@code false} otherwise
+   */
+  public boolean isDocumentScoped() {
+    IExpression ast = getASTNode();
+    return ExpressionUtils.isFocusIndependent(ast) && !ExpressionUtils.hasVariableReferences(ast);
+  }
+
   /**
    * Get the static context used to compile this Metapath.
    *
@@ -417,10 +427,101 @@ public class MetapathExpression {
       @Nullable IItem focus,
       @NonNull DynamicContext dynamicContext) {
     try {
-      return (ISequence<T>) getASTNode().accept(dynamicContext, ISequence.of(focus));
+      IProfiler profiler = dynamicContext.getProfiler();
+
+      ISequence<?> retval;
+      if (profiler.isEnabled()) {
+        try (IProfiler.ISpan span = profiler.start(IProfiler.CATEGORY_METAPATH, getPath())) {
+          retval = getASTNode().accept(dynamicContext, ISequence.of(focus));
+          if (retval.isMaterialized()) {
+            // a result that is computed when needed is not evaluated here, since
+            // the caller may not need all of it
+            span.setResultSize(retval.size());
+          }
+        }
+      } else {
+        retval = getASTNode().accept(dynamicContext, ISequence.of(focus));
+      }
+      return (ISequence<T>) retval;
     } catch (MetapathException ex) { // NOPMD - intentional
       throw new MetapathException(
           String.format("An error occurred while evaluating the expression '%s'.", getPath()), ex);
     }
   }
+
+  /**
+   * Parses Metapath expressions using a two-stage strategy.
+   * <p>
+   * An expression is first parsed using the faster SLL prediction mode, which
+   * stops at the first syntax error. Since SLL prediction can fail for some valid
+   * expressions, a failed expression is parsed again using full LL prediction,
+   * which also reports any syntax error.
+   * <p>
+   * The lexer and parser are reused across parses, so an instance must not be
+   * used by more than one thread.
+   */
+  private static final class MetapathParser {
+    @NonNull
+    private final Metapath10Lexer lexer;
+    @NonNull
+    private final CommonTokenStream tokens;
+    @NonNull
+    private final Metapath10 parser;
+    @NonNull
+    private final BailErrorStrategy bailErrorStrategy = new BailErrorStrategy();
+    @NonNull
+    private final DefaultErrorStrategy errorStrategy = new DefaultErrorStrategy() {
+
+      @Override
+      public void sync(Parser recognizer) {
+        // disable
+      }
+    };
+    @NonNull
+    private final FailingErrorListener errorListener = new FailingErrorListener();
+
+    private MetapathParser() {
+      lexer = new Metapath10Lexer(CharStreams.fromString(""));
+      lexer.removeErrorListeners();
+      lexer.addErrorListener(errorListener);
+
+      tokens = new CommonTokenStream(lexer);
+      parser = new Metapath10(tokens);
+    }
+
+    /**
+     * Parse the provided Metapath expression.
+     *
+     * @param path
+     *          the Metapath expression
+     * @return the parse tree for the expression
+     * @throws ParseCancellationException
+     *           if the expression contains a syntax error
+     */
+    @NonNull
+    private ParseTree parse(@NonNull String path) {
+      ParseTree retval;
+      try {
+        reset(path);
+        parser.getInterpreter().setPredictionMode(PredictionMode.SLL);
+        parser.removeErrorListeners();
+        parser.setErrorHandler(bailErrorStrategy);
+        retval = parser.expr();
+      } catch (ParseCancellationException ex) {
+        // the expression is either invalid or requires full LL prediction
+        reset(path);
+        parser.getInterpreter().setPredictionMode(PredictionMode.LL);
+        parser.addErrorListener(errorListener);
+        parser.setErrorHandler(errorStrategy);
+        retval = parser.expr();
+      }
+      return ObjectUtils.notNull(retval);
+    }
+
+    private void reset(@NonNull String path) {
+      lexer.setInputStream(CharStreams.fromString(path));
+      tokens.setTokenSource(lexer);
+      parser.setTokenStream(tokens);
+    }
+  }
 }
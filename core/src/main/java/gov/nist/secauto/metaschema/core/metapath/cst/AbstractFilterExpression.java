@@ -44,7 +44,7 @@ public abstract class AbstractFilterExpression
   }
 
   @Override
-  public ISequence<? extends IItem> accept(
+  public ISequence<? extends IItem> evaluate(
       @NonNull DynamicContext dynamicContext,
       @NonNull ISequence<?> focus) {
 
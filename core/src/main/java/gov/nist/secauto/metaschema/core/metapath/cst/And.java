@@ -49,7 +49,7 @@ public class And // NOPMD - intentional name
   }
 
   @Override
-  public ISequence<? extends IBooleanItem> accept(DynamicContext dynamicContext, ISequence<?> focus) {
+  public ISequence<? extends IBooleanItem> evaluate(DynamicContext dynamicContext, ISequence<?> focus) {
     boolean retval = true;
     for (IExpression child : getChildren()) {
       ISequence<?> result = child.accept(dynamicContext, focus);
@@ -52,7 +52,7 @@ public class ArraySequenceConstructor implements IExpression {
   }
 
   @Override
-  public ISequence<IArrayItem<?>> accept(DynamicContext dynamicContext, ISequence<?> focus) {
+  public ISequence<IArrayItem<?>> evaluate(DynamicContext dynamicContext, ISequence<?> focus) {
     ISequence<IArrayItem<?>> retval;
     if (expr != null) {
       IArrayItem<?> array = IArrayItem.ofCollection(expr.accept(dynamicContext, focus));
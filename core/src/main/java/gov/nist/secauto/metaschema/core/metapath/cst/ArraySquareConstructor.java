@@ -43,7 +43,7 @@ public class ArraySquareConstructor implements IExpression {
   }
 
   @Override
-  public ISequence<? extends IItem> accept(DynamicContext dynamicContext, ISequence<?> focus) {
+  public ISequence<? extends IItem> evaluate(DynamicContext dynamicContext, ISequence<?> focus) {
     return ISequence.of(getChildren().stream()
         .map(expr -> expr.accept(dynamicContext, focus))
         .map(ISequence::toCollectionValue)
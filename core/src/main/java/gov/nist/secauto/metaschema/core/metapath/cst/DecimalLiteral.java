@@ -44,7 +44,7 @@ public class DecimalLiteral
 
   // REFACTOR: store decimal item value as a field of this class
   @Override
-  public ISequence<? extends IDecimalItem> accept(DynamicContext dynamicContext, ISequence<?> focus) {
+  public ISequence<? extends IDecimalItem> evaluate(DynamicContext dynamicContext, ISequence<?> focus) {
     return ISequence.of(IDecimalItem.valueOf(getValue()));
   }
 }
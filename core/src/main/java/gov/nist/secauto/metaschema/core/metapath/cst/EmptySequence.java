@@ -45,7 +45,7 @@ public final class EmptySequence<RESULT_TYPE extends IItem>
   }
 
   @Override
-  public ISequence<RESULT_TYPE> accept(DynamicContext dynamicContext, ISequence<?> focus) {
+  public ISequence<RESULT_TYPE> evaluate(DynamicContext dynamicContext, ISequence<?> focus) {
     return ISequence.empty();
   }
 
@@ -7,6 +7,8 @@ package gov.nist.secauto.metaschema.core.metapath.cst;
 
 import gov.nist.secauto.metaschema.core.metapath.ISequence;
 import gov.nist.secauto.metaschema.core.metapath.item.IItem;
+import gov.nist.secauto.metaschema.core.metapath.item.node.DocumentOrder;
+import gov.nist.secauto.metaschema.core.metapath.item.node.INodeItem;
 import gov.nist.secauto.metaschema.core.util.ObjectUtils;
 
 import java.util.List;
@@ -35,8 +37,18 @@ public class Except
 
   @Override
   protected ISequence<?> applyFilterTo(@NonNull ISequence<?> result, @NonNull List<? extends IItem> items) {
-    return ISequence.of(ObjectUtils.notNull(result.stream()
-        .filter(item -> !items.contains(item))));
+    List<? extends IItem> resultItems = result.getValue();
+
+    ISequence<?> retval;
+    if (DocumentOrder.isAllNodes(resultItems) && DocumentOrder.isAllNodes(items)) {
+      List<? extends INodeItem> left = ObjectUtils.asType(resultItems);
+      List<? extends INodeItem> right = ObjectUtils.asType(items);
+      retval = ISequence.ofCollection(DocumentOrder.except(left, right));
+    } else {
+      retval = ISequence.of(ObjectUtils.notNull(resultItems.stream()
+          .filter(item -> !items.contains(item))));
+    }
+    return retval;
   }
 
   @Override
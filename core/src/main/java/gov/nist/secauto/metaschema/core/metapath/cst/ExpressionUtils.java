@@ -5,15 +5,38 @@
 
 package gov.nist.secauto.metaschema.core.metapath.cst;
 
+import gov.nist.secauto.metaschema.core.metapath.MetapathConstants;
+import gov.nist.secauto.metaschema.core.metapath.cst.path.AbstractRelativePathExpression;
+import gov.nist.secauto.metaschema.core.metapath.cst.path.AbstractRootPathExpression;
+import gov.nist.secauto.metaschema.core.metapath.cst.path.Axis;
+import gov.nist.secauto.metaschema.core.metapath.cst.path.ContextItem;
+import gov.nist.secauto.metaschema.core.metapath.cst.path.INodeTestExpression;
+import gov.nist.secauto.metaschema.core.metapath.cst.path.Step;
+import gov.nist.secauto.metaschema.core.metapath.function.IFunction;
 import gov.nist.secauto.metaschema.core.util.ObjectUtils;
 
 import java.util.List;
+import java.util.function.IntSupplier;
 import java.util.stream.Collectors;
 
+import javax.xml.namespace.QName;
+
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
 
 public final class ExpressionUtils {
+  @NonNull
+  private static final QName FN_LAST = new QName(MetapathConstants.NS_METAPATH_FUNCTIONS.toASCIIString(), "last");
+
+  /**
+   * Provides the focus size when static analysis has determined that it is not
+   * needed, using {@link #isFocusSizeReferenced(IExpression)}.
+   */
+  @NonNull
+  static final IntSupplier FOCUS_SIZE_NOT_COMPUTED = () -> {
+    throw new IllegalStateException("The focus size was not computed, since it was not referenced.");
+  };
+
   private ExpressionUtils() {
     // disable
   }
@@ -126,4 +149,101 @@ public final class ExpressionUtils {
     return retval;
   }
 
+  /**
+   * Determine if evaluating the expression produces the same result for any
+   * focus within the same document.
+   * <p>
+   * This is a conservative static analysis. An expression is considered to be
+   * focus dependent if it, or any sub-expression evaluated using the same focus,
+   * is a context item, step, or lookup expression, a relative path starting with
+   * one of these, or a call to a focus dependent or dynamic function. Paths
+   * starting at the document root depend only on the document. Variable
+   * references are not considered, and should be checked separately using
+   * {@link #hasVariableReferences(IExpression)}.
+   *
+   * @param expression
+   *          the expression to analyze
+   * @return {@code true} if the expression is focus independent, or
+   *         {@code false} otherwise
+   */
+  public static boolean isFocusIndependent(@NonNull IExpression expression) {
+    boolean retval;
+    if (expression instanceof ContextItem
+        || expression instanceof Step
+        || expression instanceof Axis
+        || expression instanceof INodeTestExpression
+        || expression instanceof AbstractNamedInstanceExpression
+        || expression instanceof UnaryLookup
+        || expression instanceof FunctionCallAccessor) {
+      retval = false;
+    } else if (expression instanceof AbstractRootPathExpression) {
+      // evaluated relative to the document root
+      retval = true;
+    } else if (expression instanceof AbstractRelativePathExpression) {
+      // the right side is evaluated relative to the left
+      retval = isFocusIndependent(((AbstractRelativePathExpression) expression).getLeft());
+    } else if (expression instanceof SimpleMap) {
+      // the right side is evaluated relative to the left
+      retval = isFocusIndependent(((SimpleMap) expression).getLeft());
+    } else if (expression instanceof PredicateExpression) {
+      // predicates are evaluated relative to the base
+      retval = isFocusIndependent(((PredicateExpression) expression).getBase());
+    } else if (expression instanceof StaticFunctionCall
+        && ((StaticFunctionCall) expression).getFunction().isFocusDepenent()) {
+      retval = false;
+    } else {
+      retval = expression.getChildren().stream()
+          .allMatch(child -> isFocusIndependent(ObjectUtils.notNull(child)));
+    }
+    return retval;
+  }
+
+  /**
+   * Determine if the expression, or any of its sub-expressions, references a
+   * variable.
+   *
+   * @param expression
+   *          the expression to analyze
+   * @return {@code true} if a variable is referenced, or {@code false} otherwise
+   */
+  public static boolean hasVariableReferences(@NonNull IExpression expression) {
+    return expression instanceof VariableReference
+        || expression.getChildren().stream()
+            .anyMatch(child -> hasVariableReferences(ObjectUtils.notNull(child)));
+  }
+
+  /**
+   * Determine if evaluating the expression may require the
+   * <a href="https://www.w3.org/TR/xpath-31/#dt-context-size">context size</a>
+   * of its focus, which is the case if it calls {@code fn:last()}.
+   * <p>
+   * This is a conservative static analysis. Predicates and the right side of a
+   * simple map are not considered, since they are evaluated using their own
+   * focus. Dynamic function calls are considered to require the context size.
+   *
+   * @param expression
+   *          the expression to analyze
+   * @return {@code true} if the context size may be required, or {@code false}
+   *         otherwise
+   */
+  public static boolean isFocusSizeReferenced(@NonNull IExpression expression) {
+    boolean retval;
+    if (expression instanceof FunctionCallAccessor) {
+      retval = true;
+    } else if (expression instanceof StaticFunctionCall && isFnLast(((StaticFunctionCall) expression).getFunction())) {
+      retval = true;
+    } else if (expression instanceof PredicateExpression) {
+      retval = isFocusSizeReferenced(((PredicateExpression) expression).getBase());
+    } else if (expression instanceof SimpleMap) {
+      retval = isFocusSizeReferenced(((SimpleMap) expression).getLeft());
+    } else {
+      retval = expression.getChildren().stream()
+          .anyMatch(child -> isFocusSizeReferenced(ObjectUtils.notNull(child)));
+    }
+    return retval;
+  }
+
+  private static boolean isFnLast(@NonNull IFunction function) {
+    return function.arity() == 0 && FN_LAST.equals(function.getQName());
+  }
 }
@@ -11,9 +11,10 @@ import gov.nist.secauto.metaschema.core.metapath.cst.Let.VariableDeclaration;
 import gov.nist.secauto.metaschema.core.metapath.item.IItem;
 import gov.nist.secauto.metaschema.core.util.ObjectUtils;
 
-import java.util.LinkedList;
 import java.util.List;
 
+import javax.xml.namespace.QName;
+
 import edu.umd.cs.findbugs.annotations.NonNull;
 
 /**
@@ -73,18 +74,36 @@ public class For implements IExpression {
   }
 
   @Override
-  public ISequence<? extends IItem> accept(DynamicContext dynamicContext, ISequence<?> focus) {
+  public ISequence<? extends IItem> evaluate(DynamicContext dynamicContext, ISequence<?> focus) {
     Let.VariableDeclaration variable = getVariable();
+    QName name = variable.getName();
     ISequence<?> variableResult = variable.getBoundExpression().accept(dynamicContext, focus);
 
-    DynamicContext subDynamicContext = dynamicContext.subContext();
+    IExpression returnExpression = getReturnExpression();
 
-    List<IItem> retval = new LinkedList<>();
-    for (IItem item : variableResult) {
-      subDynamicContext.bindVariableValue(variable.getName(), ISequence.of(item));
-      retval.addAll(getReturnExpression().accept(subDynamicContext, focus));
+    ISequence<? extends IItem> retval;
+    if (ParallelEvaluation.isParallel(dynamicContext, variableResult)) {
+      // each item is bound in its own sub-context, allowing items to be evaluated
+      // in parallel
+      List<? extends IItem> items = variableResult.getValue();
+      retval = ParallelEvaluation.evaluate(ParallelEvaluation.indexes(dynamicContext, items.size()),
+          indexes -> indexes
+              .mapToObj(index -> returnExpression.accept(
+                  dynamicContext.subContext().bindVariableValue(name, ISequence.of(items.get(index))),
+                  focus))
+              .flatMap(ISequence::stream)
+              .collect(ISequence.toSequence()));
+    } else {
+      // the items are evaluated one at a time, so the variable is rebound in a
+      // single sub-context
+      DynamicContext subDynamicContext = dynamicContext.subContext();
+      retval = variableResult.stream()
+          .flatMap(item -> returnExpression.accept(
+              subDynamicContext.bindVariableValue(name, ISequence.of(item)),
+              focus).stream())
+          .collect(ISequence.toSequence());
     }
-    return ISequence.ofCollection(retval);
+    return ObjectUtils.notNull(retval);
   }
 
   @SuppressWarnings("null")
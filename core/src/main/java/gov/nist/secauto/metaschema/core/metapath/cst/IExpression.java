@@ -8,6 +8,7 @@ package gov.nist.secauto.metaschema.core.metapath.cst;
 import gov.nist.secauto.metaschema.core.metapath.DynamicContext;
 import gov.nist.secauto.metaschema.core.metapath.ISequence;
 import gov.nist.secauto.metaschema.core.metapath.item.IItem;
+import gov.nist.secauto.metaschema.core.profile.IProfiler;
 
 import java.util.List;
 
@@ -64,7 +65,44 @@ public interface IExpression {
   }
 
   /**
-   * Provides a double dispatch callback for visitor handling.
+   * Evaluate this expression.
+   * <p>
+   * If the dynamic context's profiler is enabled, the evaluation is recorded as a
+   * span labeled using {@link #toASTString()}. Since child expressions are also
+   * evaluated using this method, each node of the expression tree gets its own
+   * span. Otherwise, this only checks if the profiler is enabled before calling
+   * {@link #evaluate(DynamicContext, ISequence)}.
+   *
+   * @param dynamicContext
+   *          the dynamic evaluation context
+   * @param focus
+   *          the outer focus of the expression
+   * @return the result of evaluation
+   */
+  @NonNull
+  default ISequence<? extends IItem> accept(@NonNull DynamicContext dynamicContext, @NonNull ISequence<?> focus) {
+    IProfiler profiler = dynamicContext.getProfiler();
+
+    ISequence<? extends IItem> retval;
+    if (profiler.isEnabled()) {
+      try (IProfiler.ISpan span = profiler.start(IProfiler.CATEGORY_EXPRESSION, toASTString())) {
+        retval = evaluate(dynamicContext, focus);
+        if (retval.isMaterialized()) {
+          span.setResultSize(retval.size());
+        }
+      }
+    } else {
+      retval = evaluate(dynamicContext, focus);
+    }
+    return retval;
+  }
+
+  /**
+   * Evaluate this expression without recording it.
+   * <p>
+   * This is implemented by each kind of expression. Callers should use
+   * {@link #accept(DynamicContext, ISequence)} instead, so the evaluation is
+   * profiled when profiling is enabled.
    *
    * @param dynamicContext
    *          the dynamic evaluation context
@@ -73,7 +111,7 @@ public interface IExpression {
    * @return the result of evaluation
    */
   @NonNull
-  ISequence<? extends IItem> accept(@NonNull DynamicContext dynamicContext, @NonNull ISequence<?> focus);
+  ISequence<? extends IItem> evaluate(@NonNull DynamicContext dynamicContext, @NonNull ISequence<?> focus);
 
   /**
    * Provides a double dispatch callback for visitor handling.
@@ -79,7 +79,7 @@ public class If
   }
 
   @Override
-  public ISequence<?> accept(DynamicContext dynamicContext, ISequence<?> focus) {
+  public ISequence<?> evaluate(DynamicContext dynamicContext, ISequence<?> focus) {
     ISequence<?> result = getTestExpression().accept(dynamicContext, focus);
 
     ISequence<?> retval;
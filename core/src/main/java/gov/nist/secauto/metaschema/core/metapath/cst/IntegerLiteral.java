@@ -43,7 +43,7 @@ public class IntegerLiteral
   }
 
   @Override
-  public ISequence<? extends IIntegerItem> accept(DynamicContext dynamicContext, ISequence<?> focus) {
+  public ISequence<? extends IIntegerItem> evaluate(DynamicContext dynamicContext, ISequence<?> focus) {
     return ISequence.of(IIntegerItem.valueOf(getValue()));
   }
 }
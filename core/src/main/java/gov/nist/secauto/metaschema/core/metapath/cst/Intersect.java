@@ -7,6 +7,8 @@ package gov.nist.secauto.metaschema.core.metapath.cst;
 
 import gov.nist.secauto.metaschema.core.metapath.ISequence;
 import gov.nist.secauto.metaschema.core.metapath.item.IItem;
+import gov.nist.secauto.metaschema.core.metapath.item.node.DocumentOrder;
+import gov.nist.secauto.metaschema.core.metapath.item.node.INodeItem;
 import gov.nist.secauto.metaschema.core.util.ObjectUtils;
 
 import java.util.List;
@@ -36,9 +38,19 @@ public class Intersect
 
   @Override
   protected ISequence<?> applyFilterTo(@NonNull ISequence<?> result, @NonNull List<? extends IItem> items) {
-    return ISequence.of(ObjectUtils.notNull(result.stream()
-        .distinct()
-        .filter(items::contains)));
+    List<? extends IItem> resultItems = result.getValue();
+
+    ISequence<?> retval;
+    if (DocumentOrder.isAllNodes(resultItems) && DocumentOrder.isAllNodes(items)) {
+      List<? extends INodeItem> left = ObjectUtils.asType(resultItems);
+      List<? extends INodeItem> right = ObjectUtils.asType(items);
+      retval = ISequence.ofCollection(DocumentOrder.intersect(left, right));
+    } else {
+      retval = ISequence.of(ObjectUtils.notNull(resultItems.stream()
+          .distinct()
+          .filter(items::contains)));
+    }
+    return retval;
   }
 
   @Override
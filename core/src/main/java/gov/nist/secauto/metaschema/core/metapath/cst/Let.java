@@ -75,7 +75,7 @@ public class Let implements IExpression {
   }
 
   @Override
-  public ISequence<? extends IItem> accept(DynamicContext dynamicContext, ISequence<?> focus) {
+  public ISequence<? extends IItem> evaluate(DynamicContext dynamicContext, ISequence<?> focus) {
     DynamicContext subDynamicContext = dynamicContext.subContext();
 
     getVariable().bind(dynamicContext, focus, subDynamicContext);
@@ -47,7 +47,7 @@ public class MapConstructor implements IExpression {
   }
 
   @Override
-  public ISequence<? extends IItem> accept(DynamicContext dynamicContext, ISequence<?> focus) {
+  public ISequence<? extends IItem> evaluate(DynamicContext dynamicContext, ISequence<?> focus) {
     return IMapItem.ofCollection(
         ObjectUtils.notNull(getChildren().stream()
             .map(item -> {
@@ -120,7 +120,7 @@ public class MapConstructor implements IExpression {
     }
 
     @Override
-    public ISequence<? extends IItem> accept(DynamicContext dynamicContext, ISequence<?> focus) {
+    public ISequence<? extends IItem> evaluate(DynamicContext dynamicContext, ISequence<?> focus) {
       throw new UnsupportedOperationException("handled by the map constructor");
     }
 
@@ -43,7 +43,7 @@ public class Metapath
   }
 
   @Override
-  public ISequence<?> accept(DynamicContext dynamicContext, ISequence<?> focus) {
+  public ISequence<?> evaluate(DynamicContext dynamicContext, ISequence<?> focus) {
     Stream<? extends IItem> retval = ObjectUtils.notNull(getChildren().stream()
         .flatMap(child -> {
           ISequence<?> result = child.accept(dynamicContext, focus);
@@ -49,7 +49,7 @@ public class Negate
   }
 
   @Override
-  public ISequence<? extends INumericItem> accept(DynamicContext dynamicContext, ISequence<?> focus) {
+  public ISequence<? extends INumericItem> evaluate(DynamicContext dynamicContext, ISequence<?> focus) {
     INumericItem item = FunctionUtils.toNumericOrNull(
         getFirstDataItem(getChild().accept(dynamicContext, focus), true));
     if (item != null) {
@@ -64,7 +64,7 @@ public class Or
   }
 
   @Override
-  public ISequence<? extends IBooleanItem> accept(DynamicContext dynamicContext, ISequence<?> focus) {
+  public ISequence<? extends IBooleanItem> evaluate(DynamicContext dynamicContext, ISequence<?> focus) {
     boolean retval = false;
     for (IExpression child : getChildren()) {
       ISequence<?> result = child.accept(dynamicContext, focus);
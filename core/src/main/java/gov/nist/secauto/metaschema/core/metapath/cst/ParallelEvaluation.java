@@ -0,0 +1,181 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.core.metapath.cst;
+
+import gov.nist.secauto.metaschema.core.configuration.IConfiguration;
+import gov.nist.secauto.metaschema.core.metapath.DynamicContext;
+import gov.nist.secauto.metaschema.core.metapath.ISequence;
+import gov.nist.secauto.metaschema.core.metapath.MetapathEvaluationFeature;
+import gov.nist.secauto.metaschema.core.metapath.MetapathException;
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.function.Function;
+import java.util.stream.BaseStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * Supports the data-parallel evaluation of expressions that iterate over a
+ * sequence, based on the
+ * {@link MetapathEvaluationFeature#METAPATH_EVALUATE_IN_PARALLEL} and
+ * {@link MetapathEvaluationFeature#METAPATH_PARALLEL_THRESHOLD} features.
+ * <p>
+ * The returned index streams are ordered, so results collected from them are in
+ * the order of the iterated items, even when evaluated in parallel.
+ * Operations on parallel streams are run using {@link #evaluate(BaseStream,
+ * Function)} on a pool dedicated to Metapath evaluation, so they do not compete
+ * with other users of the common fork-join pool. Short-circuiting operations
+ * stop the remaining work across all workers.
+ */
+final class ParallelEvaluation {
+  private ParallelEvaluation() {
+    // disable construction
+  }
+
+  /**
+   * Holds the pool used for parallel evaluation, which is created on first use.
+   */
+  private static final class PoolHolder {
+    @NonNull
+    private static final ForkJoinPool POOL = new ForkJoinPool(
+        Runtime.getRuntime().availableProcessors(),
+        pool -> {
+          // the default factory creates daemon threads
+          ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+          thread.setName("metapath-evaluation-" + thread.getPoolIndex());
+          return thread;
+        },
+        null,
+        false);
+
+    private PoolHolder() {
+      // disable construction
+    }
+  }
+
+  /**
+   * Determine if an expression iterating over the provided number of items
+   * should be evaluated in parallel.
+   *
+   * @param dynamicContext
+   *          the dynamic context providing the evaluation configuration
+   * @param size
+   *          the number of items to iterate over
+   * @return {@code true} if the evaluation should be parallel, or {@code false}
+   *         otherwise
+   */
+  static boolean isParallel(@NonNull DynamicContext dynamicContext, long size) {
+    IConfiguration<MetapathEvaluationFeature<?>> configuration = dynamicContext.getConfiguration();
+    return size > 1
+        && configuration.isFeatureEnabled(MetapathEvaluationFeature.METAPATH_EVALUATE_IN_PARALLEL)
+        && size >= configuration.<Integer>get(MetapathEvaluationFeature.METAPATH_PARALLEL_THRESHOLD);
+  }
+
+  /**
+   * Determine if an expression iterating over the items of the provided sequence
+   * should be evaluated in parallel.
+   * <p>
+   * Only a sequence whose items are already available is considered, since
+   * getting the size of any other sequence would evaluate all of its items.
+   *
+   * @param dynamicContext
+   *          the dynamic context providing the evaluation configuration
+   * @param sequence
+   *          the sequence to iterate over
+   * @return {@code true} if the evaluation should be parallel, or {@code false}
+   *         otherwise
+   */
+  static boolean isParallel(@NonNull DynamicContext dynamicContext, @NonNull ISequence<?> sequence) {
+    return sequence.isMaterialized() && isParallel(dynamicContext, sequence.size());
+  }
+
+  /**
+   * Get a stream of the indexes of the items to iterate over, which is parallel
+   * if {@link #isParallel(DynamicContext, long)} is {@code true}.
+   *
+   * @param dynamicContext
+   *          the dynamic context providing the evaluation configuration
+   * @param size
+   *          the number of items to iterate over
+   * @return the zero-based indexes
+   */
+  @NonNull
+  static IntStream indexes(@NonNull DynamicContext dynamicContext, int size) {
+    IntStream retval = IntStream.range(0, size);
+    if (isParallel(dynamicContext, size)) {
+      retval = retval.parallel();
+    }
+    return ObjectUtils.notNull(retval);
+  }
+
+  /**
+   * Get a stream of the indexes of the items to iterate over, which is parallel
+   * if {@link #isParallel(DynamicContext, long)} is {@code true}.
+   *
+   * @param dynamicContext
+   *          the dynamic context providing the evaluation configuration
+   * @param size
+   *          the number of items to iterate over
+   * @return the zero-based indexes
+   */
+  @NonNull
+  static LongStream indexes(@NonNull DynamicContext dynamicContext, long size) {
+    LongStream retval = LongStream.range(0, size);
+    if (isParallel(dynamicContext, size)) {
+      retval = retval.parallel();
+    }
+    return ObjectUtils.notNull(retval);
+  }
+
+  /**
+   * Apply the provided terminal operation to the stream.
+   * <p>
+   * The operation on a parallel stream is run on the pool dedicated to Metapath
+   * evaluation, while the calling thread waits for the result. Any runtime
+   * exception thrown by the operation is rethrown as is.
+   *
+   * @param <S>
+   *          the type of the stream
+   * @param <T>
+   *          the type of the result
+   * @param stream
+   *          the stream to apply the operation to
+   * @param operation
+   *          the terminal operation
+   * @return the result of the operation
+   */
+  static <S extends BaseStream<?, S>, T> T evaluate(@NonNull S stream, @NonNull Function<S, T> operation) {
+    ForkJoinPool pool = PoolHolder.POOL;
+    T retval;
+    if (!stream.isParallel() || ForkJoinTask.getPool() == pool) {
+      // nested parallel operations already run on the pool
+      retval = operation.apply(stream);
+    } else {
+      try {
+        retval = pool.submit(() -> operation.apply(stream)).get();
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        throw new MetapathException("Interrupted while evaluating in parallel.", ex);
+      } catch (ExecutionException ex) {
+        Throwable cause = ex.getCause();
+        if (cause instanceof RuntimeException) {
+          throw (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+          throw (Error) cause;
+        }
+        throw new MetapathException(cause);
+      }
+    }
+    return retval;
+  }
+}
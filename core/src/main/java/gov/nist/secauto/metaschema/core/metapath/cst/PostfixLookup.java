@@ -63,7 +63,7 @@ public class PostfixLookup
   }
 
   @Override
-  public ISequence<? extends IItem> accept(DynamicContext dynamicContext, ISequence<?> focus) {
+  public ISequence<? extends IItem> evaluate(DynamicContext dynamicContext, ISequence<?> focus) {
     ISequence<?> base = getBase().accept(dynamicContext, focus);
 
     IKeySpecifier specifier = getKeySpecifier();
@@ -10,23 +10,43 @@ import gov.nist.secauto.metaschema.core.metapath.ISequence;
 import gov.nist.secauto.metaschema.core.metapath.MetapathEvaluationFeature;
 import gov.nist.secauto.metaschema.core.metapath.function.library.FnBoolean;
 import gov.nist.secauto.metaschema.core.metapath.item.IItem;
+import gov.nist.secauto.metaschema.core.metapath.item.atomic.INumericItem;
 import gov.nist.secauto.metaschema.core.util.ObjectUtils;
 
+import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
-
+import nl.talsmasoftware.lazy4j.Lazy;
+
+/**
+ * An implementation of a
+ * <a href="https://www.w3.org/TR/xpath-31/#id-filter-expression">filter
+ * expression</a>, which filters the items produced by a base expression using a
+ * series of predicates.
+ * <p>
+ * Each predicate is evaluated for each item remaining after the prior
+ * predicates are applied, with a focus having the item's position. The focus
+ * size, used by {@code fn:last()}, is only computed if the predicate may need
+ * it, avoiding the need to fully evaluate the filtered sequence otherwise.
+ */
 public class PredicateExpression implements IExpression {
   @NonNull
   private final IExpression base;
   @NonNull
   private final List<IExpression> predicates;
+  /**
+   * The predicates, each paired with a flag indicating if the predicate may
+   * reference the focus size.
+   */
+  @NonNull
+  private final Lazy<List<Map.Entry<IExpression, Boolean>>> analyzedPredicates;
 
   /**
    * Construct a new predicate expression.
@@ -39,6 +59,9 @@ public class PredicateExpression implements IExpression {
   public PredicateExpression(@NonNull IExpression base, @NonNull List<IExpression> predicates) {
     this.base = base;
     this.predicates = predicates;
+    this.analyzedPredicates = ObjectUtils.notNull(Lazy.lazy(() -> predicates.stream()
+        .map(predicate -> Map.entry(predicate, ExpressionUtils.isFocusSizeReferenced(ObjectUtils.notNull(predicate))))
+        .collect(Collectors.toUnmodifiableList())));
   }
 
   /**
@@ -68,46 +91,79 @@ public class PredicateExpression implements IExpression {
   }
 
   @Override
-  public @NonNull ISequence<? extends IItem> accept(@NonNull DynamicContext dynamicContext,
+  public @NonNull ISequence<? extends IItem> evaluate(@NonNull DynamicContext dynamicContext,
       @NonNull ISequence<?> focus) {
 
-    ISequence<?> retval = getBase().accept(dynamicContext, focus);
+    ISequence<? extends IItem> retval = getBase().accept(dynamicContext, focus);
 
     if (dynamicContext.getConfiguration().isFeatureEnabled(MetapathEvaluationFeature.METAPATH_EVALUATE_PREDICATES)) {
-      // evaluate the predicates for this step
-      AtomicInteger index = new AtomicInteger();
-
-      Stream<? extends IItem> stream = ObjectUtils.notNull(
-          retval.stream().map(item -> {
-            // build a positional index of the items
-            return Map.entry(BigInteger.valueOf(index.incrementAndGet()), item);
-          }).filter(entry -> {
-            @SuppressWarnings("null")
-            @NonNull IItem item = entry.getValue();
-
-            // return false if any predicate evaluates to false
-            return !predicates.stream()
-                .map(predicateExpr -> {
-                  boolean bool;
-                  if (predicateExpr instanceof IntegerLiteral) {
-                    // reduce the result to the matching item
-                    BigInteger predicateIndex = ((IntegerLiteral) predicateExpr).getValue();
-
-                    // get the position of the item
-                    final BigInteger position = entry.getKey();
-
-                    // it is a match if the position matches
-                    bool = position.equals(predicateIndex);
-                  } else {
-                    ISequence<?> innerFocus = ISequence.of(item);
-                    ISequence<?> predicateResult = predicateExpr.accept(dynamicContext, innerFocus);
-                    bool = FnBoolean.fnBoolean(predicateResult).toBoolean();
-                  }
-                  return bool;
-                }).anyMatch(x -> !x);
-          }).map(Entry::getValue));
-
-      retval = ISequence.of(stream);
+      // each predicate filters the items remaining after the prior predicates
+      for (Map.Entry<IExpression, Boolean> entry : ObjectUtils.notNull(analyzedPredicates.get())) {
+        retval = filter(
+            retval,
+            ObjectUtils.notNull(entry.getKey()),
+            ObjectUtils.notNull(entry.getValue()),
+            dynamicContext);
+      }
+    }
+    return retval;
+  }
+
+  @NonNull
+  private static ISequence<? extends IItem> filter(
+      @NonNull ISequence<? extends IItem> items,
+      @NonNull IExpression predicate,
+      boolean sizeReferenced,
+      @NonNull DynamicContext dynamicContext) {
+    Stream<? extends IItem> stream;
+    IntSupplier size;
+    if (sizeReferenced) {
+      List<? extends IItem> list = items.getValue();
+      int count = list.size();
+      stream = list.stream();
+      size = () -> count;
+    } else {
+      stream = items.stream();
+      size = ExpressionUtils.FOCUS_SIZE_NOT_COMPUTED;
+    }
+
+    AtomicInteger position = new AtomicInteger();
+    return ISequence.of(ObjectUtils.notNull(stream.filter(item -> {
+      int itemPosition = position.incrementAndGet();
+
+      boolean retval;
+      if (predicate instanceof IntegerLiteral) {
+        // it is a match if the position matches
+        BigInteger predicateIndex = ((IntegerLiteral) predicate).getValue();
+        retval = predicateIndex.bitLength() < Integer.SIZE && predicateIndex.intValue() == itemPosition;
+      } else {
+        ISequence<?> predicateResult = predicate.accept(
+            dynamicContext.subContext(itemPosition, size),
+            ISequence.of(item));
+        retval = isMatch(predicateResult, itemPosition);
+      }
+      return retval;
+    })));
+  }
+
+  /**
+   * Determine the <a href="https://www.w3.org/TR/xpath-31/#dt-predicate-truth-value">
+   * predicate truth value</a> of a predicate result.
+   * <p>
+   * A single numeric value matches if it is equal to the position. Otherwise,
+   * the effective boolean value is used, which only needs the first two items
+   * of the result.
+   */
+  private static boolean isMatch(@NonNull ISequence<?> predicateResult, int position) {
+    List<? extends IItem> head = ObjectUtils.notNull(predicateResult.stream()
+        .limit(2)
+        .collect(Collectors.toList()));
+
+    boolean retval;
+    if (head.size() == 1 && head.get(0) instanceof INumericItem) {
+      retval = ((INumericItem) head.get(0)).asDecimal().compareTo(BigDecimal.valueOf(position)) == 0;
+    } else {
+      retval = FnBoolean.fnBoolean(ISequence.ofCollection(head)).toBoolean();
     }
     return retval;
   }
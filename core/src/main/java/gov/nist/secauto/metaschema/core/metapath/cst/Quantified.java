@@ -20,6 +20,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -100,9 +101,8 @@ public class Quantified
         .collect(Collectors.toList()));
   }
 
-  @SuppressWarnings("PMD.SystemPrintln")
   @Override
-  public ISequence<? extends IItem> accept(DynamicContext dynamicContext, ISequence<?> focus) {
+  public ISequence<? extends IItem> evaluate(DynamicContext dynamicContext, ISequence<?> focus) {
     Map<QName, ISequence<? extends IItem>> clauses = getInClauses().entrySet().stream()
         .map(entry -> Map.entry(
             entry.getKey(),
@@ -112,8 +112,8 @@ public class Quantified
     List<QName> clauseKeys = new ArrayList<>(clauses.keySet());
     List<? extends Collection<? extends IItem>> clauseValues = new ArrayList<>(clauses.values());
 
-    boolean retval = true;
-    for (List<IItem> product : new CartesianProduct<>(clauseValues)) {
+    CartesianProduct<IItem> products = new CartesianProduct<>(clauseValues);
+    Predicate<List<IItem>> satisfied = product -> {
       DynamicContext subDynamicContext = dynamicContext.subContext();
       for (int idx = 0; idx < product.size(); idx++) {
         QName var = clauseKeys.get(idx);
@@ -123,22 +123,21 @@ public class Quantified
 
         subDynamicContext.bindVariableValue(var, ISequence.of(item));
       }
-      boolean result = FnBoolean.fnBooleanAsPrimitive(getSatisfies().accept(subDynamicContext, focus));
-      if (Quantifier.EVERY.equals(quantifier) && !result) {
-        // fail on first false
-        retval = false;
-        break;
-      } else if (Quantifier.SOME.equals(quantifier)) {
-        if (result) {
-          // pass on first true
-          retval = true;
-          break;
-        }
-        // store (false) result
-        retval = false;
-      }
-    }
-
+      return FnBoolean.fnBooleanAsPrimitive(getSatisfies().accept(subDynamicContext, focus));
+    };
+
+    // the products may be evaluated in parallel, in which case the match
+    // operations still stop all workers once the result is known. Over no
+    // products, "every" is true and "some" is false.
+    boolean retval = ParallelEvaluation.evaluate(ParallelEvaluation.indexes(dynamicContext, products.size),
+        indexes -> {
+          Stream<List<IItem>> stream = indexes.mapToObj(products::get);
+          return Quantifier.EVERY.equals(quantifier)
+              // fail on first false
+              ? stream.allMatch(satisfied)
+              // pass on first true
+              : stream.anyMatch(satisfied);
+        });
     return ISequence.of(IBooleanItem.valueOf(retval));
   }
 
@@ -247,18 +246,25 @@ public class Quantified
       return new CartesianProductIterator<>(dimensions);
     }
 
-    // /**
-    // * Get a stream of list items, representing each Cartesian product, based on
-    // * this iterator.
-    // *
-    // * @return a stream of list items representing each Cartesian product
-    // */
-    // @NonNull
-    // public Stream<List<T>> stream() {
-    // int characteristics = Spliterator.ORDERED | Spliterator.SIZED |
-    // Spliterator.IMMUTABLE;
-    // return StreamSupport.stream(Spliterators.spliterator(iterator(), size,
-    // characteristics), false);
-    // }
+    /**
+     * Get the Cartesian product at the provided position in the iteration order,
+     * which allows the products to be split up for parallel evaluation.
+     *
+     * @param index
+     *          the zero-based position of the product
+     * @return the product
+     */
+    @SuppressWarnings("unchecked")
+    @NonNull
+    private List<T> get(long index) {
+      List<T> list = new ArrayList<>(dimensions.length);
+      long remainder = index;
+      // the first dimension varies the fastest, matching the iterator
+      for (Object[] dimension : dimensions) {
+        list.add((T) dimension[(int) (remainder % dimension.length)]);
+        remainder /= dimension.length;
+      }
+      return ObjectUtils.notNull(Collections.unmodifiableList(list));
+    }
   }
 }
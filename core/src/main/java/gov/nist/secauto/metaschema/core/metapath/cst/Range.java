@@ -43,7 +43,7 @@ public class Range
   }
 
   @Override
-  public ISequence<IIntegerItem> accept(DynamicContext dynamicContext, ISequence<?> focus) {
+  public ISequence<IIntegerItem> evaluate(DynamicContext dynamicContext, ISequence<?> focus) {
     IAnyAtomicItem leftItem = getFirstDataItem(getLeft().accept(dynamicContext, focus), true);
     IAnyAtomicItem rightItem = getFirstDataItem(getRight().accept(dynamicContext, focus), true);
 
@@ -7,18 +7,30 @@ package gov.nist.secauto.metaschema.core.metapath.cst;
 
 import gov.nist.secauto.metaschema.core.metapath.DynamicContext;
 import gov.nist.secauto.metaschema.core.metapath.ISequence;
+import gov.nist.secauto.metaschema.core.metapath.item.IItem;
 import gov.nist.secauto.metaschema.core.util.ObjectUtils;
 
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
+
 import edu.umd.cs.findbugs.annotations.NonNull;
+import nl.talsmasoftware.lazy4j.Lazy;
 
 /**
  * An implementation of the
  * <a href="https://www.w3.org/TR/xpath-31/#id-map-operator">Simple Map Operator
  * <code>!</code></a> supporting evaluating a right expression against every
  * item in a sequence produced by a left expression.
+ * <p>
+ * The right expression is evaluated with a focus having the position of each
+ * item. The focus size, used by {@code fn:last()}, is only computed if the right
+ * expression may need it.
  */
 public class SimpleMap
     extends AbstractBinaryExpression<IExpression, IExpression> {
+  @NonNull
+  private final Lazy<Boolean> focusSizeReferenced;
 
   /**
    * Construct a simple map expression.
@@ -30,16 +42,38 @@ public class SimpleMap
    */
   public SimpleMap(@NonNull IExpression left, @NonNull IExpression right) {
     super(left, right);
+    this.focusSizeReferenced = ObjectUtils.notNull(Lazy.lazy(() -> ExpressionUtils.isFocusSizeReferenced(right)));
   }
 
   @Override
-  public ISequence<?> accept(DynamicContext dynamicContext, ISequence<?> focus) {
+  public ISequence<?> evaluate(DynamicContext dynamicContext, ISequence<?> focus) {
     ISequence<?> leftResult = getLeft().accept(dynamicContext, focus);
 
     IExpression right = getRight();
-    return ObjectUtils.notNull(leftResult.stream()
-        .flatMap(item -> right.accept(dynamicContext, ISequence.of(item)).stream())
-        .collect(ISequence.toSequence()));
+
+    ISequence<?> retval;
+    if (ObjectUtils.notNull(focusSizeReferenced.get()) || ParallelEvaluation.isParallel(dynamicContext, leftResult)) {
+      // the items are needed as a list to provide the focus size or to evaluate
+      // the items in parallel
+      List<? extends IItem> items = leftResult.getValue();
+      int count = items.size();
+      IntSupplier size = () -> count;
+      retval = ParallelEvaluation.evaluate(ParallelEvaluation.indexes(dynamicContext, count),
+          indexes -> indexes
+              .mapToObj(index -> right.accept(
+                  dynamicContext.subContext(index + 1, size),
+                  ISequence.of(items.get(index))))
+              .flatMap(ISequence::stream)
+              .collect(ISequence.toSequence()));
+    } else {
+      AtomicInteger position = new AtomicInteger();
+      retval = leftResult.stream()
+          .flatMap(item -> right.accept(
+              dynamicContext.subContext(position.incrementAndGet(), ExpressionUtils.FOCUS_SIZE_NOT_COMPUTED),
+              ISequence.of(item)).stream())
+          .collect(ISequence.toSequence());
+    }
+    return ObjectUtils.notNull(retval);
   }
 
   @Override
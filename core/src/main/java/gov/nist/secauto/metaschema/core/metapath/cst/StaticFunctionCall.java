@@ -84,7 +84,7 @@ public class StaticFunctionCall implements IExpression {
   }
 
   @Override
-  public ISequence<?> accept(DynamicContext dynamicContext, ISequence<?> focus) {
+  public ISequence<?> evaluate(DynamicContext dynamicContext, ISequence<?> focus) {
     List<ISequence<?>> arguments = ObjectUtils.notNull(getChildren().stream().map(expression -> {
       @NonNull ISequence<?> result = expression.accept(dynamicContext, focus);
       return result;
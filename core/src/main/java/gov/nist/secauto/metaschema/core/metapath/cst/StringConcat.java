@@ -45,7 +45,7 @@ public class StringConcat
   }
 
   @Override
-  public ISequence<?> accept(DynamicContext dynamicContext, ISequence<?> focus) {
+  public ISequence<?> evaluate(DynamicContext dynamicContext, ISequence<?> focus) {
     // TODO: replace with concat function when implemented
     StringBuilder builder = new StringBuilder();
     for (IExpression child : getChildren()) {
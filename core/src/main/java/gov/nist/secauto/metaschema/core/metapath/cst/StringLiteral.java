@@ -62,7 +62,7 @@ public class StringLiteral
   }
 
   @Override
-  public ISequence<? extends IStringItem> accept(DynamicContext dynamicContext, ISequence<?> focus) {
+  public ISequence<? extends IStringItem> evaluate(DynamicContext dynamicContext, ISequence<?> focus) {
     return ISequence.of(IStringItem.valueOf(getValue()));
   }
 }
@@ -45,7 +45,7 @@ public class UnaryLookup
   }
 
   @Override
-  public ISequence<? extends IItem> accept(DynamicContext dynamicContext, ISequence<?> focus) {
+  public ISequence<? extends IItem> evaluate(DynamicContext dynamicContext, ISequence<?> focus) {
     IKeySpecifier specifier = getKeySpecifier();
 
     return ISequence.of(ObjectUtils.notNull(focus.stream()
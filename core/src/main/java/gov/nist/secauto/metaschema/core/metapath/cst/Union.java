@@ -8,10 +8,12 @@ package gov.nist.secauto.metaschema.core.metapath.cst;
 import gov.nist.secauto.metaschema.core.metapath.DynamicContext;
 import gov.nist.secauto.metaschema.core.metapath.ISequence;
 import gov.nist.secauto.metaschema.core.metapath.item.IItem;
+import gov.nist.secauto.metaschema.core.metapath.item.node.DocumentOrder;
+import gov.nist.secauto.metaschema.core.metapath.item.node.INodeItem;
 import gov.nist.secauto.metaschema.core.util.ObjectUtils;
 
 import java.util.List;
-import java.util.stream.Stream;
+import java.util.stream.Collectors;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
 
@@ -48,16 +50,26 @@ public class Union
   }
 
   @Override
-  public ISequence<?> accept(DynamicContext dynamicContext, ISequence<?> focus) {
+  public ISequence<?> evaluate(DynamicContext dynamicContext, ISequence<?> focus) {
     // ensure the sequence is backed by a list
     focus.getValue();
 
     // now process the union
-    @NonNull Stream<? extends IItem> retval = ObjectUtils.notNull(getChildren().stream()
+    List<? extends IItem> items = ObjectUtils.notNull(getChildren().stream()
         .flatMap(child -> {
           ISequence<?> result = child.accept(dynamicContext, focus);
           return result.stream();
-        }).distinct());
-    return ISequence.of(retval);
+        })
+        .collect(Collectors.toList()));
+
+    List<? extends IItem> retval;
+    if (DocumentOrder.isAllNodes(items)) {
+      // sort the nodes in document order, removing duplicates
+      List<? extends INodeItem> nodes = ObjectUtils.asType(items);
+      retval = DocumentOrder.sortDistinct(nodes);
+    } else {
+      retval = ObjectUtils.notNull(items.stream().distinct().collect(Collectors.toList()));
+    }
+    return ISequence.ofCollection(retval);
   }
 }
@@ -62,7 +62,7 @@ public class VariableReference implements IExpression {
   }
 
   @Override
-  public ISequence<? extends IItem> accept(DynamicContext dynamicContext, ISequence<?> focus) {
+  public ISequence<? extends IItem> evaluate(DynamicContext dynamicContext, ISequence<?> focus) {
     return dynamicContext.getVariableValue(getName());
   }
 }
@@ -42,7 +42,7 @@ public class ValueComparison
   }
 
   @Override
-  public ISequence<? extends IBooleanItem> accept(DynamicContext dynamicContext, ISequence<?> focus) {
+  public ISequence<? extends IBooleanItem> evaluate(DynamicContext dynamicContext, ISequence<?> focus) {
     IAnyAtomicItem left = getFirstDataItem(getLeft().accept(dynamicContext, focus), false);
     IAnyAtomicItem right = getFirstDataItem(getRight().accept(dynamicContext, focus), false);
 
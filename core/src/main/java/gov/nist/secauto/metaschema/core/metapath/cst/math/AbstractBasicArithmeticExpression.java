@@ -34,7 +34,7 @@ public abstract class AbstractBasicArithmeticExpression
   }
 
   @Override
-  public ISequence<? extends IAnyAtomicItem> accept(DynamicContext dynamicContext, ISequence<?> focus) {
+  public ISequence<? extends IAnyAtomicItem> evaluate(DynamicContext dynamicContext, ISequence<?> focus) {
     IAnyAtomicItem leftItem = getFirstDataItem(getLeft().accept(dynamicContext, focus), true);
     IAnyAtomicItem rightItem = getFirstDataItem(getRight().accept(dynamicContext, focus), true);
 
@@ -44,7 +44,7 @@ public class IntegerDivision
   }
 
   @Override
-  public ISequence<? extends IIntegerItem> accept(DynamicContext dynamicContext, ISequence<?> focus) {
+  public ISequence<? extends IIntegerItem> evaluate(DynamicContext dynamicContext, ISequence<?> focus) {
     INumericItem dividend = FunctionUtils.toNumericOrNull(
         getFirstDataItem(getLeft().accept(dynamicContext, focus), true));
     INumericItem divisor = FunctionUtils.toNumericOrNull(
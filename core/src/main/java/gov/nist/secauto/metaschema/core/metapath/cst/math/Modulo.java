@@ -43,7 +43,7 @@ public class Modulo
   }
 
   @Override
-  public ISequence<? extends INumericItem> accept(DynamicContext dynamicContext, ISequence<?> focus) {
+  public ISequence<? extends INumericItem> evaluate(DynamicContext dynamicContext, ISequence<?> focus) {
     INumericItem dividend = FunctionUtils.toNumeric(getLeft().accept(dynamicContext, focus), true);
     INumericItem divisor = FunctionUtils.toNumeric(getRight().accept(dynamicContext, focus), true);
     return resultOrEmpty(dividend, divisor);
@@ -10,12 +10,18 @@ import gov.nist.secauto.metaschema.core.metapath.ISequence;
 import gov.nist.secauto.metaschema.core.metapath.cst.AbstractExpression;
 import gov.nist.secauto.metaschema.core.metapath.cst.IExpression;
 import gov.nist.secauto.metaschema.core.metapath.cst.IPathExpression;
+import gov.nist.secauto.metaschema.core.metapath.cst.PredicateExpression;
 import gov.nist.secauto.metaschema.core.metapath.item.IItem;
 import gov.nist.secauto.metaschema.core.metapath.item.ItemUtils;
+import gov.nist.secauto.metaschema.core.metapath.item.node.DocumentOrder;
 import gov.nist.secauto.metaschema.core.metapath.item.node.ICycledAssemblyNodeItem;
 import gov.nist.secauto.metaschema.core.metapath.item.node.INodeItem;
 import gov.nist.secauto.metaschema.core.util.ObjectUtils;
 
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
@@ -23,6 +29,16 @@ import edu.umd.cs.findbugs.annotations.NonNull;
 public abstract class AbstractPathExpression<RESULT_TYPE extends IItem>
     extends AbstractExpression
     implements IPathExpression<RESULT_TYPE> {
+  /**
+   * The axes that only select the focus nodes or their descendants.
+   */
+  @NonNull
+  private static final Set<Axis> SUBTREE_AXES = ObjectUtils.notNull(EnumSet.of(
+      Axis.SELF,
+      Axis.CHILDREN,
+      Axis.DESCENDANT,
+      Axis.DESCENDANT_OR_SELF));
+
   @Override
   public abstract Class<RESULT_TYPE> getBaseResultType();
 
@@ -112,8 +128,101 @@ public abstract class AbstractPathExpression<RESULT_TYPE extends IItem>
     // retval = searchExpression(expr, dynamicContext, context);
     // }
     // return retval;
-    return searchExpression(expression, dynamicContext, focus);
+    List<? extends IItem> focusItems = focus.getValue();
+
+    Stream<? extends INodeItem> retval;
+    if (isSubtreeLocal(expression)
+        && DocumentOrder.isAllNodes(focusItems)
+        && DocumentOrder.isOrderedAndDisjoint(ObjectUtils.asType(focusItems))) {
+      // the subtrees of the focus nodes do not overlap, so the matches can be
+      // found lazily in document order
+      retval = searchInDocumentOrder(expression, dynamicContext, focus);
+    } else {
+      List<? extends INodeItem> matches = ObjectUtils.notNull(searchExpression(expression, dynamicContext, focus)
+          .collect(Collectors.toList()));
+
+      // nested focus nodes can produce duplicate matches, which are removed while
+      // sorting the matches in document order
+      retval = ObjectUtils.notNull(DocumentOrder.isAllNodes(matches)
+          ? DocumentOrder.sortDistinct(matches).stream()
+          : matches.stream());
+    }
+    return retval;
+  }
+
+  /**
+   * Evaluate the {@code outerFocus} and its descendants against the provided
+   * {@code expression}, keeping any matching nodes in document order.
+   * <p>
+   * The {@code expression} must only match nodes in the subtrees of the focus
+   * nodes, which must be in document order and disjoint. The matches for the
+   * focus are merged with the matches found in the subtree of each focus node,
+   * which are searched lazily.
+   *
+   * @param expression
+   *          the expression to evaluate
+   * @param dynamicContext
+   *          the evaluation context
+   * @param outerFocus
+   *          the current context nodes
+   * @return the matching nodes
+   */
+  @NonNull
+  private Stream<? extends INodeItem> searchInDocumentOrder(
+      @NonNull IExpression expression,
+      @NonNull DynamicContext dynamicContext,
+      @NonNull ISequence<?> outerFocus) {
+    // ensure the sequence is backed by a list
+    outerFocus.getValue();
 
+    // check the current focus
+    List<? extends INodeItem> nodeMatches = DocumentOrder.sortDistinct(
+        ObjectUtils.<List<? extends INodeItem>>asType(expression.accept(dynamicContext, outerFocus).getValue()));
+
+    Stream<? extends INodeItem> childMatches = outerFocus.stream()
+        .map(ItemUtils::checkItemIsNodeItemForStep)
+        .flatMap(focusedNode -> {
+          Stream<? extends INodeItem> matches;
+          if (focusedNode instanceof ICycledAssemblyNodeItem) {
+            // prevent stack overflow
+            matches = Stream.empty();
+          } else {
+            assert focusedNode != null;
+            matches = searchInDocumentOrder(
+                expression,
+                dynamicContext,
+                ISequence.of(ObjectUtils.notNull(Stream.concat(focusedNode.flags(), focusedNode.modelItems()))));
+          }
+          return matches;
+        });
+
+    return DocumentOrder.merge(nodeMatches, ObjectUtils.notNull(childMatches));
+  }
+
+  /**
+   * Determine if the provided expression only matches the focus nodes or their
+   * descendants.
+   *
+   * @param expression
+   *          the expression to check
+   * @return {@code true} if the matches are within the subtrees of the focus
+   *         nodes, or {@code false} otherwise
+   */
+  private static boolean isSubtreeLocal(@NonNull IExpression expression) {
+    boolean retval;
+    if (expression instanceof Step) {
+      retval = SUBTREE_AXES.contains(((Step) expression).getAxis());
+    } else if (expression instanceof Axis) {
+      retval = SUBTREE_AXES.contains(expression);
+    } else if (expression instanceof PredicateExpression) {
+      // predicates only filter the base matches
+      retval = isSubtreeLocal(((PredicateExpression) expression).getBase());
+    } else {
+      retval = expression instanceof ModelInstance
+          || expression instanceof Flag
+          || expression instanceof ContextItem;
+    }
+    return retval;
   }
 
   // /**
@@ -70,7 +70,7 @@ public enum Axis implements IExpression {
   }
 
   @Override
-  public ISequence<? extends INodeItem> accept(
+  public ISequence<? extends INodeItem> evaluate(
       DynamicContext dynamicContext,
       ISequence<?> outerFocus) {
     ISequence<? extends INodeItem> retval;
@@ -45,7 +45,7 @@ public class Flag // NOPMD - intentional name
   }
 
   @Override
-  public ISequence<? extends IFlagNodeItem> accept(
+  public ISequence<? extends IFlagNodeItem> evaluate(
       DynamicContext dynamicContext,
       ISequence<?> focus) {
     return ISequence.of(ObjectUtils.notNull(focus.stream()
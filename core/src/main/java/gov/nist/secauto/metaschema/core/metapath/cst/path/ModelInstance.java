@@ -47,7 +47,7 @@ public class ModelInstance
   }
 
   @Override
-  public ISequence<? extends IModelNodeItem<?, ?>> accept(
+  public ISequence<? extends IModelNodeItem<?, ?>> evaluate(
       DynamicContext dynamicContext,
       ISequence<?> focus) {
     return ISequence.of(ObjectUtils.notNull(focus.stream()
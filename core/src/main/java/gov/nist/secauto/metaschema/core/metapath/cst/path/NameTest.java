@@ -55,7 +55,7 @@ public class NameTest
   }
 
   @Override
-  public ISequence<? extends INodeItem> accept(
+  public ISequence<? extends INodeItem> evaluate(
       DynamicContext dynamicContext,
       ISequence<?> focus) {
     return ISequence.of(ObjectUtils.notNull(focus.stream()
@@ -37,7 +37,7 @@ public class RelativeDoubleSlashPath
   }
 
   @Override
-  public ISequence<? extends INodeItem> accept(
+  public ISequence<? extends INodeItem> evaluate(
       DynamicContext dynamicContext,
       ISequence<?> focus) {
     ISequence<?> leftResult = getLeft().accept(dynamicContext, focus);
@@ -34,7 +34,7 @@ public class RelativeSlashPath
   }
 
   @Override
-  public ISequence<?> accept(
+  public ISequence<?> evaluate(
       DynamicContext dynamicContext,
       ISequence<?> focus) {
     ISequence<?> leftResult = getLeft().accept(dynamicContext, focus);
@@ -32,7 +32,7 @@ public class RootDoubleSlashPath
   }
 
   @Override
-  public ISequence<?> accept(
+  public ISequence<?> evaluate(
       DynamicContext dynamicContext, ISequence<?> context) {
     return ISequence.of(search(getExpression(), dynamicContext, context));
   }
@@ -35,7 +35,7 @@ public class RootSlashOnlyPath
   }
 
   @Override
-  public ISequence<? extends INodeItem> accept(
+  public ISequence<? extends INodeItem> evaluate(
       DynamicContext dynamicContext,
       ISequence<?> focus) {
 
@@ -34,7 +34,7 @@ public class RootSlashPath
   }
 
   @Override
-  public ISequence<?> accept(
+  public ISequence<?> evaluate(
       DynamicContext dynamicContext,
       ISequence<?> focus) {
 
@@ -11,7 +11,6 @@ import gov.nist.secauto.metaschema.core.metapath.cst.ExpressionUtils;
 import gov.nist.secauto.metaschema.core.metapath.cst.IExpression;
 import gov.nist.secauto.metaschema.core.metapath.cst.IExpressionVisitor;
 import gov.nist.secauto.metaschema.core.metapath.item.IItem;
-import gov.nist.secauto.metaschema.core.metapath.item.node.INodeItem;
 import gov.nist.secauto.metaschema.core.util.ObjectUtils;
 
 import java.util.List;
@@ -83,9 +82,9 @@ public class Step implements IExpression { // NOPMD - intentional
   }
 
   @Override
-  public ISequence<?> accept(DynamicContext dynamicContext, ISequence<?> focus) {
+  public ISequence<?> evaluate(DynamicContext dynamicContext, ISequence<?> focus) {
 
-    ISequence<? extends INodeItem> axisResult = getAxis().accept(dynamicContext, focus);
+    ISequence<?> axisResult = getAxis().accept(dynamicContext, focus);
     return getStep().accept(dynamicContext, axisResult);
   }
 
@@ -44,7 +44,7 @@ public class Wildcard implements INameTestExpression {
   }
 
   @Override
-  public ISequence<? extends INodeItem> accept(
+  public ISequence<? extends INodeItem> evaluate(
       DynamicContext dynamicContext, ISequence<?> focus) {
     Stream<? extends INodeItem> nodes = ObjectUtils.notNull(focus.stream().map(ItemUtils::checkItemIsNodeItemForStep));
     return ISequence.of(match(nodes));
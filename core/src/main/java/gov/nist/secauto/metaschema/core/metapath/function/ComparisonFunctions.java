@@ -22,12 +22,25 @@ import gov.nist.secauto.metaschema.core.metapath.item.atomic.IStringItem;
 import gov.nist.secauto.metaschema.core.metapath.item.atomic.IUntypedAtomicItem;
 import gov.nist.secauto.metaschema.core.metapath.item.atomic.IYearMonthDurationItem;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Locale;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
 
 @SuppressWarnings({ "PMD.GodClass", "PMD.CyclomaticComplexity" })
 public final class ComparisonFunctions {
+  /**
+   * The minimum size of both sequences in a general equality comparison for
+   * which a hash set is used to find a matching pair.
+   */
+  private static final int HASH_JOIN_THRESHOLD = 8;
+
   /**
    * Comparison operators.
    */
@@ -81,6 +94,13 @@ public final class ComparisonFunctions {
 
   /**
    * Compare the sets of atomic items.
+   * <p>
+   * The result is {@code true} as soon as a matching pair of items is found.
+   * When all items are strings or untyped, or all items are integers, the items
+   * are compared using their Java values. In this case, equality is checked
+   * using a hash set of the larger sequence once both sequences have at least
+   * {@value #HASH_JOIN_THRESHOLD} items, and ordered comparisons only compare
+   * the minimum and maximum values of each sequence.
    *
    * @param leftItems
    *          the first set of items to compare
@@ -91,15 +111,40 @@ public final class ComparisonFunctions {
    * @return a or an empty {@link ISequence} if either item is {@code null}
    */
   @NonNull
-  public static IBooleanItem generalCompairison( // NOPMD - acceptable complexity
+  public static IBooleanItem generalCompairison(
       @NonNull ISequence<? extends IAnyAtomicItem> leftItems,
       @NonNull Operator operator,
       @NonNull ISequence<? extends IAnyAtomicItem> rightItems) {
+    List<? extends IAnyAtomicItem> left = leftItems.getValue();
+    List<? extends IAnyAtomicItem> right = rightItems.getValue();
 
-    IBooleanItem retval = IBooleanItem.FALSE;
-    for (IAnyAtomicItem left : leftItems.getValue()) {
+    boolean retval;
+    if (left.isEmpty() || right.isEmpty()) {
+      retval = false;
+    } else if (isAll(left, ComparisonFunctions::isStringValued)
+        && isAll(right, ComparisonFunctions::isStringValued)) {
+      retval = keyedComparison(
+          toKeys(left, IAnyAtomicItem::asString),
+          operator,
+          toKeys(right, IAnyAtomicItem::asString));
+    } else if (isAll(left, IIntegerItem.class::isInstance) && isAll(right, IIntegerItem.class::isInstance)) {
+      retval = keyedComparison(
+          toKeys(left, item -> ((IIntegerItem) item).asInteger()),
+          operator,
+          toKeys(right, item -> ((IIntegerItem) item).asInteger()));
+    } else {
+      retval = pairwiseComparison(left, operator, right);
+    }
+    return IBooleanItem.valueOf(retval);
+  }
+
+  private static boolean pairwiseComparison(
+      @NonNull List<? extends IAnyAtomicItem> leftItems,
+      @NonNull Operator operator,
+      @NonNull List<? extends IAnyAtomicItem> rightItems) {
+    for (IAnyAtomicItem left : leftItems) {
       assert left != null;
-      for (IAnyAtomicItem right : rightItems.getValue()) {
+      for (IAnyAtomicItem right : rightItems) {
         assert right != null;
         IAnyAtomicItem leftCast;
         IAnyAtomicItem rightCast;
@@ -120,12 +165,102 @@ public final class ComparisonFunctions {
         }
 
         assert leftCast != null;
-        IBooleanItem result = compare(leftCast, operator, rightCast);
-        if (IBooleanItem.TRUE.equals(result)) {
-          retval = IBooleanItem.TRUE;
+        if (compare(leftCast, operator, rightCast).toBoolean()) {
+          return true;
         }
       }
     }
+    return false;
+  }
+
+  /**
+   * Compare two non-empty lists of keys, whose natural ordering matches the
+   * Metapath ordering of the items they were created from.
+   *
+   * @param <K>
+   *          the Java type of the keys
+   * @param leftKeys
+   *          the first set of keys to compare
+   * @param operator
+   *          the comparison operator
+   * @param rightKeys
+   *          the second set of keys to compare
+   * @return {@code true} if any pair of keys matches the comparison, or
+   *         {@code false} otherwise
+   */
+  private static <K extends Comparable<K>> boolean keyedComparison(
+      @NonNull List<K> leftKeys,
+      @NonNull Operator operator,
+      @NonNull List<K> rightKeys) {
+    boolean retval;
+    switch (operator) {
+    case EQ:
+      retval = containsAny(leftKeys, rightKeys);
+      break;
+    case NE: {
+      // a pair is unequal unless every key has the same value
+      K first = leftKeys.get(0);
+      retval = leftKeys.stream().anyMatch(key -> key.compareTo(first) != 0)
+          || rightKeys.stream().anyMatch(key -> key.compareTo(first) != 0);
+      break;
+    }
+    case LT:
+      retval = Collections.min(leftKeys).compareTo(Collections.max(rightKeys)) < 0;
+      break;
+    case LE:
+      retval = Collections.min(leftKeys).compareTo(Collections.max(rightKeys)) <= 0;
+      break;
+    case GT:
+      retval = Collections.max(leftKeys).compareTo(Collections.min(rightKeys)) > 0;
+      break;
+    case GE:
+      retval = Collections.max(leftKeys).compareTo(Collections.min(rightKeys)) >= 0;
+      break;
+    default:
+      throw new IllegalArgumentException(String.format("Unsupported operator '%s'", operator.name()));
+    }
+    return retval;
+  }
+
+  private static <K> boolean containsAny(@NonNull List<K> leftKeys, @NonNull List<K> rightKeys) {
+    boolean retval;
+    if (leftKeys.size() >= HASH_JOIN_THRESHOLD && rightKeys.size() >= HASH_JOIN_THRESHOLD) {
+      List<K> smaller;
+      Set<K> larger;
+      if (leftKeys.size() < rightKeys.size()) {
+        smaller = leftKeys;
+        larger = new HashSet<>(rightKeys);
+      } else {
+        smaller = rightKeys;
+        larger = new HashSet<>(leftKeys);
+      }
+      retval = smaller.stream().anyMatch(larger::contains);
+    } else {
+      retval = leftKeys.stream().anyMatch(rightKeys::contains);
+    }
+    return retval;
+  }
+
+  private static boolean isStringValued(@NonNull IAnyAtomicItem item) {
+    // untyped items are compared as strings when compared with strings or
+    // untyped items
+    return item instanceof IStringItem || item instanceof IUntypedAtomicItem;
+  }
+
+  private static boolean isAll(
+      @NonNull List<? extends IAnyAtomicItem> items,
+      @NonNull Predicate<IAnyAtomicItem> predicate) {
+    return items.stream().allMatch(predicate);
+  }
+
+  @NonNull
+  private static <K> List<K> toKeys(
+      @NonNull List<? extends IAnyAtomicItem> items,
+      @NonNull Function<IAnyAtomicItem, K> mapper) {
+    List<K> retval = new ArrayList<>(items.size());
+    for (IAnyAtomicItem item : items) {
+      retval.add(mapper.apply(item));
+    }
     return retval;
   }
 
@@ -189,8 +189,10 @@ public class DefaultFunction
     // apply occurrence
     ISequence<?> retval = argument.getSequenceType().getOccurrence().getSequenceHandler().handle(parameter);
 
-    // apply function conversion and type promotion to the parameter
-    if (!retval.isEmpty()) {
+    // apply function conversion and type promotion to the parameter, unless any
+    // item is allowed, in which case the parameter is passed as is so that the
+    // function can consume it lazily
+    if (!IItem.class.equals(argument.getSequenceType().getType()) && !retval.isEmpty()) {
       retval = convertSequence(argument, retval);
 
       // verify resulting values
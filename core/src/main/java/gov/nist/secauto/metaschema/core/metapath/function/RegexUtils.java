@@ -0,0 +1,174 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.core.metapath.function;
+
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * Provides compiled regular expression patterns, which are shared using a
+ * bounded cache.
+ * <p>
+ * Patterns are cached by expression and flags, so the regular expressions used
+ * by Metapath functions and matches constraints are only compiled once, no
+ * matter how many values they are applied to. The least recently used pattern
+ * is discarded once the cache is full.
+ */
+public final class RegexUtils {
+  /**
+   * The maximum number of patterns to retain in the cache.
+   */
+  private static final int MAX_CACHED_PATTERNS = 512;
+
+  @SuppressWarnings({ "serial", "PMD.UseConcurrentHashMap" }) // synchronized, access ordered map
+  @NonNull
+  private static final Map<Map.Entry<String, Integer>, Pattern> PATTERN_CACHE
+      = ObjectUtils.notNull(Collections.synchronizedMap(
+          new LinkedHashMap<Map.Entry<String, Integer>, Pattern>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Map.Entry<String, Integer>, Pattern> eldest) {
+              return size() > MAX_CACHED_PATTERNS;
+            }
+          }));
+
+  private RegexUtils() {
+    // disable construction
+  }
+
+  /**
+   * Get the compiled pattern for the provided Java regular expression.
+   *
+   * @param regex
+   *          the regular expression, using {@link Pattern} syntax
+   * @return the compiled pattern
+   * @throws PatternSyntaxException
+   *           if the regular expression is invalid
+   */
+  @NonNull
+  public static Pattern compile(@NonNull String regex) {
+    return compile(regex, 0);
+  }
+
+  /**
+   * Get the compiled pattern for the provided Metapath regular expression and
+   * <a href= "https://www.w3.org/TR/xpath-functions-31/#flags">flags</a>.
+   *
+   * @param regex
+   *          the regular expression
+   * @param flags
+   *          the regular expression flags, which may be empty
+   * @return the compiled pattern
+   * @throws RegularExpressionFunctionException
+   *           if the flags or regular expression are invalid
+   */
+  @NonNull
+  public static Pattern compile(@NonNull String regex, @NonNull String flags) {
+    int javaFlags = toJavaFlags(flags);
+
+    String javaRegex = regex;
+    if ((javaFlags & Pattern.LITERAL) == 0 && flags.indexOf('x') >= 0) {
+      javaRegex = removeWhitespace(regex);
+    }
+
+    try {
+      return compile(javaRegex, javaFlags);
+    } catch (PatternSyntaxException ex) {
+      throw new RegularExpressionFunctionException(
+          RegularExpressionFunctionException.INVALID_EXPRESSION,
+          String.format("Invalid regular expression '%s'. %s", regex, ex.getDescription()),
+          ex);
+    }
+  }
+
+  @NonNull
+  private static Pattern compile(@NonNull String regex, int flags) {
+    Map.Entry<String, Integer> key = Map.entry(regex, flags);
+    Pattern retval = PATTERN_CACHE.get(key);
+    if (retval == null) {
+      // compiled outside of the lock, since racing threads produce equivalent
+      // patterns
+      retval = Pattern.compile(regex, flags);
+      PATTERN_CACHE.put(key, retval);
+    }
+    return ObjectUtils.notNull(retval);
+  }
+
+  /**
+   * Determine if the provided pattern matches a zero-length string.
+   *
+   * @param pattern
+   *          the pattern to check
+   * @return {@code true} if the pattern matches a zero-length string, or
+   *         {@code false} otherwise
+   */
+  public static boolean matchesZeroLengthString(@NonNull Pattern pattern) {
+    return pattern.matcher("").find();
+  }
+
+  private static int toJavaFlags(@NonNull String flags) {
+    int retval = 0;
+    for (int index = 0; index < flags.length(); index++) {
+      char flag = flags.charAt(index);
+      switch (flag) {
+      case 's':
+        retval |= Pattern.DOTALL;
+        break;
+      case 'm':
+        retval |= Pattern.MULTILINE;
+        break;
+      case 'i':
+        retval |= Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE;
+        break;
+      case 'x':
+        // handled by removing whitespace from the expression
+        break;
+      case 'q':
+        retval |= Pattern.LITERAL;
+        break;
+      default:
+        throw new RegularExpressionFunctionException(
+            RegularExpressionFunctionException.INVALID_FLAGS,
+            String.format("Invalid regular expression flag '%s' in flags '%s'.", flag, flags));
+      }
+    }
+    return retval;
+  }
+
+  /**
+   * Remove the whitespace characters in the provided regular expression, other
+   * than those in a character class expression, as required by the {@code x}
+   * flag.
+   */
+  @NonNull
+  private static String removeWhitespace(@NonNull String regex) {
+    StringBuilder builder = new StringBuilder(regex.length());
+    int classDepth = 0;
+    boolean escaped = false;
+    for (int index = 0; index < regex.length(); index++) {
+      char ch = regex.charAt(index);
+      if (escaped) {
+        escaped = false;
+      } else if (ch == '\\') {
+        escaped = true;
+      } else if (ch == '[') {
+        classDepth++;
+      } else if (ch == ']' && classDepth > 0) {
+        classDepth--;
+      } else if (classDepth == 0 && (ch == ' ' || ch == '\t' || ch == '\n' || ch == '\r')) {
+        continue;
+      }
+      builder.append(ch);
+    }
+    return ObjectUtils.notNull(builder.toString());
+  }
+}
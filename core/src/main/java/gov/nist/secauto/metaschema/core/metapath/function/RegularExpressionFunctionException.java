@@ -0,0 +1,95 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.core.metapath.function;
+
+import gov.nist.secauto.metaschema.core.metapath.AbstractCodedMetapathException;
+
+/**
+ * FORX: Exceptions related to regular expressions.
+ */
+public class RegularExpressionFunctionException
+    extends AbstractCodedMetapathException {
+  /**
+   * <a href=
+   * "https://www.w3.org/TR/xpath-functions-31/#ERRFORX0001">err:FORX0001</a>:
+   * Raised by regular expression functions such as fn:matches and fn:replace if
+   * the regular expression flags contain a character other than {@code i},
+   * {@code m}, {@code q}, {@code s}, or {@code x}.
+   */
+  public static final int INVALID_FLAGS = 1;
+  /**
+   * <a href=
+   * "https://www.w3.org/TR/xpath-functions-31/#ERRFORX0002">err:FORX0002</a>:
+   * Raised by regular expression functions such as fn:matches and fn:replace if
+   * the regular expression is syntactically invalid.
+   */
+  public static final int INVALID_EXPRESSION = 2;
+  /**
+   * <a href=
+   * "https://www.w3.org/TR/xpath-functions-31/#ERRFORX0003">err:FORX0003</a>:
+   * For functions such as fn:replace and fn:tokenize, raises an error if the
+   * supplied regular expression is capable of matching a zero length string.
+   */
+  public static final int MATCHES_ZERO_LENGTH_STRING = 3;
+  /**
+   * <a href=
+   * "https://www.w3.org/TR/xpath-functions-31/#ERRFORX0004">err:FORX0004</a>:
+   * Raised by fn:replace to report errors in the replacement string.
+   */
+  public static final int INVALID_REPLACEMENT_STRING = 4;
+
+  /**
+   * the serial version UID.
+   */
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * Constructs a new exception with the provided {@code code}, {@code message},
+   * and no cause.
+   *
+   * @param code
+   *          the error code value
+   * @param message
+   *          the exception message
+   */
+  public RegularExpressionFunctionException(int code, String message) {
+    super(code, message);
+  }
+
+  /**
+   * Constructs a new exception with the provided {@code code}, {@code message},
+   * and {@code cause}.
+   *
+   * @param code
+   *          the error code value
+   * @param message
+   *          the exception message
+   * @param cause
+   *          the original exception cause
+   */
+  public RegularExpressionFunctionException(int code, String message, Throwable cause) {
+    super(code, message, cause);
+  }
+
+  /**
+   * Constructs a new exception with the provided {@code code}, no message, and
+   * the {@code cause}.
+   *
+   * @param code
+   *          the error code value
+   * @param cause
+   *          the original exception cause
+   */
+  public RegularExpressionFunctionException(int code, Throwable cause) {
+    super(code, cause);
+  }
+
+  @Override
+  public String getCodePrefix() {
+    return "FORX";
+  }
+
+}
@@ -62,7 +62,8 @@ public class DefaultFunctionLibrary
     // https://www.w3.org/TR/xpath-functions-31/#func-day-from-dateTime
     // https://www.w3.org/TR/xpath-functions-31/#func-days-from-duration
     // P1: https://www.w3.org/TR/xpath-functions-31/#func-deep-equal
-    // P1: https://www.w3.org/TR/xpath-functions-31/#func-distinct-values
+    // https://www.w3.org/TR/xpath-functions-31/#func-distinct-values
+    registerFunction(FnDistinctValues.SIGNATURE);
     // https://www.w3.org/TR/xpath-functions-31/#func-doc
     registerFunction(FnDoc.SIGNATURE);
     // https://www.w3.org/TR/xpath-functions-31/#func-doc-available
@@ -94,14 +95,18 @@ public class DefaultFunctionLibrary
     // https://www.w3.org/TR/xpath-functions-31/#func-hours-from-duration
     // https://www.w3.org/TR/xpath-functions-31/#func-hours-from-time
     // https://www.w3.org/TR/xpath-functions-31/#func-implicit-timezone
-    // P1: https://www.w3.org/TR/xpath-functions-31/#func-index-of
+    // https://www.w3.org/TR/xpath-functions-31/#func-index-of
+    registerFunction(FnIndexOf.SIGNATURE);
     // https://www.w3.org/TR/xpath-functions-31/#func-innermost
     // P1: https://www.w3.org/TR/xpath-functions-31/#func-insert-before
     registerFunction(FnInsertBefore.SIGNATURE);
     // https://www.w3.org/TR/xpath-functions-31/#func-iri-to-uri
-    // P1: https://www.w3.org/TR/xpath-functions-31/#func-last
+    // https://www.w3.org/TR/xpath-functions-31/#func-last
+    registerFunction(FnLast.SIGNATURE);
     // P1: https://www.w3.org/TR/xpath-functions-31/#func-lower-case
-    // P1: https://www.w3.org/TR/xpath-functions-31/#func-matches
+    // https://www.w3.org/TR/xpath-functions-31/#func-matches
+    registerFunction(FnMatches.SIGNATURE_TWO_ARG);
+    registerFunction(FnMatches.SIGNATURE_THREE_ARG);
     // https://www.w3.org/TR/xpath-functions-31/#func-max
     registerFunction(FnMinMax.SIGNATURE_MAX);
     // https://www.w3.org/TR/xpath-functions-31/#func-min
@@ -124,10 +129,13 @@ public class DefaultFunctionLibrary
     // https://www.w3.org/TR/xpath-functions-31/#func-path
     registerFunction(FnPath.SIGNATURE_NO_ARG);
     registerFunction(FnPath.SIGNATURE_ONE_ARG);
-    // P2: https://www.w3.org/TR/xpath-functions-31/#func-position
+    // https://www.w3.org/TR/xpath-functions-31/#func-position
+    registerFunction(FnPosition.SIGNATURE);
     // P1: https://www.w3.org/TR/xpath-functions-31/#func-remove
     registerFunction(FnRemove.SIGNATURE);
-    // P1: https://www.w3.org/TR/xpath-functions-31/#func-replace
+    // https://www.w3.org/TR/xpath-functions-31/#func-replace
+    registerFunction(FnReplace.SIGNATURE_THREE_ARG);
+    registerFunction(FnReplace.SIGNATURE_FOUR_ARG);
     // https://www.w3.org/TR/xpath-functions-31/#func-resolve-uri
     registerFunction(FnResolveUri.SIGNATURE_ONE_ARG);
     registerFunction(FnResolveUri.SIGNATURE_TWO_ARG);
@@ -160,7 +168,10 @@ public class DefaultFunctionLibrary
     // https://www.w3.org/TR/xpath-functions-31/#func-timezone-from-date
     // https://www.w3.org/TR/xpath-functions-31/#func-timezone-from-dateTime
     // https://www.w3.org/TR/xpath-functions-31/#func-timezone-from-time
-    // P1: https://www.w3.org/TR/xpath-functions-31/#func-tokenize
+    // https://www.w3.org/TR/xpath-functions-31/#func-tokenize
+    registerFunction(FnTokenize.SIGNATURE_ONE_ARG);
+    registerFunction(FnTokenize.SIGNATURE_TWO_ARG);
+    registerFunction(FnTokenize.SIGNATURE_THREE_ARG);
     // P1: https://www.w3.org/TR/xpath-functions-31/#func-translate
     // https://www.w3.org/TR/xpath-functions-31/#func-true
     registerFunction(FnTrue.SIGNATURE);
@@ -286,6 +297,8 @@ public class DefaultFunctionLibrary
     // extra functions
     registerFunction(MpRecurseDepth.SIGNATURE_ONE_ARG);
     registerFunction(MpRecurseDepth.SIGNATURE_TWO_ARG);
+    registerFunction(MpKey.SIGNATURE_TWO_ARG);
+    registerFunction(MpKey.SIGNATURE_THREE_ARG);
   }
 
 }
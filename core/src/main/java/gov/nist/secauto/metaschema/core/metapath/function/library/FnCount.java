@@ -52,6 +52,21 @@ public final class FnCount {
       IItem focus) {
     ISequence<? extends IItem> sequence = FunctionUtils.asType(
         ObjectUtils.requireNonNull(arguments.get(0)));
-    return ISequence.of(IIntegerItem.valueOf(sequence.size()));
+    return ISequence.of(fnCount(sequence));
+  }
+
+  /**
+   * Count the items in the {@code sequence}.
+   * <p>
+   * The items are counted from the sequence's stream, so a lazily evaluated
+   * sequence is not collected into a list to be counted.
+   *
+   * @param sequence
+   *          the sequence to count
+   * @return the number of items in the sequence
+   */
+  @NonNull
+  public static IIntegerItem fnCount(@NonNull ISequence<?> sequence) {
+    return IIntegerItem.valueOf(sequence.stream().count());
   }
 }
@@ -0,0 +1,109 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.core.metapath.function.library;
+
+import gov.nist.secauto.metaschema.core.metapath.DynamicContext;
+import gov.nist.secauto.metaschema.core.metapath.ISequence;
+import gov.nist.secauto.metaschema.core.metapath.MetapathConstants;
+import gov.nist.secauto.metaschema.core.metapath.function.FunctionUtils;
+import gov.nist.secauto.metaschema.core.metapath.function.IArgument;
+import gov.nist.secauto.metaschema.core.metapath.function.IFunction;
+import gov.nist.secauto.metaschema.core.metapath.item.IItem;
+import gov.nist.secauto.metaschema.core.metapath.item.atomic.IAnyAtomicItem;
+import gov.nist.secauto.metaschema.core.metapath.item.atomic.INumericItem;
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * Implements <a href=
+ * "https://www.w3.org/TR/xpath-functions-31/#func-distinct-values">fn:distinct-values</a>.
+ */
+public final class FnDistinctValues {
+  @NonNull
+  static final IFunction SIGNATURE = IFunction.builder()
+      .name("distinct-values")
+      .namespace(MetapathConstants.NS_METAPATH_FUNCTIONS)
+      .deterministic()
+      .contextIndependent()
+      .focusIndependent()
+      .argument(IArgument.builder()
+          .name("arg")
+          .type(IAnyAtomicItem.class)
+          .zeroOrMore()
+          .build())
+      .returnType(IAnyAtomicItem.class)
+      .returnZeroOrMore()
+      .functionHandler(FnDistinctValues::execute)
+      .build();
+
+  private FnDistinctValues() {
+    // disable construction
+  }
+
+  @SuppressWarnings("unused")
+  @NonNull
+  private static ISequence<IAnyAtomicItem> execute(
+      @NonNull IFunction function,
+      @NonNull List<ISequence<?>> arguments,
+      @NonNull DynamicContext dynamicContext,
+      IItem focus) {
+    ISequence<IAnyAtomicItem> arg = FunctionUtils.asType(ObjectUtils.requireNonNull(arguments.get(0)));
+    return fnDistinctValues(arg);
+  }
+
+  /**
+   * Get the distinct values in the provided sequence, keeping the first
+   * occurrence of each value.
+   * <p>
+   * Each value is reduced to an equality key (see
+   * {@link #toEqualityKey(IAnyAtomicItem)}), so duplicates are detected in a
+   * single pass using a hash set.
+   *
+   * @param <T>
+   *          the Java type of the values
+   * @param sequence
+   *          the values to filter
+   * @return the distinct values
+   */
+  @NonNull
+  public static <T extends IAnyAtomicItem> ISequence<T> fnDistinctValues(@NonNull ISequence<T> sequence) {
+    Set<Object> seen = new HashSet<>();
+    return ISequence.of(ObjectUtils.notNull(sequence.stream()
+        .filter(item -> seen.add(toEqualityKey(ObjectUtils.notNull(item))))));
+  }
+
+  /**
+   * Get a key for the provided value, such that two values have equal keys if
+   * they are equal based on the XPath
+   * <a href="https://www.w3.org/TR/xpath-functions-31/#func-distinct-values">
+   * distinct-values</a> rules.
+   * <p>
+   * Numeric values are compared by their numeric value regardless of type or
+   * scale. Other values are compared using their map key (see
+   * {@link IAnyAtomicItem#asMapKey()}), which compares strings, URIs, and
+   * untyped values by their code points. Values that are not comparable have
+   * keys that are not equal.
+   *
+   * @param item
+   *          the value to get the key for
+   * @return the key
+   */
+  @NonNull
+  static Object toEqualityKey(@NonNull IAnyAtomicItem item) {
+    Object retval;
+    if (item instanceof INumericItem) {
+      retval = ((INumericItem) item).asDecimal().stripTrailingZeros();
+    } else {
+      retval = item.asMapKey();
+    }
+    return ObjectUtils.notNull(retval);
+  }
+}
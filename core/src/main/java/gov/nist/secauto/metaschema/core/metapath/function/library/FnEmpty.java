@@ -56,6 +56,21 @@ public final class FnEmpty {
       IItem focus) {
     ISequence<? extends IItem> sequence = FunctionUtils.asType(
         ObjectUtils.requireNonNull(arguments.get(0)));
-    return ISequence.of(IBooleanItem.valueOf(sequence.isEmpty()));
+    return ISequence.of(fnEmpty(sequence));
+  }
+
+  /**
+   * Identify if the {@code sequence} is empty.
+   * <p>
+   * Only the first item of a lazily evaluated sequence is evaluated.
+   *
+   * @param sequence
+   *          the sequence to check
+   * @return {@code true} if the sequence contains no items, or {@code false}
+   *         otherwise
+   */
+  @NonNull
+  public static IBooleanItem fnEmpty(@NonNull ISequence<?> sequence) {
+    return IBooleanItem.valueOf(sequence.stream().findFirst().isEmpty());
   }
 }
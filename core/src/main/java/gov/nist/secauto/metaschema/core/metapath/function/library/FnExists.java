@@ -57,13 +57,16 @@ public final class FnExists {
 
   /**
    * Identify if there is at least one item in the {@code sequence}.
+   * <p>
+   * Only the first item of a lazily evaluated sequence is evaluated.
    *
    * @param sequence
    *          the sequence to check
    * @return {@code true} if the sequence contains at least one item, or
    *         {@code false} otherwise
    */
-  public static IBooleanItem fnExists(ISequence<?> sequence) {
-    return IBooleanItem.valueOf(!sequence.isEmpty());
+  @NonNull
+  public static IBooleanItem fnExists(@NonNull ISequence<?> sequence) {
+    return IBooleanItem.valueOf(sequence.stream().findFirst().isPresent());
   }
 }
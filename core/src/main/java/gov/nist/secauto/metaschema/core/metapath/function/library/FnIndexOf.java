@@ -0,0 +1,97 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.core.metapath.function.library;
+
+import gov.nist.secauto.metaschema.core.metapath.DynamicContext;
+import gov.nist.secauto.metaschema.core.metapath.ISequence;
+import gov.nist.secauto.metaschema.core.metapath.MetapathConstants;
+import gov.nist.secauto.metaschema.core.metapath.function.FunctionUtils;
+import gov.nist.secauto.metaschema.core.metapath.function.IArgument;
+import gov.nist.secauto.metaschema.core.metapath.function.IFunction;
+import gov.nist.secauto.metaschema.core.metapath.item.IItem;
+import gov.nist.secauto.metaschema.core.metapath.item.atomic.IAnyAtomicItem;
+import gov.nist.secauto.metaschema.core.metapath.item.atomic.IIntegerItem;
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * Implements <a href=
+ * "https://www.w3.org/TR/xpath-functions-31/#func-index-of">fn:index-of</a>.
+ */
+public final class FnIndexOf {
+  @NonNull
+  static final IFunction SIGNATURE = IFunction.builder()
+      .name("index-of")
+      .namespace(MetapathConstants.NS_METAPATH_FUNCTIONS)
+      .deterministic()
+      .contextIndependent()
+      .focusIndependent()
+      .argument(IArgument.builder()
+          .name("seq")
+          .type(IAnyAtomicItem.class)
+          .zeroOrMore()
+          .build())
+      .argument(IArgument.builder()
+          .name("search")
+          .type(IAnyAtomicItem.class)
+          .one()
+          .build())
+      .returnType(IIntegerItem.class)
+      .returnZeroOrMore()
+      .functionHandler(FnIndexOf::execute)
+      .build();
+
+  private FnIndexOf() {
+    // disable construction
+  }
+
+  @SuppressWarnings("unused")
+  @NonNull
+  private static ISequence<IIntegerItem> execute(
+      @NonNull IFunction function,
+      @NonNull List<ISequence<?>> arguments,
+      @NonNull DynamicContext dynamicContext,
+      IItem focus) {
+    ISequence<IAnyAtomicItem> seq = FunctionUtils.asType(ObjectUtils.requireNonNull(arguments.get(0)));
+    IAnyAtomicItem search = FunctionUtils.asType(ObjectUtils.requireNonNull(arguments.get(1).getFirstItem(true)));
+    return fnIndexOf(seq, search);
+  }
+
+  /**
+   * Get the positions of the items in the provided sequence that are equal to
+   * the {@code search} value.
+   * <p>
+   * The sequence is traversed once, comparing the equality key of each item
+   * (see {@link FnDistinctValues#toEqualityKey(IAnyAtomicItem)}) to the key of
+   * the search value.
+   *
+   * @param sequence
+   *          the sequence to search
+   * @param search
+   *          the value to find
+   * @return the one-based positions of the matching items
+   */
+  @NonNull
+  public static ISequence<IIntegerItem> fnIndexOf(
+      @NonNull ISequence<? extends IAnyAtomicItem> sequence,
+      @NonNull IAnyAtomicItem search) {
+    Object searchKey = FnDistinctValues.toEqualityKey(search);
+
+    List<IIntegerItem> retval = new ArrayList<>();
+    Iterator<? extends IAnyAtomicItem> iterator = sequence.stream().iterator();
+    for (int position = 1; iterator.hasNext(); position++) {
+      if (searchKey.equals(FnDistinctValues.toEqualityKey(ObjectUtils.notNull(iterator.next())))) {
+        retval.add(IIntegerItem.valueOf(position));
+      }
+    }
+    return ISequence.ofCollection(retval);
+  }
+}
@@ -0,0 +1,66 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.core.metapath.function.library;
+
+import gov.nist.secauto.metaschema.core.metapath.DynamicContext;
+import gov.nist.secauto.metaschema.core.metapath.ISequence;
+import gov.nist.secauto.metaschema.core.metapath.MetapathConstants;
+import gov.nist.secauto.metaschema.core.metapath.function.IFunction;
+import gov.nist.secauto.metaschema.core.metapath.item.IItem;
+import gov.nist.secauto.metaschema.core.metapath.item.atomic.IIntegerItem;
+
+import java.util.List;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * Implements <a href=
+ * "https://www.w3.org/TR/xpath-functions-31/#func-last">fn:last</a>.
+ */
+public final class FnLast {
+  @NonNull
+  static final IFunction SIGNATURE = IFunction.builder()
+      .name("last")
+      .namespace(MetapathConstants.NS_METAPATH_FUNCTIONS)
+      // the result depends on the focus position, which is not part of the
+      // cached calling context
+      .nonDeterministic()
+      .contextDependent()
+      .focusDependent()
+      .returnType(IIntegerItem.class)
+      .returnOne()
+      .functionHandler(FnLast::execute)
+      .build();
+
+  private FnLast() {
+    // disable construction
+  }
+
+  @SuppressWarnings("unused")
+  @NonNull
+  private static ISequence<IIntegerItem> execute(
+      @NonNull IFunction function,
+      @NonNull List<ISequence<?>> arguments,
+      @NonNull DynamicContext dynamicContext,
+      IItem focus) {
+    return ISequence.of(fnLast(dynamicContext));
+  }
+
+  /**
+   * Get the size of the sequence being evaluated.
+   * <p>
+   * The size is only computed when this function is called, which may require
+   * the sequence to be fully evaluated.
+   *
+   * @param dynamicContext
+   *          the dynamic context providing the focus
+   * @return the focus size
+   */
+  @NonNull
+  public static IIntegerItem fnLast(@NonNull DynamicContext dynamicContext) {
+    return IIntegerItem.valueOf(dynamicContext.getFocusSize());
+  }
+}
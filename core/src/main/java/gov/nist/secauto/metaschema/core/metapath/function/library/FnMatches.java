@@ -0,0 +1,137 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.core.metapath.function.library;
+
+import gov.nist.secauto.metaschema.core.metapath.DynamicContext;
+import gov.nist.secauto.metaschema.core.metapath.ISequence;
+import gov.nist.secauto.metaschema.core.metapath.MetapathConstants;
+import gov.nist.secauto.metaschema.core.metapath.function.FunctionUtils;
+import gov.nist.secauto.metaschema.core.metapath.function.IArgument;
+import gov.nist.secauto.metaschema.core.metapath.function.IFunction;
+import gov.nist.secauto.metaschema.core.metapath.function.RegexUtils;
+import gov.nist.secauto.metaschema.core.metapath.item.IItem;
+import gov.nist.secauto.metaschema.core.metapath.item.atomic.IBooleanItem;
+import gov.nist.secauto.metaschema.core.metapath.item.atomic.IStringItem;
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
+
+import java.util.List;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+/**
+ * Implements the XPath 3.1 <a href=
+ * "https://www.w3.org/TR/xpath-functions-31/#func-matches">fn:matches</a>
+ * functions.
+ */
+public final class FnMatches {
+  @NonNull
+  static final IFunction SIGNATURE_TWO_ARG = IFunction.builder()
+      .name("matches")
+      .namespace(MetapathConstants.NS_METAPATH_FUNCTIONS)
+      .deterministic()
+      .contextIndependent()
+      .focusIndependent()
+      .argument(IArgument.builder()
+          .name("input")
+          .type(IStringItem.class)
+          .zeroOrOne()
+          .build())
+      .argument(IArgument.builder()
+          .name("pattern")
+          .type(IStringItem.class)
+          .one()
+          .build())
+      .returnType(IBooleanItem.class)
+      .returnOne()
+      .functionHandler(FnMatches::executeTwoArg)
+      .build();
+
+  @NonNull
+  static final IFunction SIGNATURE_THREE_ARG = IFunction.builder()
+      .name("matches")
+      .namespace(MetapathConstants.NS_METAPATH_FUNCTIONS)
+      .deterministic()
+      .contextIndependent()
+      .focusIndependent()
+      .argument(IArgument.builder()
+          .name("input")
+          .type(IStringItem.class)
+          .zeroOrOne()
+          .build())
+      .argument(IArgument.builder()
+          .name("pattern")
+          .type(IStringItem.class)
+          .one()
+          .build())
+      .argument(IArgument.builder()
+          .name("flags")
+          .type(IStringItem.class)
+          .one()
+          .build())
+      .returnType(IBooleanItem.class)
+      .returnOne()
+      .functionHandler(FnMatches::executeThreeArg)
+      .build();
+
+  private FnMatches() {
+    // disable construction
+  }
+
+  @SuppressWarnings("unused")
+  @NonNull
+  private static ISequence<IBooleanItem> executeTwoArg(
+      @NonNull IFunction function,
+      @NonNull List<ISequence<?>> arguments,
+      @NonNull DynamicContext dynamicContext,
+      IItem focus) {
+    IStringItem input = FunctionUtils.asTypeOrNull(arguments.get(0).getFirstItem(true));
+    IStringItem pattern = FunctionUtils.asType(ObjectUtils.requireNonNull(arguments.get(1).getFirstItem(true)));
+
+    return ISequence.of(fnMatches(input, pattern.asString(), ""));
+  }
+
+  @SuppressWarnings("unused")
+  @NonNull
+  private static ISequence<IBooleanItem> executeThreeArg(
+      @NonNull IFunction function,
+      @NonNull List<ISequence<?>> arguments,
+      @NonNull DynamicContext dynamicContext,
+      IItem focus) {
+    IStringItem input = FunctionUtils.asTypeOrNull(arguments.get(0).getFirstItem(true));
+    IStringItem pattern = FunctionUtils.asType(ObjectUtils.requireNonNull(arguments.get(1).getFirstItem(true)));
+    IStringItem flags = FunctionUtils.asType(ObjectUtils.requireNonNull(arguments.get(2).getFirstItem(true)));
+
+    return ISequence.of(fnMatches(input, pattern.asString(), flags.asString()));
+  }
+
+  /**
+   * Determine if the provided input string contains a substring that matches the
+   * provided regular expression.
+   * <p>
+   * Based on the XPath 3.1 <a href=
+   * "https://www.w3.org/TR/xpath-functions-31/#func-matches">fn:matches</a>
+   * function.
+   *
+   * @param input
+   *          the string to match, which is treated as a zero-length string if
+   *          {@code null}
+   * @param pattern
+   *          the regular expression to match
+   * @param flags
+   *          the regular expression flags
+   * @return {@link IBooleanItem#TRUE} if the input matches, or
+   *         {@link IBooleanItem#FALSE} otherwise
+   */
+  @NonNull
+  public static IBooleanItem fnMatches(
+      @Nullable IStringItem input,
+      @NonNull String pattern,
+      @NonNull String flags) {
+    String inputString = input == null ? "" : input.asString();
+    return IBooleanItem.valueOf(RegexUtils.compile(pattern, flags).matcher(inputString).find());
+  }
+}
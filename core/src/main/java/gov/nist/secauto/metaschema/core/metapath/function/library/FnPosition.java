@@ -0,0 +1,63 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.core.metapath.function.library;
+
+import gov.nist.secauto.metaschema.core.metapath.DynamicContext;
+import gov.nist.secauto.metaschema.core.metapath.ISequence;
+import gov.nist.secauto.metaschema.core.metapath.MetapathConstants;
+import gov.nist.secauto.metaschema.core.metapath.function.IFunction;
+import gov.nist.secauto.metaschema.core.metapath.item.IItem;
+import gov.nist.secauto.metaschema.core.metapath.item.atomic.IIntegerItem;
+
+import java.util.List;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * Implements <a href=
+ * "https://www.w3.org/TR/xpath-functions-31/#func-position">fn:position</a>.
+ */
+public final class FnPosition {
+  @NonNull
+  static final IFunction SIGNATURE = IFunction.builder()
+      .name("position")
+      .namespace(MetapathConstants.NS_METAPATH_FUNCTIONS)
+      // the result depends on the focus position, which is not part of the
+      // cached calling context
+      .nonDeterministic()
+      .contextDependent()
+      .focusDependent()
+      .returnType(IIntegerItem.class)
+      .returnOne()
+      .functionHandler(FnPosition::execute)
+      .build();
+
+  private FnPosition() {
+    // disable construction
+  }
+
+  @SuppressWarnings("unused")
+  @NonNull
+  private static ISequence<IIntegerItem> execute(
+      @NonNull IFunction function,
+      @NonNull List<ISequence<?>> arguments,
+      @NonNull DynamicContext dynamicContext,
+      IItem focus) {
+    return ISequence.of(fnPosition(dynamicContext));
+  }
+
+  /**
+   * Get the position of the focus item in the sequence being evaluated.
+   *
+   * @param dynamicContext
+   *          the dynamic context providing the focus
+   * @return the one-based focus position
+   */
+  @NonNull
+  public static IIntegerItem fnPosition(@NonNull DynamicContext dynamicContext) {
+    return IIntegerItem.valueOf(dynamicContext.getFocusPosition());
+  }
+}
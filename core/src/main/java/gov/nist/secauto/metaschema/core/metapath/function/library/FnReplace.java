@@ -0,0 +1,245 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.core.metapath.function.library;
+
+import gov.nist.secauto.metaschema.core.metapath.DynamicContext;
+import gov.nist.secauto.metaschema.core.metapath.ISequence;
+import gov.nist.secauto.metaschema.core.metapath.MetapathConstants;
+import gov.nist.secauto.metaschema.core.metapath.function.FunctionUtils;
+import gov.nist.secauto.metaschema.core.metapath.function.IArgument;
+import gov.nist.secauto.metaschema.core.metapath.function.IFunction;
+import gov.nist.secauto.metaschema.core.metapath.function.RegexUtils;
+import gov.nist.secauto.metaschema.core.metapath.function.RegularExpressionFunctionException;
+import gov.nist.secauto.metaschema.core.metapath.item.IItem;
+import gov.nist.secauto.metaschema.core.metapath.item.atomic.IStringItem;
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
+
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+/**
+ * Implements the XPath 3.1 <a href=
+ * "https://www.w3.org/TR/xpath-functions-31/#func-replace">fn:replace</a>
+ * functions.
+ */
+public final class FnReplace {
+  @NonNull
+  static final IFunction SIGNATURE_THREE_ARG = IFunction.builder()
+      .name("replace")
+      .namespace(MetapathConstants.NS_METAPATH_FUNCTIONS)
+      .deterministic()
+      .contextIndependent()
+      .focusIndependent()
+      .argument(IArgument.builder()
+          .name("input")
+          .type(IStringItem.class)
+          .zeroOrOne()
+          .build())
+      .argument(IArgument.builder()
+          .name("pattern")
+          .type(IStringItem.class)
+          .one()
+          .build())
+      .argument(IArgument.builder()
+          .name("replacement")
+          .type(IStringItem.class)
+          .one()
+          .build())
+      .returnType(IStringItem.class)
+      .returnOne()
+      .functionHandler(FnReplace::executeThreeArg)
+      .build();
+
+  @NonNull
+  static final IFunction SIGNATURE_FOUR_ARG = IFunction.builder()
+      .name("replace")
+      .namespace(MetapathConstants.NS_METAPATH_FUNCTIONS)
+      .deterministic()
+      .contextIndependent()
+      .focusIndependent()
+      .argument(IArgument.builder()
+          .name("input")
+          .type(IStringItem.class)
+          .zeroOrOne()
+          .build())
+      .argument(IArgument.builder()
+          .name("pattern")
+          .type(IStringItem.class)
+          .one()
+          .build())
+      .argument(IArgument.builder()
+          .name("replacement")
+          .type(IStringItem.class)
+          .one()
+          .build())
+      .argument(IArgument.builder()
+          .name("flags")
+          .type(IStringItem.class)
+          .one()
+          .build())
+      .returnType(IStringItem.class)
+      .returnOne()
+      .functionHandler(FnReplace::executeFourArg)
+      .build();
+
+  private FnReplace() {
+    // disable construction
+  }
+
+  @SuppressWarnings("unused")
+  @NonNull
+  private static ISequence<IStringItem> executeThreeArg(
+      @NonNull IFunction function,
+      @NonNull List<ISequence<?>> arguments,
+      @NonNull DynamicContext dynamicContext,
+      IItem focus) {
+    IStringItem input = FunctionUtils.asTypeOrNull(arguments.get(0).getFirstItem(true));
+    IStringItem pattern = FunctionUtils.asType(ObjectUtils.requireNonNull(arguments.get(1).getFirstItem(true)));
+    IStringItem replacement = FunctionUtils.asType(ObjectUtils.requireNonNull(arguments.get(2).getFirstItem(true)));
+
+    return ISequence.of(fnReplace(input, pattern.asString(), replacement.asString(), ""));
+  }
+
+  @SuppressWarnings("unused")
+  @NonNull
+  private static ISequence<IStringItem> executeFourArg(
+      @NonNull IFunction function,
+      @NonNull List<ISequence<?>> arguments,
+      @NonNull DynamicContext dynamicContext,
+      IItem focus) {
+    IStringItem input = FunctionUtils.asTypeOrNull(arguments.get(0).getFirstItem(true));
+    IStringItem pattern = FunctionUtils.asType(ObjectUtils.requireNonNull(arguments.get(1).getFirstItem(true)));
+    IStringItem replacement = FunctionUtils.asType(ObjectUtils.requireNonNull(arguments.get(2).getFirstItem(true)));
+    IStringItem flags = FunctionUtils.asType(ObjectUtils.requireNonNull(arguments.get(3).getFirstItem(true)));
+
+    return ISequence.of(fnReplace(input, pattern.asString(), replacement.asString(), flags.asString()));
+  }
+
+  /**
+   * Replace each non-overlapping substring of the input that matches the provided
+   * regular expression with the replacement string.
+   * <p>
+   * Based on the XPath 3.1 <a href=
+   * "https://www.w3.org/TR/xpath-functions-31/#func-replace">fn:replace</a>
+   * function.
+   *
+   * @param input
+   *          the string to replace substrings in, which is treated as a
+   *          zero-length string if {@code null}
+   * @param pattern
+   *          the regular expression to match
+   * @param replacement
+   *          the replacement string, in which {@code $N} refers to the Nth
+   *          captured group unless the {@code q} flag is used
+   * @param flags
+   *          the regular expression flags
+   * @return the resulting string
+   * @throws RegularExpressionFunctionException
+   *           if the pattern matches a zero-length string, or if the replacement
+   *           string is invalid
+   */
+  @NonNull
+  public static IStringItem fnReplace(
+      @Nullable IStringItem input,
+      @NonNull String pattern,
+      @NonNull String replacement,
+      @NonNull String flags) {
+    Pattern regex = RegexUtils.compile(pattern, flags);
+    if (RegexUtils.matchesZeroLengthString(regex)) {
+      throw new RegularExpressionFunctionException(
+          RegularExpressionFunctionException.MATCHES_ZERO_LENGTH_STRING,
+          String.format("The pattern '%s' matches a zero-length string.", pattern));
+    }
+
+    boolean literal = flags.indexOf('q') >= 0;
+    if (!literal) {
+      validateReplacement(replacement);
+    }
+
+    String inputString = input == null ? "" : input.asString();
+    Matcher matcher = regex.matcher(inputString);
+
+    StringBuilder builder = new StringBuilder(inputString.length());
+    int last = 0;
+    while (matcher.find()) {
+      builder.append(inputString, last, matcher.start());
+      if (literal) {
+        builder.append(replacement);
+      } else {
+        appendReplacement(builder, matcher, replacement);
+      }
+      last = matcher.end();
+    }
+    builder.append(inputString, last, inputString.length());
+    return IStringItem.valueOf(ObjectUtils.notNull(builder.toString()));
+  }
+
+  private static void validateReplacement(@NonNull String replacement) {
+    int index = 0;
+    while (index < replacement.length()) {
+      char ch = replacement.charAt(index++);
+      if (ch == '\\' || ch == '$') {
+        char next = index < replacement.length() ? replacement.charAt(index) : 0;
+        boolean valid = ch == '\\' ? next == '\\' || next == '$' : next >= '0' && next <= '9';
+        if (!valid) {
+          throw new RegularExpressionFunctionException(
+              RegularExpressionFunctionException.INVALID_REPLACEMENT_STRING,
+              String.format("Invalid replacement string '%s'. A '%s' at position %d must be followed by %s.",
+                  replacement,
+                  ch,
+                  index - 1,
+                  ch == '\\' ? "'\\' or '$'" : "a digit"));
+        }
+        // skip the escaped character or the first digit
+        index++;
+      }
+    }
+  }
+
+  /**
+   * Append the replacement string for the current match, which has already been
+   * validated.
+   * <p>
+   * A {@code $} is followed by the longest sequence of digits that refers to a
+   * captured group. A group that does not exist or did not participate in the
+   * match is replaced with a zero-length string.
+   */
+  private static void appendReplacement(
+      @NonNull StringBuilder builder,
+      @NonNull Matcher matcher,
+      @NonNull String replacement) {
+    int index = 0;
+    while (index < replacement.length()) {
+      char ch = replacement.charAt(index++);
+      if (ch == '\\') {
+        builder.append(replacement.charAt(index++));
+      } else if (ch == '$') {
+        int group = replacement.charAt(index++) - '0';
+        while (index < replacement.length()) {
+          char digit = replacement.charAt(index);
+          if (digit < '0' || digit > '9' || group * 10 + digit - '0' > matcher.groupCount()) {
+            break;
+          }
+          group = group * 10 + digit - '0';
+          index++;
+        }
+
+        if (group <= matcher.groupCount()) {
+          String value = matcher.group(group);
+          if (value != null) {
+            builder.append(value);
+          }
+        }
+      } else {
+        builder.append(ch);
+      }
+    }
+  }
+}
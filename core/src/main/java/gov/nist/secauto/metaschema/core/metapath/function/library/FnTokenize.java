@@ -0,0 +1,215 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.core.metapath.function.library;
+
+import gov.nist.secauto.metaschema.core.metapath.DynamicContext;
+import gov.nist.secauto.metaschema.core.metapath.ISequence;
+import gov.nist.secauto.metaschema.core.metapath.MetapathConstants;
+import gov.nist.secauto.metaschema.core.metapath.function.FunctionUtils;
+import gov.nist.secauto.metaschema.core.metapath.function.IArgument;
+import gov.nist.secauto.metaschema.core.metapath.function.IFunction;
+import gov.nist.secauto.metaschema.core.metapath.function.RegexUtils;
+import gov.nist.secauto.metaschema.core.metapath.function.RegularExpressionFunctionException;
+import gov.nist.secauto.metaschema.core.metapath.item.IItem;
+import gov.nist.secauto.metaschema.core.metapath.item.atomic.IStringItem;
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+/**
+ * Implements the XPath 3.1 <a href=
+ * "https://www.w3.org/TR/xpath-functions-31/#func-tokenize">fn:tokenize</a>
+ * functions.
+ */
+public final class FnTokenize {
+  @NonNull
+  private static final Pattern WHITESPACE_PATTERN = ObjectUtils.notNull(Pattern.compile("[ \t\n\r]+"));
+  @NonNull
+  private static final Pattern SPACE_PATTERN = ObjectUtils.notNull(Pattern.compile(" ", Pattern.LITERAL));
+
+  @NonNull
+  static final IFunction SIGNATURE_ONE_ARG = IFunction.builder()
+      .name("tokenize")
+      .namespace(MetapathConstants.NS_METAPATH_FUNCTIONS)
+      .deterministic()
+      .contextIndependent()
+      .focusIndependent()
+      .argument(IArgument.builder()
+          .name("input")
+          .type(IStringItem.class)
+          .zeroOrOne()
+          .build())
+      .returnType(IStringItem.class)
+      .returnZeroOrMore()
+      .functionHandler(FnTokenize::executeOneArg)
+      .build();
+
+  @NonNull
+  static final IFunction SIGNATURE_TWO_ARG = IFunction.builder()
+      .name("tokenize")
+      .namespace(MetapathConstants.NS_METAPATH_FUNCTIONS)
+      .deterministic()
+      .contextIndependent()
+      .focusIndependent()
+      .argument(IArgument.builder()
+          .name("input")
+          .type(IStringItem.class)
+          .zeroOrOne()
+          .build())
+      .argument(IArgument.builder()
+          .name("pattern")
+          .type(IStringItem.class)
+          .one()
+          .build())
+      .returnType(IStringItem.class)
+      .returnZeroOrMore()
+      .functionHandler(FnTokenize::executeTwoArg)
+      .build();
+
+  @NonNull
+  static final IFunction SIGNATURE_THREE_ARG = IFunction.builder()
+      .name("tokenize")
+      .namespace(MetapathConstants.NS_METAPATH_FUNCTIONS)
+      .deterministic()
+      .contextIndependent()
+      .focusIndependent()
+      .argument(IArgument.builder()
+          .name("input")
+          .type(IStringItem.class)
+          .zeroOrOne()
+          .build())
+      .argument(IArgument.builder()
+          .name("pattern")
+          .type(IStringItem.class)
+          .one()
+          .build())
+      .argument(IArgument.builder()
+          .name("flags")
+          .type(IStringItem.class)
+          .one()
+          .build())
+      .returnType(IStringItem.class)
+      .returnZeroOrMore()
+      .functionHandler(FnTokenize::executeThreeArg)
+      .build();
+
+  private FnTokenize() {
+    // disable construction
+  }
+
+  @SuppressWarnings("unused")
+  @NonNull
+  private static ISequence<IStringItem> executeOneArg(
+      @NonNull IFunction function,
+      @NonNull List<ISequence<?>> arguments,
+      @NonNull DynamicContext dynamicContext,
+      IItem focus) {
+    IStringItem input = FunctionUtils.asTypeOrNull(arguments.get(0).getFirstItem(true));
+
+    return ISequence.ofCollection(fnTokenize(input));
+  }
+
+  @SuppressWarnings("unused")
+  @NonNull
+  private static ISequence<IStringItem> executeTwoArg(
+      @NonNull IFunction function,
+      @NonNull List<ISequence<?>> arguments,
+      @NonNull DynamicContext dynamicContext,
+      IItem focus) {
+    IStringItem input = FunctionUtils.asTypeOrNull(arguments.get(0).getFirstItem(true));
+    IStringItem pattern = FunctionUtils.asType(ObjectUtils.requireNonNull(arguments.get(1).getFirstItem(true)));
+
+    return ISequence.ofCollection(fnTokenize(input, pattern.asString(), ""));
+  }
+
+  @SuppressWarnings("unused")
+  @NonNull
+  private static ISequence<IStringItem> executeThreeArg(
+      @NonNull IFunction function,
+      @NonNull List<ISequence<?>> arguments,
+      @NonNull DynamicContext dynamicContext,
+      IItem focus) {
+    IStringItem input = FunctionUtils.asTypeOrNull(arguments.get(0).getFirstItem(true));
+    IStringItem pattern = FunctionUtils.asType(ObjectUtils.requireNonNull(arguments.get(1).getFirstItem(true)));
+    IStringItem flags = FunctionUtils.asType(ObjectUtils.requireNonNull(arguments.get(2).getFirstItem(true)));
+
+    return ISequence.ofCollection(fnTokenize(input, pattern.asString(), flags.asString()));
+  }
+
+  /**
+   * Split the provided input string into the whitespace separated tokens it
+   * contains, ignoring any leading or trailing whitespace.
+   * <p>
+   * Based on the XPath 3.1 <a href=
+   * "https://www.w3.org/TR/xpath-functions-31/#func-tokenize">fn:tokenize</a>
+   * function.
+   *
+   * @param input
+   *          the string to split
+   * @return the tokens, which is empty if the input is {@code null} or contains
+   *         only whitespace
+   */
+  @NonNull
+  public static List<IStringItem> fnTokenize(@Nullable IStringItem input) {
+    String inputString = input == null ? "" : input.asString();
+    String normalized = WHITESPACE_PATTERN.matcher(inputString).replaceAll(" ").strip();
+    return tokenize(ObjectUtils.notNull(normalized), SPACE_PATTERN);
+  }
+
+  /**
+   * Split the provided input string into the substrings separated by matches of
+   * the provided regular expression.
+   * <p>
+   * Based on the XPath 3.1 <a href=
+   * "https://www.w3.org/TR/xpath-functions-31/#func-tokenize">fn:tokenize</a>
+   * function.
+   *
+   * @param input
+   *          the string to split
+   * @param pattern
+   *          the regular expression that matches separators
+   * @param flags
+   *          the regular expression flags
+   * @return the tokens, which is empty if the input is {@code null} or a
+   *         zero-length string
+   * @throws RegularExpressionFunctionException
+   *           if the pattern matches a zero-length string
+   */
+  @NonNull
+  public static List<IStringItem> fnTokenize(
+      @Nullable IStringItem input,
+      @NonNull String pattern,
+      @NonNull String flags) {
+    Pattern regex = RegexUtils.compile(pattern, flags);
+    if (RegexUtils.matchesZeroLengthString(regex)) {
+      throw new RegularExpressionFunctionException(
+          RegularExpressionFunctionException.MATCHES_ZERO_LENGTH_STRING,
+          String.format("The pattern '%s' matches a zero-length string.", pattern));
+    }
+    return tokenize(input == null ? "" : input.asString(), regex);
+  }
+
+  @NonNull
+  private static List<IStringItem> tokenize(@NonNull String input, @NonNull Pattern separator) {
+    List<IStringItem> retval = new ArrayList<>();
+    if (!input.isEmpty()) {
+      Matcher matcher = separator.matcher(input);
+      int last = 0;
+      while (matcher.find()) {
+        retval.add(IStringItem.valueOf(ObjectUtils.notNull(input.substring(last, matcher.start()))));
+        last = matcher.end();
+      }
+      retval.add(IStringItem.valueOf(ObjectUtils.notNull(input.substring(last))));
+    }
+    return retval;
+  }
+}
@@ -0,0 +1,277 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.core.metapath.function.library;
+
+import gov.nist.secauto.metaschema.core.metapath.DynamicContext;
+import gov.nist.secauto.metaschema.core.metapath.ISequence;
+import gov.nist.secauto.metaschema.core.metapath.IndexUnavailableMetapathException;
+import gov.nist.secauto.metaschema.core.metapath.MetapathConstants;
+import gov.nist.secauto.metaschema.core.metapath.MetapathException;
+import gov.nist.secauto.metaschema.core.metapath.MetapathExpression;
+import gov.nist.secauto.metaschema.core.metapath.StaticMetapathException;
+import gov.nist.secauto.metaschema.core.metapath.function.FunctionUtils;
+import gov.nist.secauto.metaschema.core.metapath.function.IArgument;
+import gov.nist.secauto.metaschema.core.metapath.function.IFunction;
+import gov.nist.secauto.metaschema.core.metapath.item.IItem;
+import gov.nist.secauto.metaschema.core.metapath.item.atomic.IAnyAtomicItem;
+import gov.nist.secauto.metaschema.core.metapath.item.atomic.IStringItem;
+import gov.nist.secauto.metaschema.core.metapath.item.node.DocumentOrder;
+import gov.nist.secauto.metaschema.core.metapath.item.node.INodeItem;
+import gov.nist.secauto.metaschema.core.model.constraint.IIndex;
+import gov.nist.secauto.metaschema.core.util.CollectionUtil;
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+/**
+ * Provides functions that look up nodes by key using a hash index, similar to
+ * the XSLT <a href="https://www.w3.org/TR/xslt-30/#func-key">key</a> function.
+ * <p>
+ * The two argument form looks up a node in an index built for an
+ * {@link gov.nist.secauto.metaschema.core.model.constraint.IIndexConstraint}
+ * with the provided name. The three argument form builds an index over an
+ * arbitrary path the first time it is used for a given document, which is then
+ * reused by later lookups. In both cases, the cost of a lookup is independent
+ * of the size of the document.
+ * <p>
+ * The functions are not deterministic, so their results are not held by the
+ * function result cache of the dynamic context. The indexes, which are scoped
+ * using {@link DynamicContext#indexScope()}, are the only cache.
+ */
+public final class MpKey {
+  @NonNull
+  static final IFunction SIGNATURE_TWO_ARG = IFunction.builder()
+      .name("key")
+      .namespace(MetapathConstants.NS_METAPATH_FUNCTIONS_EXTENDED)
+      .nonDeterministic()
+      .contextDependent()
+      .focusIndependent()
+      .argument(IArgument.builder()
+          .name("index-name")
+          .type(IStringItem.class)
+          .one()
+          .build())
+      .argument(IArgument.builder()
+          .name("key")
+          .type(IAnyAtomicItem.class)
+          .zeroOrMore()
+          .build())
+      .returnType(INodeItem.class)
+      .returnZeroOrOne()
+      .functionHandler(MpKey::executeTwoArg)
+      .build();
+
+  @NonNull
+  static final IFunction SIGNATURE_THREE_ARG = IFunction.builder()
+      .name("key")
+      .namespace(MetapathConstants.NS_METAPATH_FUNCTIONS_EXTENDED)
+      .nonDeterministic()
+      .contextDependent()
+      .focusDependent()
+      .argument(IArgument.builder()
+          .name("target-path")
+          .type(IStringItem.class)
+          .one()
+          .build())
+      .argument(IArgument.builder()
+          .name("key-path")
+          .type(IStringItem.class)
+          .one()
+          .build())
+      .argument(IArgument.builder()
+          .name("key")
+          .type(IAnyAtomicItem.class)
+          .zeroOrMore()
+          .build())
+      .returnType(INodeItem.class)
+      .returnZeroOrMore()
+      .functionHandler(MpKey::executeThreeArg)
+      .build();
+
+  private MpKey() {
+    // disable construction
+  }
+
+  @SuppressWarnings("unused")
+  @NonNull
+  private static ISequence<INodeItem> executeTwoArg(
+      @NonNull IFunction function,
+      @NonNull List<ISequence<?>> arguments,
+      @NonNull DynamicContext dynamicContext,
+      IItem focus) {
+    ISequence<? extends IStringItem> arg1 = FunctionUtils.asType(ObjectUtils.requireNonNull(arguments.get(0)));
+    IStringItem indexName = ObjectUtils.requireNonNull(arg1.getFirstItem(true));
+
+    ISequence<? extends IAnyAtomicItem> key = FunctionUtils.asType(ObjectUtils.requireNonNull(arguments.get(1)));
+
+    return ISequence.of(key(indexName.asString(), toStrings(key), dynamicContext));
+  }
+
+  @SuppressWarnings("unused")
+  @NonNull
+  private static ISequence<INodeItem> executeThreeArg(
+      @NonNull IFunction function,
+      @NonNull List<ISequence<?>> arguments,
+      @NonNull DynamicContext dynamicContext,
+      IItem focus) {
+    INodeItem node = FunctionUtils.requireType(INodeItem.class, focus);
+
+    ISequence<? extends IStringItem> arg1 = FunctionUtils.asType(ObjectUtils.requireNonNull(arguments.get(0)));
+    IStringItem targetPath = ObjectUtils.requireNonNull(arg1.getFirstItem(true));
+
+    ISequence<? extends IStringItem> arg2 = FunctionUtils.asType(ObjectUtils.requireNonNull(arguments.get(1)));
+    IStringItem keyPath = ObjectUtils.requireNonNull(arg2.getFirstItem(true));
+
+    ISequence<? extends IAnyAtomicItem> keys = FunctionUtils.asType(ObjectUtils.requireNonNull(arguments.get(2)));
+
+    return ISequence.ofCollection(key(
+        node,
+        targetPath.asString(),
+        keyPath.asString(),
+        toStrings(keys),
+        dynamicContext));
+  }
+
+  @NonNull
+  private static List<String> toStrings(@NonNull ISequence<? extends IAnyAtomicItem> sequence) {
+    // key values are compared using their string value, which is how the index
+    // key values are recorded
+    return ObjectUtils.notNull(sequence.stream()
+        .map(IAnyAtomicItem::asString)
+        .collect(Collectors.toList()));
+  }
+
+  /**
+   * Look up the node having the provided key in the named index.
+   * <p>
+   * The key must have a value for each key field of the index.
+   *
+   * @param indexName
+   *          the name of the index
+   * @param key
+   *          the key values
+   * @param dynamicContext
+   *          the dynamic context providing the index
+   * @return the node having the key, or {@code null} if no node has the key
+   * @throws IndexUnavailableMetapathException
+   *           if no index with the provided name is available
+   */
+  @Nullable
+  public static INodeItem key(
+      @NonNull String indexName,
+      @NonNull List<String> key,
+      @NonNull DynamicContext dynamicContext) {
+    IIndex index = dynamicContext.getIndex(indexName);
+    if (index == null) {
+      throw new IndexUnavailableMetapathException(indexName);
+    }
+
+    INodeItem retval = null;
+    if (index.getKeyFields().size() == key.size()) {
+      retval = index.get(key);
+    }
+    return retval;
+  }
+
+  /**
+   * Look up the nodes identified by the {@code targetPath} that have one of the
+   * provided keys.
+   * <p>
+   * The {@code targetPath} is evaluated against the root of the document
+   * containing the {@code node}, and the key values of each target node are the
+   * atomized result of evaluating the {@code keyPath} against the target node.
+   * The index of target nodes by key value is built on first use and cached in
+   * the dynamic context, until the context's {@link DynamicContext#indexScope()}
+   * is released.
+   *
+   * @param node
+   *          a node in the document to search
+   * @param targetPath
+   *          the Metapath identifying the nodes to index
+   * @param keyPath
+   *          the Metapath identifying the key values of a target node
+   * @param keys
+   *          the key values to look up
+   * @param dynamicContext
+   *          the dynamic context used for evaluation and to cache the index
+   * @return the matching nodes in document order
+   */
+  @NonNull
+  public static List<INodeItem> key(
+      @NonNull INodeItem node,
+      @NonNull String targetPath,
+      @NonNull String keyPath,
+      @NonNull List<String> keys,
+      @NonNull DynamicContext dynamicContext) {
+    INodeItem root = node;
+    INodeItem parent;
+    while ((parent = root.getParentNodeItem()) != null) {
+      root = parent;
+    }
+
+    List<?> indexId = List.of(root, targetPath, keyPath);
+    Map<String, List<INodeItem>> index = dynamicContext.getCachedKeyIndex(indexId);
+    if (index == null) {
+      index = dynamicContext.cacheKeyIndex(
+          indexId,
+          buildIndex(root, compile(targetPath, dynamicContext), compile(keyPath, dynamicContext), dynamicContext));
+    }
+
+    List<INodeItem> retval;
+    if (keys.size() == 1) {
+      retval = index.getOrDefault(keys.get(0), CollectionUtil.emptyList());
+    } else {
+      Set<INodeItem> nodes = new LinkedHashSet<>();
+      for (String key : keys) {
+        nodes.addAll(index.getOrDefault(key, CollectionUtil.emptyList()));
+      }
+      retval = DocumentOrder.sortDistinct(nodes);
+    }
+    return ObjectUtils.notNull(retval);
+  }
+
+  @NonNull
+  private static MetapathExpression compile(@NonNull String path, @NonNull DynamicContext dynamicContext) {
+    try {
+      return MetapathExpression.compile(path, dynamicContext.getStaticContext());
+    } catch (MetapathException ex) {
+      throw new StaticMetapathException(StaticMetapathException.INVALID_PATH_GRAMMAR, ex.getMessage(), ex);
+    }
+  }
+
+  @SuppressWarnings("PMD.UseConcurrentHashMap") // not modified once cached
+  @NonNull
+  private static Map<String, List<INodeItem>> buildIndex(
+      @NonNull INodeItem root,
+      @NonNull MetapathExpression targetMetapath,
+      @NonNull MetapathExpression keyMetapath,
+      @NonNull DynamicContext dynamicContext) {
+    ISequence<IItem> result = targetMetapath.evaluate(root, dynamicContext);
+    List<INodeItem> targets = DocumentOrder.sortDistinct(ObjectUtils.notNull(result.stream()
+        .map(item -> FunctionUtils.requireType(INodeItem.class, item))
+        .collect(Collectors.toList())));
+
+    Map<String, List<INodeItem>> retval = new HashMap<>();
+    for (INodeItem target : targets) {
+      assert target != null;
+      keyMetapath.evaluate(target, dynamicContext).stream()
+          .flatMap(FnData::atomize)
+          .map(IAnyAtomicItem::asString)
+          .distinct()
+          .forEachOrdered(key -> retval.computeIfAbsent(key, k -> new ArrayList<>()).add(target));
+    }
+    return CollectionUtil.unmodifiableMap(retval);
+  }
+}
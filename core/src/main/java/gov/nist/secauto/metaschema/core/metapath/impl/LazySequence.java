@@ -0,0 +1,65 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.core.metapath.impl;
+
+import gov.nist.secauto.metaschema.core.metapath.ISequence;
+import gov.nist.secauto.metaschema.core.metapath.item.IItem;
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+/**
+ * A Metapath sequence whose items are provided by a supplier, which is called
+ * the first time the items are accessed.
+ * <p>
+ * The supplied items are retained, so the supplier is called at most once. If
+ * the supplier throws an exception, it will be called again on the next access.
+ *
+ * @param <ITEM>
+ *          the Java type of the items
+ */
+public class LazySequence<ITEM extends IItem>
+    extends AbstractSequence<ITEM> {
+  @Nullable
+  private Supplier<? extends ISequence<ITEM>> supplier;
+  @Nullable
+  private volatile List<ITEM> list;
+
+  /**
+   * Construct a new sequence using the provided supplier.
+   *
+   * @param supplier
+   *          the supplier of the items in the sequence
+   */
+  public LazySequence(@NonNull Supplier<? extends ISequence<ITEM>> supplier) {
+    this.supplier = supplier;
+  }
+
+  @Override
+  public List<ITEM> getValue() {
+    List<ITEM> retval = list;
+    if (retval == null) {
+      synchronized (this) {
+        retval = list;
+        if (retval == null) {
+          retval = ObjectUtils.requireNonNull(supplier).get().getValue();
+          list = retval;
+          supplier = null; // NOPMD - release the supplier once used
+        }
+      }
+    }
+    return ObjectUtils.notNull(retval);
+  }
+
+  @Override
+  public boolean isMaterialized() {
+    return list != null;
+  }
+}
@@ -70,6 +70,13 @@ public class StreamSequence<ITEM extends IItem>
     return retval;
   }
 
+  @Override
+  public boolean isMaterialized() {
+    synchronized (this) {
+      return list != null;
+    }
+  }
+
   @Override
   public void forEach(Consumer<? super ITEM> action) {
     stream().forEachOrdered(action);
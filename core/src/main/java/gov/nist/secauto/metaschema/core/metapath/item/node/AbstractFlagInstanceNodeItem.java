@@ -16,10 +16,16 @@ abstract class AbstractFlagInstanceNodeItem
   private final IFlagInstance instance;
   @NonNull
   private final IModelNodeItem<?, ?> parent;
+  @NonNull
+  private final NodeOrdinal ordinal;
 
-  public AbstractFlagInstanceNodeItem(@NonNull IFlagInstance instance, @NonNull IModelNodeItem<?, ?> parent) {
+  public AbstractFlagInstanceNodeItem(
+      @NonNull IFlagInstance instance,
+      @NonNull IModelNodeItem<?, ?> parent,
+      @NonNull NodeOrdinal ordinal) {
     this.instance = instance;
     this.parent = parent;
+    this.ordinal = ordinal;
   }
 
   @Override
@@ -45,6 +51,11 @@ abstract class AbstractFlagInstanceNodeItem
     return parent;
   }
 
+  @Override
+  public NodeOrdinal getOrdinal() {
+    return ordinal;
+  }
+
   @Override
   public String toString() {
     StringBuilder builder = new StringBuilder()
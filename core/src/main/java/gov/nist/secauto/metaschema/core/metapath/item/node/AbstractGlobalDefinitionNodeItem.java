@@ -19,12 +19,16 @@ abstract class AbstractGlobalDefinitionNodeItem<D extends IDefinition, I extends
     extends AbstractDefinitionNodeItem<D, I> {
   @NonNull
   private final IModuleNodeItem metaschemaNodeItem;
+  @NonNull
+  private final NodeOrdinal ordinal;
 
   protected AbstractGlobalDefinitionNodeItem(
       @NonNull D definition,
-      @NonNull IModuleNodeItem metaschemaNodeItem) {
+      @NonNull IModuleNodeItem metaschemaNodeItem,
+      @NonNull NodeOrdinal ordinal) {
     super(definition);
     this.metaschemaNodeItem = metaschemaNodeItem;
+    this.ordinal = ordinal;
   }
 
   @NonNull
@@ -38,6 +42,11 @@ abstract class AbstractGlobalDefinitionNodeItem<D extends IDefinition, I extends
     return getMetaschemaNodeItem();
   }
 
+  @Override
+  public NodeOrdinal getOrdinal() {
+    return ordinal;
+  }
+
   @Override
   public URI getBaseUri() {
     return getMetaschemaNodeItem().getDocumentUri();
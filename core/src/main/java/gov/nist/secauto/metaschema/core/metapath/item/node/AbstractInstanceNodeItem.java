@@ -17,12 +17,16 @@ abstract class AbstractInstanceNodeItem<
   private final I instance;
   @NonNull
   private final P parent;
+  @NonNull
+  private final NodeOrdinal ordinal;
 
   public AbstractInstanceNodeItem(
       @NonNull I instance,
-      @NonNull P parent) {
+      @NonNull P parent,
+      @NonNull NodeOrdinal ordinal) {
     this.instance = instance;
     this.parent = parent;
+    this.ordinal = ordinal;
   }
 
   @SuppressWarnings("unchecked")
@@ -45,4 +49,9 @@ abstract class AbstractInstanceNodeItem<
   public P getParentContentNodeItem() {
     return getParentNodeItem();
   }
+
+  @Override
+  public NodeOrdinal getOrdinal() {
+    return ordinal;
+  }
 }
@@ -47,10 +47,12 @@ public abstract class AbstractNodeItemFactory implements INodeItemFactory, INode
   @Override
   public IFieldNodeItem newFieldNodeItem(
       IFieldDefinition definition,
-      IModuleNodeItem module) {
+      IModuleNodeItem module,
+      NodeOrdinal ordinal) {
     return new FieldGlobalDefinitionNodeItemImpl(
         definition,
         module,
+        ordinal,
         this);
   }
 
@@ -67,26 +69,30 @@ public abstract class AbstractNodeItemFactory implements INodeItemFactory, INode
   @Override
   public IFieldNodeItem newFieldNodeItem(
       IFieldInstance instance,
-      IAssemblyNodeItem parent) {
-    return new FieldInstanceNoValueNodeItemImpl(instance, parent, this);
+      IAssemblyNodeItem parent,
+      NodeOrdinal ordinal) {
+    return new FieldInstanceNoValueNodeItemImpl(instance, parent, ordinal, this);
   }
 
   @Override
   public IFieldNodeItem newFieldNodeItem(
       IFieldInstance instance,
       IAssemblyNodeItem parent,
+      NodeOrdinal ordinal,
       int position,
       Object value) {
-    return new FieldInstanceNodeItemImpl(instance, parent, position, value, this);
+    return new FieldInstanceNodeItemImpl(instance, parent, ordinal, position, value, this);
   }
 
   @Override
   public IAssemblyNodeItem newAssemblyNodeItem(
       IAssemblyDefinition definition,
-      IModuleNodeItem module) {
+      IModuleNodeItem module,
+      NodeOrdinal ordinal) {
     return new AssemblyGlobalDefinitionNodeItemImpl(
         definition,
         module,
+        ordinal,
         this);
   }
 
@@ -115,19 +121,20 @@ public abstract class AbstractNodeItemFactory implements INodeItemFactory, INode
   @Override
   public IAssemblyNodeItem newAssemblyNodeItem(
       IAssemblyInstance instance,
-      IAssemblyNodeItem parent) {
+      IAssemblyNodeItem parent,
+      NodeOrdinal ordinal) {
     IAssemblyNodeItem retval = null;
     if (!instance.getDefinition().isInline()) {
       // if not inline, need to check for a cycle
       IAssemblyNodeItem cycle = getCycledInstance(instance.getXmlQName(), instance.getDefinition(), parent);
       if (cycle != null) {
         // generate a cycle wrapper of the original node item
-        retval = new CycledAssemblyInstanceNodeItemImpl(instance, parent, cycle);
+        retval = new CycledAssemblyInstanceNodeItemImpl(instance, parent, ordinal, cycle);
       }
     }
 
     if (retval == null) {
-      retval = new AssemblyInstanceNoValueNodeItemImpl(instance, parent, this);
+      retval = new AssemblyInstanceNoValueNodeItemImpl(instance, parent, ordinal, this);
     }
     return retval;
   }
@@ -136,16 +143,18 @@ public abstract class AbstractNodeItemFactory implements INodeItemFactory, INode
   public IAssemblyNodeItem newAssemblyNodeItem(
       IAssemblyInstance instance,
       IAssemblyNodeItem parent,
+      NodeOrdinal ordinal,
       int position,
       Object value) {
-    return new AssemblyInstanceNodeItemImpl(instance, parent, position, value, this);
+    return new AssemblyInstanceNodeItemImpl(instance, parent, ordinal, position, value, this);
   }
 
   @Nullable
   private IAssemblyNodeItem getCycledInstance(
       @NonNull QName name,
       @NonNull IAssemblyDefinition definition,
-      @NonNull IAssemblyNodeItem parent) {
+      @NonNull IAssemblyNodeItem parent,
+      @NonNull NodeOrdinal ordinal) {
     IAssemblyNodeItem retval = null;
 
     IAssemblyDefinition parentDefinition = parent.getDefinition();
@@ -169,6 +178,8 @@ public abstract class AbstractNodeItemFactory implements INodeItemFactory, INode
    *          the model instance to create the node for
    * @param parent
    *          the item to use as the parent item for the created node item
+   * @param ordinal
+   *          the ordinal identifying the new item's position in document order
    * @param position
    *          the data item's position in the sequence of data items for the
    *          instance, which is {@code 0} based
@@ -180,13 +191,14 @@ public abstract class AbstractNodeItemFactory implements INodeItemFactory, INode
   protected IModelNodeItem<?, ?> newModelItem(
       @NonNull INamedModelInstance instance,
       @NonNull IAssemblyNodeItem parent,
+      @NonNull NodeOrdinal ordinal,
       int position,
       @NonNull Object value) {
     @NonNull IModelNodeItem<?, ?> item;
     if (instance instanceof IAssemblyInstance) {
-      item = newAssemblyNodeItem((IAssemblyInstance) instance, parent, position, value);
+      item = newAssemblyNodeItem((IAssemblyInstance) instance, parent, ordinal, position, value);
     } else if (instance instanceof IFieldInstance) {
-      item = newFieldNodeItem((IFieldInstance) instance, parent, position, value);
+      item = newFieldNodeItem((IFieldInstance) instance, parent, ordinal, position, value);
     } else {
       throw new UnsupportedOperationException("unsupported instance type: " + instance.getClass().getName());
     }
@@ -202,17 +214,20 @@ public abstract class AbstractNodeItemFactory implements INodeItemFactory, INode
    *          the model instance to create the node for
    * @param parent
    *          the item to use as the parent item for the created node item
+   * @param ordinal
+   *          the ordinal identifying the new item's position in document order
    * @return the created node item
    */
   @NonNull
   protected IModelNodeItem<?, ?> newModelItem(
       @NonNull INamedModelInstance instance,
-      @NonNull IAssemblyNodeItem parent) {
+      @NonNull IAssemblyNodeItem parent,
+      @NonNull NodeOrdinal ordinal) {
     @NonNull IModelNodeItem<?, ?> item;
     if (instance instanceof IAssemblyInstance) {
-      item = newAssemblyNodeItem((IAssemblyInstance) instance, parent);
+      item = newAssemblyNodeItem((IAssemblyInstance) instance, parent, ordinal);
     } else if (instance instanceof IFieldInstance) {
-      item = newFieldNodeItem((IFieldInstance) instance, parent);
+      item = newFieldNodeItem((IFieldInstance) instance, parent, ordinal);
     } else {
       throw new UnsupportedOperationException("unsupported instance type: " + instance.getClass().getName());
     }
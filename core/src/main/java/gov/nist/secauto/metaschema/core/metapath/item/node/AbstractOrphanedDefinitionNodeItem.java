@@ -18,6 +18,8 @@ abstract class AbstractOrphanedDefinitionNodeItem<D extends IDefinition, I exten
   private final URI baseUri;
   @NonNull
   private final StaticContext staticContext;
+  @NonNull
+  private final NodeOrdinal ordinal = NodeOrdinal.newRoot();
 
   public AbstractOrphanedDefinitionNodeItem(
       @NonNull D definition,
@@ -41,6 +43,11 @@ abstract class AbstractOrphanedDefinitionNodeItem<D extends IDefinition, I exten
     return null;
   }
 
+  @Override
+  public NodeOrdinal getOrdinal() {
+    return ordinal;
+  }
+
   @Override
   public URI getBaseUri() {
     return baseUri;
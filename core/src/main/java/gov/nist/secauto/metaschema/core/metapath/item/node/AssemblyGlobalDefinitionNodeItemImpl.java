@@ -20,8 +20,9 @@ class AssemblyGlobalDefinitionNodeItemImpl
   protected AssemblyGlobalDefinitionNodeItemImpl(
       @NonNull IAssemblyDefinition definition,
       @NonNull IModuleNodeItem metaschemaNodeItem,
+      @NonNull NodeOrdinal ordinal,
       @NonNull INodeItemGenerator generator) {
-    super(definition, metaschemaNodeItem);
+    super(definition, metaschemaNodeItem, ordinal);
     this.model = ObjectUtils.notNull(Lazy.lazy(generator.newMetaschemaModelSupplier(this)));
   }
 
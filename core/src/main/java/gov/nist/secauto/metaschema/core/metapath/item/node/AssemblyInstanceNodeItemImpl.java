@@ -27,10 +27,11 @@ class AssemblyInstanceNodeItemImpl
   public AssemblyInstanceNodeItemImpl(
       @NonNull IAssemblyInstance instance,
       @NonNull IAssemblyNodeItem parent,
+      @NonNull NodeOrdinal ordinal,
       int position,
       @NonNull Object value,
       @NonNull INodeItemGenerator generator) {
-    super(instance, parent);
+    super(instance, parent, ordinal);
     this.model = ObjectUtils.notNull(Lazy.lazy(generator.newDataModelSupplier(this)));
     this.position = position;
     this.value = value;
@@ -51,4 +52,27 @@ class AssemblyInstanceNodeItemImpl
   public Object getValue() {
     return value;
   }
+
+  // Node items are equal if they represent the same bound value in the same
+  // location, since a node factory may generate a node item more than once.
+  @SuppressWarnings("PMD.OnlyOneReturn") // readability
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (obj == null || getClass() != obj.getClass()) {
+      return false;
+    }
+    AssemblyInstanceNodeItemImpl other = (AssemblyInstanceNodeItemImpl) obj;
+    return value == other.value
+        && position == other.position
+        && getInstance().equals(other.getInstance())
+        && getParentNodeItem().equals(other.getParentNodeItem());
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * System.identityHashCode(value) + position;
+  }
 }
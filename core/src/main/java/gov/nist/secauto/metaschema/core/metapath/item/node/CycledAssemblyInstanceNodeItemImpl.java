@@ -26,14 +26,17 @@ class CycledAssemblyInstanceNodeItemImpl
    *          the instance in the parent's model
    * @param parent
    *          the parent containing the instance
+   * @param ordinal
+   *          the ordinal identifying the item's position in document order
    * @param cycledNodeItem
    *          the original node item at the start of the loop
    */
   public CycledAssemblyInstanceNodeItemImpl(
       @NonNull IAssemblyInstance instance,
       @NonNull IAssemblyNodeItem parent,
+      @NonNull NodeOrdinal ordinal,
       @NonNull IAssemblyNodeItem cycledNodeItem) {
-    super(instance, parent);
+    super(instance, parent, ordinal);
     this.cycledNodeItem = cycledNodeItem;
   }
 
@@ -29,7 +29,7 @@ import javax.xml.namespace.QName;
 import edu.umd.cs.findbugs.annotations.NonNull;
 
 @SuppressWarnings("PMD.CouplingBetweenObjects")
-final class DefaultNodeItemFactory
+class DefaultNodeItemFactory
     extends AbstractNodeItemFactory {
   @NonNull
   static final DefaultNodeItemFactory SINGLETON = new DefaultNodeItemFactory();
@@ -44,8 +44,13 @@ final class DefaultNodeItemFactory
     return SINGLETON;
   }
 
-  private DefaultNodeItemFactory() {
-    // prevent construction
+  /**
+   * Construct a new node factory.
+   * <p>
+   * Use {@link #instance()} to get the shared instance of this factory.
+   */
+  protected DefaultNodeItemFactory() {
+    // only allow extension
   }
 
   @Override
@@ -92,12 +97,15 @@ final class DefaultNodeItemFactory
 
     Object parentValue = parent.getValue();
     assert parentValue != null;
+    NodeOrdinal parentOrdinal = parent.getOrdinal();
+    int childIndex = 0;
     for (IFlagInstance instance : parent.getDefinition().getFlagInstances()) {
       Object flagValue = instance.getValue(parentValue);
       if (flagValue != null) {
-        IFlagNodeItem item = newFlagNodeItem(instance, parent, flagValue);
+        IFlagNodeItem item = newFlagNodeItem(instance, parent, parentOrdinal.child(childIndex), flagValue);
         retval.put(instance.getXmlQName(), item);
       }
+      childIndex++;
     }
     return retval.isEmpty() ? CollectionUtil.emptyMap() : CollectionUtil.unmodifiableMap(retval);
   }
@@ -118,6 +126,7 @@ final class DefaultNodeItemFactory
 
     Object parentValue = parent.getValue();
     assert parentValue != null;
+    AtomicInteger childIndex = newModelChildIndex(parent); // NOPMD - intentional
     for (IModelInstance instance : CollectionUtil.toIterable(getValuedModelInstances(parent.getDefinition()))) {
       if (instance instanceof INamedModelInstanceAbsolute) {
         INamedModelInstanceAbsolute namedInstance = (INamedModelInstanceAbsolute) instance;
@@ -127,7 +136,8 @@ final class DefaultNodeItemFactory
           List<IModelNodeItem<?, ?>> items = generateModelInstanceItems(
               parent,
               namedInstance,
-              ObjectUtils.notNull(namedInstance.getItemValues(instanceValue).stream()));
+              ObjectUtils.notNull(namedInstance.getItemValues(instanceValue).stream()),
+              childIndex);
           retval.put(namedInstance.getXmlQName(), items);
         }
       } else if (instance instanceof IChoiceGroupInstance) {
@@ -154,7 +164,8 @@ final class DefaultNodeItemFactory
             List<IModelNodeItem<?, ?>> items = generateModelInstanceItems(
                 parent,
                 namedInstance,
-                ObjectUtils.notNull(entry.getValue().stream()));
+                ObjectUtils.notNull(entry.getValue().stream()),
+                childIndex);
             retval.put(namedInstance.getXmlQName(), items);
           }
         }
@@ -167,25 +178,51 @@ final class DefaultNodeItemFactory
   private List<IModelNodeItem<?, ?>> generateModelInstanceItems(
       @NonNull IAssemblyNodeItem parent,
       @NonNull INamedModelInstance namedInstance,
-      @NonNull Stream<?> itemValues) {
+      @NonNull Stream<?> itemValues,
+      @NonNull AtomicInteger childIndex) {
     AtomicInteger index = new AtomicInteger(); // NOPMD - intentional
+    NodeOrdinal parentOrdinal = parent.getOrdinal();
 
     // the item values will be all non-null items
     return itemValues.map(itemValue -> {
       assert itemValue != null;
-      return newModelItem(namedInstance, parent, index.incrementAndGet(), itemValue);
+      return newModelItem(
+          namedInstance,
+          parent,
+          parentOrdinal.child(childIndex.getAndIncrement()),
+          index.incrementAndGet(),
+          itemValue);
     }).collect(Collectors.toUnmodifiableList());
   }
 
+  /**
+   * Get a counter for the document order index of the model children of the
+   * provided parent.
+   * <p>
+   * Model children follow the parent's flags, which are indexed by flag instance.
+   * Starting after every flag instance allows the flags and model items to be
+   * generated separately.
+   *
+   * @param parent
+   *          the parent of the model children
+   * @return the counter
+   */
+  @NonNull
+  private static AtomicInteger newModelChildIndex(@NonNull IModelNodeItem<?, ?> parent) {
+    return new AtomicInteger(parent.getDefinition().getFlagInstances().size());
+  }
+
   @Override
   public Supplier<ModelContainer> newMetaschemaModelSupplier(@NonNull IModuleNodeItem item) {
     return () -> {
       IModule module = item.getModule();
+      NodeOrdinal ordinal = item.getOrdinal();
+      AtomicInteger childIndex = new AtomicInteger(); // NOPMD - intentional
 
       // build flags from Metaschema definitions
       Map<QName, IFlagNodeItem> flags = ObjectUtils.notNull(
           Collections.unmodifiableMap(module.getExportedFlagDefinitions().stream()
-              .map(def -> newFlagNodeItem(ObjectUtils.notNull(def), item))
+              .map(def -> newFlagNodeItem(ObjectUtils.notNull(def), item, ordinal.child(childIndex.getAndIncrement())))
               .collect(
                   Collectors.toMap(
                       IFlagNodeItem::getQName,
@@ -195,15 +232,19 @@ final class DefaultNodeItemFactory
 
       // build model items from Metaschema definitions
       Stream<IFieldNodeItem> fieldStream = module.getExportedFieldDefinitions().stream()
-          .map(def -> newFieldNodeItem(ObjectUtils.notNull(def), item));
+          .map(def -> newFieldNodeItem(ObjectUtils.notNull(def), item, ordinal.child(childIndex.getAndIncrement())));
       Stream<IAssemblyNodeItem> assemblyStream = module.getExportedAssemblyDefinitions().stream()
-          .map(def -> newAssemblyNodeItem(ObjectUtils.notNull(def), item));
+          .map(def -> newAssemblyNodeItem(
+              ObjectUtils.notNull(def),
+              item,
+              ordinal.child(childIndex.getAndIncrement())));
 
       Map<QName, List<? extends IModelNodeItem<?, ?>>> modelItems
           = ObjectUtils.notNull(Stream.concat(fieldStream, assemblyStream)
               .collect(
                   Collectors.collectingAndThen(
-                      Collectors.groupingBy(IModelNodeItem::getQName),
+                      // keep the model items in document order
+                      Collectors.groupingBy(IModelNodeItem::getQName, LinkedHashMap::new, Collectors.toList()),
                       Collections::unmodifiableMap)));
       return new ModelContainer(flags, modelItems);
     };
@@ -232,10 +273,13 @@ final class DefaultNodeItemFactory
       @NonNull IModelNodeItem<?, ?> parent) {
     Map<QName, IFlagNodeItem> retval = new LinkedHashMap<>(); // NOPMD - intentional
 
+    NodeOrdinal parentOrdinal = parent.getOrdinal();
+    int childIndex = 0;
     for (IFlagInstance instance : parent.getDefinition().getFlagInstances()) {
       assert instance != null;
-      IFlagNodeItem item = newFlagNodeItem(instance, parent);
+      IFlagNodeItem item = newFlagNodeItem(instance, parent, parentOrdinal.child(childIndex));
       retval.put(instance.getXmlQName(), item);
+      childIndex++;
     }
     return retval.isEmpty() ? CollectionUtil.emptyMap() : CollectionUtil.unmodifiableMap(retval);
   }
@@ -245,9 +289,11 @@ final class DefaultNodeItemFactory
       @NonNull IAssemblyNodeItem parent) {
     Map<QName, List<? extends IModelNodeItem<?, ?>>> retval = new LinkedHashMap<>(); // NOPMD - intentional
 
+    NodeOrdinal parentOrdinal = parent.getOrdinal();
+    AtomicInteger childIndex = newModelChildIndex(parent); // NOPMD - intentional
     for (INamedModelInstance instance : CollectionUtil.toIterable(getNamedModelInstances(parent.getDefinition()))) {
       assert instance != null;
-      IModelNodeItem<?, ?> item = newModelItem(instance, parent);
+      IModelNodeItem<?, ?> item = newModelItem(instance, parent, parentOrdinal.child(childIndex.getAndIncrement()));
       retval.put(instance.getXmlQName(), Collections.singletonList(item));
     }
     return retval.isEmpty() ? CollectionUtil.emptyMap() : CollectionUtil.unmodifiableMap(retval);
@@ -255,7 +301,7 @@ final class DefaultNodeItemFactory
 
   @Override
   public IAssemblyNodeItem newAssemblyNodeItem(IAssemblyInstanceGrouped instance, IAssemblyNodeItem parent,
-      int position, Object value) {
+      NodeOrdinal ordinal, int position, Object value) {
     throw new UnsupportedOperationException("implement");
   }
 }
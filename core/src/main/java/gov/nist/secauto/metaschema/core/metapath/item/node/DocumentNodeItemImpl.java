@@ -21,13 +21,15 @@ class DocumentNodeItemImpl
   private final Lazy<ModelContainer> model;
   @NonNull
   private final StaticContext staticContext;
+  @NonNull
+  private final NodeOrdinal ordinal = NodeOrdinal.newRoot();
 
   public DocumentNodeItemImpl(
       @NonNull IAssemblyDefinition root,
       @NonNull Object rootValue,
       @NonNull URI documentUri,
       @NonNull INodeItemGenerator generator) {
-    this.root = new RootAssemblyValuedNodeItemImpl(root, this, rootValue, generator);
+    this.root = new RootAssemblyValuedNodeItemImpl(root, this, ordinal.child(0), rootValue, generator);
     this.documentUri = documentUri;
     this.model = ObjectUtils.notNull(Lazy.lazy(generator.newDataModelSupplier(this.root)));
 
@@ -55,6 +57,11 @@ class DocumentNodeItemImpl
     return documentUri;
   }
 
+  @Override
+  public NodeOrdinal getOrdinal() {
+    return ordinal;
+  }
+
   @SuppressWarnings("null")
   @Override
   public ModelContainer getModel() {
@@ -0,0 +1,286 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.core.metapath.item.node;
+
+import gov.nist.secauto.metaschema.core.metapath.item.IItem;
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+/**
+ * Provides node set operations that produce nodes in document order without
+ * duplicates.
+ * <p>
+ * Nodes are ordered by their {@link INodeItem#getOrdinal() ordinal}, which is
+ * assigned when the node is generated. Nodes that are already in document order
+ * are not sorted again. Once sorted, union, intersection, and difference are
+ * computed using a linear merge.
+ */
+public final class DocumentOrder {
+  @NonNull
+  private static final Comparator<INodeItem> COMPARATOR = Comparator.comparing(INodeItem::getOrdinal);
+
+  private DocumentOrder() {
+    // disable construction
+  }
+
+  /**
+   * Determine if all of the provided items are nodes.
+   *
+   * @param items
+   *          the items to check
+   * @return {@code true} if all items are {@link INodeItem} instances, or
+   *         {@code false} otherwise
+   */
+  public static boolean isAllNodes(@NonNull Collection<? extends IItem> items) {
+    return items.stream().allMatch(INodeItem.class::isInstance);
+  }
+
+  /**
+   * Sort the provided nodes in document order, removing any duplicates.
+   *
+   * @param <T>
+   *          the Java type of the nodes
+   * @param nodes
+   *          the nodes to sort
+   * @return the sorted nodes
+   */
+  @NonNull
+  public static <T extends INodeItem> List<T> sortDistinct(@NonNull Collection<? extends T> nodes) {
+    List<T> sorted = new ArrayList<>(nodes);
+    if (!isSorted(sorted)) {
+      sorted.sort(COMPARATOR);
+    }
+
+    List<T> retval = new ArrayList<>(sorted.size());
+    T previous = null;
+    for (T node : sorted) {
+      if (previous == null || !isSame(previous, node)) {
+        retval.add(node);
+        previous = node;
+      }
+    }
+    return retval;
+  }
+
+  /**
+   * Determine if the provided nodes are in document order, without duplicates,
+   * and with no node being an ancestor of another.
+   * <p>
+   * The descendants of such nodes do not overlap, and are in the same order as
+   * the nodes.
+   *
+   * @param nodes
+   *          the nodes to check
+   * @return {@code true} if the nodes are in order and disjoint, or
+   *         {@code false} otherwise
+   */
+  public static boolean isOrderedAndDisjoint(@NonNull List<? extends INodeItem> nodes) {
+    INodeItem previous = null;
+    for (INodeItem node : nodes) {
+      if (previous != null) {
+        NodeOrdinal previousOrdinal = previous.getOrdinal();
+        NodeOrdinal ordinal = node.getOrdinal();
+        if (previousOrdinal.compareTo(ordinal) >= 0 || previousOrdinal.isAncestorOf(ordinal)) {
+          return false; // NOPMD - readability
+        }
+      }
+      previous = node;
+    }
+    return true;
+  }
+
+  /**
+   * Merge two sequences of nodes, each in document order without duplicates,
+   * into a single sequence in document order without duplicates.
+   * <p>
+   * The {@code second} stream is consumed lazily, as the merged stream is
+   * consumed.
+   *
+   * @param <T>
+   *          the Java type of the nodes
+   * @param first
+   *          the first nodes to merge
+   * @param second
+   *          the second nodes to merge
+   * @return the merged nodes
+   */
+  @NonNull
+  public static <T extends INodeItem> Stream<? extends T> merge(
+      @NonNull List<? extends T> first,
+      @NonNull Stream<? extends T> second) {
+    Stream<? extends T> retval;
+    if (first.isEmpty()) {
+      retval = second;
+    } else {
+      Iterator<T> iterator = new MergingIterator<>(first.iterator(), second.iterator());
+      retval = StreamSupport.stream(
+          Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL),
+          false)
+          .onClose(second::close);
+    }
+    return ObjectUtils.notNull(retval);
+  }
+
+  /**
+   * Get the nodes in {@code left} that are also in {@code right}, in document
+   * order and without duplicates.
+   *
+   * @param <T>
+   *          the Java type of the nodes
+   * @param left
+   *          the nodes to filter
+   * @param right
+   *          the nodes to keep
+   * @return the matching nodes
+   */
+  @NonNull
+  public static <T extends INodeItem> List<T> intersect(
+      @NonNull Collection<? extends T> left,
+      @NonNull Collection<? extends INodeItem> right) {
+    return merge(left, right, true);
+  }
+
+  /**
+   * Get the nodes in {@code left} that are not in {@code right}, in document
+   * order and without duplicates.
+   *
+   * @param <T>
+   *          the Java type of the nodes
+   * @param left
+   *          the nodes to filter
+   * @param right
+   *          the nodes to omit
+   * @return the remaining nodes
+   */
+  @NonNull
+  public static <T extends INodeItem> List<T> except(
+      @NonNull Collection<? extends T> left,
+      @NonNull Collection<? extends INodeItem> right) {
+    return merge(left, right, false);
+  }
+
+  @NonNull
+  private static <T extends INodeItem> List<T> merge(
+      @NonNull Collection<? extends T> left,
+      @NonNull Collection<? extends INodeItem> right,
+      boolean keepMatches) {
+    List<T> leftSorted = sortDistinct(left);
+    List<INodeItem> rightSorted = sortDistinct(right);
+
+    List<T> retval = new ArrayList<>(leftSorted.size());
+    int rightIndex = 0;
+    for (T node : leftSorted) {
+      int comparison = -1;
+      while (rightIndex < rightSorted.size()) {
+        comparison = COMPARATOR.compare(node, rightSorted.get(rightIndex));
+        if (comparison <= 0) {
+          break;
+        }
+        rightIndex++;
+      }
+      boolean matched = comparison == 0 && isSame(node, rightSorted.get(rightIndex));
+      if (matched == keepMatches) {
+        retval.add(node);
+      }
+    }
+    return retval;
+  }
+
+  private static boolean isSorted(@NonNull List<? extends INodeItem> nodes) {
+    for (int index = 1; index < nodes.size(); index++) {
+      if (COMPARATOR.compare(nodes.get(index - 1), nodes.get(index)) > 0) {
+        return false; // NOPMD - readability
+      }
+    }
+    return true;
+  }
+
+  private static boolean isSame(@NonNull INodeItem left, @NonNull INodeItem right) {
+    return left.getOrdinal().equals(right.getOrdinal()) && left.equals(right);
+  }
+
+  /**
+   * Merges two iterators over nodes in document order, skipping duplicates.
+   *
+   * @param <T>
+   *          the Java type of the nodes
+   */
+  private static final class MergingIterator<T extends INodeItem> implements Iterator<T> {
+    @NonNull
+    private final Iterator<? extends T> first;
+    @NonNull
+    private final Iterator<? extends T> second;
+    private boolean started;
+    @Nullable
+    private T firstNext;
+    @Nullable
+    private T secondNext;
+
+    private MergingIterator(@NonNull Iterator<? extends T> first, @NonNull Iterator<? extends T> second) {
+      this.first = first;
+      this.second = second;
+    }
+
+    private void start() {
+      if (!started) {
+        // defer consuming the iterators until the first node is requested
+        firstNext = nextOrNull(first);
+        secondNext = nextOrNull(second);
+        started = true;
+      }
+    }
+
+    @Override
+    public boolean hasNext() {
+      start();
+      return firstNext != null || secondNext != null;
+    }
+
+    @Override
+    public T next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+
+      T retval;
+      if (secondNext == null || (firstNext != null && COMPARATOR.compare(firstNext, secondNext) <= 0)) {
+        retval = firstNext;
+        firstNext = nextOrNull(first);
+      } else {
+        retval = secondNext;
+        secondNext = nextOrNull(second);
+      }
+      assert retval != null;
+
+      // skip a duplicate of the returned node
+      if (firstNext != null && isSame(retval, firstNext)) {
+        firstNext = nextOrNull(first);
+      }
+      if (secondNext != null && isSame(retval, secondNext)) {
+        secondNext = nextOrNull(second);
+      }
+      return retval;
+    }
+
+    @Nullable
+    private static <T> T nextOrNull(@NonNull Iterator<? extends T> iterator) {
+      return iterator.hasNext() ? iterator.next() : null;
+    }
+  }
+}
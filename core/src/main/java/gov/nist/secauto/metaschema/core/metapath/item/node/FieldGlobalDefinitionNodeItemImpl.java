@@ -19,8 +19,9 @@ class FieldGlobalDefinitionNodeItemImpl
   protected FieldGlobalDefinitionNodeItemImpl(
       @NonNull IFieldDefinition definition,
       @NonNull IModuleNodeItem metaschemaNodeItem,
+      @NonNull NodeOrdinal ordinal,
       @NonNull INodeItemGenerator generator) {
-    super(definition, metaschemaNodeItem);
+    super(definition, metaschemaNodeItem, ordinal);
     this.model = Lazy.lazy(generator.newMetaschemaModelSupplier(this));
   }
 
@@ -21,8 +21,9 @@ class FieldInstanceNoValueNodeItemImpl
   public FieldInstanceNoValueNodeItemImpl(
       @NonNull IFieldInstance instance,
       @NonNull IAssemblyNodeItem parent,
+      @NonNull NodeOrdinal ordinal,
       @NonNull INodeItemGenerator generator) {
-    super(instance, parent);
+    super(instance, parent, ordinal);
     this.model = ObjectUtils.notNull(Lazy.lazy(generator.newMetaschemaModelSupplier(this)));
   }
 
@@ -22,11 +22,14 @@ class FlagGlobalDefinitionNodeItemImpl
    *          the flag
    * @param parent
    *          the item for the Metaschema containing this definition
+   * @param ordinal
+   *          the ordinal identifying the item's position in document order
    */
   public FlagGlobalDefinitionNodeItemImpl(
       @NonNull IFlagDefinition definition,
-      @NonNull IModuleNodeItem parent) {
-    super(definition, parent);
+      @NonNull IModuleNodeItem parent,
+      @NonNull NodeOrdinal ordinal) {
+    super(definition, parent, ordinal);
   }
 
   @Override
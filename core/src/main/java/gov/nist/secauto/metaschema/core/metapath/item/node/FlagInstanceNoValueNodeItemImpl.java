@@ -11,7 +11,8 @@ class FlagInstanceNoValueNodeItemImpl
 
   public FlagInstanceNoValueNodeItemImpl(
       @NonNull IFlagInstance instance,
-      @NonNull IModelNodeItem<?, ?> parent) {
-    super(instance, parent);
+      @NonNull IModelNodeItem<?, ?> parent,
+      @NonNull NodeOrdinal ordinal) {
+    super(instance, parent, ordinal);
   }
 }
@@ -29,8 +29,9 @@ class FlagInstanceNodeItemImpl
   public FlagInstanceNodeItemImpl(
       @NonNull IFlagInstance instance,
       @NonNull IModelNodeItem<?, ?> parent,
+      @NonNull NodeOrdinal ordinal,
       @NonNull Object value) {
-    super(instance, parent);
+    super(instance, parent, ordinal);
     this.value = value;
     this.atomicItem = ObjectUtils.notNull(Lazy.lazy(this::newAtomicItem));
   }
@@ -50,4 +51,26 @@ class FlagInstanceNodeItemImpl
   public IAnyAtomicItem toAtomicItem() {
     return atomicItem.get();
   }
+
+  // Node items are equal if they represent the same bound value in the same
+  // location, since a node factory may generate a node item more than once.
+  @SuppressWarnings("PMD.OnlyOneReturn") // readability
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (obj == null || getClass() != obj.getClass()) {
+      return false;
+    }
+    FlagInstanceNodeItemImpl other = (FlagInstanceNodeItemImpl) obj;
+    return value == other.value
+        && getInstance().equals(other.getInstance())
+        && getParentNodeItem().equals(other.getParentNodeItem());
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * getParentNodeItem().hashCode() + getInstance().hashCode();
+  }
 }
@@ -270,6 +270,18 @@ public interface INodeItem extends IItem, IPathSegment, INodeItemVisitable {
     return getModelItems().stream().flatMap(Collection::stream);
   }
 
+  /**
+   * Get the ordinal of this node, which identifies the position of this node in
+   * document order.
+   * <p>
+   * The flags of a node precede its model items. Model items are ordered by
+   * model instance, and then by their position within that instance.
+   *
+   * @return the ordinal
+   */
+  @NonNull
+  NodeOrdinal getOrdinal();
+
   /**
    * Get the resource location information for the node, if known.
    *
@@ -35,6 +35,22 @@ public interface INodeItemFactory {
     return DefaultNodeItemFactory.instance();
   }
 
+  /**
+   * Get the singleton instance of a node factory that holds child node items
+   * using soft references.
+   * <p>
+   * Child node items created by this factory may be released when memory is
+   * low and generated again when next accessed. This bounds the memory used
+   * when traversing large documents, at the cost of regenerating released
+   * children.
+   *
+   * @return the node factory instance
+   */
+  @NonNull
+  static INodeItemFactory lightweightInstance() {
+    return LightweightNodeItemFactory.instance();
+  }
+
   /**
    * Create a new document node item for the provided {@code definition}.
    *
@@ -70,13 +86,16 @@ public interface INodeItemFactory {
    *          the flag definition
    * @param parent
    *          the item for the Metaschema containing the definition
+   * @param ordinal
+   *          the ordinal identifying the new item's position in document order
    * @return the new flag node item
    */
   @NonNull
   default IFlagNodeItem newFlagNodeItem(
       @NonNull IFlagDefinition definition,
-      @NonNull IModuleNodeItem parent) {
-    return new FlagGlobalDefinitionNodeItemImpl(definition, parent);
+      @NonNull IModuleNodeItem parent,
+      @NonNull NodeOrdinal ordinal) {
+    return new FlagGlobalDefinitionNodeItemImpl(definition, parent, ordinal);
   }
 
   /**
@@ -86,13 +105,16 @@ public interface INodeItemFactory {
    *          the flag instance
    * @param parent
    *          the node item containing the flag
+   * @param ordinal
+   *          the ordinal identifying the new item's position in document order
    * @return the new flag node item
    */
   @NonNull
   default IFlagNodeItem newFlagNodeItem(
       @NonNull IFlagInstance instance,
-      @NonNull IModelNodeItem<?, ?> parent) {
-    return new FlagInstanceNoValueNodeItemImpl(instance, parent);
+      @NonNull IModelNodeItem<?, ?> parent,
+      @NonNull NodeOrdinal ordinal) {
+    return new FlagInstanceNoValueNodeItemImpl(instance, parent, ordinal);
   }
 
   /**
@@ -102,6 +124,8 @@ public interface INodeItemFactory {
    *          the flag instance
    * @param parent
    *          the node item containing the flag
+   * @param ordinal
+   *          the ordinal identifying the new item's position in document order
    * @param value
    *          the item's associated data
    * @return the new flag node item
@@ -110,8 +134,9 @@ public interface INodeItemFactory {
   default IFlagNodeItem newFlagNodeItem(
       @NonNull IFlagInstance instance,
       @NonNull IModelNodeItem<?, ?> parent,
+      @NonNull NodeOrdinal ordinal,
       @NonNull Object value) {
-    return new FlagInstanceNodeItemImpl(instance, parent, value);
+    return new FlagInstanceNodeItemImpl(instance, parent, ordinal, value);
   }
 
   /**
@@ -122,12 +147,15 @@ public interface INodeItemFactory {
    *          the global definition
    * @param metaschema
    *          the Metaschema containing the definition
+   * @param ordinal
+   *          the ordinal identifying the new item's position in document order
    * @return the new field node item
    */
   @NonNull
   IFieldNodeItem newFieldNodeItem(
       @NonNull IFieldDefinition definition,
-      @NonNull IModuleNodeItem metaschema);
+      @NonNull IModuleNodeItem metaschema,
+      @NonNull NodeOrdinal ordinal);
 
   /**
    * Create a new {@link IFieldNodeItem} that is detached from a Metaschema.
@@ -154,12 +182,15 @@ public interface INodeItemFactory {
    *          the Metaschema field instance
    * @param parent
    *          the parent node item
+   * @param ordinal
+   *          the ordinal identifying the new item's position in document order
    * @return the new field node item
    */
   @NonNull
   IFieldNodeItem newFieldNodeItem(
       @NonNull IFieldInstance instance,
-      @NonNull IAssemblyNodeItem parent);
+      @NonNull IAssemblyNodeItem parent,
+      @NonNull NodeOrdinal ordinal);
 
   /**
    * Create a new {@link IFieldNodeItem} that is based on a Metaschema instance
@@ -169,6 +200,8 @@ public interface INodeItemFactory {
    *          the Metaschema field instance
    * @param parent
    *          the parent node item
+   * @param ordinal
+   *          the ordinal identifying the new item's position in document order
    * @param position
    *          the data item's position in the sequence of data items for the
    *          instance
@@ -180,6 +213,7 @@ public interface INodeItemFactory {
   IFieldNodeItem newFieldNodeItem(
       @NonNull IFieldInstance instance,
       @NonNull IAssemblyNodeItem parent,
+      @NonNull NodeOrdinal ordinal,
       int position,
       @NonNull Object value);
 
@@ -204,12 +238,15 @@ public interface INodeItemFactory {
    *          the global definition
    * @param metaschema
    *          the Metaschema containing the definition
+   * @param ordinal
+   *          the ordinal identifying the new item's position in document order
    * @return the new assembly node item
    */
   @NonNull
   IAssemblyNodeItem newAssemblyNodeItem(
       @NonNull IAssemblyDefinition definition,
-      @NonNull IModuleNodeItem metaschema);
+      @NonNull IModuleNodeItem metaschema,
+      @NonNull NodeOrdinal ordinal);
 
   /**
    * Create a new {@link IAssemblyNodeItem} that is detached from a Metaschema.
@@ -256,12 +293,15 @@ public interface INodeItemFactory {
    *          the Metaschema assembly instance
    * @param parent
    *          the parent node item
+   * @param ordinal
+   *          the ordinal identifying the new item's position in document order
    * @return the new assembly node item
    */
   @NonNull
   IAssemblyNodeItem newAssemblyNodeItem(
       @NonNull IAssemblyInstance instance,
-      @NonNull IAssemblyNodeItem parent);
+      @NonNull IAssemblyNodeItem parent,
+      @NonNull NodeOrdinal ordinal);
 
   /**
    * Create a new {@link IAssemblyNodeItem} that is based on a Metaschema instance
@@ -271,6 +311,8 @@ public interface INodeItemFactory {
    *          the Metaschema assembly instance
    * @param parent
    *          the parent node item
+   * @param ordinal
+   *          the ordinal identifying the new item's position in document order
    * @param position
    *          the data item's position in the sequence of data items for the
    *          instance, which is {@code 0} based
@@ -282,6 +324,7 @@ public interface INodeItemFactory {
   IAssemblyNodeItem newAssemblyNodeItem(
       @NonNull IAssemblyInstanceGrouped instance,
       @NonNull IAssemblyNodeItem parent,
+      @NonNull NodeOrdinal ordinal,
       int position,
       @NonNull Object value);
 
@@ -293,6 +336,8 @@ public interface INodeItemFactory {
    *          the Metaschema assembly instance
    * @param parent
    *          the parent node item
+   * @param ordinal
+   *          the ordinal identifying the new item's position in document order
    * @param position
    *          the data item's position in the sequence of data items for the
    *          instance, which is {@code 0} based
@@ -304,6 +349,7 @@ public interface INodeItemFactory {
   IAssemblyNodeItem newAssemblyNodeItem(
       @NonNull IAssemblyInstance instance,
       @NonNull IAssemblyNodeItem parent,
+      @NonNull NodeOrdinal ordinal,
       int position,
       @NonNull Object value);
 }
@@ -0,0 +1,157 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.core.metapath.item.node;
+
+import gov.nist.secauto.metaschema.core.metapath.item.node.IFeatureFlagContainerItem.FlagContainer;
+import gov.nist.secauto.metaschema.core.metapath.item.node.IFeatureModelContainerItem.ModelContainer;
+import gov.nist.secauto.metaschema.core.util.CollectionUtil;
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
+
+import java.lang.ref.SoftReference;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import javax.xml.namespace.QName;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+/**
+ * A node factory whose data node items hold their children using soft
+ * references.
+ * <p>
+ * Child flag and model node items are generated from the bound data when first
+ * requested. The garbage collector may release them under memory pressure, and
+ * they are generated again if they are requested later. A regenerated node item
+ * is equal to the node item it replaces, so node items can still be used as
+ * keys in maps and sets.
+ * <p>
+ * This reduces the memory held by large documents that are traversed once,
+ * such as during validation. Repeated traversals may cost more, since released
+ * children must be regenerated.
+ */
+final class LightweightNodeItemFactory
+    extends DefaultNodeItemFactory {
+  @NonNull
+  private static final LightweightNodeItemFactory SINGLETON = new LightweightNodeItemFactory();
+
+  /**
+   * Get the singleton instance of this node factory.
+   *
+   * @return the node factory instance
+   */
+  @NonNull
+  public static LightweightNodeItemFactory instance() {
+    return SINGLETON;
+  }
+
+  private LightweightNodeItemFactory() {
+    // prevent construction
+  }
+
+  @Override
+  public Supplier<FlagContainer> newDataModelSupplier(IFieldNodeItem item) {
+    return () -> new ReleasableFlagContainer(() -> generateFlags(item));
+  }
+
+  @Override
+  public Supplier<ModelContainer> newDataModelSupplier(IAssemblyNodeItem item) {
+    return () -> new ReleasableModelContainer(
+        () -> generateFlags(item),
+        () -> generateModelItems(item));
+  }
+
+  /**
+   * Holds a value using a soft reference, generating the value again if it has
+   * been released.
+   *
+   * @param <T>
+   *          the type of the held value
+   */
+  private static final class SoftValue<T> {
+    @NonNull
+    private final Supplier<T> generator;
+    @Nullable
+    private volatile SoftReference<T> reference;
+
+    private SoftValue(@NonNull Supplier<T> generator) {
+      this.generator = generator;
+    }
+
+    @NonNull
+    private T get() {
+      SoftReference<T> ref = reference;
+      T retval = ref == null ? null : ref.get();
+      if (retval == null) {
+        // concurrent callers may both generate the value, which is harmless since
+        // the generated node items are equal
+        retval = ObjectUtils.notNull(generator.get());
+        reference = new SoftReference<>(retval);
+      }
+      return retval;
+    }
+  }
+
+  private static final class ReleasableFlagContainer
+      extends FlagContainer {
+    @NonNull
+    private final SoftValue<Map<QName, IFlagNodeItem>> flags;
+
+    private ReleasableFlagContainer(@NonNull Supplier<Map<QName, IFlagNodeItem>> flagGenerator) {
+      super(CollectionUtil.emptyMap());
+      this.flags = new SoftValue<>(flagGenerator);
+    }
+
+    @Override
+    public IFlagNodeItem getFlagByName(QName name) {
+      return flags.get().get(name);
+    }
+
+    @Override
+    public Collection<IFlagNodeItem> getFlags() {
+      return ObjectUtils.notNull(flags.get().values());
+    }
+  }
+
+  private static final class ReleasableModelContainer
+      extends ModelContainer {
+    @NonNull
+    private final SoftValue<Map<QName, IFlagNodeItem>> flags;
+    @NonNull
+    private final SoftValue<Map<QName, List<? extends IModelNodeItem<?, ?>>>> modelItems;
+
+    private ReleasableModelContainer(
+        @NonNull Supplier<Map<QName, IFlagNodeItem>> flagGenerator,
+        @NonNull Supplier<Map<QName, List<? extends IModelNodeItem<?, ?>>>> modelItemGenerator) {
+      super(CollectionUtil.emptyMap(), CollectionUtil.emptyMap());
+      this.flags = new SoftValue<>(flagGenerator);
+      this.modelItems = new SoftValue<>(modelItemGenerator);
+    }
+
+    @Override
+    public IFlagNodeItem getFlagByName(QName name) {
+      return flags.get().get(name);
+    }
+
+    @Override
+    public Collection<IFlagNodeItem> getFlags() {
+      return ObjectUtils.notNull(flags.get().values());
+    }
+
+    @Override
+    public List<? extends IModelNodeItem<?, ?>> getModelItemsByName(QName name) {
+      List<? extends IModelNodeItem<?, ?>> result = modelItems.get().get(name);
+      return result == null ? CollectionUtil.emptyList() : result;
+    }
+
+    @Override
+    public Collection<List<? extends IModelNodeItem<?, ?>>> getModelItems() {
+      return ObjectUtils.notNull(modelItems.get().values());
+    }
+  }
+}
@@ -17,6 +17,8 @@ class ModuleNodeItemImpl
 
   @NonNull
   private final Lazy<ModelContainer> model;
+  @NonNull
+  private final NodeOrdinal ordinal = NodeOrdinal.newRoot();
 
   public ModuleNodeItemImpl(
       @NonNull IModule module,
@@ -35,6 +37,11 @@ class ModuleNodeItemImpl
     return module;
   }
 
+  @Override
+  public NodeOrdinal getOrdinal() {
+    return ordinal;
+  }
+
   @SuppressWarnings("null")
   @Override
   public ModelContainer getModel() {
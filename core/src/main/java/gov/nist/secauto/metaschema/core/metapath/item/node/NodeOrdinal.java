@@ -0,0 +1,121 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.core.metapath.item.node;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * Identifies the position of a node in document order.
+ * <p>
+ * An ordinal is assigned to each node when the node is generated. A node with
+ * no parent gets a new root ordinal, and each child gets the ordinal of its
+ * parent extended by the child's position among its siblings. Comparing two
+ * ordinals orders a node before its descendants, and the descendants of a node
+ * before its following siblings, which is a pre-order traversal of the tree.
+ * <p>
+ * Children are generated lazily, one parent at a time, so a single pre-order
+ * counter cannot be used. Since an ordinal depends only on the node's location,
+ * a child generated again by a node factory gets the same ordinal.
+ * <p>
+ * Nodes from different trees are ordered by the creation order of their roots.
+ */
+public final class NodeOrdinal implements Comparable<NodeOrdinal> {
+  @NonNull
+  private static final AtomicLong ROOT_SEQUENCE = new AtomicLong();
+  @NonNull
+  private static final int[] EMPTY_PATH = new int[0];
+
+  private final long root;
+  @NonNull
+  private final int[] path;
+
+  /**
+   * Get a new ordinal for the root of a tree, which follows all previously
+   * created root ordinals.
+   *
+   * @return the new ordinal
+   */
+  @NonNull
+  public static NodeOrdinal newRoot() {
+    return new NodeOrdinal(ROOT_SEQUENCE.getAndIncrement(), EMPTY_PATH);
+  }
+
+  private NodeOrdinal(long root, @NonNull int[] path) {
+    this.root = root;
+    this.path = path;
+  }
+
+  /**
+   * Get the ordinal for a child of the node with this ordinal.
+   * <p>
+   * Children with a lower {@code index} precede children with a higher one. The
+   * indexes of a node's children need not be contiguous.
+   *
+   * @param index
+   *          the position of the child among its siblings
+   * @return the child's ordinal
+   */
+  @NonNull
+  public NodeOrdinal child(int index) {
+    int[] childPath = Arrays.copyOf(path, path.length + 1);
+    childPath[path.length] = index;
+    return new NodeOrdinal(root, childPath);
+  }
+
+  /**
+   * Determine if the node with this ordinal is an ancestor of the node with the
+   * provided ordinal.
+   *
+   * @param other
+   *          the ordinal of the possible descendant
+   * @return {@code true} if this ordinal is for an ancestor, or {@code false}
+   *         otherwise
+   */
+  public boolean isAncestorOf(@NonNull NodeOrdinal other) {
+    return root == other.root
+        && path.length < other.path.length
+        && Arrays.equals(path, 0, path.length, other.path, 0, path.length);
+  }
+
+  @Override
+  public int compareTo(NodeOrdinal other) {
+    int retval = Long.compare(root, other.root);
+    if (retval == 0) {
+      retval = Arrays.compare(path, other.path);
+    }
+    return retval;
+  }
+
+  @SuppressWarnings("PMD.OnlyOneReturn") // readability
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof NodeOrdinal)) {
+      return false;
+    }
+    NodeOrdinal other = (NodeOrdinal) obj;
+    return root == other.root && Arrays.equals(path, other.path);
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * Long.hashCode(root) + Arrays.hashCode(path);
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder().append(root);
+    for (int index : path) {
+      builder.append('.').append(index);
+    }
+    return builder.toString();
+  }
+}
@@ -13,6 +13,8 @@ class RootAssemblyValuedNodeItemImpl
   private final IAssemblyDefinition definition;
   @NonNull
   private final IDocumentNodeItem parent;
+  @NonNull
+  private final NodeOrdinal ordinal;
 
   @NonNull
   private final Lazy<ModelContainer> model;
@@ -22,10 +24,12 @@ class RootAssemblyValuedNodeItemImpl
   public RootAssemblyValuedNodeItemImpl(
       @NonNull IAssemblyDefinition definition,
       @NonNull IDocumentNodeItem parent,
+      @NonNull NodeOrdinal ordinal,
       @NonNull Object value,
       @NonNull INodeItemGenerator generator) {
     this.definition = definition;
     this.parent = parent;
+    this.ordinal = ordinal;
     this.model = ObjectUtils.notNull(Lazy.lazy(generator.newDataModelSupplier((IAssemblyNodeItem) this)));
     this.value = value;
   }
@@ -46,6 +50,11 @@ class RootAssemblyValuedNodeItemImpl
     return null;
   }
 
+  @Override
+  public NodeOrdinal getOrdinal() {
+    return ordinal;
+  }
+
   @Override
   @NonNull
   public Object getValue() {
@@ -17,6 +17,7 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Deque;
 import java.util.LinkedHashMap;
@@ -25,27 +26,63 @@ import java.util.Map;
 import java.util.stream.Collectors;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
-
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+/**
+ * Provides common loading behavior for resources that may import other
+ * resources.
+ * <p>
+ * The cache of loaded resources is thread-safe, allowing a loader to be shared
+ * across threads.
+ *
+ * @param <T>
+ *          the Java type of the loaded resource
+ */
 public abstract class AbstractLoader<T> implements ILoader<T> {
   private static final Logger LOGGER = LogManager.getLogger(AbstractLoader.class);
 
+  /**
+   * The loaded resources in load order. All access must be synchronized on this
+   * map.
+   */
   @NonNull
   private final Map<URI, T> cache = new LinkedHashMap<>(); // NOPMD - intentional
 
   @Override
   @NonNull
   public Collection<T> getLoadedResources() {
-    return CollectionUtil.unmodifiableCollection(ObjectUtils.notNull(cache.values()));
+    synchronized (cache) {
+      return CollectionUtil.unmodifiableCollection(new ArrayList<>(cache.values()));
+    }
   }
 
   /**
    * Retrieve a mapping of resource URIs to the associated loaded resource.
+   * <p>
+   * The returned mapping is a snapshot of the cache at the time of the call.
    *
    * @return the mapping
    */
   @NonNull
   protected Map<URI, T> getCachedEntries() {
-    return CollectionUtil.unmodifiableMap(cache);
+    synchronized (cache) {
+      return CollectionUtil.unmodifiableMap(new LinkedHashMap<>(cache));
+    }
+  }
+
+  /**
+   * Get the previously loaded resource for the provided URI.
+   *
+   * @param resource
+   *          the resource URI
+   * @return the loaded resource, or {@code null} if the resource has not been
+   *         loaded
+   */
+  @Nullable
+  protected T getCachedResource(@NonNull URI resource) {
+    synchronized (cache) {
+      return cache.get(resource);
+    }
   }
 
   @Override
@@ -131,17 +168,26 @@ public abstract class AbstractLoader<T> implements ILoader<T> {
           + visitedResources.stream().map(URI::toString).collect(Collectors.joining(",")));
     }
 
-    T retval = cache.get(resource);
+    T retval = getCachedResource(resource);
     if (retval == null) {
       LOGGER.info("Loading '{}'", resource);
 
+      T parsed;
       try {
         visitedResources.push(resource);
-        retval = parseResource(resource, visitedResources);
+        parsed = parseResource(resource, visitedResources);
       } finally {
         visitedResources.pop();
       }
-      cache.put(resource, retval);
+
+      synchronized (cache) {
+        // another thread may have loaded the same resource concurrently; keep the
+        // first to be cached so all callers share the same instance
+        retval = cache.putIfAbsent(resource, parsed);
+        if (retval == null) {
+          retval = parsed;
+        }
+      }
     } else {
       if (LOGGER.isDebugEnabled()) {
         LOGGER.debug("Found resource in cache '{}'", resource);
@@ -17,6 +17,12 @@ import java.util.Deque;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
 
@@ -25,6 +31,14 @@ import edu.umd.cs.findbugs.annotations.NonNull;
  * <p>
  * Loaded Metaschema instances are cached to avoid the need to load them for
  * every use. Any Metaschema imported is also loaded and cached automatically.
+ * <p>
+ * Parsing a module schedules the parsing of its imports on the executor
+ * provided by {@link #getParseExecutor()}, so independent imports are parsed in
+ * parallel. Modules are still constructed depth-first in import order, with
+ * cycles detected along the import chain, so the resulting module graph is the
+ * same as if the imports were parsed serially. Scheduled parses are scoped to a
+ * single load call, and any that are not used by the time the call completes
+ * are cancelled.
  *
  * @param <T>
  *          the Java type of the module binding
@@ -36,6 +50,11 @@ public abstract class AbstractModuleLoader<T, M extends IModuleExtended<M, ?, ?,
     implements IModuleLoader<M> {
   @NonNull
   private final List<IModuleLoader.IModulePostProcessor> modulePostProcessors;
+  /**
+   * The parses scheduled by the load call in progress on the current thread.
+   */
+  @NonNull
+  private final ThreadLocal<ParseSession> currentSession = new ThreadLocal<>();
 
   /**
    * Construct a new Metaschema module loader, which use the provided module post
@@ -59,6 +78,20 @@ public abstract class AbstractModuleLoader<T, M extends IModuleExtended<M, ?, ?,
     return modulePostProcessors;
   }
 
+  /**
+   * Get the executor used to parse imported modules.
+   * <p>
+   * By default, the common fork-join pool is used. Implementations of
+   * {@link #parseModule(URI)} must be safe to call concurrently from the threads
+   * of this executor.
+   *
+   * @return the executor
+   */
+  @NonNull
+  protected Executor getParseExecutor() {
+    return ObjectUtils.notNull(ForkJoinPool.commonPool());
+  }
+
   /**
    * Parse the {@code resource} based on the provided {@code xmlObject}.
    *
@@ -92,8 +125,33 @@ public abstract class AbstractModuleLoader<T, M extends IModuleExtended<M, ?, ?,
   @Override
   protected M parseResource(@NonNull URI resource, @NonNull Deque<URI> visitedResources)
       throws IOException {
-    // parse this Metaschema module
-    T binding = parseModule(resource);
+    ParseSession session = currentSession.get();
+    M retval;
+    if (session == null) {
+      // this is the module requested by the load call, which owns the parses
+      // scheduled for its imports
+      session = new ParseSession();
+      currentSession.set(session);
+      try {
+        retval = parseResource(resource, visitedResources, session);
+      } finally {
+        currentSession.remove();
+        session.close();
+      }
+    } else {
+      retval = parseResource(resource, visitedResources, session);
+    }
+    return retval;
+  }
+
+  @NonNull
+  private M parseResource(
+      @NonNull URI resource,
+      @NonNull Deque<URI> visitedResources,
+      @NonNull ParseSession session) throws IOException {
+    // parse this Metaschema module, or use the binding already parsed while
+    // parsing an importing module
+    T binding = session.take(resource);
 
     // now check if this Metaschema imports other metaschema
     List<URI> imports = getImports(binding);
@@ -126,6 +184,113 @@ public abstract class AbstractModuleLoader<T, M extends IModuleExtended<M, ?, ?,
     }
   }
 
+  /**
+   * The parses scheduled during a single load call.
+   * <p>
+   * Imports are parsed on the executor provided by {@link #getParseExecutor()},
+   * while the modules are constructed on the thread making the load call.
+   */
+  private final class ParseSession {
+    /**
+     * Module bindings that have been scheduled for parsing, but have not yet been
+     * used to construct a module.
+     */
+    @NonNull
+    private final ConcurrentMap<URI, CompletableFuture<T>> pendingBindings = new ConcurrentHashMap<>();
+    private volatile boolean closed;
+
+    /**
+     * Get the parsed binding for the provided resource, parsing it if it has not
+     * been scheduled already.
+     * <p>
+     * Once retrieved, the binding is no longer held by this session, since the
+     * resulting module will be cached instead.
+     *
+     * @param resource
+     *          the resource to get the binding for
+     * @return the binding
+     * @throws IOException
+     *           if a parsing error occurred
+     */
+    @NonNull
+    private T take(@NonNull URI resource) throws IOException {
+      CompletableFuture<T> future = schedule(resource);
+      try {
+        return ObjectUtils.notNull(future.get());
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        throw new IOException(String.format("Interrupted while parsing '%s'.", resource), ex);
+      } catch (ExecutionException ex) {
+        Throwable cause = ex.getCause();
+        if (cause instanceof IOException) {
+          throw (IOException) cause;
+        }
+        if (cause instanceof RuntimeException) {
+          throw (RuntimeException) cause;
+        }
+        throw new IOException(cause);
+      } finally {
+        pendingBindings.remove(resource, future);
+      }
+    }
+
+    /**
+     * Schedule the provided resource for parsing, unless it is already
+     * scheduled.
+     * <p>
+     * Once parsed, any imported resources that are not already loaded are also
+     * scheduled. Cycles in the import graph terminate here, since a resource is
+     * only scheduled once while pending. They are reported when the modules are
+     * constructed.
+     *
+     * @param resource
+     *          the resource to parse
+     * @return the future binding for the resource
+     */
+    @SuppressWarnings("PMD.OnlyOneReturn") // readability
+    @NonNull
+    private CompletableFuture<T> schedule(@NonNull URI resource) {
+      CompletableFuture<T> future = new CompletableFuture<>();
+      CompletableFuture<T> existing = pendingBindings.putIfAbsent(resource, future);
+      if (existing != null) {
+        return existing;
+      }
+
+      getParseExecutor().execute(() -> {
+        if (closed) {
+          // skip work for a load call that has already completed
+          future.cancel(false);
+        } else {
+          try {
+            T binding = parseModule(resource);
+            if (!closed) {
+              for (URI importedResource : getImports(binding)) {
+                URI resolvedResource = ObjectUtils.notNull(resource.resolve(importedResource));
+                if (getCachedResource(resolvedResource) == null) {
+                  schedule(resolvedResource);
+                }
+              }
+            }
+            future.complete(binding);
+          } catch (IOException | RuntimeException ex) {
+            future.completeExceptionally(ex);
+          }
+        }
+      });
+      return future;
+    }
+
+    /**
+     * Cancel any parses that were scheduled, but not used, for example when
+     * loading failed due to an import cycle or a parsing error.
+     */
+    private void close() {
+      closed = true;
+      pendingBindings.values().forEach(future -> future.cancel(false));
+      pendingBindings.clear();
+    }
+  }
+
   /**
    * Parse the provided XML resource as a Metaschema module.
    *
@@ -15,9 +15,11 @@ import gov.nist.secauto.metaschema.core.util.ObjectUtils;
 import java.net.URI;
 import java.util.Comparator;
 import java.util.List;
+import java.util.function.Supplier;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
+import nl.talsmasoftware.lazy4j.Lazy;
 
 /**
  * Represents an individual constraint validation issue.
@@ -26,7 +28,7 @@ public class ConstraintValidationFinding implements IValidationFinding { // NOPM
   @NonNull
   private final List<? extends IConstraint> constraints;
   @Nullable
-  private final String message;
+  private final Lazy<String> message;
   @NonNull
   private final INodeItem node;
   @NonNull
@@ -42,7 +44,7 @@ public class ConstraintValidationFinding implements IValidationFinding { // NOPM
   private ConstraintValidationFinding(
       @NonNull List<? extends IConstraint> constraints,
       @NonNull INodeItem node,
-      @Nullable String message,
+      @Nullable Supplier<String> message,
       @NonNull INodeItem target,
       @NonNull List<? extends INodeItem> subjects,
       @NonNull Kind kind,
@@ -50,7 +52,7 @@ public class ConstraintValidationFinding implements IValidationFinding { // NOPM
       @Nullable Throwable cause) {
     this.constraints = constraints;
     this.node = node;
-    this.message = message;
+    this.message = message == null ? null : Lazy.lazy(message);
     this.target = target;
     this.subjects = subjects;
     this.kind = kind;
@@ -73,9 +75,14 @@ public class ConstraintValidationFinding implements IValidationFinding { // NOPM
     return constraints;
   }
 
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The message is rendered when first requested.
+   */
   @Override
   public String getMessage() {
-    return message;
+    return message == null ? null : message.get();
   }
 
   /**
@@ -189,7 +196,7 @@ public class ConstraintValidationFinding implements IValidationFinding { // NOPM
     private final INodeItem node;
     @NonNull
     private INodeItem target;
-    private String message;
+    private Supplier<String> message;
     private List<? extends INodeItem> subjects;
     private Throwable cause;
     private Kind kind;
@@ -222,6 +229,22 @@ public class ConstraintValidationFinding implements IValidationFinding { // NOPM
      */
     @NonNull
     public Builder message(@NonNull String message) {
+      this.message = () -> message;
+      return this;
+    }
+
+    /**
+     * Use the provided supplier to render the message for the validation finding.
+     * <p>
+     * The supplier is called at most once, when the message is first requested.
+     * This avoids the cost of rendering messages that are never used.
+     *
+     * @param message
+     *          the message supplier
+     * @return this builder
+     */
+    @NonNull
+    public Builder message(@NonNull Supplier<String> message) {
       this.message = message;
       return this;
     }
@@ -60,7 +60,7 @@ public class DefaultConstraintSet implements IConstraintSet {
    * @return the resource
    */
   @NonNull
-  protected URI getResourceLocation() {
+  public URI getResourceLocation() {
     return resourceLocation;
   }
 
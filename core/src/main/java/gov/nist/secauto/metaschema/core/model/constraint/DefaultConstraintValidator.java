@@ -11,6 +11,7 @@ import gov.nist.secauto.metaschema.core.configuration.IMutableConfiguration;
 import gov.nist.secauto.metaschema.core.datatype.IDataTypeAdapter;
 import gov.nist.secauto.metaschema.core.metapath.DynamicContext;
 import gov.nist.secauto.metaschema.core.metapath.ISequence;
+import gov.nist.secauto.metaschema.core.metapath.IndexUnavailableMetapathException;
 import gov.nist.secauto.metaschema.core.metapath.MetapathException;
 import gov.nist.secauto.metaschema.core.metapath.MetapathExpression;
 import gov.nist.secauto.metaschema.core.metapath.function.library.FnBoolean;
@@ -25,6 +26,7 @@ import gov.nist.secauto.metaschema.core.metapath.item.node.INodeItem;
 import gov.nist.secauto.metaschema.core.model.IAssemblyDefinition;
 import gov.nist.secauto.metaschema.core.model.IFieldDefinition;
 import gov.nist.secauto.metaschema.core.model.IFlagDefinition;
+import gov.nist.secauto.metaschema.core.profile.IProfiler;
 import gov.nist.secauto.metaschema.core.util.CollectionUtil;
 import gov.nist.secauto.metaschema.core.util.ObjectUtils;
 
@@ -38,7 +40,9 @@ import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.regex.Pattern;
 
 import javax.xml.namespace.QName;
@@ -65,6 +69,18 @@ public class DefaultConstraintValidator
   private final Map<String, IIndex> indexNameToIndexMap = new ConcurrentHashMap<>();
   @NonNull
   private final Map<String, List<KeyRef>> indexNameToKeyRefMap = new ConcurrentHashMap<>();
+  /**
+   * Expect constraint evaluations that referenced an index that was not yet
+   * built, which are evaluated again once all indexes are available.
+   */
+  @NonNull
+  private final Queue<DeferredExpect> deferredExpects = new ConcurrentLinkedQueue<>();
+  /**
+   * Records if each let statement produces the same value for any node in a
+   * document.
+   */
+  @NonNull
+  private final Map<ILet, Boolean> documentScopedLets = new ConcurrentHashMap<>();
   @NonNull
   private final IConstraintValidationHandler handler;
   @NonNull
@@ -139,7 +155,43 @@ public class DefaultConstraintValidator
   public void validate(
       @NonNull INodeItem item,
       @NonNull DynamicContext dynamicContext) {
-    item.accept(new Visitor(), dynamicContext);
+    // limit the lifetime of the indexes to this validation run
+    DynamicContext runContext = dynamicContext.indexScope();
+
+    IProfiler profiler = getConfiguration().get(ValidationFeature.VALIDATE_PROFILER);
+    if (profiler.isEnabled()) {
+      // also record the Metapath expressions evaluated for each constraint,
+      // without changing the caller's context
+      runContext = runContext.subContext(profiler);
+    }
+    indexNameToIndexMap.forEach(runContext::registerIndex);
+    item.accept(new Visitor(), runContext);
+  }
+
+  /**
+   * Start a profiling span for evaluating the provided constraint.
+   *
+   * @param constraint
+   *          the constraint being evaluated
+   * @param dynamicContext
+   *          the dynamic context providing the profiler
+   * @return the span, which must be closed once the constraint is evaluated
+   */
+  @NonNull
+  private static IProfiler.ISpan startProfiling(
+      @NonNull IConstraint constraint,
+      @NonNull DynamicContext dynamicContext) {
+    IProfiler profiler = dynamicContext.getProfiler();
+    String label;
+    if (profiler.isEnabled()) {
+      String id = constraint.getId();
+      label = id == null
+          ? String.format("%s[target=%s]", constraint.getClass().getSimpleName(), constraint.getTarget())
+          : String.format("%s[id=%s]", constraint.getClass().getSimpleName(), id);
+    } else {
+      label = "";
+    }
+    return profiler.start(IProfiler.CATEGORY_CONSTRAINT, ObjectUtils.notNull(label));
   }
 
   /**
@@ -205,12 +257,14 @@ public class DefaultConstraintValidator
       @NonNull DynamicContext dynamicContext) {
     IAssemblyDefinition definition = item.getDefinition();
 
+    // build the indexes first, so they are available to expect constraints using
+    // mp:key
+    validateIndex(definition.getIndexConstraints(), item, dynamicContext);
     validateExpect(definition.getExpectConstraints(), item, dynamicContext);
     validateAllowedValues(definition.getAllowedValuesConstraints(), item, dynamicContext);
     validateIndexHasKey(definition.getIndexHasKeyConstraints(), item, dynamicContext);
     validateMatches(definition.getMatchesConstraints(), item, dynamicContext);
     validateHasCardinality(definition.getHasCardinalityConstraints(), item, dynamicContext);
-    validateIndex(definition.getIndexConstraints(), item, dynamicContext);
     validateUnique(definition.getUniqueConstraints(), item, dynamicContext);
   }
 
@@ -231,11 +285,14 @@ public class DefaultConstraintValidator
       @NonNull IAssemblyNodeItem item,
       @NonNull DynamicContext dynamicContext) {
     for (ICardinalityConstraint constraint : constraints) {
-      ISequence<? extends IDefinitionNodeItem<?, ?>> targets = constraint.matchTargets(item, dynamicContext);
-      try {
-        validateHasCardinality(constraint, item, targets);
-      } catch (MetapathException ex) {
-        handleError(constraint, item, ex);
+      try (IProfiler.ISpan span = startProfiling(constraint, dynamicContext)) {
+        ISequence<? extends IDefinitionNodeItem<?, ?>> targets = constraint.matchTargets(item, dynamicContext);
+        span.setResultSize(targets.size());
+        try {
+          validateHasCardinality(constraint, item, targets);
+        } catch (MetapathException ex) {
+          handleError(constraint, item, ex);
+        }
       }
     }
   }
@@ -296,11 +353,14 @@ public class DefaultConstraintValidator
       @NonNull IAssemblyNodeItem item,
       @NonNull DynamicContext dynamicContext) {
     for (IIndexConstraint constraint : constraints) {
-      ISequence<? extends IDefinitionNodeItem<?, ?>> targets = constraint.matchTargets(item, dynamicContext);
-      try {
-        validateIndex(constraint, item, targets, dynamicContext);
-      } catch (MetapathException ex) {
-        handleError(constraint, item, ex);
+      try (IProfiler.ISpan span = startProfiling(constraint, dynamicContext)) {
+        ISequence<? extends IDefinitionNodeItem<?, ?>> targets = constraint.matchTargets(item, dynamicContext);
+        span.setResultSize(targets.size());
+        try {
+          validateIndex(constraint, item, targets, dynamicContext);
+        } catch (MetapathException ex) {
+          handleError(constraint, item, ex);
+        }
       }
     }
   }
@@ -350,6 +410,8 @@ public class DefaultConstraintValidator
             }
           });
       indexNameToIndexMap.put(indexName, index);
+      // make the index available to Metapath lookups using mp:key
+      dynamicContext.registerIndex(indexName, index);
     }
   }
 
@@ -414,11 +476,14 @@ public class DefaultConstraintValidator
       @NonNull IAssemblyNodeItem item,
       @NonNull DynamicContext dynamicContext) {
     for (IUniqueConstraint constraint : constraints) {
-      ISequence<? extends IDefinitionNodeItem<?, ?>> targets = constraint.matchTargets(item, dynamicContext);
-      try {
-        validateUnique(constraint, item, targets, dynamicContext);
-      } catch (MetapathException ex) {
-        handleError(constraint, item, ex);
+      try (IProfiler.ISpan span = startProfiling(constraint, dynamicContext)) {
+        ISequence<? extends IDefinitionNodeItem<?, ?>> targets = constraint.matchTargets(item, dynamicContext);
+        span.setResultSize(targets.size());
+        try {
+          validateUnique(constraint, item, targets, dynamicContext);
+        } catch (MetapathException ex) {
+          handleError(constraint, item, ex);
+        }
       }
     }
   }
@@ -484,11 +549,14 @@ public class DefaultConstraintValidator
       @NonNull DynamicContext dynamicContext) {
 
     for (IMatchesConstraint constraint : constraints) {
-      ISequence<? extends IDefinitionNodeItem<?, ?>> targets = constraint.matchTargets(item, dynamicContext);
-      try {
-        validateMatches(constraint, item, targets);
-      } catch (MetapathException ex) {
-        handleError(constraint, item, ex);
+      try (IProfiler.ISpan span = startProfiling(constraint, dynamicContext)) {
+        ISequence<? extends IDefinitionNodeItem<?, ?>> targets = constraint.matchTargets(item, dynamicContext);
+        span.setResultSize(targets.size());
+        try {
+          validateMatches(constraint, item, targets);
+        } catch (MetapathException ex) {
+          handleError(constraint, item, ex);
+        }
       }
     }
   }
@@ -528,7 +596,7 @@ public class DefaultConstraintValidator
     IConstraintValidationHandler handler = getConstraintValidationHandler();
     boolean valid = true;
     Pattern pattern = constraint.getPattern();
-    if (pattern != null && !pattern.asMatchPredicate().test(value)) {
+    if (pattern != null && !pattern.matcher(value).matches()) {
       // failed pattern match
       handler.handleMatchPatternViolation(constraint, node, item, value, pattern);
       valid = false;
@@ -567,8 +635,11 @@ public class DefaultConstraintValidator
       @NonNull DynamicContext dynamicContext) {
 
     for (IIndexHasKeyConstraint constraint : constraints) {
-      ISequence<? extends IDefinitionNodeItem<?, ?>> targets = constraint.matchTargets(item, dynamicContext);
-      validateIndexHasKey(constraint, item, targets);
+      try (IProfiler.ISpan span = startProfiling(constraint, dynamicContext)) {
+        ISequence<? extends IDefinitionNodeItem<?, ?>> targets = constraint.matchTargets(item, dynamicContext);
+        span.setResultSize(targets.size());
+        validateIndexHasKey(constraint, item, targets);
+      }
     }
   }
 
@@ -618,8 +689,11 @@ public class DefaultConstraintValidator
       @NonNull IDefinitionNodeItem<?, ?> item,
       @NonNull DynamicContext dynamicContext) {
     for (IExpectConstraint constraint : constraints) {
-      ISequence<? extends IDefinitionNodeItem<?, ?>> targets = constraint.matchTargets(item, dynamicContext);
-      validateExpect(constraint, item, targets, dynamicContext);
+      try (IProfiler.ISpan span = startProfiling(constraint, dynamicContext)) {
+        ISequence<? extends IDefinitionNodeItem<?, ?>> targets = constraint.matchTargets(item, dynamicContext);
+        span.setResultSize(targets.size());
+        validateExpect(constraint, item, targets, dynamicContext);
+      }
     }
   }
 
@@ -648,26 +722,57 @@ public class DefaultConstraintValidator
         constraint.getTest(),
         dynamicContext.getStaticContext());
 
-    IConstraintValidationHandler handler = getConstraintValidationHandler();
     targets.stream()
         .forEachOrdered(item -> {
           assert item != null;
 
           if (item.hasValue()) {
-            try {
-              ISequence<?> result = metapath.evaluate(item, dynamicContext);
-              if (FnBoolean.fnBoolean(result).toBoolean()) {
-                handlePass(constraint, node, item);
-              } else {
-                handler.handleExpectViolation(constraint, node, item, dynamicContext);
-              }
-            } catch (MetapathException ex) {
-              handleError(constraint, item, ex);
-            }
+            validateExpect(constraint, node, item, metapath, dynamicContext, true);
           }
         });
   }
 
+  private void validateExpect(
+      @NonNull IExpectConstraint constraint,
+      @NonNull INodeItem node,
+      @NonNull INodeItem item,
+      @NonNull MetapathExpression metapath,
+      @NonNull DynamicContext dynamicContext,
+      boolean deferIndexLookups) {
+    try {
+      ISequence<?> result = metapath.evaluate(item, dynamicContext);
+      if (FnBoolean.fnBoolean(result).toBoolean()) {
+        handlePass(constraint, node, item);
+      } else {
+        getConstraintValidationHandler().handleExpectViolation(constraint, node, item, dynamicContext);
+      }
+    } catch (MetapathException ex) {
+      if (deferIndexLookups && isIndexPending(ex)) {
+        // the index may be built by a constraint on a node that is validated later
+        deferredExpects.add(new DeferredExpect(constraint, node, item, metapath, dynamicContext));
+      } else {
+        handleError(constraint, item, ex);
+      }
+    }
+  }
+
+  /**
+   * Determine if the error was caused by a lookup of a named index that has not
+   * been built yet, but may be built by a node that is validated later.
+   *
+   * @param ex
+   *          the evaluation error
+   * @return {@code true} if the index is pending, or {@code false} otherwise
+   */
+  private boolean isIndexPending(@NonNull Throwable ex) {
+    boolean retval = false;
+    for (Throwable cause = ex; cause != null && !retval; cause = cause.getCause()) {
+      retval = cause instanceof IndexUnavailableMetapathException
+          && !indexNameToIndexMap.containsKey(((IndexUnavailableMetapathException) cause).getIndexName());
+    }
+    return retval;
+  }
+
   /**
    * Evaluates the provided collection of {@code constraints} in the context of
    * the {@code item}.
@@ -685,8 +790,11 @@ public class DefaultConstraintValidator
       @NonNull IDefinitionNodeItem<?, ?> item,
       @NonNull DynamicContext dynamicContext) {
     for (IAllowedValuesConstraint constraint : constraints) {
-      ISequence<? extends IDefinitionNodeItem<?, ?>> targets = constraint.matchTargets(item, dynamicContext);
-      validateAllowedValues(constraint, item, targets);
+      try (IProfiler.ISpan span = startProfiling(constraint, dynamicContext)) {
+        ISequence<? extends IDefinitionNodeItem<?, ?>> targets = constraint.matchTargets(item, dynamicContext);
+        span.setResultSize(targets.size());
+        validateAllowedValues(constraint, item, targets);
+      }
     }
   }
 
@@ -780,6 +888,18 @@ public class DefaultConstraintValidator
         }
       }
     }
+
+    // expect constraints that used an index before it was built
+    DeferredExpect deferred;
+    while ((deferred = deferredExpects.poll()) != null) {
+      validateExpect(
+          deferred.getConstraint(),
+          deferred.getNode(),
+          deferred.getItem(),
+          deferred.getMetapath(),
+          deferred.getDynamicContext(),
+          false);
+    }
   }
 
   private void validateKeyRef(
@@ -886,6 +1006,13 @@ public class DefaultConstraintValidator
 
   class Visitor
       extends AbstractNodeItemVisitor<DynamicContext, Void> {
+    /**
+     * The values of document scoped let statements, by let statement and document
+     * root node. These are kept for a single validation run, since the values are
+     * evaluated using that run's dynamic context.
+     */
+    @NonNull
+    private final Map<ILet, Map<INodeItem, ISequence<?>>> documentScopedLetValues = new ConcurrentHashMap<>();
 
     @NonNull
     private DynamicContext handleLetStatements(
@@ -902,11 +1029,16 @@ public class DefaultConstraintValidator
 
         for (ILet let : lets) {
           QName name = let.getName();
-          ISequence<?> result = let.getValueExpression().evaluate(focus, subContext);
-
-          // ensure the sequence is list backed
-          result.getValue();
+          MetapathExpression valueExpression = let.getValueExpression();
 
+          ISequence<?> result;
+          if (documentScopedLets.computeIfAbsent(let, key -> valueExpression.isDocumentScoped())) {
+            result = documentScopedLetValues
+                .computeIfAbsent(let, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(getRoot(focus), root -> newLetValue(valueExpression, focus, subContext));
+          } else {
+            result = newLetValue(valueExpression, focus, subContext);
+          }
           subContext.bindVariableValue(name, result);
         }
         retval = subContext;
@@ -914,6 +1046,32 @@ public class DefaultConstraintValidator
       return retval;
     }
 
+    /**
+     * Create a value for a let statement, which is evaluated when it is first
+     * used. The value is not evaluated if the variable is never referenced.
+     * <p>
+     * The value is evaluated using the variables currently bound in the
+     * {@code dynamicContext}, which do not include any that are bound later.
+     */
+    @NonNull
+    private ISequence<?> newLetValue(
+        @NonNull MetapathExpression valueExpression,
+        @NonNull INodeItem focus,
+        @NonNull DynamicContext dynamicContext) {
+      DynamicContext letContext = dynamicContext.subContext();
+      return ISequence.ofLazy(() -> valueExpression.evaluate(focus, letContext));
+    }
+
+    @NonNull
+    private INodeItem getRoot(@NonNull INodeItem item) {
+      INodeItem retval = item;
+      INodeItem parent;
+      while ((parent = retval.getParentNodeItem()) != null) {
+        retval = parent;
+      }
+      return retval;
+    }
+
     @Override
     public Void visitFlag(@NonNull IFlagNodeItem item, DynamicContext context) {
       assert context != null;
@@ -996,4 +1154,55 @@ public class DefaultConstraintValidator
       return targets;
     }
   }
+
+  private static class DeferredExpect {
+    @NonNull
+    private final IExpectConstraint constraint;
+    @NonNull
+    private final INodeItem node;
+    @NonNull
+    private final INodeItem item;
+    @NonNull
+    private final MetapathExpression metapath;
+    @NonNull
+    private final DynamicContext dynamicContext;
+
+    public DeferredExpect(
+        @NonNull IExpectConstraint constraint,
+        @NonNull INodeItem node,
+        @NonNull INodeItem item,
+        @NonNull MetapathExpression metapath,
+        @NonNull DynamicContext dynamicContext) {
+      this.constraint = constraint;
+      this.node = node;
+      this.item = item;
+      this.metapath = metapath;
+      this.dynamicContext = dynamicContext;
+    }
+
+    @NonNull
+    public IExpectConstraint getConstraint() {
+      return constraint;
+    }
+
+    @NonNull
+    public INodeItem getNode() {
+      return node;
+    }
+
+    @NonNull
+    public INodeItem getItem() {
+      return item;
+    }
+
+    @NonNull
+    public MetapathExpression getMetapath() {
+      return metapath;
+    }
+
+    @NonNull
+    public DynamicContext getDynamicContext() {
+      return dynamicContext;
+    }
+  }
 }
@@ -90,7 +90,7 @@ public class FindingCollectingConstraintValidationHandler
         .kind(toKind(constraint.getLevel()))
         .target(node)
         .subjects(targets.getValue())
-        .message(newCardinalityMinimumViolationMessage(constraint, node, targets))
+        .message(() -> newCardinalityMinimumViolationMessage(constraint, node, targets))
         .build());
   }
 
@@ -104,7 +104,7 @@ public class FindingCollectingConstraintValidationHandler
         .kind(toKind(constraint.getLevel()))
         .target(node)
         .subjects(targets.getValue())
-        .message(newCardinalityMaximumViolationMessage(constraint, node, targets))
+        .message(() -> newCardinalityMaximumViolationMessage(constraint, node, targets))
         .build());
   }
 
@@ -118,7 +118,7 @@ public class FindingCollectingConstraintValidationHandler
         .severity(constraint.getLevel())
         .kind(toKind(constraint.getLevel()))
         .target(target)
-        .message(newIndexDuplicateKeyViolationMessage(constraint, node, oldItem, target))
+        .message(() -> newIndexDuplicateKeyViolationMessage(constraint, node, oldItem, target))
         .build());
   }
 
@@ -132,7 +132,7 @@ public class FindingCollectingConstraintValidationHandler
         .severity(constraint.getLevel())
         .kind(toKind(constraint.getLevel()))
         .target(target)
-        .message(newUniqueKeyViolationMessage(constraint, node, oldItem, target))
+        .message(() -> newUniqueKeyViolationMessage(constraint, node, oldItem, target))
         .build());
   }
 
@@ -163,7 +163,7 @@ public class FindingCollectingConstraintValidationHandler
         .severity(constraint.getLevel())
         .kind(toKind(constraint.getLevel()))
         .target(target)
-        .message(newMatchPatternViolationMessage(constraint, node, target, value, pattern))
+        .message(() -> newMatchPatternViolationMessage(constraint, node, target, value, pattern))
         .build());
   }
 
@@ -179,7 +179,7 @@ public class FindingCollectingConstraintValidationHandler
         .severity(constraint.getLevel())
         .kind(toKind(constraint.getLevel()))
         .target(target)
-        .message(newMatchDatatypeViolationMessage(constraint, node, target, value, adapter))
+        .message(() -> newMatchDatatypeViolationMessage(constraint, node, target, value, adapter))
         .cause(cause)
         .build());
   }
@@ -194,7 +194,7 @@ public class FindingCollectingConstraintValidationHandler
         .severity(constraint.getLevel())
         .kind(toKind(constraint.getLevel()))
         .target(target)
-        .message(newExpectViolationMessage(constraint, node, target, dynamicContext))
+        .message(() -> newExpectViolationMessage(constraint, node, target, dynamicContext))
         .build());
   }
 
@@ -210,7 +210,7 @@ public class FindingCollectingConstraintValidationHandler
         .severity(maxLevel)
         .kind(toKind(maxLevel))
         .target(target)
-        .message(newAllowedValuesViolationMessage(failedConstraints, target))
+        .message(() -> newAllowedValuesViolationMessage(failedConstraints, target))
         .build());
   }
 
@@ -220,7 +220,7 @@ public class FindingCollectingConstraintValidationHandler
         .kind(Kind.FAIL)
         .severity(Level.CRITICAL)
         .target(node)
-        .message(newIndexDuplicateViolationMessage(constraint, node))
+        .message(() -> newIndexDuplicateViolationMessage(constraint, node))
         .build());
   }
 
@@ -230,7 +230,7 @@ public class FindingCollectingConstraintValidationHandler
         .severity(constraint.getLevel())
         .kind(toKind(constraint.getLevel()))
         .target(target)
-        .message(newIndexMissMessage(constraint, node, target, key))
+        .message(() -> newIndexMissMessage(constraint, node, target, key))
         .build());
   }
 
@@ -244,7 +244,7 @@ public class FindingCollectingConstraintValidationHandler
         .severity(constraint.getLevel())
         .kind(toKind(constraint.getLevel()))
         .target(target)
-        .message(newMissingIndexViolationMessage(constraint, node, target, message))
+        .message(() -> newMissingIndexViolationMessage(constraint, node, target, message))
         .build());
   }
 
@@ -6,6 +6,7 @@
 package gov.nist.secauto.metaschema.core.model.constraint;
 
 import gov.nist.secauto.metaschema.core.datatype.IDataTypeAdapter;
+import gov.nist.secauto.metaschema.core.metapath.function.RegexUtils;
 import gov.nist.secauto.metaschema.core.model.constraint.impl.DefaultMatchesConstraint;
 import gov.nist.secauto.metaschema.core.util.ObjectUtils;
 
@@ -68,7 +69,7 @@ public interface IMatchesConstraint extends IConstraint {
      * @return this builder
      */
     public Builder regex(@NonNull String pattern) {
-      return regex(ObjectUtils.notNull(Pattern.compile(pattern)));
+      return regex(RegexUtils.compile(pattern));
     }
 
     /**
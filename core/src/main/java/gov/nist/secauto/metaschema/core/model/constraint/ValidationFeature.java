@@ -6,6 +6,7 @@
 package gov.nist.secauto.metaschema.core.model.constraint;
 
 import gov.nist.secauto.metaschema.core.configuration.AbstractConfigurationFeature;
+import gov.nist.secauto.metaschema.core.profile.IProfiler;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
 
@@ -19,6 +20,15 @@ public final class ValidationFeature<V>
   public static final ValidationFeature<Boolean> VALIDATE_GENERATE_PASS_FINDINGS
       = new ValidationFeature<>("include-pass-findings", Boolean.class, false);
 
+  /**
+   * The profiler used to record the evaluation of each constraint, along with
+   * the Metapath expressions evaluated for the constraint. By default, nothing is
+   * recorded.
+   */
+  @NonNull
+  public static final ValidationFeature<IProfiler> VALIDATE_PROFILER
+      = new ValidationFeature<>("profiler", IProfiler.class, IProfiler.disabled());
+
   private ValidationFeature(
       @NonNull String name,
       @NonNull Class<V> valueClass,
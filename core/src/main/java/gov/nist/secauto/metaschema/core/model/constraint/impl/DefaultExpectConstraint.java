@@ -9,16 +9,20 @@ import gov.nist.secauto.metaschema.core.datatype.markup.MarkupLine;
 import gov.nist.secauto.metaschema.core.datatype.markup.MarkupMultiline;
 import gov.nist.secauto.metaschema.core.metapath.DynamicContext;
 import gov.nist.secauto.metaschema.core.metapath.MetapathExpression;
+import gov.nist.secauto.metaschema.core.metapath.StaticContext;
 import gov.nist.secauto.metaschema.core.metapath.item.atomic.IBooleanItem;
 import gov.nist.secauto.metaschema.core.metapath.item.node.INodeItem;
 import gov.nist.secauto.metaschema.core.model.IAttributable;
 import gov.nist.secauto.metaschema.core.model.constraint.IExpectConstraint;
 import gov.nist.secauto.metaschema.core.model.constraint.ISource;
+import gov.nist.secauto.metaschema.core.util.CollectionUtil;
 import gov.nist.secauto.metaschema.core.util.ObjectUtils;
-import gov.nist.secauto.metaschema.core.util.ReplacementScanner;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
@@ -36,6 +40,11 @@ public final class DefaultExpectConstraint
   @NonNull
   private final Lazy<MetapathExpression> testMetapath;
   private final String message;
+  /**
+   * The message, pre-parsed into literal text and compiled Metapath segments.
+   */
+  @Nullable
+  private final Lazy<List<IMessageSegment>> messageTemplate;
 
   /**
    * Construct a new expect constraint which requires that the associated test
@@ -82,6 +91,9 @@ public final class DefaultExpectConstraint
             test,
             source.getStaticContext())));
     this.message = message;
+    this.messageTemplate = message == null
+        ? null
+        : ObjectUtils.notNull(Lazy.lazy(() -> parseMessage(message, source.getStaticContext())));
   }
 
   /**
@@ -91,8 +103,13 @@ public final class DefaultExpectConstraint
    */
   @NonNull
   public MetapathExpression getTestMetapath() {
+    return getLazyValue(testMetapath);
+  }
+
+  @NonNull
+  private static <T> T getLazyValue(@NonNull Lazy<T> lazy) {
     try {
-      return ObjectUtils.notNull(testMetapath.get());
+      return ObjectUtils.notNull(lazy.get());
     } catch (LazyEvaluationException ex) {
       Throwable cause = ex.getCause();
       if (cause instanceof RuntimeException) {
@@ -115,14 +132,56 @@ public final class DefaultExpectConstraint
 
   @Override
   public String generateMessage(@NonNull INodeItem item, @NonNull DynamicContext context) {
-    String message = getMessage();
+    String retval = null;
+    if (messageTemplate != null) {
+      StringBuilder builder = new StringBuilder();
+      for (IMessageSegment segment : getLazyValue(messageTemplate)) {
+        builder.append(segment.render(item, context));
+      }
+      retval = builder.toString();
+    }
+    return retval;
+  }
+
+  /**
+   * Split the message into literal text and the Metapath expressions embedded
+   * using <code>{ metapath }</code>, compiling each expression once.
+   *
+   * @param message
+   *          the message to parse
+   * @param staticContext
+   *          the static context used to compile the embedded expressions
+   * @return the message segments
+   */
+  @NonNull
+  private static List<IMessageSegment> parseMessage(
+      @NonNull String message,
+      @NonNull StaticContext staticContext) {
+    List<IMessageSegment> retval = new ArrayList<>();
+    Matcher matcher = METAPATH_VALUE_TEMPLATE_PATTERN.matcher(message);
+    int lastIndex = 0;
+    while (matcher.find()) {
+      if (matcher.start() > lastIndex) {
+        String literal = message.substring(lastIndex, matcher.start());
+        retval.add((item, context) -> literal);
+      }
+
+      MetapathExpression expr = MetapathExpression.compile(
+          ObjectUtils.notNull(matcher.group(2)),
+          staticContext);
+      retval.add((item, context) -> expr.evaluateAs(item, MetapathExpression.ResultType.STRING, context));
+      lastIndex = matcher.end();
+    }
+    if (lastIndex < message.length()) {
+      String literal = message.substring(lastIndex);
+      retval.add((item, context) -> literal);
+    }
+    return CollectionUtil.unmodifiableList(retval);
+  }
 
-    return message == null ? null
-        : ReplacementScanner.replaceTokens(message, METAPATH_VALUE_TEMPLATE_PATTERN, match -> {
-          @SuppressWarnings("null")
-          @NonNull String metapath = match.group(2);
-          MetapathExpression expr = MetapathExpression.compile(metapath, context.getStaticContext());
-          return expr.evaluateAs(item, MetapathExpression.ResultType.STRING, context);
-        }).toString();
+  @FunctionalInterface
+  private interface IMessageSegment {
+    @Nullable
+    String render(@NonNull INodeItem item, @NonNull DynamicContext context);
   }
 }
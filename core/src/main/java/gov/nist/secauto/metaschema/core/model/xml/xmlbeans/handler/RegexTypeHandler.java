@@ -5,6 +5,9 @@
 
 package gov.nist.secauto.metaschema.core.model.xml.xmlbeans.handler;
 
+import gov.nist.secauto.metaschema.core.metapath.function.RegexUtils;
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
+
 import java.util.regex.Pattern;
 
 public final class RegexTypeHandler {
@@ -35,6 +38,6 @@ public final class RegexTypeHandler {
    */
   public static Pattern decodeRegexType(org.apache.xmlbeans.SimpleValue obj) {
     String value = obj.getStringValue();
-    return Pattern.compile(value);
+    return RegexUtils.compile(ObjectUtils.requireNonNull(value));
   }
 }
@@ -0,0 +1,40 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.core.profile;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * A profiler that does not record anything.
+ */
+final class DisabledProfiler implements IProfiler, IProfiler.ISpan {
+  @NonNull
+  static final DisabledProfiler INSTANCE = new DisabledProfiler();
+
+  private DisabledProfiler() {
+    // disable construction
+  }
+
+  @Override
+  public boolean isEnabled() {
+    return false;
+  }
+
+  @Override
+  public ISpan start(String category, String label) {
+    return this;
+  }
+
+  @Override
+  public void setResultSize(long size) {
+    // nothing to record
+  }
+
+  @Override
+  public void close() {
+    // nothing to record
+  }
+}
@@ -0,0 +1,88 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.core.profile;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * Records the time spent performing nested units of work, such as evaluating a
+ * constraint and the Metapath expressions it uses.
+ * <p>
+ * A unit of work is timed using a span, which is started using
+ * {@link #start(String, String)} and must be closed on the same thread once the
+ * work is complete. Spans started while another span is open on the same thread
+ * are nested within it.
+ */
+public interface IProfiler {
+  /**
+   * The category used for Metapath expression evaluation.
+   */
+  @NonNull
+  String CATEGORY_METAPATH = "metapath";
+  /**
+   * The category used for the evaluation of a single node of a compiled Metapath
+   * expression.
+   */
+  @NonNull
+  String CATEGORY_EXPRESSION = "expression";
+  /**
+   * The category used for constraint evaluation.
+   */
+  @NonNull
+  String CATEGORY_CONSTRAINT = "constraint";
+
+  /**
+   * Get a profiler that does not record anything.
+   *
+   * @return the profiler
+   */
+  @NonNull
+  static IProfiler disabled() {
+    return DisabledProfiler.INSTANCE;
+  }
+
+  /**
+   * Determine if this profiler records spans.
+   * <p>
+   * Callers can use this to avoid the cost of preparing a span label when
+   * nothing is recorded.
+   *
+   * @return {@code true} if spans are recorded, or {@code false} otherwise
+   */
+  boolean isEnabled();
+
+  /**
+   * Start a span for a unit of work.
+   *
+   * @param category
+   *          the kind of work, such as {@link #CATEGORY_METAPATH}
+   * @param label
+   *          identifies the work within the category, such as the Metapath
+   *          expression
+   * @return the span, which must be closed when the work is complete
+   */
+  @NonNull
+  ISpan start(@NonNull String category, @NonNull String label);
+
+  /**
+   * A timed unit of work.
+   */
+  interface ISpan extends AutoCloseable {
+    /**
+     * Record the number of items produced by the work.
+     *
+     * @param size
+     *          the number of items
+     */
+    void setResultSize(long size);
+
+    /**
+     * Stop timing the work and record the span.
+     */
+    @Override
+    void close();
+  }
+}
@@ -0,0 +1,326 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.core.profile;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+/**
+ * A profiler that records the invocation count, cumulative time, self time, and
+ * result size of each distinct unit of work, along with the self time of each
+ * distinct stack of nested units of work.
+ * <p>
+ * The cumulative time of a span includes the time of any spans nested within
+ * it, while the self time excludes it. The cumulative time of a span nested
+ * within another span for the same unit of work, such as a recursive call, is
+ * already included in the outer span, so it is not added again.
+ * <p>
+ * Spans are tracked per thread, so this profiler can be shared by concurrent
+ * evaluations. Work performed by another thread, such as during parallel
+ * Metapath evaluation, is recorded as a separate stack.
+ */
+public class Profiler implements IProfiler {
+  @NonNull
+  private static final Pattern WHITESPACE_PATTERN = ObjectUtils.notNull(Pattern.compile("\\s+"));
+
+  @NonNull
+  private final Map<List<String>, Statistics> statistics = new ConcurrentHashMap<>();
+  @NonNull
+  private final Stack rootStack = new Stack(null, null);
+  @NonNull
+  private final ThreadLocal<Span> currentSpan = new ThreadLocal<>();
+
+  @Override
+  public boolean isEnabled() {
+    return true;
+  }
+
+  @Override
+  public ISpan start(String category, String label) {
+    Span parent = currentSpan.get();
+    Stack stack = (parent == null ? rootStack : parent.stack).child(category, label);
+    Span span = new Span(parent, stack);
+    currentSpan.set(span);
+    return span;
+  }
+
+  /**
+   * Get the recorded statistics, ordered by descending self time.
+   *
+   * @return the statistics
+   */
+  @NonNull
+  public List<Statistics> getStatistics() {
+    return ObjectUtils.notNull(statistics.values().stream()
+        .sorted(Comparator.comparingLong(Statistics::getSelfNanos).reversed()
+            .thenComparing(Statistics::getCategory)
+            .thenComparing(Statistics::getLabel))
+        .collect(Collectors.toUnmodifiableList()));
+  }
+
+  /**
+   * Write the recorded statistics as a JSON report.
+   *
+   * @param writer
+   *          the writer to write the report to
+   * @throws IOException
+   *           if an error occurred while writing the report
+   */
+  public void writeJson(@NonNull Writer writer) throws IOException {
+    try (JsonGenerator generator = new JsonFactory().createGenerator(writer)) {
+      generator.useDefaultPrettyPrinter();
+      generator.writeStartObject();
+      generator.writeArrayFieldStart("entries");
+      for (Statistics entry : getStatistics()) {
+        generator.writeStartObject();
+        generator.writeStringField("category", entry.getCategory());
+        generator.writeStringField("label", entry.getLabel());
+        generator.writeNumberField("invocations", entry.getInvocationCount());
+        generator.writeNumberField("total-time-us", toMicros(entry.getTotalNanos()));
+        generator.writeNumberField("self-time-us", toMicros(entry.getSelfNanos()));
+        generator.writeNumberField("result-items", entry.getResultItemCount());
+        generator.writeEndObject();
+      }
+      generator.writeEndArray();
+      generator.writeEndObject();
+    }
+  }
+
+  /**
+   * Write the self time of each recorded stack in the collapsed stack format,
+   * which can be rendered as a flame graph.
+   * <p>
+   * Each line contains the semicolon separated frames of a stack, followed by a
+   * space and the self time of the stack in microseconds.
+   *
+   * @param writer
+   *          the writer to write the stacks to
+   * @throws IOException
+   *           if an error occurred while writing the stacks
+   */
+  public void writeCollapsedStacks(@NonNull Writer writer) throws IOException {
+    Map<String, Long> entries = new TreeMap<>();
+    rootStack.collect(entries);
+    for (Map.Entry<String, Long> entry : entries.entrySet()) {
+      long micros = toMicros(entry.getValue());
+      if (micros > 0) {
+        writer.write(entry.getKey());
+        writer.write(' ');
+        writer.write(Long.toString(micros));
+        writer.write('\n');
+      }
+    }
+    writer.flush();
+  }
+
+  private static long toMicros(long nanos) {
+    return TimeUnit.NANOSECONDS.toMicros(nanos);
+  }
+
+  @NonNull
+  private static String toFrame(@NonNull String category, @NonNull String label) {
+    // semicolons separate frames and whitespace separates the value
+    return category + ':' + WHITESPACE_PATTERN.matcher(label.replace(';', ',')).replaceAll(" ");
+  }
+
+  /**
+   * A distinct stack of nested units of work, which is created once and reused
+   * by every span with the same stack.
+   */
+  private final class Stack {
+    @Nullable
+    private final Stack parent;
+    /**
+     * The statistics of the innermost unit of work, or {@code null} for the root
+     * of all stacks.
+     */
+    @Nullable
+    private final Statistics statistics;
+    /**
+     * Whether the innermost unit of work is also performed by an enclosing
+     * frame of this stack.
+     */
+    private final boolean reentrant;
+    @NonNull
+    private final Map<List<String>, Stack> children = new ConcurrentHashMap<>();
+    @NonNull
+    private final LongAdder selfNanos = new LongAdder();
+
+    private Stack(@Nullable Stack parent, @Nullable Statistics statistics) {
+      this.parent = parent;
+      this.statistics = statistics;
+
+      boolean found = false;
+      for (Stack stack = parent; stack != null && !found; stack = stack.parent) {
+        found = statistics != null && stack.statistics == statistics;
+      }
+      this.reentrant = found;
+    }
+
+    @NonNull
+    private Stack child(@NonNull String category, @NonNull String label) {
+      return ObjectUtils.notNull(children.computeIfAbsent(List.of(category, label), key -> new Stack(
+          this,
+          Profiler.this.statistics.computeIfAbsent(key, k -> new Statistics(category, label)))));
+    }
+
+    private void collect(@NonNull Map<String, Long> entries) {
+      collect(null, entries);
+    }
+
+    private void collect(@Nullable String prefix, @NonNull Map<String, Long> entries) {
+      for (Stack child : children.values()) {
+        Statistics childStatistics = ObjectUtils.requireNonNull(child.statistics);
+        String frame = toFrame(childStatistics.getCategory(), childStatistics.getLabel());
+        String stack = prefix == null ? frame : prefix + ';' + frame;
+        entries.put(stack, child.selfNanos.sum());
+        child.collect(stack, entries);
+      }
+    }
+  }
+
+  private final class Span implements ISpan {
+    @Nullable
+    private final Span parent;
+    @NonNull
+    private final Stack stack;
+    private final long startNanos;
+    private long childNanos;
+    private long resultSize;
+
+    private Span(@Nullable Span parent, @NonNull Stack stack) {
+      this.parent = parent;
+      this.stack = stack;
+      this.startNanos = System.nanoTime();
+    }
+
+    @Override
+    public void setResultSize(long size) {
+      this.resultSize = size;
+    }
+
+    @Override
+    public void close() {
+      long elapsed = System.nanoTime() - startNanos;
+      long self = Math.max(0, elapsed - childNanos);
+
+      if (parent == null) {
+        currentSpan.remove();
+      } else {
+        parent.childNanos += elapsed;
+        currentSpan.set(parent);
+      }
+
+      // the time of a re-entrant span is already part of the enclosing span's
+      // cumulative time
+      ObjectUtils.requireNonNull(stack.statistics).record(stack.reentrant ? 0 : elapsed, self, resultSize);
+      stack.selfNanos.add(self);
+    }
+  }
+
+  /**
+   * The statistics recorded for a distinct unit of work.
+   */
+  public static final class Statistics {
+    @NonNull
+    private final String category;
+    @NonNull
+    private final String label;
+    @NonNull
+    private final LongAdder invocations = new LongAdder();
+    @NonNull
+    private final LongAdder totalNanos = new LongAdder();
+    @NonNull
+    private final LongAdder selfNanos = new LongAdder();
+    @NonNull
+    private final LongAdder resultItems = new LongAdder();
+
+    private Statistics(@NonNull String category, @NonNull String label) {
+      this.category = category;
+      this.label = label;
+    }
+
+    private void record(long total, long self, long resultSize) {
+      invocations.increment();
+      totalNanos.add(total);
+      selfNanos.add(self);
+      resultItems.add(resultSize);
+    }
+
+    /**
+     * Get the kind of work.
+     *
+     * @return the category
+     */
+    @NonNull
+    public String getCategory() {
+      return category;
+    }
+
+    /**
+     * Get the label identifying the work within its category.
+     *
+     * @return the label
+     */
+    @NonNull
+    public String getLabel() {
+      return label;
+    }
+
+    /**
+     * Get the number of times the work was performed.
+     *
+     * @return the invocation count
+     */
+    public long getInvocationCount() {
+      return invocations.sum();
+    }
+
+    /**
+     * Get the cumulative time spent performing the work, including nested work.
+     *
+     * @return the time in nanoseconds
+     */
+    public long getTotalNanos() {
+      return totalNanos.sum();
+    }
+
+    /**
+     * Get the time spent performing the work, excluding nested work.
+     *
+     * @return the time in nanoseconds
+     */
+    public long getSelfNanos() {
+      return selfNanos.sum();
+    }
+
+    /**
+     * Get the total number of items produced by the work.
+     *
+     * @return the item count
+     */
+    public long getResultItemCount() {
+      return resultItems.sum();
+    }
+  }
+}
@@ -0,0 +1,19 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+/**
+ * Provides support for profiling the time spent evaluating Metapath expressions
+ * and constraints.
+ * <p>
+ * A {@link gov.nist.secauto.metaschema.core.profile.Profiler} is enabled using
+ * the
+ * {@link gov.nist.secauto.metaschema.core.metapath.MetapathEvaluationFeature#METAPATH_PROFILER}
+ * or
+ * {@link gov.nist.secauto.metaschema.core.model.constraint.ValidationFeature#VALIDATE_PROFILER}
+ * features. The recorded statistics can be written as a JSON report or as
+ * collapsed stacks, which can be rendered as a flame graph.
+ */
+
+package gov.nist.secauto.metaschema.core.profile;
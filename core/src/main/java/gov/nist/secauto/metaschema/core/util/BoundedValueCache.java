@@ -0,0 +1,82 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.core.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * A thread-safe cache used to share equal values, with a fixed maximum number
+ * of entries.
+ * <p>
+ * Once the cache is full, it stops taking new entries. Later lookups of new
+ * keys produce a value that is not cached. Entries are never evicted, so this
+ * cache suits a small vocabulary of values that repeat many times, such as
+ * token values in a large document.
+ *
+ * @param <K>
+ *          the type of key used to look up cached values
+ * @param <V>
+ *          the type of cached values
+ */
+public final class BoundedValueCache<K, V> {
+  private final int maxEntries;
+  @NonNull
+  private final Map<K, V> cache;
+
+  /**
+   * Construct a new cache.
+   *
+   * @param maxEntries
+   *          the maximum number of entries to cache
+   */
+  public BoundedValueCache(int maxEntries) {
+    if (maxEntries < 1) {
+      throw new IllegalArgumentException(
+          String.format("The maximum number of entries '%d' must be positive.", maxEntries));
+    }
+    this.maxEntries = maxEntries;
+    this.cache = new ConcurrentHashMap<>();
+  }
+
+  /**
+   * Get the number of cached entries.
+   *
+   * @return the number of entries
+   */
+  public int size() {
+    return cache.size();
+  }
+
+  /**
+   * Get the cached value for the provided key, creating and caching it if
+   * needed.
+   * <p>
+   * If the cache is full, the value is created without being cached.
+   *
+   * @param key
+   *          the key to look up
+   * @param mappingFunction
+   *          used to create a value for the key if none is cached
+   * @return the cached or newly created value
+   */
+  @NonNull
+  public V get(@NonNull K key, @NonNull Function<? super K, ? extends V> mappingFunction) {
+    V retval = cache.get(key);
+    if (retval == null) {
+      if (cache.size() < maxEntries) {
+        // a racing insert may briefly overfill the cache by the number of threads
+        retval = cache.computeIfAbsent(key, mappingFunction);
+      } else {
+        retval = mappingFunction.apply(key);
+      }
+    }
+    return ObjectUtils.notNull(retval);
+  }
+}
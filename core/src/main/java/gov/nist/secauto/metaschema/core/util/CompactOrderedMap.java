@@ -0,0 +1,349 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.core.util;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+/**
+ * A {@link Map} that preserves insertion order using parallel key and value
+ * arrays.
+ * <p>
+ * This map is intended as a lower overhead replacement for
+ * {@link java.util.LinkedHashMap} when holding large numbers of mostly
+ * read-only maps, such as bound model collections. Entries are not allocated per
+ * mapping. Small maps are searched linearly, while larger maps use an
+ * open-addressing index into the arrays. Removal is O(n).
+ * <p>
+ * {@code null} keys are not supported. This map is not thread-safe.
+ *
+ * @param <K>
+ *          the type of keys maintained by this map
+ * @param <V>
+ *          the type of mapped values
+ */
+public final class CompactOrderedMap<K, V>
+    extends AbstractMap<K, V> {
+  /**
+   * The maximum size at which keys are searched linearly instead of using the
+   * hash index.
+   */
+  private static final int LINEAR_SEARCH_MAX_SIZE = 8;
+  private static final int DEFAULT_CAPACITY = 4;
+  private static final Object[] EMPTY = {};
+
+  @NonNull
+  private Object[] keys;
+  @NonNull
+  private Object[] values;
+  /**
+   * The hash index, holding array positions offset by one, with {@code 0}
+   * marking an empty slot. This is {@code null} for small maps.
+   */
+  @Nullable
+  private int[] index;
+  private int size;
+  private int modCount;
+  private Set<Map.Entry<K, V>> entrySet;
+
+  /**
+   * Construct a new empty map.
+   */
+  public CompactOrderedMap() {
+    this.keys = EMPTY;
+    this.values = EMPTY;
+  }
+
+  /**
+   * Construct a new map with the same mappings as the provided map, in its
+   * iteration order.
+   *
+   * @param other
+   *          the map to copy
+   */
+  public CompactOrderedMap(@NonNull Map<? extends K, ? extends V> other) {
+    this.keys = new Object[other.size()];
+    this.values = new Object[other.size()];
+    putAll(other);
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return indexOf(key) >= 0;
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public V get(Object key) {
+    int pos = indexOf(key);
+    return pos < 0 ? null : (V) values[pos];
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public V put(K key, V value) {
+    Objects.requireNonNull(key, "key");
+
+    V retval = null;
+    int pos = indexOf(key);
+    if (pos >= 0) {
+      retval = (V) values[pos];
+      values[pos] = value;
+    } else {
+      append(key, value);
+    }
+    return retval;
+  }
+
+  @Override
+  public V remove(Object key) {
+    int pos = indexOf(key);
+    return pos < 0 ? null : removeAt(pos);
+  }
+
+  @Override
+  public void clear() {
+    keys = EMPTY;
+    values = EMPTY;
+    index = null;
+    size = 0;
+    modCount++;
+  }
+
+  /**
+   * Reduce the storage used by this map to the minimum needed for the current
+   * mappings.
+   */
+  public void trimToSize() {
+    if (keys.length > size) {
+      keys = size == 0 ? EMPTY : Arrays.copyOf(keys, size);
+      values = size == 0 ? EMPTY : Arrays.copyOf(values, size);
+    }
+    rebuildIndex();
+  }
+
+  @Override
+  public Set<Map.Entry<K, V>> entrySet() {
+    Set<Map.Entry<K, V>> retval = entrySet;
+    if (retval == null) {
+      retval = new EntrySet();
+      entrySet = retval;
+    }
+    return retval;
+  }
+
+  private static int hash(@NonNull Object key) {
+    int hash = key.hashCode();
+    return hash ^ (hash >>> 16);
+  }
+
+  private int indexOf(@Nullable Object key) {
+    int retval = -1;
+    if (key != null) {
+      int[] index = this.index;
+      if (index == null) {
+        for (int i = 0; i < size; i++) {
+          if (key.equals(keys[i])) {
+            retval = i;
+            break;
+          }
+        }
+      } else {
+        int mask = index.length - 1;
+        int slot = hash(key) & mask;
+        int entry;
+        while ((entry = index[slot]) != 0) {
+          if (key.equals(keys[entry - 1])) {
+            retval = entry - 1;
+            break;
+          }
+          slot = (slot + 1) & mask;
+        }
+      }
+    }
+    return retval;
+  }
+
+  private void append(@NonNull K key, V value) {
+    if (size == keys.length) {
+      int capacity = Math.max(DEFAULT_CAPACITY, size + (size >> 1));
+      keys = Arrays.copyOf(keys, capacity);
+      values = Arrays.copyOf(values, capacity);
+    }
+    int pos = size++;
+    keys[pos] = key;
+    values[pos] = value;
+    modCount++;
+
+    int[] index = this.index;
+    if (index == null || size * 2 > index.length) {
+      rebuildIndex();
+    } else {
+      insertIndex(index, key, pos);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private V removeAt(int pos) {
+    V retval = (V) values[pos];
+    int moved = size - pos - 1;
+    if (moved > 0) {
+      System.arraycopy(keys, pos + 1, keys, pos, moved);
+      System.arraycopy(values, pos + 1, values, pos, moved);
+    }
+    size--;
+    keys[size] = null;
+    values[size] = null;
+    modCount++;
+    rebuildIndex();
+    return retval;
+  }
+
+  private void rebuildIndex() {
+    if (size <= LINEAR_SEARCH_MAX_SIZE) {
+      index = null;
+    } else {
+      // keep the load factor at or below 0.5
+      int capacity = Integer.highestOneBit(size * 4 - 1);
+      int[] newIndex = new int[capacity];
+      for (int i = 0; i < size; i++) {
+        insertIndex(newIndex, ObjectUtils.notNull(keys[i]), i);
+      }
+      index = newIndex;
+    }
+  }
+
+  private static void insertIndex(@NonNull int[] index, @NonNull Object key, int pos) {
+    int mask = index.length - 1;
+    int slot = hash(key) & mask;
+    while (index[slot] != 0) {
+      slot = (slot + 1) & mask;
+    }
+    index[slot] = pos + 1;
+  }
+
+  private final class EntrySet
+      extends AbstractSet<Map.Entry<K, V>> {
+
+    @Override
+    public int size() {
+      return size;
+    }
+
+    @Override
+    public Iterator<Map.Entry<K, V>> iterator() {
+      return new EntryIterator();
+    }
+
+    @Override
+    public void clear() {
+      CompactOrderedMap.this.clear();
+    }
+  }
+
+  private final class EntryIterator implements Iterator<Map.Entry<K, V>> {
+    private int next;
+    private int last = -1;
+    private int expectedModCount = modCount;
+
+    @Override
+    public boolean hasNext() {
+      return next < size;
+    }
+
+    @Override
+    public Map.Entry<K, V> next() {
+      if (modCount != expectedModCount) {
+        throw new ConcurrentModificationException();
+      }
+      if (next >= size) {
+        throw new NoSuchElementException();
+      }
+      last = next++;
+      return new Entry(last);
+    }
+
+    @Override
+    public void remove() {
+      if (last < 0) {
+        throw new IllegalStateException();
+      }
+      if (modCount != expectedModCount) {
+        throw new ConcurrentModificationException();
+      }
+      removeAt(last);
+      next = last;
+      last = -1;
+      expectedModCount = modCount;
+    }
+  }
+
+  private final class Entry implements Map.Entry<K, V> {
+    private final int pos;
+
+    private Entry(int pos) {
+      this.pos = pos;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public K getKey() {
+      return (K) keys[pos];
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public V getValue() {
+      return (V) values[pos];
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public V setValue(V value) {
+      V retval = (V) values[pos];
+      values[pos] = value;
+      return retval;
+    }
+
+    @SuppressWarnings("PMD.OnlyOneReturn") // readability
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof Map.Entry)) {
+        return false;
+      }
+      Map.Entry<?, ?> other = (Map.Entry<?, ?>) obj;
+      return Objects.equals(getKey(), other.getKey()) && Objects.equals(getValue(), other.getValue());
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hashCode(getKey()) ^ Objects.hashCode(getValue());
+    }
+
+    @Override
+    public String toString() {
+      return getKey() + "=" + getValue();
+    }
+  }
+}
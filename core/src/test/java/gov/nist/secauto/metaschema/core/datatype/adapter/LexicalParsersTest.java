@@ -0,0 +1,197 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.core.datatype.adapter;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Random;
+import java.util.UUID;
+
+class LexicalParsersTest {
+  private static final long SEED = 20_240_101L;
+  private static final int ITERATIONS = 2_000;
+
+  @Test
+  void testDateTimeRoundTrip() {
+    Random random = new Random(SEED);
+    for (int i = 0; i < ITERATIONS; i++) {
+      ZonedDateTime expected = ZonedDateTime.of(
+          1 + random.nextInt(9999),
+          1 + random.nextInt(12),
+          1 + random.nextInt(28),
+          random.nextInt(24),
+          random.nextInt(60),
+          random.nextInt(60),
+          random.nextBoolean() ? 0 : random.nextInt(1_000_000_000),
+          ZoneOffset.ofTotalSeconds((random.nextInt(36 * 4 + 1) - 18 * 4) * 15 * 60));
+      String text = ObjectUtils.notNull(DateFormats.DATE_TIME_WITH_TZ.format(expected));
+
+      LexicalParsers.Temporal actual = LexicalParsers.parseDateTime(text);
+      assertAll(
+          () -> assertTrue(actual.hasTimeZone(), text),
+          () -> assertEquals(expected, actual.toZonedDateTime(), text),
+          () -> assertEquals(ZonedDateTime.from(DateFormats.DATE_TIME_WITH_TZ.parse(text)), actual.toZonedDateTime(),
+              text));
+    }
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {
+      "2021-02-30T10:00:00",
+      "2021-04-31T10:00:00Z",
+      "2021-01-01T24:00:00",
+      "2021-12-31T24:00:00+05:00",
+      "2021-01-01T10:00:00.",
+      "2021-01-01T10:00:00.123456789-18:00",
+  })
+  void testDateTimeMatchesFormatter(String text) {
+    LexicalParsers.Temporal actual = LexicalParsers.parseDateTime(ObjectUtils.notNull(text));
+    ZonedDateTime expected = actual.hasTimeZone()
+        ? ZonedDateTime.from(DateFormats.DATE_TIME_WITH_TZ.parse(text))
+        : ZonedDateTime.of(LocalDateTime.from(DateFormats.DATE_TIME_WITHOUT_TZ.parse(text)), ZoneOffset.UTC);
+    assertEquals(expected, actual.toZonedDateTime());
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {
+      "",
+      "2021-01-01",
+      "2021-01-01T10:00",
+      "2021-1-01T10:00:00",
+      "0000-01-01T10:00:00",
+      "2021-13-01T10:00:00",
+      "2021-01-00T10:00:00",
+      "2021-01-01T25:00:00",
+      "2021-01-01T24:00:01",
+      "2021-01-01T10:60:00",
+      "2021-01-01T10:00:60",
+      "2021-01-01T10:00:00.1234567890",
+      "2021-01-01T10:00:00+19:00",
+      "2021-01-01T10:00:00+05",
+      "2021-01-01T10:00:00Zjunk",
+  })
+  void testInvalidDateTime(String text) {
+    assertThrows(IllegalArgumentException.class, () -> LexicalParsers.parseDateTime(ObjectUtils.notNull(text)));
+  }
+
+  @Test
+  void testDate() {
+    LexicalParsers.Temporal withZone = LexicalParsers.parseDate("2000-02-29-05:00");
+    LexicalParsers.Temporal withoutZone = LexicalParsers.parseDate("2999-12-31");
+    assertAll(
+        () -> assertTrue(withZone.hasTimeZone()),
+        () -> assertEquals(
+            ZonedDateTime.of(2000, 2, 29, 0, 0, 0, 0, ZoneOffset.ofHours(-5)),
+            withZone.toZonedDateTime()),
+        () -> assertFalse(withoutZone.hasTimeZone()),
+        () -> assertEquals(
+            ZonedDateTime.of(2999, 12, 31, 0, 0, 0, 0, ZoneOffset.UTC),
+            withoutZone.toZonedDateTime()));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {
+      "1899-12-31",
+      "3000-01-01",
+      "1900-02-29",
+      "2021-04-31",
+      "2021-00-10",
+      "2021-01-01T00:00:00",
+      "2021-01-01+5:00",
+  })
+  void testInvalidDate(String text) {
+    assertThrows(IllegalArgumentException.class, () -> LexicalParsers.parseDate(ObjectUtils.notNull(text)));
+  }
+
+  @Test
+  void testUuidRoundTrip() {
+    Random random = new Random(SEED);
+    for (int i = 0; i < ITERATIONS; i++) {
+      UUID expected = new UUID(random.nextLong(), random.nextLong());
+      String text = expected.toString();
+      assertAll(
+          () -> assertEquals(expected, LexicalParsers.parseUuid(text)),
+          () -> assertEquals(expected, LexicalParsers.parseUuid(ObjectUtils.notNull(text.toUpperCase()))));
+    }
+  }
+
+  @Test
+  void testInvalidUuid() {
+    assertAll(
+        () -> assertThrows(IllegalArgumentException.class,
+            () -> LexicalParsers.parseUuid("1b7a0c64-9b4e-4e29-a5bd-0b9f1c3fd6zz")),
+        () -> assertThrows(IllegalArgumentException.class,
+            () -> LexicalParsers.parseUuid("not-a-uuid")));
+  }
+
+  @Test
+  void testIntegerRoundTrip() {
+    Random random = new Random(SEED);
+    for (int i = 0; i < ITERATIONS; i++) {
+      BigInteger expected = new BigInteger(1 + random.nextInt(100), random);
+      if (random.nextBoolean()) {
+        expected = expected.negate();
+      }
+      assertEquals(expected, LexicalParsers.parseInteger(ObjectUtils.notNull(expected.toString())));
+    }
+    assertAll(
+        () -> assertEquals(BigInteger.valueOf(42), LexicalParsers.parseInteger("+42")),
+        () -> assertEquals(BigInteger.ZERO, LexicalParsers.parseInteger("-0")),
+        () -> assertThrows(NumberFormatException.class, () -> LexicalParsers.parseInteger("")),
+        () -> assertThrows(NumberFormatException.class, () -> LexicalParsers.parseInteger("-")),
+        () -> assertThrows(NumberFormatException.class, () -> LexicalParsers.parseInteger("1.0")));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {
+      "0",
+      "-0.0",
+      "+1.50",
+      ".5",
+      "5.",
+      "007.100",
+      "1234567890123456",
+      "-1234567890.123456",
+      "12345678901234567",
+      "1.2345678901234567890",
+      "1E+3",
+      "-2.5e-7",
+  })
+  void testDecimalMatchesBigDecimal(String text) {
+    BigDecimal expected = new BigDecimal(text, DecimalAdapter.MATH_CONTEXT);
+    BigDecimal actual = new DecimalAdapter().parse(ObjectUtils.notNull(text));
+    assertAll(
+        () -> assertEquals(expected, actual),
+        () -> assertEquals(expected.scale(), actual.scale()));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {
+      "",
+      "-",
+      ".",
+      "1.2.3",
+      "abc",
+  })
+  void testInvalidDecimal(String text) {
+    assertThrows(NumberFormatException.class, () -> new DecimalAdapter().parse(ObjectUtils.notNull(text)));
+  }
+}
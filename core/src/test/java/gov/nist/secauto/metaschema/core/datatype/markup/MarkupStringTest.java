@@ -370,4 +370,60 @@ class MarkupStringTest {
         () -> Assertions.assertEquals(1, children.size()),
         () -> Assertions.assertEquals(Heading.class, children.get(0).getClass()));
   }
+
+  @Test
+  void testLazyRenderingMatchesEager() {
+    String markdown = "Some *emphasis* and **strong** text.";
+    MarkupLine lazy = MarkupLine.fromMarkdown(markdown);
+    MarkupLine eager = MarkupLine.fromMarkdown(markdown);
+    Document document = eager.getDocument();
+
+    Assertions.assertAll(
+        () -> Assertions.assertEquals(eager.toMarkdown(), lazy.toMarkdown()),
+        () -> Assertions.assertEquals(eager.toHtml(), lazy.toHtml()),
+        // rendering is cached until the AST is exposed
+        () -> Assertions.assertSame(lazy.toMarkdown(), lazy.toMarkdown()),
+        () -> Assertions.assertSame(document, eager.getDocument()));
+  }
+
+  @Test
+  void testMultipleBlocksRejectedImmediately() {
+    Assertions.assertThrows(IllegalStateException.class,
+        () -> MarkupLine.fromMarkdown("first paragraph\n\nsecond paragraph"));
+  }
+
+  @Test
+  void testCopyIsIndependent() {
+    String markdown = "Some *emphasis* text.";
+
+    // parsed before copying
+    MarkupLine parsed = MarkupLine.fromMarkdown(markdown);
+    String expected = parsed.toMarkdown();
+    parsed.getDocument();
+    MarkupLine parsedCopy = parsed.copy();
+
+    // not yet parsed when copied
+    MarkupLine lazy = MarkupLine.fromMarkdown(markdown);
+    MarkupLine lazyCopy = lazy.copy();
+
+    MarkupMultiline multiline = MarkupMultiline.fromMarkdown("# Heading\n\nA paragraph.");
+    String expectedMultiline = multiline.toMarkdown();
+    multiline.getDocument();
+    MarkupMultiline multilineCopy = multiline.copy();
+
+    // remove the leading node from each copy
+    parsedCopy.getDocument().getFirstChild().getFirstChild().unlink();
+    lazyCopy.getDocument().getFirstChild().getFirstChild().unlink();
+    multilineCopy.getDocument().getFirstChild().unlink();
+
+    Assertions.assertAll(
+        () -> Assertions.assertNotSame(parsed.getDocument(), parsedCopy.getDocument()),
+        () -> Assertions.assertTrue(expected.contains("Some"), expected),
+        () -> Assertions.assertEquals(expected, parsed.toMarkdown()),
+        () -> Assertions.assertFalse(parsedCopy.toMarkdown().contains("Some"), parsedCopy.toMarkdown()),
+        () -> Assertions.assertEquals(expected, lazy.toMarkdown()),
+        () -> Assertions.assertFalse(lazyCopy.toMarkdown().contains("Some"), lazyCopy.toMarkdown()),
+        () -> Assertions.assertEquals(expectedMultiline, multiline.toMarkdown()),
+        () -> Assertions.assertNotEquals(expectedMultiline, multilineCopy.toMarkdown()));
+  }
 }
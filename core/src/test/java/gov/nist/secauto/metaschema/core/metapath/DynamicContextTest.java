@@ -0,0 +1,103 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.core.metapath;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import gov.nist.secauto.metaschema.core.metapath.item.atomic.IStringItem;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.IntStream;
+
+import javax.xml.namespace.QName;
+
+class DynamicContextTest {
+  private static final QName VAR_A = new QName("a");
+  private static final QName VAR_B = new QName("b");
+
+  @Test
+  void testSubContextBindings() {
+    ISequence<IStringItem> value1 = ISequence.of(IStringItem.valueOf("1"));
+    ISequence<IStringItem> value2 = ISequence.of(IStringItem.valueOf("2"));
+    ISequence<IStringItem> value3 = ISequence.of(IStringItem.valueOf("3"));
+
+    DynamicContext parent = new DynamicContext().bindVariableValue(VAR_A, value1);
+    DynamicContext child = parent.subContext()
+        .bindVariableValue(VAR_A, value2)
+        .bindVariableValue(VAR_B, value3);
+
+    assertAll(
+        () -> assertEquals(value1, parent.getVariableValue(VAR_A)),
+        () -> assertThrows(MetapathException.class, () -> parent.getVariableValue(VAR_B)),
+        () -> assertEquals(value2, child.getVariableValue(VAR_A)),
+        () -> assertEquals(value3, child.getVariableValue(VAR_B)));
+  }
+
+  @Test
+  void testConcurrentSubContexts() {
+    DynamicContext context = new DynamicContext()
+        .bindVariableValue(VAR_A, ISequence.of(IStringItem.valueOf("shared")));
+
+    ConcurrentLinkedQueue<String> errors = new ConcurrentLinkedQueue<>();
+    IntStream.range(0, 1_000).parallel().forEach(index -> {
+      String expected = Integer.toString(index);
+      DynamicContext subContext = context.subContext()
+          .bindVariableValue(VAR_B, ISequence.of(IStringItem.valueOf(expected)));
+      String actual = ((IStringItem) subContext.getVariableValue(VAR_B).getFirstItem(true)).asString();
+      String shared = ((IStringItem) subContext.getVariableValue(VAR_A).getFirstItem(true)).asString();
+      if (!expected.equals(actual) || !"shared".equals(shared)) {
+        errors.add(expected);
+      }
+    });
+
+    List<String> result = List.copyOf(errors);
+    assertAll(
+        () -> assertEquals(List.of(), result),
+        () -> assertThrows(MetapathException.class, () -> context.getVariableValue(VAR_B)));
+  }
+
+  @Test
+  void testRepeatedRebinding() throws ReflectiveOperationException {
+    DynamicContext parent = new DynamicContext()
+        .bindVariableValue(VAR_A, ISequence.of(IStringItem.valueOf("parent")));
+    DynamicContext context = parent.subContext();
+
+    for (int index = 0; index < 10_000; index++) {
+      context.bindVariableValue(VAR_A, ISequence.of(IStringItem.valueOf(Integer.toString(index))));
+      context.bindVariableValue(VAR_B, ISequence.of(IStringItem.valueOf(Integer.toString(index))));
+    }
+
+    int frames = countFrames(context);
+    assertAll(
+        () -> assertEquals("9999", ((IStringItem) context.getVariableValue(VAR_A).getFirstItem(true)).asString()),
+        () -> assertEquals("9999", ((IStringItem) context.getVariableValue(VAR_B).getFirstItem(true)).asString()),
+        // the parent's binding is shadowed, not replaced
+        () -> assertEquals("parent", ((IStringItem) parent.getVariableValue(VAR_A).getFirstItem(true)).asString()),
+        // one frame for each variable bound in the sub-context, plus the parent's
+        () -> assertEquals(3, frames));
+  }
+
+  private static int countFrames(DynamicContext context) throws ReflectiveOperationException {
+    Field variables = DynamicContext.class.getDeclaredField("variables");
+    variables.setAccessible(true);
+    Object frame = variables.get(context);
+
+    int retval = 0;
+    while (frame != null) {
+      retval++;
+      Field parent = frame.getClass().getDeclaredField("parent");
+      parent.setAccessible(true);
+      frame = parent.get(frame);
+    }
+    return retval;
+  }
+}
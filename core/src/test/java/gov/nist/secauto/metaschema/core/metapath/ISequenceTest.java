@@ -13,6 +13,8 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 class ISequenceTest {
 
   @Test
@@ -31,4 +33,19 @@ class ISequenceTest {
         () -> assertEquals(integer(3), ISequence.of(integer(3)).getFirstItem(true)),
         () -> assertNull(ISequence.of().getFirstItem(true)));
   }
+
+  @Test
+  void testLazy() {
+    AtomicInteger calls = new AtomicInteger();
+    ISequence<?> sequence = ISequence.ofLazy(() -> {
+      calls.incrementAndGet();
+      return ISequence.of(integer(1), integer(2));
+    });
+    assertEquals(0, calls.get());
+
+    assertAll(
+        () -> assertEquals(ISequence.of(integer(1), integer(2)), sequence),
+        () -> assertEquals(2, sequence.size()),
+        () -> assertEquals(1, calls.get()));
+  }
 }
@@ -14,9 +14,15 @@ import com.adelean.inject.resources.junit.jupiter.GivenTextResource;
 import com.adelean.inject.resources.junit.jupiter.TestWithResources;
 
 import gov.nist.secauto.metaschema.core.metapath.item.atomic.IBooleanItem;
+import gov.nist.secauto.metaschema.core.metapath.item.atomic.IIntegerItem;
 
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.stream.Stream;
 
 @TestWithResources
 class MetapathExpressionTest {
@@ -62,6 +68,40 @@ class MetapathExpressionTest {
     });
   }
 
+  @Test
+  void testCompileAfterSyntaxError() {
+    // the parser is reused, so a failed parse must not affect the next one
+    assertThrows(MetapathException.class, () -> {
+      MetapathExpression.compile("1 +");
+    });
+    assertEquals(3, ((IIntegerItem) MetapathExpression.compile("1 + 2").evaluate().getFirstItem(true))
+        .asInteger().intValue());
+  }
+
+  private static Stream<Arguments> provideDocumentScopedValues() {
+    return Stream.of(
+        Arguments.of(true, "1 + 2"),
+        Arguments.of(true, "/root/item"),
+        Arguments.of(true, "count(//item) + 1"),
+        Arguments.of(true, "/root/item[@id = 'a']/title"),
+        Arguments.of(true, "(//item)[1]/title"),
+        Arguments.of(true, "//item ! @id"),
+        Arguments.of(false, "."),
+        Arguments.of(false, "@id"),
+        Arguments.of(false, "title"),
+        Arguments.of(false, "../title"),
+        Arguments.of(false, "exists(title)"),
+        Arguments.of(false, "data()"),
+        Arguments.of(false, "$var"),
+        Arguments.of(false, "//item[@id = $var]"));
+  }
+
+  @ParameterizedTest
+  @MethodSource("provideDocumentScopedValues")
+  void testIsDocumentScoped(boolean expected, String path) {
+    assertEquals(expected, MetapathExpression.compile(path).isDocumentScoped(), path);
+  }
+
   @Test
   void test() {
     MetapathExpression path = MetapathExpression.compile("2 eq 1 + 1");
@@ -37,6 +37,7 @@ import gov.nist.secauto.metaschema.core.metapath.item.atomic.IBooleanItem;
 import gov.nist.secauto.metaschema.core.metapath.item.atomic.IStringItem;
 import gov.nist.secauto.metaschema.core.metapath.item.atomic.IUuidItem;
 import gov.nist.secauto.metaschema.core.metapath.item.node.IAssemblyNodeItem;
+import gov.nist.secauto.metaschema.core.metapath.item.node.IDefinitionNodeItem;
 import gov.nist.secauto.metaschema.core.metapath.item.node.IDocumentNodeItem;
 import gov.nist.secauto.metaschema.core.metapath.item.node.IFieldNodeItem;
 import gov.nist.secauto.metaschema.core.metapath.item.node.IFlagNodeItem;
@@ -72,6 +73,8 @@ class BuildCstVisitorTest {
   @NonNull
   private static final QName ROOT = new QName(NS, "root");
   @NonNull
+  private static final QName ASSEMBLY = new QName(NS, "assembly");
+  @NonNull
   private static final QName FIELD1 = new QName(NS, "field1");
   @NonNull
   private static final QName FIELD2 = new QName(NS, "field2");
@@ -256,6 +259,65 @@ class BuildCstVisitorTest {
             where(IFieldNodeItem::getQName, equalTo(FIELD2))))); // NOPMD
   }
 
+  @Test
+  void testSetOperationsInDocumentOrder() {
+    StaticContext staticContext = newStaticContext();
+
+    // select starting node
+    IDocumentNodeItem document = newTestDocument();
+    IRootAssemblyNodeItem root = MetapathExpression.compile("/root", staticContext)
+        .evaluateAs(document, ResultType.NODE, new DynamicContext(staticContext));
+    assert root != null;
+
+    // evaluate
+    ISequence<IDefinitionNodeItem<?, ?>> union = MetapathExpression.compile(
+        "field2/@flag | field2 | field1 | @uuid | field2",
+        staticContext).evaluate(root);
+    ISequence<IDefinitionNodeItem<?, ?>> intersect = MetapathExpression.compile(
+        "(field2, field1) intersect (field1, field2)",
+        staticContext).evaluate(root);
+    ISequence<IDefinitionNodeItem<?, ?>> except = MetapathExpression.compile(
+        "(field2, field1, @uuid) except field1",
+        staticContext).evaluate(root);
+
+    assertAll(
+        () -> assertThat(union.getValue(), contains(
+            where(IDefinitionNodeItem::getQName, equalTo(UUID)),
+            where(IDefinitionNodeItem::getQName, equalTo(FIELD1)),
+            where(IDefinitionNodeItem::getQName, equalTo(FIELD2)),
+            where(IDefinitionNodeItem::getQName, equalTo(FLAG)))),
+        () -> assertThat(intersect.getValue(), contains(
+            where(IDefinitionNodeItem::getQName, equalTo(FIELD1)),
+            where(IDefinitionNodeItem::getQName, equalTo(FIELD2)))),
+        () -> assertThat(except.getValue(), contains(
+            where(IDefinitionNodeItem::getQName, equalTo(UUID)),
+            where(IDefinitionNodeItem::getQName, equalTo(FIELD2)))));
+  }
+
+  @Test
+  void testDescendantSearchInDocumentOrder() {
+    MockNodeItemFactory factory = new MockNodeItemFactory(context);
+
+    IDocumentNodeItem document = factory.document(URI.create("http://example.com/content"), ROOT,
+        List.of(),
+        List.of(
+            factory.assembly(ASSEMBLY,
+                List.of(),
+                List.of(factory.field(FIELD1, IStringItem.valueOf("field1")))),
+            factory.field(FIELD2, IStringItem.valueOf("field2"))));
+
+    // evaluate
+    ISequence<IDefinitionNodeItem<?, ?>> result = MetapathExpression.compile("//*", newStaticContext())
+        .evaluate(document);
+
+    // the field nested in the assembly precedes the assembly's following sibling
+    assertThat(result.getValue(), contains(
+        where(IDefinitionNodeItem::getQName, equalTo(ROOT)),
+        where(IDefinitionNodeItem::getQName, equalTo(ASSEMBLY)),
+        where(IDefinitionNodeItem::getQName, equalTo(FIELD1)),
+        where(IDefinitionNodeItem::getQName, equalTo(FIELD2))));
+  }
+
   static Stream<Arguments> testComparison() {
     return Stream.of(
         Arguments.of("A = B", GeneralComparison.class, ComparisonFunctions.Operator.EQ),
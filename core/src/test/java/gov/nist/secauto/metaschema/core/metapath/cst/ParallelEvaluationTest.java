@@ -0,0 +1,76 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.core.metapath.cst;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import gov.nist.secauto.metaschema.core.metapath.DynamicContext;
+import gov.nist.secauto.metaschema.core.metapath.ExpressionTestBase;
+import gov.nist.secauto.metaschema.core.metapath.ISequence;
+import gov.nist.secauto.metaschema.core.metapath.MetapathEvaluationFeature;
+import gov.nist.secauto.metaschema.core.metapath.MetapathException;
+import gov.nist.secauto.metaschema.core.metapath.MetapathExpression;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+class ParallelEvaluationTest
+    extends ExpressionTestBase {
+
+  @ParameterizedTest
+  @ValueSource(strings = {
+      "for $x in (1 to 2000) return ($x, $x * 2)",
+      "sum(for $x in (1 to 2000) return $x)",
+      "(1 to 2000) ! (. + position())",
+      "(1 to 2000) ! last()",
+      "some $x in (1 to 2000), $y in (1, 2) satisfies $x * $y = 3000",
+      "some $x in (1 to 2000) satisfies $x < 0",
+      "every $x in (1 to 2000) satisfies $x > 0",
+      "every $x in (1 to 2000), $y in (1, 2) satisfies $x * $y < 3000"
+  })
+  void testSameResultInParallel(@NonNull String metapath) {
+    MetapathExpression expression = MetapathExpression.compile(metapath);
+
+    ISequence<?> expected = expression.evaluate(null, newDynamicContext());
+
+    DynamicContext parallelContext = newDynamicContext()
+        .set(MetapathEvaluationFeature.METAPATH_EVALUATE_IN_PARALLEL, true)
+        .set(MetapathEvaluationFeature.METAPATH_PARALLEL_THRESHOLD, 2);
+    ISequence<?> actual = expression.evaluate(null, parallelContext);
+
+    assertEquals(expected, actual);
+  }
+
+  @Test
+  void testParallelOperationsUseDedicatedPool() {
+    Set<String> threads = ParallelEvaluation.evaluate(IntStream.range(0, 1000).parallel(),
+        indexes -> indexes
+            .mapToObj(index -> Thread.currentThread().getName())
+            .collect(Collectors.toSet()));
+
+    MetapathException failure = new MetapathException("failure");
+    assertAll(
+        () -> assertTrue(threads.stream().allMatch(name -> name.startsWith("metapath-evaluation-")),
+            threads.toString()),
+        // exceptions are not wrapped
+        () -> assertSame(failure, assertThrows(MetapathException.class,
+            () -> ParallelEvaluation.evaluate(IntStream.range(0, 1000).parallel(),
+                indexes -> indexes.map(index -> {
+                  throw failure;
+                }).sum()))));
+  }
+}
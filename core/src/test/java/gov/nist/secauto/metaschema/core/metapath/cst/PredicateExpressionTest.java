@@ -5,17 +5,22 @@
 
 package gov.nist.secauto.metaschema.core.metapath.cst;
 
+import static gov.nist.secauto.metaschema.core.metapath.TestUtils.integer;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import gov.nist.secauto.metaschema.core.metapath.DynamicContext;
 import gov.nist.secauto.metaschema.core.metapath.ExpressionTestBase;
 import gov.nist.secauto.metaschema.core.metapath.ISequence;
+import gov.nist.secauto.metaschema.core.metapath.MetapathExpression;
 import gov.nist.secauto.metaschema.core.metapath.item.node.IAssemblyNodeItem;
 import gov.nist.secauto.metaschema.core.util.CollectionUtil;
 
 import org.jmock.Expectations;
 import org.jmock.Mockery;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
 
 import java.util.List;
 import java.util.stream.Stream;
@@ -106,4 +111,42 @@ class PredicateExpressionTest
     ISequence<?> result = expr.accept(dynamicContext, ISequence.of(item));
     assertEquals(ISequence.of(item), result, "Sequence does not match");
   }
+
+  private static Stream<Arguments> providePositionalValues() { // NOPMD - false positive
+    return Stream.of(
+        Arguments.of(
+            ISequence.of(integer(20)),
+            "(10, 20, 30)[2]"),
+        Arguments.of(
+            ISequence.of(integer(30)),
+            "(10, 20, 30)[last()]"),
+        Arguments.of(
+            ISequence.of(integer(10), integer(20)),
+            "(10, 20, 30, 40, 50, 60)[position() < 3]"),
+        Arguments.of(
+            ISequence.of(integer(20)),
+            "(10, 20, 30)[position() = last() - 1]"),
+        Arguments.of(
+            ISequence.of(integer(3)),
+            "(5, 4, 3, 2, 1)[. > 2][last()]"),
+        Arguments.of(
+            ISequence.of(integer(4)),
+            "(5, 4, 3, 2, 1)[. > 2][2]"),
+        Arguments.of(
+            ISequence.of(integer(2), integer(4)),
+            "(1 to 5)[(2, 4)[last()] > 0][. mod 2 = 0]"),
+        Arguments.of(
+            ISequence.of(integer(1), integer(2), integer(3)),
+            "(10, 20, 30) ! position()"),
+        Arguments.of(
+            ISequence.of(integer(3), integer(3), integer(3)),
+            "(10, 20, 30) ! last()"));
+  }
+
+  @ParameterizedTest
+  @MethodSource("providePositionalValues")
+  void testPositionalPredicate(@NonNull ISequence<?> expected, @NonNull String metapath) {
+    assertEquals(expected, MetapathExpression.compile(metapath).evaluateAs(null, MetapathExpression.ResultType.SEQUENCE,
+        newDynamicContext()));
+  }
 }
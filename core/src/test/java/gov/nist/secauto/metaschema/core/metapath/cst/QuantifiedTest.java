@@ -28,7 +28,13 @@ class QuantifiedTest
             MetapathExpression.compile("some $x in (1, 2, 3), $y in (2, 3, 4) satisfies $x + $y = 4")),
         Arguments.of(
             false,
-            MetapathExpression.compile("every $x in (1, 2, 3), $y in (2, 3, 4) satisfies $x + $y = 4")));
+            MetapathExpression.compile("every $x in (1, 2, 3), $y in (2, 3, 4) satisfies $x + $y = 4")),
+        Arguments.of(
+            false,
+            MetapathExpression.compile("some $x in () satisfies true()")),
+        Arguments.of(
+            true,
+            MetapathExpression.compile("every $x in () satisfies false()")));
   }
 
   @ParameterizedTest
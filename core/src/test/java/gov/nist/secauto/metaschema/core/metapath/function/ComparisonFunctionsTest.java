@@ -0,0 +1,68 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.core.metapath.function;
+
+import static gov.nist.secauto.metaschema.core.metapath.TestUtils.bool;
+import static gov.nist.secauto.metaschema.core.metapath.TestUtils.decimal;
+import static gov.nist.secauto.metaschema.core.metapath.TestUtils.integer;
+import static gov.nist.secauto.metaschema.core.metapath.TestUtils.sequence;
+import static gov.nist.secauto.metaschema.core.metapath.TestUtils.string;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import gov.nist.secauto.metaschema.core.metapath.ISequence;
+import gov.nist.secauto.metaschema.core.metapath.function.ComparisonFunctions.Operator;
+import gov.nist.secauto.metaschema.core.metapath.item.atomic.IAnyAtomicItem;
+import gov.nist.secauto.metaschema.core.metapath.item.atomic.IBooleanItem;
+import gov.nist.secauto.metaschema.core.metapath.item.atomic.IStringItem;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+class ComparisonFunctionsTest {
+  @NonNull
+  private static ISequence<IStringItem> strings(int start, int end) {
+    return ISequence.of(IntStream.range(start, end)
+        .mapToObj(index -> string("item-" + index)));
+  }
+
+  private static Stream<Arguments> provideValuesGeneralComparison() {
+    return Stream.of(
+        // hash join of large sequences
+        Arguments.of(bool(true), strings(0, 20), Operator.EQ, strings(19, 40)),
+        Arguments.of(bool(false), strings(0, 20), Operator.EQ, strings(20, 40)),
+        // small sequences
+        Arguments.of(bool(true), sequence(string("a"), string("b")), Operator.EQ, sequence(string("b"))),
+        Arguments.of(bool(false), sequence(string("a")), Operator.EQ, sequence()),
+        Arguments.of(bool(false), sequence(string("a"), string("a")), Operator.NE, sequence(string("a"))),
+        Arguments.of(bool(true), sequence(string("a"), string("a")), Operator.NE, sequence(string("a"), string("b"))),
+        // ordered comparisons use the minimum and maximum values
+        Arguments.of(bool(true), sequence(string("c"), string("a")), Operator.LT, sequence(string("b"))),
+        Arguments.of(bool(false), sequence(string("c"), string("b")), Operator.LT, sequence(string("b"))),
+        Arguments.of(bool(true), sequence(string("c"), string("b")), Operator.LE, sequence(string("b"))),
+        Arguments.of(bool(true), sequence(integer(1), integer(5)), Operator.GT, sequence(integer(4), integer(9))),
+        Arguments.of(bool(false), sequence(integer(1), integer(4)), Operator.GT, sequence(integer(4), integer(9))),
+        Arguments.of(bool(true), sequence(integer(1), integer(4)), Operator.GE, sequence(integer(4), integer(9))),
+        // mixed numeric types are compared pairwise
+        Arguments.of(bool(true), sequence(integer(1), integer(2)), Operator.EQ, sequence(decimal(2))),
+        Arguments.of(bool(false), sequence(integer(1), integer(2)), Operator.GT, sequence(decimal(2))));
+  }
+
+  @ParameterizedTest
+  @MethodSource("provideValuesGeneralComparison")
+  void testGeneralComparison(
+      @NonNull IBooleanItem expected,
+      @NonNull ISequence<? extends IAnyAtomicItem> left,
+      @NonNull Operator operator,
+      @NonNull ISequence<? extends IAnyAtomicItem> right) {
+    assertEquals(expected, ComparisonFunctions.generalCompairison(left, operator, right));
+  }
+}
@@ -0,0 +1,51 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.core.metapath.function.library;
+
+import static gov.nist.secauto.metaschema.core.metapath.TestUtils.decimal;
+import static gov.nist.secauto.metaschema.core.metapath.TestUtils.integer;
+import static gov.nist.secauto.metaschema.core.metapath.TestUtils.string;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import gov.nist.secauto.metaschema.core.metapath.ISequence;
+import gov.nist.secauto.metaschema.core.metapath.MetapathExpression;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.stream.Stream;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+class FnDistinctValuesTest
+    extends FunctionTestBase {
+  private static Stream<Arguments> provideValues() { // NOPMD - false positive
+    return Stream.of(
+        Arguments.of(
+            ISequence.of(integer(1), decimal("2.0"), integer(3)),
+            "distinct-values((1, 2.0, 3, 2))"),
+        Arguments.of(
+            ISequence.of(integer(1), decimal("1.5")),
+            "distinct-values((1, 1.0, 1.00, 1.5))"),
+        Arguments.of(
+            ISequence.of(string("a"), string("b")),
+            "distinct-values(('a', 'b', 'a', 'b'))"),
+        Arguments.of(
+            ISequence.of(string("a"), string("1"), integer(1)),
+            "distinct-values(('a', '1', 1, 'a', '1'))"),
+        Arguments.of(
+            ISequence.empty(),
+            "distinct-values(())"));
+  }
+
+  @ParameterizedTest
+  @MethodSource("provideValues")
+  void test(@NonNull ISequence<?> expected, @NonNull String metapath) {
+    assertEquals(expected, MetapathExpression.compile(metapath).evaluateAs(null, MetapathExpression.ResultType.SEQUENCE,
+        newDynamicContext()));
+  }
+}
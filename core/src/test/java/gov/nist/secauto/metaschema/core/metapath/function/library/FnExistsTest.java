@@ -7,11 +7,13 @@ package gov.nist.secauto.metaschema.core.metapath.function.library;
 
 import static gov.nist.secauto.metaschema.core.metapath.TestUtils.bool;
 import static gov.nist.secauto.metaschema.core.metapath.TestUtils.integer;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import gov.nist.secauto.metaschema.core.metapath.ISequence;
 import gov.nist.secauto.metaschema.core.metapath.item.IItem;
 import gov.nist.secauto.metaschema.core.metapath.item.atomic.IBooleanItem;
 
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -38,4 +40,11 @@ class FnExistsTest
         ISequence.of(expected),
         List.of(ISequence.of(values)));
   }
+
+  @Test
+  void testLazySequence() {
+    // an unbounded sequence, which would never complete if fully evaluated
+    ISequence<?> sequence = ISequence.of(Stream.generate(() -> integer(1)));
+    assertEquals(bool(true), FnExists.fnExists(sequence));
+  }
 }
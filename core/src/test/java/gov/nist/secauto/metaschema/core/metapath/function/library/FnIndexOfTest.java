@@ -0,0 +1,56 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.core.metapath.function.library;
+
+import static gov.nist.secauto.metaschema.core.metapath.TestUtils.integer;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import gov.nist.secauto.metaschema.core.metapath.ISequence;
+import gov.nist.secauto.metaschema.core.metapath.MetapathExpression;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.stream.Stream;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/*
+ * The expression fn:index-of((10, 20, 30, 40), 35) returns ().
+ * The expression fn:index-of((10, 20, 30, 30, 20, 10), 20) returns (2, 5).
+ * The expression fn:index-of(("a", "sport", "and", "a", "pastime"), "a") returns (1, 4).
+ *
+ * Source: https://www.w3.org/TR/xpath-functions-31/#func-index-of
+ */
+class FnIndexOfTest
+    extends FunctionTestBase {
+  private static Stream<Arguments> provideValues() { // NOPMD - false positive
+    return Stream.of(
+        Arguments.of(
+            ISequence.empty(),
+            "index-of((10, 20, 30, 40), 35)"),
+        Arguments.of(
+            ISequence.of(integer(2), integer(5)),
+            "index-of((10, 20, 30, 30, 20, 10), 20)"),
+        Arguments.of(
+            ISequence.of(integer(1), integer(4)),
+            "index-of(('a', 'sport', 'and', 'a', 'pastime'), 'a')"),
+        Arguments.of(
+            ISequence.of(integer(2)),
+            "index-of((1.5, 2.00, 3), 2)"),
+        Arguments.of(
+            ISequence.empty(),
+            "index-of(('1', '2'), 1)"));
+  }
+
+  @ParameterizedTest
+  @MethodSource("provideValues")
+  void test(@NonNull ISequence<?> expected, @NonNull String metapath) {
+    assertEquals(expected, MetapathExpression.compile(metapath).evaluateAs(null, MetapathExpression.ResultType.SEQUENCE,
+        newDynamicContext()));
+  }
+}
@@ -0,0 +1,82 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.core.metapath.function.library;
+
+import static gov.nist.secauto.metaschema.core.metapath.TestUtils.bool;
+import static gov.nist.secauto.metaschema.core.metapath.TestUtils.string;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import gov.nist.secauto.metaschema.core.metapath.ISequence;
+import gov.nist.secauto.metaschema.core.metapath.function.RegularExpressionFunctionException;
+import gov.nist.secauto.metaschema.core.metapath.item.atomic.IBooleanItem;
+import gov.nist.secauto.metaschema.core.metapath.item.atomic.IStringItem;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+class FnMatchesTest
+    extends FunctionTestBase {
+  private static final String POEM = "Kaum hat dies der Hahn gesehen,\n"
+      + "Fängt er auch schon an zu krähen:\n"
+      + "Kikeriki! Kikikerikih!!\n"
+      + "Tak, tak, tak! - da kommen sie.";
+
+  static Stream<Arguments> provideValues() {
+    return Stream.of(
+        Arguments.of(bool(true), string("abracadabra"), "bra", ""),
+        Arguments.of(bool(true), string("abracadabra"), "^a.*a$", ""),
+        Arguments.of(bool(false), string("abracadabra"), "^bra", ""),
+        Arguments.of(bool(false), null, "bra", ""),
+        Arguments.of(bool(true), null, "^$", ""),
+        Arguments.of(bool(false), string(POEM), "Kaum.*krähen", ""),
+        Arguments.of(bool(true), string(POEM), "Kaum.*krähen", "s"),
+        Arguments.of(bool(true), string(POEM), "^Kaum.*gesehen,$", "m"),
+        Arguments.of(bool(false), string(POEM), "^Kaum.*gesehen,$", ""),
+        Arguments.of(bool(true), string(POEM), "kiki", "i"),
+        Arguments.of(bool(true), string("abcd"), "a b c d", "x"),
+        Arguments.of(bool(false), string("abcd"), "[ ]", "x"),
+        Arguments.of(bool(true), string("a.c"), ".", "q"),
+        Arguments.of(bool(false), string("abc"), ".", "q"));
+  }
+
+  @ParameterizedTest
+  @MethodSource("provideValues")
+  void test(
+      @NonNull IBooleanItem expected,
+      @Nullable IStringItem input,
+      @NonNull String pattern,
+      @NonNull String flags) {
+    assertFunctionResult(
+        FnMatches.SIGNATURE_THREE_ARG,
+        ISequence.of(expected),
+        List.of(ISequence.of(input), ISequence.of(string(pattern)), ISequence.of(string(flags))));
+  }
+
+  @Test
+  void testInvalidFlags() {
+    RegularExpressionFunctionException ex = assertThrows(
+        RegularExpressionFunctionException.class,
+        () -> FnMatches.fnMatches(string("abc"), "b", "g"));
+    assertEquals(RegularExpressionFunctionException.INVALID_FLAGS, ex.getCode());
+  }
+
+  @Test
+  void testInvalidExpression() {
+    RegularExpressionFunctionException ex = assertThrows(
+        RegularExpressionFunctionException.class,
+        () -> FnMatches.fnMatches(string("abc"), "(b", ""));
+    assertEquals(RegularExpressionFunctionException.INVALID_EXPRESSION, ex.getCode());
+  }
+}
@@ -0,0 +1,80 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.core.metapath.function.library;
+
+import static gov.nist.secauto.metaschema.core.metapath.TestUtils.string;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import gov.nist.secauto.metaschema.core.metapath.ISequence;
+import gov.nist.secauto.metaschema.core.metapath.function.RegularExpressionFunctionException;
+import gov.nist.secauto.metaschema.core.metapath.item.atomic.IStringItem;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+class FnReplaceTest
+    extends FunctionTestBase {
+  static Stream<Arguments> provideValues() {
+    return Stream.of(
+        Arguments.of("a*cada*", string("abracadabra"), "bra", "*", ""),
+        Arguments.of("*", string("abracadabra"), "a.*a", "*", ""),
+        Arguments.of("*c*bra", string("abracadabra"), "a.*?a", "*", ""),
+        Arguments.of("brcdbr", string("abracadabra"), "a", "", ""),
+        Arguments.of("abbraccaddabbra", string("abracadabra"), "a(.)", "a$1$1", ""),
+        Arguments.of("b", string("AAAA"), "A+", "b", ""),
+        Arguments.of("bbbb", string("AAAA"), "A+?", "b", ""),
+        Arguments.of("carted", string("darted"), "^(.*?)d(.*)$", "$1c$2", ""),
+        // a reference to a group that does not exist is replaced by nothing
+        Arguments.of("xy", string("abc"), "(a)bc", "x$2y", ""),
+        Arguments.of("a1", string("abc"), "(a)bc", "$11", ""),
+        Arguments.of("$1-\\", string("abc"), "(a)bc", "\\$1-\\\\", ""),
+        Arguments.of("$1c", string("abc"), "ab", "$1", "q"),
+        Arguments.of("", null, "a", "b", ""));
+  }
+
+  @ParameterizedTest
+  @MethodSource("provideValues")
+  void test(
+      @NonNull String expected,
+      @Nullable IStringItem input,
+      @NonNull String pattern,
+      @NonNull String replacement,
+      @NonNull String flags) {
+    assertFunctionResult(
+        FnReplace.SIGNATURE_FOUR_ARG,
+        ISequence.of(string(expected)),
+        List.of(
+            ISequence.of(input),
+            ISequence.of(string(pattern)),
+            ISequence.of(string(replacement)),
+            ISequence.of(string(flags))));
+  }
+
+  @Test
+  void testMatchesZeroLengthString() {
+    RegularExpressionFunctionException ex = assertThrows(
+        RegularExpressionFunctionException.class,
+        () -> FnReplace.fnReplace(string("abracadabra"), ".*?", "$1", ""));
+    assertEquals(RegularExpressionFunctionException.MATCHES_ZERO_LENGTH_STRING, ex.getCode());
+  }
+
+  @Test
+  void testInvalidReplacement() {
+    RegularExpressionFunctionException ex = assertThrows(
+        RegularExpressionFunctionException.class,
+        () -> FnReplace.fnReplace(string("abc"), "b", "$x", ""));
+    assertEquals(RegularExpressionFunctionException.INVALID_REPLACEMENT_STRING, ex.getCode());
+  }
+}
@@ -0,0 +1,76 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.core.metapath.function.library;
+
+import static gov.nist.secauto.metaschema.core.metapath.TestUtils.string;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import gov.nist.secauto.metaschema.core.metapath.ISequence;
+import gov.nist.secauto.metaschema.core.metapath.function.RegularExpressionFunctionException;
+import gov.nist.secauto.metaschema.core.metapath.item.atomic.IStringItem;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+class FnTokenizeTest
+    extends FunctionTestBase {
+  @NonNull
+  private static ISequence<IStringItem> strings(@NonNull String... values) {
+    return ISequence.of(Stream.of(values).map(value -> string(value)));
+  }
+
+  static Stream<Arguments> provideValues() {
+    return Stream.of(
+        Arguments.of(strings("The", "cat", "sat", "on", "the", "mat"),
+            string("The cat sat on the mat"), "\\s+", ""),
+        Arguments.of(strings("", "red", "green", "blue", ""), string(" red green blue "), "\\s+", ""),
+        Arguments.of(strings("1", "15", "24", "50"), string("1, 15, 24, 50"), ",\\s*", ""),
+        Arguments.of(strings("1", "", "", "5", ""), string("1,,,5,"), ",", ""),
+        Arguments.of(strings("Some unparsed", "HTML", "text"),
+            string("Some unparsed <br> HTML <BR> text"), "\\s*<br>\\s*", "i"),
+        Arguments.of(strings(), string(""), ",", ""),
+        Arguments.of(strings(), null, ",", ""));
+  }
+
+  @ParameterizedTest
+  @MethodSource("provideValues")
+  void test(
+      @NonNull ISequence<IStringItem> expected,
+      @Nullable IStringItem input,
+      @NonNull String pattern,
+      @NonNull String flags) {
+    assertFunctionResult(
+        FnTokenize.SIGNATURE_THREE_ARG,
+        expected,
+        List.of(ISequence.of(input), ISequence.of(string(pattern)), ISequence.of(string(flags))));
+  }
+
+  @Test
+  void testWhitespace() {
+    List<String> result = FnTokenize.fnTokenize(string("  red\tgreen \n blue  ")).stream()
+        .map(IStringItem::asString)
+        .collect(Collectors.toList());
+    assertEquals(List.of("red", "green", "blue"), result);
+  }
+
+  @Test
+  void testMatchesZeroLengthString() {
+    RegularExpressionFunctionException ex = assertThrows(
+        RegularExpressionFunctionException.class,
+        () -> FnTokenize.fnTokenize(string("abba"), ".?", ""));
+    assertEquals(RegularExpressionFunctionException.MATCHES_ZERO_LENGTH_STRING, ex.getCode());
+  }
+}
@@ -0,0 +1,177 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.core.metapath.function.library;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import gov.nist.secauto.metaschema.core.metapath.DynamicContext;
+import gov.nist.secauto.metaschema.core.metapath.ISequence;
+import gov.nist.secauto.metaschema.core.metapath.MetapathException;
+import gov.nist.secauto.metaschema.core.metapath.MetapathExpression;
+import gov.nist.secauto.metaschema.core.metapath.MetapathExpression.ResultType;
+import gov.nist.secauto.metaschema.core.metapath.StaticContext;
+import gov.nist.secauto.metaschema.core.metapath.item.atomic.IStringItem;
+import gov.nist.secauto.metaschema.core.metapath.item.node.IDocumentNodeItem;
+import gov.nist.secauto.metaschema.core.metapath.item.node.IFieldNodeItem;
+import gov.nist.secauto.metaschema.core.metapath.item.node.INodeItem;
+import gov.nist.secauto.metaschema.core.metapath.item.node.IRootAssemblyNodeItem;
+import gov.nist.secauto.metaschema.core.metapath.item.node.MockNodeItemFactory;
+import gov.nist.secauto.metaschema.core.model.constraint.IIndex;
+import gov.nist.secauto.metaschema.core.model.constraint.IKeyField;
+import gov.nist.secauto.metaschema.core.model.constraint.ISource;
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
+
+import org.jmock.Mockery;
+import org.jmock.junit5.JUnit5Mockery;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.net.URI;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.xml.namespace.QName;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+class MpKeyTest {
+  @NonNull
+  private static final URI NS_URI = ObjectUtils.notNull(URI.create("http://example.com/ns"));
+  @NonNull
+  private static final String NS = ObjectUtils.notNull(NS_URI.toASCIIString());
+  @NonNull
+  private static final QName ROOT = new QName(NS, "root");
+  @NonNull
+  private static final QName ITEM = new QName(NS, "item");
+  @NonNull
+  private static final QName ID = new QName("id");
+  @NonNull
+  private static final QName GROUP = new QName("group");
+
+  @RegisterExtension
+  Mockery context = new JUnit5Mockery();
+
+  @NonNull
+  private IRootAssemblyNodeItem newTestRoot(@NonNull StaticContext staticContext) {
+    MockNodeItemFactory factory = new MockNodeItemFactory(context);
+
+    IDocumentNodeItem document = factory.document(URI.create("http://example.com/content"), ROOT,
+        List.of(),
+        List.of(
+            item(factory, "a", "x"),
+            item(factory, "b", "y"),
+            item(factory, "c", "x")));
+
+    return ObjectUtils.requireNonNull(MetapathExpression.compile("/root", staticContext)
+        .evaluateAs(document, ResultType.NODE, new DynamicContext(staticContext)));
+  }
+
+  @NonNull
+  private static IFieldNodeItem item(@NonNull MockNodeItemFactory factory, @NonNull String id, @NonNull String group) {
+    return factory.field(ITEM, IStringItem.valueOf(id), List.of(
+        factory.flag(ID, IStringItem.valueOf(id)),
+        factory.flag(GROUP, IStringItem.valueOf(group))));
+  }
+
+  @NonNull
+  private static StaticContext newStaticContext() {
+    return StaticContext.builder()
+        .defaultModelNamespace(NS_URI)
+        .build();
+  }
+
+  @NonNull
+  private static List<String> ids(@NonNull ISequence<INodeItem> nodes) {
+    return nodes.stream()
+        .map(node -> ObjectUtils.requireNonNull(FnData.fnDataItem(node)).asString())
+        .collect(Collectors.toList());
+  }
+
+  @Test
+  void testAdHocKey() {
+    StaticContext staticContext = newStaticContext();
+    IRootAssemblyNodeItem root = newTestRoot(staticContext);
+    DynamicContext dynamicContext = new DynamicContext(staticContext);
+
+    assertAll(
+        () -> assertEquals(List.of("b"), ids(MetapathExpression.compile("mp:key('//item', '@id', 'b')", staticContext)
+            .evaluate(root, dynamicContext))),
+        () -> assertEquals(List.of("a", "c"), ids(MetapathExpression.compile(
+            "mp:key('//item', '@group', 'x')", staticContext)
+            .evaluate(root, dynamicContext))),
+        () -> assertEquals(List.of("a", "b", "c"), ids(MetapathExpression.compile(
+            "mp:key('//item', '@group', ('y', 'x'))", staticContext)
+            .evaluate(root, dynamicContext))),
+        () -> assertEquals(List.of(), ids(MetapathExpression.compile("mp:key('//item', '@id', 'd')", staticContext)
+            .evaluate(root, dynamicContext))));
+  }
+
+  @Test
+  void testAtomicKey() {
+    StaticContext staticContext = newStaticContext();
+    IRootAssemblyNodeItem root = newTestRoot(staticContext);
+    DynamicContext dynamicContext = new DynamicContext(staticContext);
+
+    assertAll(
+        // keys are compared using their string value, regardless of type
+        () -> assertEquals(List.of("a", "b", "c"), ids(MetapathExpression.compile(
+            "mp:key('//item', 'string-length(@id)', 1)", staticContext)
+            .evaluate(root, dynamicContext))),
+        // node keys are atomized
+        () -> assertEquals(List.of("a", "c"), ids(MetapathExpression.compile(
+            "mp:key('//item', '@group', item[@id='a']/@group)", staticContext)
+            .evaluate(root, dynamicContext))));
+  }
+
+  @Test
+  void testIndexScope() {
+    StaticContext staticContext = newStaticContext();
+    IRootAssemblyNodeItem root = newTestRoot(staticContext);
+    DynamicContext dynamicContext = new DynamicContext(staticContext);
+    DynamicContext scope = dynamicContext.indexScope();
+
+    IIndex index = IIndex.newInstance(List.of(
+        IKeyField.of("@id", null, null, ISource.externalSource(StaticContext.instance()))));
+    scope.registerIndex("items", index);
+
+    // ad hoc indexes are identified by the document, target path, and key path
+    List<?> indexId = List.of(ObjectUtils.requireNonNull(root.getParentNodeItem()), "//item", "@id");
+
+    assertAll(
+        () -> assertEquals(List.of("b"), ids(MetapathExpression.compile("mp:key('//item', '@id', 'b')", staticContext)
+            .evaluate(root, scope.subContext()))),
+        // the indexes of the scope are visible to its sub-contexts only
+        () -> assertEquals(index, scope.subContext().getIndex("items")),
+        () -> assertNull(dynamicContext.getIndex("items")),
+        () -> assertNotNull(scope.getCachedKeyIndex(indexId)),
+        () -> assertNull(dynamicContext.getCachedKeyIndex(indexId)));
+  }
+
+  @Test
+  void testNamedKey() {
+    StaticContext staticContext = newStaticContext();
+    IRootAssemblyNodeItem root = newTestRoot(staticContext);
+    DynamicContext dynamicContext = new DynamicContext(staticContext);
+
+    IIndex index = IIndex.newInstance(List.of(
+        IKeyField.of("@id", null, null, ISource.externalSource(StaticContext.instance()))));
+    MetapathExpression.compile("item", staticContext).evaluate(root, dynamicContext).stream()
+        .forEachOrdered(item -> index.put((INodeItem) ObjectUtils.requireNonNull(item), dynamicContext));
+    dynamicContext.registerIndex("items", index);
+
+    assertAll(
+        () -> assertEquals(List.of("b"), ids(MetapathExpression.compile("mp:key('items', 'b')", staticContext)
+            .evaluate(root, dynamicContext))),
+        () -> assertEquals(List.of(), ids(MetapathExpression.compile("mp:key('items', 'd')", staticContext)
+            .evaluate(root, dynamicContext))),
+        () -> assertThrows(MetapathException.class, () -> MetapathExpression.compile(
+            "mp:key('missing', 'b')", staticContext).evaluate(root, dynamicContext)));
+  }
+}
@@ -6,6 +6,7 @@ import static org.hamcrest.Matchers.allOf;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.equalTo;
 import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import gov.nist.secauto.metaschema.core.model.IAssemblyDefinition;
 import gov.nist.secauto.metaschema.core.model.IFieldInstance;
@@ -61,7 +62,13 @@ class DefaultNodeItemFactoryTest
     });
 
     IAssemblyNodeItem parentItem = INodeItemFactory.instance().newAssemblyNodeItem(parent);
-    IFieldNodeItem field = new FieldInstanceNodeItemImpl(fieldInstance, parentItem, 2, fieldValue, nodeFactory);
+    IFieldNodeItem field = new FieldInstanceNodeItemImpl(
+        fieldInstance,
+        parentItem,
+        parentItem.getOrdinal().child(0),
+        2,
+        fieldValue,
+        nodeFactory);
 
     Collection<? extends IFlagNodeItem> flagItems = field.getFlags();
     assertThat(flagItems, containsInAnyOrder(
@@ -113,6 +120,99 @@ class DefaultNodeItemFactoryTest
                 match("value", model -> model.getValue(), equalTo("field1 value"))))));
   }
 
+  @Test
+  void testLightweightModelItemsAreRegeneratedEqual() {
+    IAssemblyDefinition assembly = assembly()
+        .namespace(NS_URI)
+        .name("assembly1")
+        .flags(List.of(
+            flag().namespace(NS_URI).name("flag1")))
+        .modelInstances(List.of(
+            field().namespace(NS_URI).name("field1")))
+        .toDefinition();
+
+    Object assemblyValue = "assembly value";
+    Object flagValue = "flag1 value";
+    Object fieldValue = "field1 value";
+
+    // Setup the value calls
+    getContext().checking(new Expectations() {
+      { // NOPMD - intentional
+        allowing(assembly.getFlagInstanceByName(new QName(NS, "flag1"))).getValue(assemblyValue);
+        will(returnValue(flagValue));
+        allowing(assembly.getNamedModelInstanceByName(new QName(NS, "field1"))).getValue(assemblyValue);
+        will(returnValue(fieldValue));
+        allowing(assembly.getNamedModelInstanceByName(new QName(NS, "field1"))).getItemValues(fieldValue);
+        will(returnValue(List.of(fieldValue)));
+      }
+    });
+
+    IAssemblyNodeItem parentItem
+        = INodeItemFactory.lightweightInstance().newAssemblyNodeItem(assembly, null, assemblyValue);
+
+    LightweightNodeItemFactory nodeFactory = LightweightNodeItemFactory.instance();
+    List<? extends IModelNodeItem<?, ?>> modelItems = parentItem.getModelItemsByName(new QName(NS, "field1"));
+    // generate the children again, as would happen after they are released
+    List<? extends IModelNodeItem<?, ?>> regeneratedItems
+        = nodeFactory.generateModelItems(parentItem).get(new QName(NS, "field1"));
+    IFlagNodeItem flag = parentItem.getFlagByName(new QName(NS, "flag1"));
+    IFlagNodeItem regeneratedFlag = nodeFactory.generateFlags(parentItem).get(new QName(NS, "flag1"));
+
+    assertAll(
+        () -> assertThat(modelItems, containsInAnyOrder(
+            allOf(
+                match("name", model -> model.getQName(), equalTo(new QName(NS, "field1"))),
+                match("value", model -> model.getValue(), equalTo("field1 value"))))),
+        () -> assertEquals(modelItems, regeneratedItems),
+        () -> assertEquals(modelItems.get(0).hashCode(), regeneratedItems.get(0).hashCode()),
+        () -> assertEquals(flag, regeneratedFlag),
+        () -> assertEquals(flag.hashCode(), regeneratedFlag.hashCode()));
+  }
+
+  @Test
+  void testLightweightDocumentOrder() {
+    IAssemblyDefinition assembly = assembly()
+        .namespace(NS_URI)
+        .name("assembly1")
+        .flags(List.of(
+            flag().namespace(NS_URI).name("flag1")))
+        .modelInstances(List.of(
+            field().namespace(NS_URI).name("field1")))
+        .toDefinition();
+
+    Object assemblyValue = "assembly value";
+    Object flagValue = "flag1 value";
+    Object fieldValue = "field1 value";
+
+    // Setup the value calls
+    getContext().checking(new Expectations() {
+      { // NOPMD - intentional
+        allowing(assembly.getFlagInstanceByName(new QName(NS, "flag1"))).getValue(assemblyValue);
+        will(returnValue(flagValue));
+        allowing(assembly.getNamedModelInstanceByName(new QName(NS, "field1"))).getValue(assemblyValue);
+        will(returnValue(fieldValue));
+        allowing(assembly.getNamedModelInstanceByName(new QName(NS, "field1"))).getItemValues(fieldValue);
+        will(returnValue(List.of(fieldValue)));
+      }
+    });
+
+    IAssemblyNodeItem parentItem
+        = INodeItemFactory.lightweightInstance().newAssemblyNodeItem(assembly, null, assemblyValue);
+
+    IFlagNodeItem flag = ObjectUtils.requireNonNull(parentItem.getFlagByName(new QName(NS, "flag1")));
+    IModelNodeItem<?, ?> field = parentItem.getModelItemsByName(new QName(NS, "field1")).get(0);
+    // generate the field again, as would happen after the children are released
+    IModelNodeItem<?, ?> regeneratedField = ObjectUtils.requireNonNull(LightweightNodeItemFactory.instance()
+        .generateModelItems(parentItem).get(new QName(NS, "field1"))).get(0);
+
+    assertAll(
+        () -> assertEquals(parentItem.getOrdinal().child(0), flag.getOrdinal()),
+        () -> assertEquals(parentItem.getOrdinal().child(1), field.getOrdinal()),
+        () -> assertEquals(field.getOrdinal(), regeneratedField.getOrdinal()),
+        () -> assertEquals(List.of(parentItem, flag, field),
+            DocumentOrder.sortDistinct(List.of(regeneratedField, field, flag, parentItem))));
+  }
+
   private static <T, R> FeatureMatcher<T, R> match(
       @NonNull String label,
       @NonNull Function<T, R> lambda,
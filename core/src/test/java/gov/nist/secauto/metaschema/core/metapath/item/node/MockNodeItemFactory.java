@@ -64,8 +64,6 @@ public class MockNodeItemFactory {
 
     getContext().checking(new Expectations() {
       { // NOPMD - intentional
-        allowing(document).modelItems();
-        will(returnValue(Stream.of(root)));
         allowing(document).getDocumentUri();
         will(returnValue(documentURI));
         allowing(document).getNodeItem();
@@ -74,6 +72,8 @@ public class MockNodeItemFactory {
         will(returnValue(null));
         allowing(document).ancestorOrSelf();
         will(returnValue(Stream.of(document)));
+        allowing(document).getOrdinal();
+        will(returnValue(NodeOrdinal.newRoot()));
 
         allowing(root).getQName();
         will(returnValue(rootName));
@@ -99,6 +99,20 @@ public class MockNodeItemFactory {
       { // NOPMD - intentional
         allowing(item).getFlags();
         will(returnValue(flags));
+        allowing(item).flags();
+        will(new Action() {
+
+          @Override
+          public void describeTo(Description description) {
+            description.appendText("returns stream");
+          }
+
+          @Override
+          public Object invoke(Invocation invocation) {
+            return flags.stream();
+          }
+        });
+        AtomicInteger childIndex = new AtomicInteger();
         flags.forEach(flag -> {
           // handle each flag child
           allowing(item).getFlagByName(with(equal(flag.getQName())));
@@ -106,6 +120,9 @@ public class MockNodeItemFactory {
           // link parent
           allowing(flag).getParentNodeItem();
           will(returnValue(item));
+          // establish document order
+          allowing(flag).getOrdinal();
+          will(childOrdinal(item, childIndex.getAndIncrement()));
         });
 
         Map<QName, List<IModelNodeItem<?, ?>>> modelItemsMap = toModelItemsMap(modelItems);
@@ -125,6 +142,10 @@ public class MockNodeItemFactory {
             // establish position
             allowing(modelItem).getPosition();
             will(returnValue(position.getAndIncrement()));
+
+            // establish document order
+            allowing(modelItem).getOrdinal();
+            will(childOrdinal(item, childIndex.getAndIncrement()));
           });
         });
 
@@ -146,6 +167,28 @@ public class MockNodeItemFactory {
     });
   }
 
+  /**
+   * Get an action that returns the ordinal of a child of the provided parent.
+   * <p>
+   * The ordinal is computed when requested, since the parent's ordinal is not
+   * established until the parent is added to a document.
+   */
+  @NonNull
+  private static Action childOrdinal(@NonNull INodeItem parent, int index) {
+    return new Action() {
+
+      @Override
+      public void describeTo(Description description) {
+        description.appendText("returns child ordinal");
+      }
+
+      @Override
+      public Object invoke(Invocation invocation) {
+        return parent.getOrdinal().child(index);
+      }
+    };
+  }
+
   @SuppressWarnings("static-method")
   @NonNull
   private Map<QName, List<IModelNodeItem<?, ?>>>
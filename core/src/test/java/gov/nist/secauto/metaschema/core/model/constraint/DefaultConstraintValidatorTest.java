@@ -11,6 +11,7 @@ import static org.hamcrest.Matchers.hasProperty;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -22,6 +23,7 @@ import gov.nist.secauto.metaschema.core.metapath.item.atomic.IStringItem;
 import gov.nist.secauto.metaschema.core.metapath.item.node.IFlagNodeItem;
 import gov.nist.secauto.metaschema.core.metapath.item.node.MockNodeItemFactory;
 import gov.nist.secauto.metaschema.core.model.IFlagDefinition;
+import gov.nist.secauto.metaschema.core.model.validation.IValidationFinding;
 import gov.nist.secauto.metaschema.core.util.CollectionUtil;
 
 import org.jmock.Expectations;
@@ -34,6 +36,7 @@ import org.junit.jupiter.api.extension.RegisterExtension;
 
 import java.net.URI;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.xml.namespace.QName;
 
@@ -231,6 +234,31 @@ class DefaultConstraintValidatorTest {
         () -> assertThat("finding is for a flag node", handler.getFindings(), hasItem(hasProperty("node", is(flag1)))));
   }
 
+  @SuppressWarnings("null")
+  @Test
+  void testFindingMessageIsDeferred() {
+    MockNodeItemFactory itemFactory = new MockNodeItemFactory(context);
+
+    IFlagNodeItem flag = itemFactory.flag(qname("value"), IStringItem.valueOf("value"));
+    IConstraint constraint = context.mock(IConstraint.class);
+
+    AtomicInteger renderCount = new AtomicInteger();
+    ConstraintValidationFinding finding = ConstraintValidationFinding.builder(constraint, flag)
+        .severity(IConstraint.Level.ERROR)
+        .kind(IValidationFinding.Kind.FAIL)
+        .message(() -> {
+          renderCount.incrementAndGet();
+          return "rendered";
+        })
+        .build();
+
+    assertEquals(0, renderCount.get());
+    assertAll(
+        () -> assertEquals("rendered", finding.getMessage()),
+        () -> assertEquals("rendered", finding.getMessage()),
+        () -> assertEquals(1, renderCount.get()));
+  }
+
   private static class FlagVisitorAction
       extends CustomAction {
     @NonNull
@@ -9,6 +9,7 @@ import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 import gov.nist.secauto.metaschema.core.model.IAssemblyDefinition;
 import gov.nist.secauto.metaschema.core.model.IConstraintLoader;
@@ -26,6 +27,7 @@ import java.io.IOException;
 import java.net.URI;
 import java.nio.file.Paths;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import javax.xml.namespace.QName;
 
@@ -97,4 +99,28 @@ class ModuleLoaderTest {
         () -> assertEquals(1, allowedValues.get(0).getAllowedValues().values().size(),
             "Expecting a single allowed value. Entity reference not parsed."));
   }
+
+  @Test
+  void testSharedImport() throws MetaschemaException, IOException {
+    ModuleLoader loader = new ModuleLoader();
+    IXmlMetaschemaModule module
+        = loader.load(ObjectUtils.notNull(Paths.get("src/test/resources/content/imports/root.xml")));
+
+    List<String> importNames = module.getImportedModules().stream()
+        .map(IXmlMetaschemaModule::getShortName)
+        .collect(Collectors.toList());
+    IXmlMetaschemaModule moduleA = module.getImportedModuleByShortName("import-test-a");
+    IXmlMetaschemaModule moduleB = module.getImportedModuleByShortName("import-test-b");
+    assert moduleA != null;
+    assert moduleB != null;
+
+    assertAll(
+        () -> assertEquals(List.of("import-test-a", "import-test-b"), importNames,
+            "Imports must retain their declared order."),
+        () -> assertSame(
+            moduleA.getImportedModuleByShortName("import-test-common"),
+            moduleB.getImportedModuleByShortName("import-test-common"),
+            "A module imported more than once must be loaded once."),
+        () -> assertEquals(4, loader.getLoadedResources().size()));
+  }
 }
@@ -0,0 +1,140 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.core.profile;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import gov.nist.secauto.metaschema.core.metapath.DynamicContext;
+import gov.nist.secauto.metaschema.core.metapath.ISequence;
+import gov.nist.secauto.metaschema.core.metapath.MetapathEvaluationFeature;
+import gov.nist.secauto.metaschema.core.metapath.MetapathException;
+import gov.nist.secauto.metaschema.core.metapath.MetapathExpression;
+import gov.nist.secauto.metaschema.core.metapath.item.IItem;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import javax.xml.namespace.QName;
+
+class ProfilerTest {
+  @Test
+  void testDisabledByDefault() {
+    DynamicContext dynamicContext = new DynamicContext();
+
+    assertAll(
+        () -> assertSame(IProfiler.disabled(), dynamicContext.getProfiler()),
+        () -> assertFalse(dynamicContext.getProfiler().isEnabled()));
+  }
+
+  @Test
+  void testNestedSpans() throws IOException {
+    Profiler profiler = new Profiler();
+    DynamicContext dynamicContext = new DynamicContext()
+        .set(MetapathEvaluationFeature.METAPATH_PROFILER, profiler);
+    MetapathExpression metapath = MetapathExpression.compile("for $x in (1 to 100)[. mod 2 = 0] return $x");
+
+    for (int i = 0; i < 3; i++) {
+      try (IProfiler.ISpan span = profiler.start(IProfiler.CATEGORY_CONSTRAINT, "test; constraint")) {
+        span.setResultSize(metapath.evaluate(null, dynamicContext).size());
+      }
+    }
+
+    Map<String, Profiler.Statistics> statistics = profiler.getStatistics().stream()
+        .filter(entry -> !IProfiler.CATEGORY_EXPRESSION.equals(entry.getCategory()))
+        .collect(Collectors.toMap(Profiler.Statistics::getCategory, Function.identity()));
+    List<Profiler.Statistics> nodes = profiler.getStatistics().stream()
+        .filter(entry -> IProfiler.CATEGORY_EXPRESSION.equals(entry.getCategory()))
+        .collect(Collectors.toList());
+    Profiler.Statistics constraint = statistics.get(IProfiler.CATEGORY_CONSTRAINT);
+    Profiler.Statistics expression = statistics.get(IProfiler.CATEGORY_METAPATH);
+
+    StringWriter stacks = new StringWriter();
+    profiler.writeCollapsedStacks(stacks);
+
+    StringWriter json = new StringWriter();
+    profiler.writeJson(json);
+
+    assertAll(
+        () -> assertEquals(2, statistics.size()),
+        () -> assertEquals(3, constraint.getInvocationCount()),
+        () -> assertEquals(150, constraint.getResultItemCount()),
+        () -> assertEquals(3, expression.getInvocationCount()),
+        () -> assertEquals(150, expression.getResultItemCount()),
+        () -> assertEquals("for $x in (1 to 100)[. mod 2 = 0] return $x", expression.getLabel()),
+        () -> assertTrue(constraint.getSelfNanos() <= constraint.getTotalNanos()),
+        () -> assertTrue(expression.getTotalNanos() <= constraint.getTotalNanos()),
+        // each node of the expression is recorded within the expression
+        () -> assertFalse(nodes.isEmpty()),
+        () -> assertTrue(nodes.stream()
+            .allMatch(node -> node.getTotalNanos() <= expression.getTotalNanos())),
+        () -> assertTrue(List.of(stacks.toString().split("\n")).stream()
+            .filter(line -> !line.isEmpty())
+            .allMatch(line -> line.startsWith("constraint:test, constraint"))),
+        () -> assertTrue(json.toString().contains("\"self-time-us\"")));
+  }
+
+  @Test
+  void testDeferredResultIsNotEvaluated() {
+    QName name = new QName("value");
+    DynamicContext dynamicContext = new DynamicContext()
+        .bindVariableValue(name, ISequence.<IItem>ofLazy(() -> {
+          throw new MetapathException("deferred");
+        }));
+    Profiler profiler = new Profiler();
+
+    ISequence<?> result = MetapathExpression.compile("$value").evaluate(null, dynamicContext.subContext(profiler));
+    Profiler.Statistics expression = profiler.getStatistics().stream()
+        .filter(entry -> IProfiler.CATEGORY_METAPATH.equals(entry.getCategory()))
+        .findFirst()
+        .orElseThrow();
+
+    assertAll(
+        // the deferred error is only raised if the result is used
+        () -> assertFalse(result.isMaterialized()),
+        () -> assertThrows(MetapathException.class, result::getValue),
+        () -> assertEquals(1, expression.getInvocationCount()),
+        () -> assertEquals(0, expression.getResultItemCount()),
+        // the profiler is not used by the context the sub-context was created from
+        () -> assertSame(profiler, dynamicContext.subContext(profiler).subContext().getProfiler()),
+        () -> assertSame(IProfiler.disabled(), dynamicContext.getProfiler()));
+  }
+
+  @Test
+  void testReentrantSpans() throws IOException {
+    Profiler profiler = new Profiler();
+
+    try (IProfiler.ISpan outer = profiler.start(IProfiler.CATEGORY_CONSTRAINT, "recursive")) {
+      try (IProfiler.ISpan inner = profiler.start(IProfiler.CATEGORY_CONSTRAINT, "recursive")) {
+        inner.setResultSize(1);
+      }
+    }
+
+    Profiler.Statistics statistics = profiler.getStatistics().get(0);
+
+    StringWriter stacks = new StringWriter();
+    profiler.writeCollapsedStacks(stacks);
+
+    assertAll(
+        () -> assertEquals(1, profiler.getStatistics().size()),
+        () -> assertEquals(2, statistics.getInvocationCount()),
+        // the inner span's time is only counted as part of the outer span
+        () -> assertEquals(statistics.getSelfNanos(), statistics.getTotalNanos()),
+        () -> assertTrue(List.of(stacks.toString().split("\n")).stream()
+            .filter(line -> !line.isEmpty())
+            .allMatch(line -> line.startsWith("constraint:recursive"))));
+  }
+}
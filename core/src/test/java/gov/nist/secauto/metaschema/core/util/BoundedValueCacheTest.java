@@ -0,0 +1,41 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.core.util;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.function.Function;
+
+class BoundedValueCacheTest {
+
+  @Test
+  void testSharesEqualValues() {
+    BoundedValueCache<String, String> cache = new BoundedValueCache<>(2);
+
+    String first = cache.get(new String("alpha"), Function.identity());
+    String second = cache.get(new String("alpha"), Function.identity());
+    assertSame(first, second);
+  }
+
+  @Test
+  void testStopsCachingWhenFull() {
+    BoundedValueCache<String, String> cache = new BoundedValueCache<>(2);
+    cache.get("alpha", Function.identity());
+    cache.get("beta", Function.identity());
+
+    String first = cache.get(new String("gamma"), Function.identity());
+    String second = cache.get(new String("gamma"), Function.identity());
+    assertAll(
+        () -> assertEquals(first, second),
+        () -> assertNotSame(first, second),
+        () -> assertEquals(2, cache.size()));
+  }
+}
@@ -0,0 +1,65 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.core.util;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+class CompactOrderedMapTest {
+
+  @Test
+  void testMatchesLinkedHashMap() {
+    Map<String, Integer> expected = new LinkedHashMap<>();
+    CompactOrderedMap<String, Integer> actual = new CompactOrderedMap<>();
+
+    // exceed the linear search threshold to exercise the hash index
+    for (int i = 0; i < 100; i++) {
+      String key = "key" + i % 40;
+      assertEquals(expected.put(key, i), actual.put(key, i));
+    }
+    for (int i = 0; i < 40; i += 3) {
+      String key = "key" + i;
+      assertEquals(expected.remove(key), actual.remove(key));
+    }
+    actual.trimToSize();
+
+    assertAll(
+        () -> assertEquals(expected, actual),
+        () -> assertEquals(expected.hashCode(), actual.hashCode()),
+        () -> assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(actual.keySet())),
+        () -> assertEquals(expected.get("key1"), actual.get("key1")),
+        () -> assertNull(actual.get("key0")));
+  }
+
+  @Test
+  void testIteratorRemove() {
+    CompactOrderedMap<String, Integer> map = new CompactOrderedMap<>();
+    for (int i = 0; i < 20; i++) {
+      map.put("key" + i, i);
+    }
+
+    for (Iterator<Map.Entry<String, Integer>> iter = map.entrySet().iterator(); iter.hasNext();) {
+      if (iter.next().getValue() % 2 == 0) {
+        iter.remove();
+      }
+    }
+
+    List<Integer> values = new ArrayList<>(map.values());
+    assertAll(
+        () -> assertEquals(List.of(1, 3, 5, 7, 9, 11, 13, 15, 17, 19), values),
+        () -> assertEquals(11, map.get("key11")),
+        () -> assertNull(map.get("key10")));
+  }
+}
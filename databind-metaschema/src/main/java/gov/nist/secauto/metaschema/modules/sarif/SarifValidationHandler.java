@@ -42,6 +42,7 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
@@ -95,6 +96,8 @@ public final class SarifValidationHandler {
 
   @NonNull
   private final URI source;
+  @NonNull
+  private final List<URI> additionalSources = new LinkedList<>();
   @Nullable
   private final IVersionInfo toolVersion;
   private final AtomicInteger artifactIndex = new AtomicInteger(-1);
@@ -120,6 +123,8 @@ public final class SarifValidationHandler {
 
     this.source = source;
     this.toolVersion = toolVersion;
+    // the primary source is always the first artifact
+    getArtifactRecord(source);
   }
 
   public URI getSource() {
@@ -130,6 +135,25 @@ public final class SarifValidationHandler {
     return toolVersion;
   }
 
+  /**
+   * Register an additional source whose findings will be reported in the same
+   * SARIF run as the primary source.
+   * <p>
+   * This supports producing a single aggregated SARIF log when multiple
+   * documents are validated together.
+   *
+   * @param additionalSource
+   *          the absolute URI of the additional source
+   */
+  public void addSource(@NonNull URI additionalSource) {
+    if (!additionalSource.isAbsolute()) {
+      throw new IllegalArgumentException(
+          String.format("The source URI '%s' is not absolute.", additionalSource.toASCIIString()));
+    }
+    additionalSources.add(additionalSource);
+    getArtifactRecord(additionalSource);
+  }
+
   public void addFindings(@NonNull List<? extends IValidationFinding> findings) {
     for (IValidationFinding finding : findings) {
       assert finding != null;
@@ -138,15 +162,92 @@ public final class SarifValidationHandler {
   }
 
   public void addFinding(@NonNull IValidationFinding finding) {
-    if (finding instanceof JsonValidationFinding) {
-      addJsonValidationFinding((JsonValidationFinding) finding);
-    } else if (finding instanceof XmlValidationFinding) {
-      addXmlValidationFinding((XmlValidationFinding) finding);
+    results.add(newResult(finding));
+  }
+
+  @NonNull
+  private IResult newResult(@NonNull IValidationFinding finding) {
+    IResult retval;
+    if (finding instanceof JsonValidationFinding || finding instanceof XmlValidationFinding) {
+      retval = new SchemaResult(finding);
+      if (schemaValid && IValidationFinding.Kind.FAIL.equals(finding.getKind())) {
+        schemaValid = false;
+      }
     } else if (finding instanceof ConstraintValidationFinding) {
-      addConstraintValidationFinding((ConstraintValidationFinding) finding);
+      retval = new ConstraintResult((ConstraintValidationFinding) finding);
     } else {
       throw new IllegalStateException();
     }
+    return retval;
+  }
+
+  /**
+   * Generate the SARIF results for the provided finding without retaining the
+   * finding.
+   * <p>
+   * Any rules and artifacts referenced by the results are registered with this
+   * handler.
+   *
+   * @param finding
+   *          the finding to generate results for
+   * @param output
+   *          the URI of the SARIF file, used to relativize artifact locations
+   * @return the results
+   * @throws IOException
+   *           if an artifact location could not be relativized
+   */
+  @NonNull
+  List<Result> generateResults(@NonNull IValidationFinding finding, @NonNull URI output) throws IOException {
+    return newResult(finding).generateResults(output);
+  }
+
+  /**
+   * Generate the SARIF artifacts for all sources and documents registered with
+   * this handler, ordered by artifact index.
+   *
+   * @param output
+   *          the URI of the SARIF file, used to relativize artifact locations
+   * @return the artifacts
+   * @throws IOException
+   *           if an artifact location could not be relativized
+   */
+  @NonNull
+  List<Artifact> generateArtifacts(@NonNull URI output) throws IOException {
+    List<Artifact> retval = new ArrayList<>(artifacts.size());
+    for (ArtifactRecord record : artifacts.values()) {
+      Artifact artifact = new Artifact();
+      artifact.setLocation(record.generateArtifactLocation(output));
+      retval.add(artifact);
+    }
+    return retval;
+  }
+
+  /**
+   * Generate the SARIF tool description, including the rules registered with
+   * this handler.
+   *
+   * @return the tool, or {@code null} if there are no rules and no tool version
+   */
+  @Nullable
+  Tool generateTool() {
+    Tool retval = null;
+    if (!rules.isEmpty() || toolVersion != null) {
+      retval = new Tool();
+      ToolComponent driver = new ToolComponent();
+
+      IVersionInfo toolVersion = getToolVersion();
+      if (toolVersion != null) {
+        driver.setName(toolVersion.getName());
+        driver.setVersion(toolVersion.getVersion());
+      }
+
+      for (AbstractRuleRecord rule : rules) {
+        driver.addRule(rule.generate());
+      }
+
+      retval.setDriver(driver);
+    }
+    return retval;
   }
 
   public URI relativize(@NonNull URI output, @NonNull URI artifact) throws IOException {
@@ -176,24 +277,6 @@ public final class SarifValidationHandler {
     return retval;
   }
 
-  private void addJsonValidationFinding(@NonNull JsonValidationFinding finding) {
-    results.add(new SchemaResult(finding));
-    if (schemaValid && IValidationFinding.Kind.FAIL.equals(finding.getKind())) {
-      schemaValid = false;
-    }
-  }
-
-  private void addXmlValidationFinding(@NonNull XmlValidationFinding finding) {
-    results.add(new SchemaResult(finding));
-    if (schemaValid && IValidationFinding.Kind.FAIL.equals(finding.getKind())) {
-      schemaValid = false;
-    }
-  }
-
-  private void addConstraintValidationFinding(@NonNull ConstraintValidationFinding finding) {
-    results.add(new ConstraintResult(finding));
-  }
-
   public void write(@NonNull Path outputFile) throws IOException {
 
     URI output = ObjectUtils.notNull(outputFile.toUri());
@@ -211,25 +294,19 @@ public final class SarifValidationHandler {
 
     run.addArtifact(artifact);
 
+    for (URI additionalSource : additionalSources) {
+      assert additionalSource != null;
+      Artifact additionalArtifact = new Artifact();
+      additionalArtifact.setLocation(getArtifactRecord(additionalSource).generateArtifactLocation(output));
+      run.addArtifact(additionalArtifact);
+    }
+
     for (IResult result : results) {
       result.generateResults(output).forEach(run::addResult);
     }
 
-    if (!rules.isEmpty() || toolVersion != null) {
-      Tool tool = new Tool();
-      ToolComponent driver = new ToolComponent();
-
-      IVersionInfo toolVersion = getToolVersion();
-      if (toolVersion != null) {
-        driver.setName(toolVersion.getName());
-        driver.setVersion(toolVersion.getVersion());
-      }
-
-      for (AbstractRuleRecord rule : rules) {
-        driver.addRule(rule.generate());
-      }
-
-      tool.setDriver(driver);
+    Tool tool = generateTool();
+    if (tool != null) {
       run.setTool(tool);
     }
 
@@ -0,0 +1,233 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.modules.sarif;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
+
+import gov.nist.secauto.metaschema.core.model.constraint.ConstraintValidationFinding;
+import gov.nist.secauto.metaschema.core.model.constraint.FindingCollectingConstraintValidationHandler;
+import gov.nist.secauto.metaschema.core.model.constraint.IConstraint;
+import gov.nist.secauto.metaschema.core.model.constraint.IConstraint.Level;
+import gov.nist.secauto.metaschema.core.model.validation.IValidationFinding;
+import gov.nist.secauto.metaschema.core.util.CollectionUtil;
+import gov.nist.secauto.metaschema.core.util.IVersionInfo;
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
+import gov.nist.secauto.metaschema.databind.IBindingContext;
+import gov.nist.secauto.metaschema.databind.io.json.JsonFactoryFactory;
+import gov.nist.secauto.metaschema.databind.io.json.MetaschemaJsonWriter;
+import gov.nist.secauto.metaschema.databind.model.IBoundDefinitionModelComplex;
+
+import org.schemastore.json.sarif.x210.Artifact;
+import org.schemastore.json.sarif.x210.Result;
+import org.schemastore.json.sarif.x210.Tool;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+/**
+ * A constraint validation handler that writes each finding to a SARIF file as
+ * it is reported.
+ * <p>
+ * Unlike {@link SarifValidationHandler}, findings are not retained. Memory use
+ * is bounded by the number of distinct constraints and documents referenced by
+ * the findings, which are written in a trailer following the results when the
+ * handler is closed. As a result, {@link #getFindings()} is always empty, while
+ * {@link #getHighestSeverity()} reflects all reported findings.
+ * <p>
+ * This handler is thread-safe. The SARIF file is incomplete until
+ * {@link #close()} is called.
+ */
+public final class StreamingSarifValidationHandler
+    extends FindingCollectingConstraintValidationHandler
+    implements Closeable {
+  @NonNull
+  private final SarifValidationHandler registry;
+  @NonNull
+  private final URI output;
+  @NonNull
+  private final Writer writer;
+  @NonNull
+  private final JsonGenerator generator;
+  @NonNull
+  private final MetaschemaJsonWriter jsonWriter;
+  @NonNull
+  private final IBoundDefinitionModelComplex resultDefinition;
+  @NonNull
+  private final IBoundDefinitionModelComplex artifactDefinition;
+  @NonNull
+  private final IBoundDefinitionModelComplex toolDefinition;
+  @NonNull
+  private Level highestLevel = IConstraint.Level.INFORMATIONAL;
+  private boolean closed;
+
+  /**
+   * Construct a new handler, which starts writing the SARIF file immediately.
+   *
+   * @param source
+   *          the absolute URI of the validated source
+   * @param toolVersion
+   *          the version of the tool producing the findings, or {@code null} if
+   *          not known
+   * @param outputFile
+   *          the SARIF file to write
+   * @throws IOException
+   *           if an error occurred while opening the file
+   */
+  @SuppressWarnings("resource")
+  public StreamingSarifValidationHandler(
+      @NonNull URI source,
+      @Nullable IVersionInfo toolVersion,
+      @NonNull Path outputFile) throws IOException {
+    this.registry = new SarifValidationHandler(source, toolVersion);
+    this.output = ObjectUtils.notNull(outputFile.toUri());
+
+    IBindingContext bindingContext = IBindingContext.instance();
+    this.resultDefinition = ObjectUtils.requireNonNull(bindingContext.getBoundDefinitionForClass(Result.class));
+    this.artifactDefinition = ObjectUtils.requireNonNull(bindingContext.getBoundDefinitionForClass(Artifact.class));
+    this.toolDefinition = ObjectUtils.requireNonNull(bindingContext.getBoundDefinitionForClass(Tool.class));
+
+    this.writer = ObjectUtils.notNull(Files.newBufferedWriter(
+        outputFile,
+        StandardCharsets.UTF_8,
+        StandardOpenOption.CREATE,
+        StandardOpenOption.WRITE,
+        StandardOpenOption.TRUNCATE_EXISTING));
+    this.generator = ObjectUtils.notNull(JsonFactoryFactory.instance().createGenerator(writer)
+        .setPrettyPrinter(new DefaultPrettyPrinter()));
+    this.jsonWriter = new MetaschemaJsonWriter(generator);
+
+    generator.writeStartObject();
+    generator.writeStringField("version", "2.1.0");
+    generator.writeArrayFieldStart("runs");
+    generator.writeStartObject();
+    generator.writeArrayFieldStart("results");
+  }
+
+  /**
+   * Register an additional source whose findings will be reported in the same
+   * SARIF run as the primary source.
+   *
+   * @param additionalSource
+   *          the absolute URI of the additional source
+   */
+  public void addSource(@NonNull URI additionalSource) {
+    synchronized (this) {
+      registry.addSource(additionalSource);
+    }
+  }
+
+  /**
+   * Write the provided findings, such as schema validation findings, to the
+   * SARIF file.
+   *
+   * @param findings
+   *          the findings to write
+   * @throws IOException
+   *           if an error occurred while writing the findings
+   */
+  public void addFindings(@NonNull List<? extends IValidationFinding> findings) throws IOException {
+    for (IValidationFinding finding : findings) {
+      assert finding != null;
+      writeFinding(finding);
+    }
+  }
+
+  @Override
+  protected void addFinding(@NonNull ConstraintValidationFinding finding) {
+    try {
+      writeFinding(finding);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  private void writeFinding(@NonNull IValidationFinding finding) throws IOException {
+    synchronized (this) {
+      if (closed) {
+        throw new IllegalStateException("The SARIF file has already been closed.");
+      }
+
+      Level severity = finding.getSeverity();
+      if (severity.ordinal() > highestLevel.ordinal()) {
+        highestLevel = severity;
+      }
+
+      for (Result result : registry.generateResults(finding, output)) {
+        jsonWriter.write(resultDefinition, ObjectUtils.notNull(result));
+      }
+    }
+  }
+
+  @Override
+  public List<ConstraintValidationFinding> getFindings() {
+    return CollectionUtil.emptyList();
+  }
+
+  @Override
+  public Level getHighestSeverity() {
+    synchronized (this) {
+      return highestLevel;
+    }
+  }
+
+  /**
+   * Write the artifacts and tool trailer and close the SARIF file.
+   *
+   * @throws IOException
+   *           if an error occurred while writing the trailer
+   */
+  @Override
+  public void close() throws IOException {
+    synchronized (this) {
+      if (closed) {
+        return;
+      }
+      closed = true;
+
+      try {
+        // end results
+        generator.writeEndArray();
+
+        generator.writeArrayFieldStart("artifacts");
+        for (Artifact artifact : registry.generateArtifacts(output)) {
+          jsonWriter.write(artifactDefinition, ObjectUtils.notNull(artifact));
+        }
+        generator.writeEndArray();
+
+        Tool tool = registry.generateTool();
+        if (tool != null) {
+          generator.writeFieldName("tool");
+          jsonWriter.write(toolDefinition, tool);
+        }
+
+        // end run
+        generator.writeEndObject();
+        // end runs
+        generator.writeEndArray();
+        // end sarif
+        generator.writeEndObject();
+      } finally {
+        try {
+          generator.close();
+        } finally {
+          writer.close();
+        }
+      }
+    }
+  }
+}
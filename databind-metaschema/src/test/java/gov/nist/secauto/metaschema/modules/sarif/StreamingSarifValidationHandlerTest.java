@@ -0,0 +1,111 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.modules.sarif;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import gov.nist.secauto.metaschema.core.model.constraint.IConstraint.Level;
+import gov.nist.secauto.metaschema.core.model.validation.IValidationFinding;
+import gov.nist.secauto.metaschema.core.model.validation.XmlSchemaContentValidator.XmlValidationFinding;
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+import org.xml.sax.SAXParseException;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+class StreamingSarifValidationHandlerTest {
+  @NonNull
+  private static IValidationFinding newFinding(@NonNull Level level, @NonNull String message, @NonNull URI document,
+      int line) {
+    return new XmlValidationFinding(
+        level,
+        new SAXParseException(message, null, document.toString(), line, 1),
+        document);
+  }
+
+  /**
+   * Rule identifiers are generated randomly by each handler, so they are removed
+   * before comparison.
+   */
+  private static void removeGuids(@NonNull Object value) {
+    if (value instanceof JSONObject) {
+      JSONObject object = (JSONObject) value;
+      object.remove("guid");
+      for (String key : object.keySet()) {
+        removeGuids(ObjectUtils.notNull(object.get(key)));
+      }
+    } else if (value instanceof JSONArray) {
+      for (Object item : (JSONArray) value) {
+        removeGuids(ObjectUtils.notNull(item));
+      }
+    }
+  }
+
+  @NonNull
+  private static JSONObject readSarif(@NonNull Path file) throws IOException {
+    JSONObject retval = new JSONObject(Files.readString(file, StandardCharsets.UTF_8));
+    removeGuids(retval);
+    return retval;
+  }
+
+  @Test
+  void testSameOutputAsSarifValidationHandler() throws IOException {
+    Path dir = Files.createDirectories(Paths.get("target/sarif-test"));
+    URI first = ObjectUtils.notNull(dir.resolve("first.xml").toAbsolutePath().toUri());
+    URI second = ObjectUtils.notNull(dir.resolve("second.xml").toAbsolutePath().toUri());
+
+    List<IValidationFinding> firstFindings = List.of(
+        newFinding(Level.ERROR, "missing required element", first, 3),
+        newFinding(Level.WARNING, "unexpected attribute", first, 7));
+    List<IValidationFinding> secondFindings = List.of(
+        newFinding(Level.ERROR, "invalid value", second, 12));
+
+    SarifValidationHandler expected = new SarifValidationHandler(first, null);
+    expected.addFindings(firstFindings);
+    expected.addSource(second);
+    expected.addFindings(secondFindings);
+    Path expectedFile = ObjectUtils.notNull(dir.resolve("expected.sarif"));
+    expected.write(expectedFile);
+
+    Path actualFile = ObjectUtils.notNull(dir.resolve("actual.sarif"));
+    try (StreamingSarifValidationHandler actual = new StreamingSarifValidationHandler(first, null, actualFile)) {
+      actual.addFindings(firstFindings);
+      actual.addSource(second);
+      actual.addFindings(secondFindings);
+
+      assertEquals(Level.ERROR, actual.getHighestSeverity());
+    }
+
+    JSONObject expectedSarif = readSarif(expectedFile);
+    JSONObject actualSarif = readSarif(actualFile);
+    JSONObject expectedRun = expectedSarif.getJSONArray("runs").getJSONObject(0);
+    JSONObject actualRun = actualSarif.getJSONArray("runs").getJSONObject(0);
+
+    assertAll(
+        () -> assertEquals(expectedSarif.getString("version"), actualSarif.getString("version")),
+        () -> assertEquals(1, actualSarif.getJSONArray("runs").length()),
+        () -> assertEquals(3, actualRun.getJSONArray("results").length()),
+        () -> assertTrue(expectedRun.getJSONArray("results").similar(actualRun.getJSONArray("results")),
+            () -> "results differ: " + actualRun.getJSONArray("results")),
+        () -> assertTrue(expectedRun.getJSONArray("artifacts").similar(actualRun.getJSONArray("artifacts")),
+            () -> "artifacts differ: " + actualRun.getJSONArray("artifacts")),
+        () -> assertTrue(expectedRun.getJSONObject("tool").similar(actualRun.getJSONObject("tool")),
+            () -> "tool differs: " + actualRun.getJSONObject("tool")));
+  }
+}
@@ -12,7 +12,10 @@ import gov.nist.secauto.metaschema.core.model.IModule;
 import gov.nist.secauto.metaschema.core.model.IModuleLoader;
 import gov.nist.secauto.metaschema.core.util.ObjectUtils;
 import gov.nist.secauto.metaschema.databind.codegen.IProduction;
+import gov.nist.secauto.metaschema.databind.codegen.ModuleBindingCache;
+import gov.nist.secauto.metaschema.databind.codegen.ModuleBindingCache.CachedProduction;
 import gov.nist.secauto.metaschema.databind.codegen.ModuleCompilerHelper;
+import gov.nist.secauto.metaschema.databind.codegen.config.IBindingConfiguration;
 import gov.nist.secauto.metaschema.databind.io.BindingException;
 import gov.nist.secauto.metaschema.databind.io.DefaultBoundLoader;
 import gov.nist.secauto.metaschema.databind.io.Format;
@@ -29,7 +32,12 @@ import gov.nist.secauto.metaschema.databind.model.IBoundDefinitionModelComplex;
 import gov.nist.secauto.metaschema.databind.model.IBoundModule;
 import gov.nist.secauto.metaschema.databind.model.binding.metaschema.METASCHEMA;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
 import java.io.IOException;
+import java.lang.ref.Cleaner;
+import java.net.URI;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Collection;
@@ -37,6 +45,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 import javax.xml.namespace.QName;
 
@@ -58,6 +67,13 @@ import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
  * This class is synchronized and is thread-safe.
  */
 public class DefaultBindingContext implements IBindingContext {
+  private static final Logger LOGGER = LogManager.getLogger(DefaultBindingContext.class);
+  /**
+   * Releases the cache entries used by compiled module classes once their class
+   * loader is no longer reachable.
+   */
+  @NonNull
+  private static final Cleaner CLEANER = ObjectUtils.notNull(Cleaner.create());
   private static DefaultBindingContext singleton;
   @NonNull
   private final IModuleLoaderStrategy moduleLoaderStrategy;
@@ -236,7 +252,6 @@ public class DefaultBindingContext implements IBindingContext {
   }
 
   @Override
-  @SuppressWarnings({ "PMD.UseProperClassLoader", "unchecked" }) // false positive
   @NonNull
   public IBindingContext registerModule(
       @NonNull IModule module,
@@ -244,28 +259,89 @@ public class DefaultBindingContext implements IBindingContext {
     if (!(module instanceof IBoundModule)) {
       Files.createDirectories(compilePath);
 
-      ClassLoader classLoader = ModuleCompilerHelper.newClassLoader(
+      IProduction production = ModuleCompilerHelper.compileMetaschema(module, compilePath);
+      registerCompiledModules(
           compilePath,
-          ObjectUtils.notNull(Thread.currentThread().getContextClassLoader()));
+          ObjectUtils.notNull(production.getModuleProductions().stream()
+              .map(item -> item.getClassName().reflectionName())
+              .collect(Collectors.toList())));
+    }
+    return this;
+  }
 
-      IProduction production = ModuleCompilerHelper.compileMetaschema(module, compilePath);
-      production.getModuleProductions().stream()
-          .map(item -> {
-            try {
-              return (Class<? extends IBoundModule>) classLoader.loadClass(item.getClassName().reflectionName());
-            } catch (ClassNotFoundException ex) {
-              throw new IllegalStateException(ex);
-            }
-          })
-          .forEachOrdered(clazz -> {
-            IBoundModule boundModule = registerModule(ObjectUtils.notNull(clazz));
-            // force the binding matchers to load
-            boundModule.getRootAssemblyDefinitions();
-          });
+  /**
+   * Generate, compile, and load a set of generated Module annotated Java classes
+   * based on the provided Module {@code module}, using the provided cache to
+   * reuse classes previously generated and compiled for the same module content
+   * and binding configuration.
+   * <p>
+   * The classes may be loaded lazily from the cache entry, so the entry is kept
+   * in use until the class loader for the classes is no longer reachable. This
+   * happens once this context, and any bound objects created using it, are
+   * discarded.
+   *
+   * @param module
+   *          the Module module to generate classes for
+   * @param cache
+   *          the cache of compiled module classes
+   * @param bindingConfiguration
+   *          configuration settings with directives that tailor the class
+   *          generation
+   * @param additionalSources
+   *          other resources whose content affects class generation, such as
+   *          external constraint sets applied to the module
+   * @return this instance
+   * @throws IOException
+   *           if an error occurred while generating or loading the classes
+   */
+  @NonNull
+  public IBindingContext registerModule(
+      @NonNull IModule module,
+      @NonNull ModuleBindingCache cache,
+      @NonNull IBindingConfiguration bindingConfiguration,
+      @NonNull Collection<URI> additionalSources) throws IOException {
+    if (!(module instanceof IBoundModule)) {
+      CachedProduction production = cache.getOrCompile(module, bindingConfiguration, additionalSources);
+      List<Class<? extends IBoundModule>> classes;
+      try {
+        classes = registerCompiledModules(production.getClassDir(), production.getModuleClassNames());
+      } catch (RuntimeException ex) {
+        production.close();
+        throw ex;
+      }
+
+      if (classes.isEmpty()) {
+        production.close();
+      } else {
+        // the classes share a class loader
+        CLEANER.register(classes.get(0).getClassLoader(), () -> release(production));
+      }
     }
     return this;
   }
 
+  private static void release(@NonNull CachedProduction production) {
+    try {
+      production.close();
+    } catch (IOException ex) {
+      LOGGER.atWarn().withThrowable(ex).log("Unable to release the cached bindings in '{}'.",
+          production.getClassDir());
+    }
+  }
+
+  @NonNull
+  private List<Class<? extends IBoundModule>> registerCompiledModules(
+      @NonNull Path classDir,
+      @NonNull List<String> moduleClassNames) {
+    List<Class<? extends IBoundModule>> retval = ModuleCompilerHelper.loadModuleClasses(classDir, moduleClassNames);
+    for (Class<? extends IBoundModule> clazz : retval) {
+      IBoundModule boundModule = registerModule(ObjectUtils.notNull(clazz));
+      // force the binding matchers to load
+      boundModule.getRootAssemblyDefinitions();
+    }
+    return retval;
+  }
+
   @Override
   public IBoundModule registerModule(Class<? extends IBoundModule> clazz) {
     return getModuleLoaderStrategy().loadModule(clazz);
@@ -352,6 +352,33 @@ public interface IBindingContext {
       @Nullable IConfiguration<ValidationFeature<?>> config) {
 
     FindingCollectingConstraintValidationHandler handler = new FindingCollectingConstraintValidationHandler();
+    validate(nodeItem, loader, handler, config);
+    return handler;
+  }
+
+  /**
+   * Perform constraint validation on the provided bound object represented as an
+   * {@link IDefinitionNodeItem}, reporting findings to the provided handler.
+   * <p>
+   * This allows findings to be processed as they are produced, instead of being
+   * collected.
+   *
+   * @param nodeItem
+   *          the node item to validate
+   * @param loader
+   *          a module loader used to load and resolve referenced resources
+   * @param handler
+   *          the validation handler to report findings to
+   * @param config
+   *          the validation configuration
+   * @throws IllegalArgumentException
+   *           if the provided class is not bound to a Module assembly or field
+   */
+  default void validate(
+      @NonNull IDefinitionNodeItem<?, ?> nodeItem,
+      @NonNull IBoundLoader loader,
+      @NonNull IConstraintValidationHandler handler,
+      @Nullable IConfiguration<ValidationFeature<?>> config) {
     IConstraintValidator validator = newValidator(handler, config);
 
     DynamicContext dynamicContext = new DynamicContext(nodeItem.getStaticContext());
@@ -359,7 +386,6 @@ public interface IBindingContext {
 
     validator.validate(nodeItem, dynamicContext);
     validator.finalizeValidation(dynamicContext);
-    return handler;
   }
 
   /**
@@ -416,6 +442,31 @@ public interface IBindingContext {
     return validate(nodeItem, loader, config);
   }
 
+  /**
+   * Load and validate the provided {@code target} using the associated Module
+   * module constraints, reporting findings to the provided handler.
+   *
+   * @param target
+   *          the file to load and validate
+   * @param handler
+   *          the validation handler to report findings to
+   * @param config
+   *          the validation configuration
+   * @throws IOException
+   *           if an error occurred while parsing the target
+   */
+  default void validateWithConstraints(
+      @NonNull URI target,
+      @NonNull IConstraintValidationHandler handler,
+      @Nullable IConfiguration<ValidationFeature<?>> config)
+      throws IOException {
+    IBoundLoader loader = newBoundLoader();
+    loader.disableFeature(DeserializationFeature.DESERIALIZE_VALIDATE_CONSTRAINTS);
+    IDocumentNodeItem nodeItem = loader.loadAsNodeItem(target);
+
+    validate(nodeItem.getRootAssemblyNodeItem(), loader, handler, config);
+  }
+
   interface IModuleLoaderStrategy {
     /**
      * Load the bound Metaschema module represented by the provided class.
@@ -0,0 +1,727 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.databind.codegen;
+
+import gov.nist.secauto.metaschema.core.model.IModelDefinition;
+import gov.nist.secauto.metaschema.core.model.IModule;
+import gov.nist.secauto.metaschema.core.util.CollectionUtil;
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
+import gov.nist.secauto.metaschema.databind.codegen.config.DefaultBindingConfiguration;
+import gov.nist.secauto.metaschema.databind.codegen.config.IBindingConfiguration;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+/**
+ * A persistent, content-addressed cache of Java classes generated and compiled
+ * for a Module by {@link ModuleCompilerHelper}.
+ * <p>
+ * A cache entry is identified by a hash of the source content of the module and
+ * all of its imports, the binding configuration, any additional sources that
+ * affect code generation (e.g., external constraint sets), and the identity of
+ * this library's build. When an entry for a module already exists, code
+ * generation and compilation are skipped entirely.
+ * <p>
+ * Entries are built in a private staging directory and atomically moved into
+ * place, so multiple threads or processes can safely share a cache directory.
+ * When the total size of the cache exceeds the configured cap, the least
+ * recently used entries are removed.
+ * <p>
+ * An entry is in use from the time it is returned by
+ * {@link #getOrCompile(IModule, IBindingConfiguration, Collection)} until the
+ * returned {@link CachedProduction} is closed. While in use, a shared lock is
+ * held on the entry's lock file, and the entry is never removed by this or any
+ * other process sharing the cache directory. Staging directories left behind by
+ * a process that terminated while compiling are removed once they are no longer
+ * locked and are older than {@link #ORPHAN_AGE_MILLIS}.
+ */
+public final class ModuleBindingCache {
+  private static final Logger LOGGER = LogManager.getLogger(ModuleBindingCache.class);
+  /**
+   * Incremented when the layout of a cache entry changes.
+   */
+  @NonNull
+  private static final String CACHE_FORMAT_VERSION = "1";
+  @NonNull
+  private static final String MANIFEST_FILE = "module-classes.txt";
+  @NonNull
+  private static final String LOCK_FILE = ".lock";
+  @NonNull
+  private static final String STAGING_PREFIX = ".staging-";
+  @NonNull
+  private static final String EVICTING_PREFIX = ".evicting-";
+  /**
+   * The minimum age of an unlocked staging directory before it is considered
+   * abandoned, which avoids racing a process that has just created it.
+   */
+  private static final long ORPHAN_AGE_MILLIS = TimeUnit.MINUTES.toMillis(10);
+  /**
+   * The entries used by this JVM, keyed by entry directory.
+   * <p>
+   * File locks are held on behalf of the whole JVM and cannot be acquired twice
+   * by the same JVM, so a single shared lock is held per entry and released when
+   * the last production using it is closed. This map is also used as the monitor
+   * that serializes lock acquisition and eviction within this JVM.
+   */
+  @NonNull
+  private static final Map<Path, EntryLock> ENTRY_LOCKS = new HashMap<>();
+
+  @NonNull
+  private final Path cacheDir;
+  private final long maxSizeInBytes;
+
+  /**
+   * Construct a new cache using the provided directory.
+   *
+   * @param cacheDir
+   *          the directory to store cache entries in, which will be created if
+   *          needed
+   * @param maxSizeInBytes
+   *          the maximum total size of the cache, after which the least recently
+   *          used entries are removed
+   */
+  public ModuleBindingCache(@NonNull Path cacheDir, long maxSizeInBytes) {
+    if (maxSizeInBytes <= 0) {
+      throw new IllegalArgumentException("maxSizeInBytes must be a positive value");
+    }
+    this.cacheDir = ObjectUtils.notNull(cacheDir.toAbsolutePath().normalize());
+    this.maxSizeInBytes = maxSizeInBytes;
+  }
+
+  /**
+   * Get the directory containing the cache entries.
+   *
+   * @return the cache directory
+   */
+  @NonNull
+  public Path getCacheDir() {
+    return cacheDir;
+  }
+
+  /**
+   * Get the maximum total size of the cache.
+   *
+   * @return the size in bytes
+   */
+  public long getMaxSizeInBytes() {
+    return maxSizeInBytes;
+  }
+
+  /**
+   * Get the compiled classes for the provided module using the default binding
+   * configuration, generating and compiling them if they are not already cached.
+   *
+   * @param module
+   *          the Module to get compiled classes for
+   * @return the cache entry
+   * @throws IOException
+   *           if an error occurred while reading the module sources or
+   *           generating, compiling, or storing the classes
+   */
+  @NonNull
+  public CachedProduction getOrCompile(@NonNull IModule module) throws IOException {
+    return getOrCompile(module, new DefaultBindingConfiguration(), CollectionUtil.emptyList());
+  }
+
+  /**
+   * Get the compiled classes for the provided module, generating and compiling
+   * them if they are not already cached.
+   * <p>
+   * The cache key includes a canonical form of the binding configuration, which
+   * is the package and class names the configuration provides for each module
+   * and global definition. This does not depend on how the configuration was
+   * built. Any other resources that change the generated code, such as external
+   * constraint sets applied to the module, must be provided in
+   * {@code additionalSources}.
+   *
+   * @param module
+   *          the Module to get compiled classes for
+   * @param bindingConfiguration
+   *          configuration settings with directives that tailor the class
+   *          generation
+   * @param additionalSources
+   *          other resources whose content affects class generation
+   * @return the cache entry
+   * @throws IOException
+   *           if an error occurred while reading the sources or generating,
+   *           compiling, or storing the classes
+   */
+  @NonNull
+  public CachedProduction getOrCompile(
+      @NonNull IModule module,
+      @NonNull IBindingConfiguration bindingConfiguration,
+      @NonNull Collection<URI> additionalSources) throws IOException {
+    String key = computeKey(module, bindingConfiguration, additionalSources);
+    Path entryDir = ObjectUtils.notNull(cacheDir.resolve(key));
+
+    CachedProduction retval = readEntry(entryDir);
+    if (retval == null) {
+      if (LOGGER.isDebugEnabled()) {
+        LOGGER.debug("Compiling bindings for module '{}' into cache entry '{}'.", module.getLocation(), key);
+      }
+      retval = compileEntry(module, bindingConfiguration, entryDir);
+      evict(entryDir);
+    } else if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug("Using cached bindings '{}' for module '{}'.", key, module.getLocation());
+    }
+    return retval;
+  }
+
+  /**
+   * Remove all entries from the cache that are not in use, along with any
+   * abandoned staging directories.
+   *
+   * @throws IOException
+   *           if an error occurred while deleting an entry
+   */
+  public void invalidate() throws IOException {
+    if (Files.isDirectory(cacheDir)) {
+      for (Path entry : listEntries()) {
+        tryRemove(ObjectUtils.notNull(entry));
+      }
+      removeOrphans();
+    }
+  }
+
+  @NonNull
+  private static String computeKey(
+      @NonNull IModule module,
+      @NonNull IBindingConfiguration bindingConfiguration,
+      @NonNull Collection<URI> additionalSources) throws IOException {
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException ex) {
+      throw new IllegalStateException(ex);
+    }
+
+    update(digest, CACHE_FORMAT_VERSION);
+    update(digest, ObjectUtils.notNull(System.getProperty("java.specification.version", "")));
+    update(digest, getBuildIdentity());
+
+    Set<IModule> modules = collectModules(module);
+    for (IModule current : modules) {
+      URI location = current.getLocation();
+      if (location == null) {
+        throw new IOException(
+            String.format("The module '%s' has no location and cannot be cached.", current.getShortName()));
+      }
+      updateWithContent(digest, location);
+    }
+
+    for (IModule current : modules) {
+      updateWithConfiguration(digest, ObjectUtils.notNull(current), bindingConfiguration);
+    }
+
+    for (URI source : additionalSources) {
+      updateWithContent(digest, ObjectUtils.notNull(source));
+    }
+
+    StringBuilder builder = new StringBuilder();
+    for (byte value : digest.digest()) {
+      builder.append(String.format("%02x", value));
+    }
+    return ObjectUtils.notNull(builder.toString());
+  }
+
+  /**
+   * Get the module and its transitive imports in a stable, depth-first order.
+   */
+  @NonNull
+  private static Set<IModule> collectModules(@NonNull IModule module) {
+    Set<IModule> retval = new LinkedHashSet<>();
+    collectModules(module, retval);
+    return retval;
+  }
+
+  private static void collectModules(@NonNull IModule module, @NonNull Set<IModule> modules) {
+    if (modules.add(module)) {
+      for (IModule imported : module.getImportedModules()) {
+        collectModules(ObjectUtils.notNull(imported), modules);
+      }
+    }
+  }
+
+  /**
+   * Identify the build of this library, so that entries compiled by a different
+   * build are not reused.
+   */
+  @NonNull
+  private static String getBuildIdentity() {
+    StringBuilder builder = new StringBuilder();
+    String version = ModuleBindingCache.class.getPackage().getImplementationVersion();
+    if (version != null) {
+      builder.append(version);
+    }
+
+    CodeSource codeSource = ModuleBindingCache.class.getProtectionDomain().getCodeSource();
+    if (codeSource != null && codeSource.getLocation() != null) {
+      URL location = codeSource.getLocation();
+      builder.append('|').append(location);
+      try {
+        Path path = Paths.get(location.toURI());
+        if (Files.exists(path)) {
+          builder.append('@').append(Files.getLastModifiedTime(path).toMillis());
+        }
+      } catch (URISyntaxException | IllegalArgumentException | IOException ex) {
+        // not a local file; rely on the location only
+      }
+    }
+    return ObjectUtils.notNull(builder.toString());
+  }
+
+  private static void update(@NonNull MessageDigest digest, @NonNull String value) {
+    digest.update(value.getBytes(StandardCharsets.UTF_8));
+    digest.update((byte) 0);
+  }
+
+  /**
+   * Add the names the binding configuration provides for the module and its
+   * global definitions, in the module's definition order.
+   */
+  private static void updateWithConfiguration(
+      @NonNull MessageDigest digest,
+      @NonNull IModule module,
+      @NonNull IBindingConfiguration bindingConfiguration) {
+    update(digest, bindingConfiguration.getPackageNameForModule(module));
+    update(digest, bindingConfiguration.getClassName(module));
+    for (IModelDefinition definition : module.getAssemblyAndFieldDefinitions()) {
+      assert definition != null;
+      update(digest, bindingConfiguration.getClassName(definition));
+      String baseClassName = bindingConfiguration.getQualifiedBaseClassName(definition);
+      update(digest, baseClassName == null ? "" : baseClassName);
+      for (String interfaceName : bindingConfiguration.getQualifiedSuperinterfaceClassNames(definition)) {
+        update(digest, ObjectUtils.notNull(interfaceName));
+      }
+      digest.update((byte) 0);
+    }
+  }
+
+  private static void updateWithContent(@NonNull MessageDigest digest, @NonNull URI location) throws IOException {
+    update(digest, ObjectUtils.notNull(location.toString()));
+    try (InputStream is = location.toURL().openStream()) {
+      byte[] buffer = new byte[8192];
+      int read;
+      while ((read = is.read(buffer)) != -1) {
+        digest.update(buffer, 0, read);
+      }
+    }
+    digest.update((byte) 0);
+  }
+
+  @SuppressWarnings("PMD.OnlyOneReturn") // readability
+  @Nullable
+  private static CachedProduction readEntry(@NonNull Path entryDir) throws IOException {
+    Path manifest = entryDir.resolve(MANIFEST_FILE);
+    if (!Files.isRegularFile(manifest)) {
+      return null;
+    }
+
+    EntryLock lock;
+    try {
+      lock = EntryLock.acquire(entryDir);
+    } catch (NoSuchFileException ex) {
+      // the entry was evicted concurrently
+      return null;
+    }
+
+    try {
+      // the entry may have been evicted before the lock was acquired
+      if (!Files.isRegularFile(manifest)) {
+        lock.release();
+        return null;
+      }
+
+      List<String> classNames = Files.readAllLines(manifest, StandardCharsets.UTF_8).stream()
+          .filter(line -> !line.isBlank())
+          .collect(Collectors.toList());
+      // record the access for least recently used eviction
+      Files.setLastModifiedTime(manifest, FileTime.fromMillis(System.currentTimeMillis()));
+      return new CachedProduction(entryDir, ObjectUtils.notNull(classNames), lock);
+    } catch (IOException | RuntimeException ex) {
+      lock.release();
+      throw ex;
+    }
+  }
+
+  @NonNull
+  private CachedProduction compileEntry(
+      @NonNull IModule module,
+      @NonNull IBindingConfiguration bindingConfiguration,
+      @NonNull Path entryDir) throws IOException {
+    Files.createDirectories(cacheDir);
+    Path stagingDir = ObjectUtils.notNull(Files.createTempDirectory(cacheDir, STAGING_PREFIX));
+    CachedProduction retval;
+    try {
+      // the lock marks the staging directory as in use, and is released when the
+      // channel is closed, before the directory is moved into place
+      try (FileChannel channel = openLockFile(stagingDir)) {
+        channel.lock();
+
+        IProduction production = ModuleCompilerHelper.compileModule(module, stagingDir, bindingConfiguration);
+        List<String> classNames = production.getModuleProductions().stream()
+            .map(item -> item.getClassName().reflectionName())
+            .collect(Collectors.toList());
+
+        // the manifest is written last, marking the entry as complete
+        Files.write(stagingDir.resolve(MANIFEST_FILE), classNames, StandardCharsets.UTF_8);
+      }
+
+      try {
+        Files.move(stagingDir, entryDir, StandardCopyOption.ATOMIC_MOVE);
+      } catch (FileAlreadyExistsException | DirectoryNotEmptyException | AtomicMoveNotSupportedException ex) {
+        // another thread or process completed the same entry first
+        if (LOGGER.isDebugEnabled()) {
+          LOGGER.debug("Cache entry '{}' was created concurrently. Using the existing entry.", entryDir);
+        }
+      }
+
+      retval = readEntry(entryDir);
+      if (retval == null) {
+        throw new IOException(String.format("Unable to store the cache entry '%s'.", entryDir));
+      }
+    } finally {
+      if (Files.exists(stagingDir)) {
+        deleteRecursively(stagingDir);
+      }
+    }
+    return retval;
+  }
+
+  /**
+   * Remove the least recently used entries that are not in use until the cache
+   * is within its size cap, along with any abandoned staging directories.
+   *
+   * @param retain
+   *          an entry that must not be removed
+   */
+  private void evict(@NonNull Path retain) throws IOException {
+    removeOrphans();
+
+    List<Path> entries = listEntries();
+
+    long totalSize = 0;
+    List<EntryInfo> infos = new ArrayList<>(entries.size());
+    for (Path entry : entries) {
+      assert entry != null;
+      EntryInfo info = new EntryInfo(entry);
+      infos.add(info);
+      totalSize += info.getSize();
+    }
+
+    if (totalSize > maxSizeInBytes) {
+      infos.sort(Comparator.comparingLong(EntryInfo::getLastAccessed));
+      for (EntryInfo info : infos) {
+        if (totalSize <= maxSizeInBytes) {
+          break;
+        }
+        if (!info.getPath().equals(retain) && tryRemove(info.getPath())) {
+          if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Evicted cache entry '{}'.", info.getPath());
+          }
+          totalSize -= info.getSize();
+        }
+      }
+    }
+  }
+
+  /**
+   * Remove staging directories left behind by a process that terminated while
+   * compiling, and entries whose eviction was interrupted.
+   */
+  private void removeOrphans() throws IOException {
+    long cutoff = System.currentTimeMillis() - ORPHAN_AGE_MILLIS;
+    List<Path> orphans;
+    try (Stream<Path> stream = Files.list(cacheDir)) {
+      orphans = stream
+          .filter(Files::isDirectory)
+          .filter(path -> {
+            String name = path.getFileName().toString();
+            return name.startsWith(STAGING_PREFIX) || name.startsWith(EVICTING_PREFIX);
+          })
+          .collect(Collectors.toList());
+    }
+
+    for (Path orphan : orphans) {
+      assert orphan != null;
+      try {
+        if (Files.getLastModifiedTime(orphan).toMillis() < cutoff) {
+          if (orphan.getFileName().toString().startsWith(EVICTING_PREFIX)) {
+            // no longer reachable by any process
+            deleteRecursively(orphan);
+          } else if (tryRemove(orphan) && LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Removed abandoned staging directory '{}'.", orphan);
+          }
+        }
+      } catch (NoSuchFileException ex) {
+        // removed concurrently
+      }
+    }
+  }
+
+  /**
+   * Remove the provided entry or staging directory if it is not in use by this
+   * or any other process.
+   * <p>
+   * While holding an exclusive lock on the directory's lock file, the directory
+   * is renamed so that it can no longer be found, then it is deleted. A process
+   * that opened the lock file before the rename will find the entry missing once
+   * it acquires its lock, and will treat the entry as a cache miss.
+   *
+   * @param dir
+   *          the directory to remove
+   * @return {@code true} if the directory was removed, or {@code false} if it is
+   *         in use or could not be removed
+   */
+  private boolean tryRemove(@NonNull Path dir) throws IOException {
+    Path trash = ObjectUtils.notNull(cacheDir.resolve(EVICTING_PREFIX + UUID.randomUUID()));
+    boolean retval = false;
+    synchronized (ENTRY_LOCKS) {
+      if (!ENTRY_LOCKS.containsKey(dir)) {
+        try (FileChannel channel = openLockFile(dir)) {
+          FileLock lock = channel.tryLock();
+          if (lock != null) {
+            try {
+              Files.move(dir, trash, StandardCopyOption.ATOMIC_MOVE);
+              retval = true;
+            } finally {
+              lock.release();
+            }
+          }
+        } catch (OverlappingFileLockException ex) {
+          // locked by this JVM, for example while compiling
+        } catch (NoSuchFileException ex) {
+          // removed concurrently
+        } catch (FileSystemException ex) {
+          // the directory cannot be moved, for example on platforms that disallow
+          // renaming a directory containing an open file
+          if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Unable to remove cache directory '{}'. {}", dir, ex.getLocalizedMessage());
+          }
+        }
+      }
+    }
+
+    if (retval) {
+      deleteRecursively(trash);
+    }
+    return retval;
+  }
+
+  @NonNull
+  private static FileChannel openLockFile(@NonNull Path dir) throws IOException {
+    return ObjectUtils.notNull(FileChannel.open(
+        dir.resolve(LOCK_FILE),
+        StandardOpenOption.CREATE,
+        StandardOpenOption.READ,
+        StandardOpenOption.WRITE));
+  }
+
+  @NonNull
+  private List<Path> listEntries() throws IOException {
+    try (Stream<Path> stream = Files.list(cacheDir)) {
+      return ObjectUtils.notNull(stream
+          .filter(Files::isDirectory)
+          .filter(path -> !path.getFileName().toString().startsWith("."))
+          .collect(Collectors.toList()));
+    }
+  }
+
+  private static void deleteRecursively(@NonNull Path dir) throws IOException {
+    try (Stream<Path> stream = Files.walk(dir)) {
+      List<Path> paths = stream.sorted(Comparator.reverseOrder()).collect(Collectors.toList());
+      for (Path path : paths) {
+        Files.deleteIfExists(path);
+      }
+    }
+  }
+
+  private static final class EntryInfo {
+    @NonNull
+    private final Path path;
+    private final long size;
+    private final long lastAccessed;
+
+    private EntryInfo(@NonNull Path path) throws IOException {
+      this.path = path;
+      try (Stream<Path> stream = Files.walk(path)) {
+        long total = 0;
+        for (Path file : (Iterable<Path>) stream.filter(Files::isRegularFile)::iterator) {
+          total += Files.size(file);
+        }
+        this.size = total;
+      }
+      Path manifest = path.resolve(MANIFEST_FILE);
+      this.lastAccessed = Files.exists(manifest) ? Files.getLastModifiedTime(manifest).toMillis() : 0;
+    }
+
+    @NonNull
+    public Path getPath() {
+      return path;
+    }
+
+    public long getSize() {
+      return size;
+    }
+
+    public long getLastAccessed() {
+      return lastAccessed;
+    }
+  }
+
+  /**
+   * A shared lock on a cache entry, held on behalf of all productions in this JVM
+   * using the entry.
+   */
+  private static final class EntryLock {
+    @NonNull
+    private final Path entryDir;
+    @NonNull
+    private final FileChannel channel;
+    @NonNull
+    private final FileLock lock;
+    private int references;
+
+    @NonNull
+    private static EntryLock acquire(@NonNull Path entryDir) throws IOException {
+      synchronized (ENTRY_LOCKS) {
+        EntryLock retval = ENTRY_LOCKS.get(entryDir);
+        if (retval == null) {
+          FileChannel channel = openLockFile(entryDir);
+          try {
+            retval = new EntryLock(entryDir, channel, ObjectUtils.notNull(channel.lock(0, Long.MAX_VALUE, true)));
+          } catch (IOException | RuntimeException ex) {
+            channel.close();
+            throw ex;
+          }
+          ENTRY_LOCKS.put(entryDir, retval);
+        }
+        retval.references++;
+        return retval;
+      }
+    }
+
+    private EntryLock(@NonNull Path entryDir, @NonNull FileChannel channel, @NonNull FileLock lock) {
+      this.entryDir = entryDir;
+      this.channel = channel;
+      this.lock = lock;
+    }
+
+    private void release() throws IOException {
+      synchronized (ENTRY_LOCKS) {
+        if (--references == 0) {
+          ENTRY_LOCKS.remove(entryDir);
+          try {
+            lock.release();
+          } finally {
+            channel.close();
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * A cache entry containing compiled module classes.
+   * <p>
+   * The entry is protected from removal until this production is closed. Classes
+   * loaded from the entry may be loaded lazily, so a production must remain open
+   * as long as classes may be loaded from its class directory.
+   */
+  public static final class CachedProduction implements Closeable {
+    @NonNull
+    private final Path classDir;
+    @NonNull
+    private final List<String> moduleClassNames;
+    @Nullable
+    private EntryLock lock;
+
+    private CachedProduction(
+        @NonNull Path classDir,
+        @NonNull List<String> moduleClassNames,
+        @NonNull EntryLock lock) {
+      this.classDir = classDir;
+      this.moduleClassNames = CollectionUtil.unmodifiableList(moduleClassNames);
+      this.lock = lock;
+    }
+
+    /**
+     * Get the directory containing the compiled classes.
+     *
+     * @return the class directory
+     */
+    @NonNull
+    public Path getClassDir() {
+      return classDir;
+    }
+
+    /**
+     * Get the binary names of the generated module classes.
+     *
+     * @return the class names
+     */
+    @NonNull
+    public List<String> getModuleClassNames() {
+      return moduleClassNames;
+    }
+
+    /**
+     * Release this production's use of the cache entry, allowing it to be
+     * evicted.
+     */
+    @Override
+    public void close() throws IOException {
+      EntryLock current;
+      synchronized (this) {
+        current = lock;
+        lock = null;
+      }
+      if (current != null) {
+        current.release();
+      }
+    }
+  }
+}
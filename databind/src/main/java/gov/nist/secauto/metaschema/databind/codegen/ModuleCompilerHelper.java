@@ -6,9 +6,11 @@
 package gov.nist.secauto.metaschema.databind.codegen;
 
 import gov.nist.secauto.metaschema.core.model.IModule;
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
 import gov.nist.secauto.metaschema.databind.IBindingContext;
 import gov.nist.secauto.metaschema.databind.codegen.config.DefaultBindingConfiguration;
 import gov.nist.secauto.metaschema.databind.codegen.config.IBindingConfiguration;
+import gov.nist.secauto.metaschema.databind.model.IBoundModule;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -140,6 +142,39 @@ public final class ModuleCompilerHelper {
     }
   }
 
+  /**
+   * Load the generated module classes compiled in the provided
+   * {@code classDir}, using a new class loader that delegates to the current
+   * thread's context class loader.
+   *
+   * @param classDir
+   *          the directory where generated Java classes have been compiled
+   * @param moduleClassNames
+   *          the binary names of the generated module classes
+   * @return the loaded module classes, in the order of the provided names
+   * @throws IllegalStateException
+   *           if a module class could not be loaded
+   */
+  @SuppressWarnings({ "PMD.UseProperClassLoader", "unchecked" }) // false positive
+  @NonNull
+  public static List<Class<? extends IBoundModule>> loadModuleClasses(
+      @NonNull Path classDir,
+      @NonNull List<String> moduleClassNames) {
+    ClassLoader classLoader = newClassLoader(
+        classDir,
+        ObjectUtils.notNull(Thread.currentThread().getContextClassLoader()));
+
+    return ObjectUtils.notNull(moduleClassNames.stream()
+        .map(className -> {
+          try {
+            return (Class<? extends IBoundModule>) classLoader.loadClass(className);
+          } catch (ClassNotFoundException ex) {
+            throw new IllegalStateException(ex);
+          }
+        })
+        .collect(Collectors.toList()));
+  }
+
   @SuppressWarnings({
       "PMD.CyclomaticComplexity", "PMD.CognitiveComplexity", // acceptable
   })
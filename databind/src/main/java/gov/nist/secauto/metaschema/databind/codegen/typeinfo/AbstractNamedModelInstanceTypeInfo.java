@@ -19,14 +19,14 @@ import gov.nist.secauto.metaschema.core.model.IModelDefinition;
 import gov.nist.secauto.metaschema.core.model.INamedModelInstanceAbsolute;
 import gov.nist.secauto.metaschema.core.model.JsonGroupAsBehavior;
 import gov.nist.secauto.metaschema.core.util.CollectionUtil;
+import gov.nist.secauto.metaschema.core.util.CompactOrderedMap;
 import gov.nist.secauto.metaschema.core.util.ObjectUtils;
 import gov.nist.secauto.metaschema.databind.codegen.ClassUtils;
 import gov.nist.secauto.metaschema.databind.codegen.typeinfo.def.IAssemblyDefinitionTypeInfo;
 import gov.nist.secauto.metaschema.databind.codegen.typeinfo.def.IModelDefinitionTypeInfo;
 
-import java.util.LinkedHashMap;
+import java.util.ArrayList;
 import java.util.LinkedHashSet;
-import java.util.LinkedList;
 import java.util.Set;
 
 import javax.lang.model.element.Modifier;
@@ -151,7 +151,7 @@ abstract class AbstractNamedModelInstanceTypeInfo<INSTANCE extends INamedModelIn
               .addStatement("$1T key = $2T.requireNonNull($3N.$4N(),\"$3N key cannot be null\")",
                   String.class, ObjectUtils.class, valueParam, "get" + jsonKeyTypeInfo.getPropertyName())
               .beginControlFlow("if ($N == null)", valueField)
-              .addStatement("$N = new $T<>()", valueField, LinkedHashMap.class)
+              .addStatement("$N = new $T<>()", valueField, CompactOrderedMap.class)
               .endControlFlow()
               .addStatement("return $N.put(key, value)", valueField);
 
@@ -186,7 +186,7 @@ abstract class AbstractNamedModelInstanceTypeInfo<INSTANCE extends INamedModelIn
               .addStatement("$T value = $T.requireNonNull($N,\"$N cannot be null\")",
                   itemType, ObjectUtils.class, valueParam, valueParam)
               .beginControlFlow("if ($N == null)", valueField)
-              .addStatement("$N = new $T<>()", valueField, LinkedList.class)
+              .addStatement("$N = new $T<>()", valueField, ArrayList.class)
               .endControlFlow()
               .addStatement("return $N.add(value)", valueField);
 
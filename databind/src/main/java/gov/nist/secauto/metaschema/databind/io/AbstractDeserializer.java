@@ -11,6 +11,7 @@ import gov.nist.secauto.metaschema.core.metapath.DynamicContext;
 import gov.nist.secauto.metaschema.core.metapath.item.node.IDefinitionNodeItem;
 import gov.nist.secauto.metaschema.core.metapath.item.node.IDocumentNodeItem;
 import gov.nist.secauto.metaschema.core.metapath.item.node.INodeItem;
+import gov.nist.secauto.metaschema.core.metapath.item.node.INodeItemFactory;
 import gov.nist.secauto.metaschema.core.model.IBoundObject;
 import gov.nist.secauto.metaschema.core.model.constraint.DefaultConstraintValidator;
 import gov.nist.secauto.metaschema.core.model.constraint.IConstraintValidationHandler;
@@ -23,6 +24,7 @@ import java.io.Reader;
 import java.net.URI;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
 
 /**
  * The base class of all format-specific deserializers.
@@ -71,6 +73,19 @@ public abstract class AbstractDeserializer<CLASS extends IBoundObject>
     }
   }
 
+  /**
+   * Get the factory used to create node items for deserialized data.
+   *
+   * @return the node item factory
+   * @see DeserializationFeature#DESERIALIZE_LIGHTWEIGHT_NODE_ITEMS
+   */
+  @NonNull
+  protected INodeItemFactory getNodeItemFactory() {
+    return isFeatureEnabled(DeserializationFeature.DESERIALIZE_LIGHTWEIGHT_NODE_ITEMS)
+        ? INodeItemFactory.lightweightInstance()
+        : INodeItemFactory.instance();
+  }
+
   @Override
   public INodeItem deserializeToNodeItem(Reader reader, URI documentUri) throws IOException {
 
@@ -139,6 +154,45 @@ public abstract class AbstractDeserializer<CLASS extends IBoundObject>
   protected abstract CLASS deserializeToValueInternal(@NonNull Reader reader, @NonNull URI documentUri)
       throws IOException;
 
+  @Override
+  public CLASS deserializeStreaming(
+      Reader reader,
+      URI documentUri,
+      IStreamingItemHandler handler) throws IOException {
+    return deserializeToValueInternal(reader, documentUri, handler);
+  }
+
+  /**
+   * Parse the data, passing the items of the root assembly's multi-valued model
+   * instances to the provided handler as they are read.
+   * <p>
+   * Formats that support streaming must override this method.
+   *
+   * @param reader
+   *          the reader instance to read data from
+   * @param documentUri
+   *          the URI of the document that is being read
+   * @param handler
+   *          the handler to pass root items to, or {@code null} to retain all
+   *          items
+   * @return the root object, containing only the items that were not handled
+   * @throws IOException
+   *           if an error occurred while reading data from the stream
+   * @throws UnsupportedOperationException
+   *           if this format does not support streaming
+   */
+  @NonNull
+  protected CLASS deserializeToValueInternal(
+      @NonNull Reader reader,
+      @NonNull URI documentUri,
+      @Nullable IStreamingItemHandler handler) throws IOException {
+    if (handler != null) {
+      throw new UnsupportedOperationException(
+          String.format("Streaming is not supported by '%s'.", getClass().getName()));
+    }
+    return deserializeToValueInternal(reader, documentUri);
+  }
+
   @Override
   public IDeserializer<CLASS> enableFeature(DeserializationFeature<?> feature) {
     return set(feature, true);
@@ -0,0 +1,52 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.databind.io;
+
+import gov.nist.secauto.metaschema.core.model.IMetaschemaData;
+
+/**
+ * Records the line and column of a deserialized bound object, without character
+ * or byte offsets.
+ *
+ * @see LocationTrackingMode#COMPACT
+ */
+public final class CompactMetaschemaData implements IMetaschemaData {
+  private final int line;
+  private final int column;
+
+  /**
+   * Construct a new location record.
+   *
+   * @param line
+   *          the line number, or {@code -1} if not known
+   * @param column
+   *          the column number, or {@code -1} if not known
+   */
+  public CompactMetaschemaData(int line, int column) {
+    this.line = line;
+    this.column = column;
+  }
+
+  @Override
+  public int getLine() {
+    return line;
+  }
+
+  @Override
+  public int getColumn() {
+    return column;
+  }
+
+  @Override
+  public long getCharOffset() {
+    return -1;
+  }
+
+  @Override
+  public long getByteOffset() {
+    return -1;
+  }
+}
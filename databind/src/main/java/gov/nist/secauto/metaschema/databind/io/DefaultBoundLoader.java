@@ -15,14 +15,18 @@ import gov.nist.secauto.metaschema.core.resource.AbstractResourceResolver;
 import gov.nist.secauto.metaschema.core.util.ObjectUtils;
 import gov.nist.secauto.metaschema.databind.IBindingContext;
 import gov.nist.secauto.metaschema.databind.io.ModelDetector.Result;
+import gov.nist.secauto.metaschema.databind.model.IBoundDefinitionModelAssembly;
 
 import org.eclipse.jdt.annotation.NotOwning;
 import org.eclipse.jdt.annotation.Owning;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Writer;
 import java.net.URI;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
@@ -241,11 +245,49 @@ public class DefaultBoundLoader
     }
   }
 
+  @Override
+  public <CLASS extends IBoundObject> void convertStreaming(
+      URI source,
+      Writer writer,
+      Format toFormat,
+      Class<CLASS> rootClass) throws IOException {
+    ISerializer<CLASS> serializer = getBindingContext().newSerializer(toFormat, rootClass);
+    if (!serializer.isStreamingSupported()) {
+      throw new IOException(String.format("Streaming conversion to '%s' is not supported.", toFormat.name()));
+    }
+    IBoundDefinitionModelAssembly definition = ObjectUtils.asType(
+        ObjectUtils.requireNonNull(getBindingContext().getBoundDefinitionForClass(rootClass)));
+
+    URI resourceUri = resolve(source);
+    URL resource = resourceUri.toURL();
+
+    try (InputStream is = ObjectUtils.notNull(resource.openStream())) {
+      FormatDetector.Result match = getFormatDetector().detect(is);
+      IDeserializer<CLASS> deserializer = getDeserializer(rootClass, match.getFormat(), getConfiguration());
+      if (!deserializer.isStreamingSupported()) {
+        throw new IOException(String.format("Streaming conversion from '%s' is not supported.",
+            match.getFormat().name()));
+      }
+
+      try (InputStream remainingStream = match.getDataStream();
+          IStreamingWriter streamingWriter = serializer.newStreamingWriter(writer)) {
+        StreamingConversionHandler handler = new StreamingConversionHandler(definition, streamingWriter);
+        CLASS root = deserializer.deserializeStreaming(
+            new InputStreamReader(remainingStream, StandardCharsets.UTF_8),
+            resourceUri,
+            handler);
+        handler.finish(root);
+      }
+    }
+  }
+
   @NonNull
   private <CLASS extends IBoundObject> IDeserializer<CLASS> getDeserializer(
       @NonNull Class<CLASS> clazz,
       @NonNull Format format,
       @NonNull IConfiguration<DeserializationFeature<?>> config) {
+    // deserializers hold per-load state, so each load uses its own instance;
+    // the expensive parser factories they use are shared
     IDeserializer<CLASS> retval = getBindingContext().newDeserializer(format, clazz);
     retval.applyConfiguration(config);
     return retval;
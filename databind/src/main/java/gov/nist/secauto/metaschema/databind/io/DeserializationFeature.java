@@ -55,6 +55,33 @@ public final class DeserializationFeature<V>
   public static final DeserializationFeature<Integer> FORMAT_DETECTION_LOOKAHEAD_LIMIT
       = new DeserializationFeature<>("format-detection-lookahead-limit", Integer.class, FORMAT_DETECTION_LOOKAHEAD);
 
+  /**
+   * Determines how the source location of each deserialized bound object is
+   * recorded. Disabling location tracking reduces memory use, but findings will
+   * not report a location.
+   */
+  @NonNull
+  public static final DeserializationFeature<LocationTrackingMode> DESERIALIZE_LOCATION_TRACKING
+      = new DeserializationFeature<>("location-tracking", LocationTrackingMode.class, LocationTrackingMode.FULL);
+
+  /**
+   * If enabled, equal string and URI values read during a single load share one
+   * instance. This reduces memory use for documents that repeat a small
+   * vocabulary of values many times.
+   */
+  @NonNull
+  public static final DeserializationFeature<Boolean> DESERIALIZE_CANONICALIZE_VALUES
+      = new DeserializationFeature<>("canonicalize-values", Boolean.class, false);
+
+  /**
+   * If enabled, node items created for deserialized data hold their children
+   * using soft references, allowing the children to be released when memory is
+   * low. This bounds the memory used to validate large documents.
+   */
+  @NonNull
+  public static final DeserializationFeature<Boolean> DESERIALIZE_LIGHTWEIGHT_NODE_ITEMS
+      = new DeserializationFeature<>("lightweight-node-items", Boolean.class, false);
+
   private DeserializationFeature(
       @NonNull String name,
       @NonNull Class<V> valueClass,
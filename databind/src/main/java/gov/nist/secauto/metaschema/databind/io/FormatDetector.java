@@ -29,6 +29,12 @@ import edu.umd.cs.findbugs.annotations.NonNull;
  * is represented as.
  */
 public class FormatDetector {
+  /**
+   * A shared factory used only to detect XML content. Jackson factories are
+   * thread-safe once configured.
+   */
+  @NonNull
+  private static final XmlFactory XML_DETECTOR_FACTORY = new XmlFactory();
 
   private final DataFormatDetector detector;
 
@@ -72,9 +78,9 @@ public class FormatDetector {
   @NonNull
   private static JsonFactory[] newDetectorFactory(@NonNull IConfiguration<DeserializationFeature<?>> config) {
     JsonFactory[] detectorFactory = new JsonFactory[3];
-    detectorFactory[0] = YamlFactoryFactory.newParserFactoryInstance(config);
+    detectorFactory[0] = YamlFactoryFactory.parserFactoryInstance(config);
     detectorFactory[1] = JsonFactoryFactory.instance();
-    detectorFactory[2] = new XmlFactory();
+    detectorFactory[2] = XML_DETECTOR_FACTORY;
     return detectorFactory;
   }
 
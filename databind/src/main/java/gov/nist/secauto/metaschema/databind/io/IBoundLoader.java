@@ -640,4 +640,37 @@ public interface IBoundLoader extends IDocumentLoader, IMutableConfiguration<Des
     ISerializer<CLASS> serializer = getBindingContext().newSerializer(toFormat, rootClass);
     serializer.serialize(object, writer);
   }
+
+  /**
+   * Auto convert the provided {@code source} to the provided {@code toFormat},
+   * writing each top-level item as soon as it has been read.
+   * <p>
+   * Unlike {@link #convert(URI, Writer, Format, Class)}, the complete document
+   * is never held in memory. Only the root flags, the single-valued root model
+   * instances, and the top-level item currently being converted are retained.
+   * The root flags and properties of a JSON or YAML source must appear in model
+   * order. Constraint validation is not performed.
+   *
+   * @param <CLASS>
+   *          the Java type to load data into
+   * @param source
+   *          the resource to convert
+   * @param writer
+   *          the writer to write converted content to
+   * @param toFormat
+   *          the format to convert to
+   * @param rootClass
+   *          the class for the Java type to load data into
+   * @throws FileNotFoundException
+   *           the the provided source file was not found
+   * @throws IOException
+   *           if an error occurred while loading the data from the specified
+   *           resource or writing the converted data to the specified
+   *           destination, or if the source cannot be streamed
+   */
+  <CLASS extends IBoundObject> void convertStreaming(
+      @NonNull URI source,
+      @NonNull Writer writer,
+      @NonNull Format toFormat,
+      @NonNull Class<CLASS> rootClass) throws FileNotFoundException, IOException;
 }
@@ -202,4 +202,42 @@ public interface IDeserializer<CLASS extends IBoundObject> extends IMutableConfi
    */
   @NonNull
   CLASS deserializeToValue(@NonNull Reader reader, @NonNull URI documentUri) throws IOException;
+
+  /**
+   * Determine if this deserializer supports
+   * {@link #deserializeStreaming(Reader, URI, IStreamingItemHandler)}.
+   *
+   * @return {@code true} if streaming is supported, or {@code false} otherwise
+   */
+  default boolean isStreamingSupported() {
+    return false;
+  }
+
+  /**
+   * Read data from the {@link Reader}, passing each item of the root assembly's
+   * multi-valued model instances to the provided handler as soon as it is read.
+   * <p>
+   * Items accepted by the handler are not retained in the returned root object,
+   * which allows large documents to be processed without holding the whole
+   * object graph in memory. Constraint validation is not performed, since the
+   * whole document is not available.
+   *
+   * @param reader
+   *          the reader to read from
+   * @param documentUri
+   *          the URI of the document to read from
+   * @param handler
+   *          the handler to pass root items to
+   * @return the root object, containing the flags and the model items not
+   *         accepted by the handler
+   * @throws IOException
+   *           if an error occurred while reading data from the stream
+   * @throws UnsupportedOperationException
+   *           if this format does not support streaming
+   */
+  @NonNull
+  CLASS deserializeStreaming(
+      @NonNull Reader reader,
+      @NonNull URI documentUri,
+      @NonNull IStreamingItemHandler handler) throws IOException;
 }
@@ -109,4 +109,34 @@ public interface ISerializer<CLASS extends IBoundObject> extends IMutableConfigu
    *           if an error occurred while writing data to the stream
    */
   void serialize(@NonNull IBoundObject data, @NonNull Writer writer) throws IOException;
+
+  /**
+   * Determine if this serializer supports {@link #newStreamingWriter(Writer)}.
+   *
+   * @return {@code true} if streaming is supported, or {@code false} otherwise
+   */
+  default boolean isStreamingSupported() {
+    return false;
+  }
+
+  /**
+   * Create a writer that writes the root object incrementally to the
+   * {@link Writer}, one model item at a time.
+   * <p>
+   * The returned streaming writer does not have ownership of the provided
+   * writer and will not close it.
+   *
+   * @param writer
+   *          the writer to write to
+   * @return the streaming writer
+   * @throws IOException
+   *           if an error occurred while creating the streaming writer
+   * @throws UnsupportedOperationException
+   *           if this format does not support streaming
+   */
+  @NonNull
+  default IStreamingWriter newStreamingWriter(@NonNull Writer writer) throws IOException {
+    throw new UnsupportedOperationException(
+        String.format("Streaming is not supported by '%s'.", getClass().getName()));
+  }
 }
@@ -0,0 +1,44 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.databind.io;
+
+import gov.nist.secauto.metaschema.core.model.IBoundObject;
+import gov.nist.secauto.metaschema.databind.model.IBoundInstanceModel;
+
+import java.io.IOException;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * Receives the items of the root assembly's multi-valued model instances as
+ * soon as each item has been read.
+ * <p>
+ * A handled item is not added to the root object, which allows a large
+ * document to be processed one top-level item at a time without retaining the
+ * whole object graph.
+ */
+@FunctionalInterface
+public interface IStreamingItemHandler {
+  /**
+   * Handle an item that has just been read.
+   *
+   * @param root
+   *          the root object, which contains the root flags and any model items
+   *          that were not handled
+   * @param instance
+   *          the model instance the item was read for
+   * @param item
+   *          the item that was read
+   * @return {@code true} if the item was handled and must not be retained by the
+   *         root object, or {@code false} otherwise
+   * @throws IOException
+   *           if an error occurred while handling the item
+   */
+  boolean handleRootItem(
+      @NonNull IBoundObject root,
+      @NonNull IBoundInstanceModel<?> instance,
+      @NonNull Object item) throws IOException;
+}
@@ -0,0 +1,101 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.databind.io;
+
+import gov.nist.secauto.metaschema.core.model.IBoundObject;
+import gov.nist.secauto.metaschema.databind.model.IBoundInstanceModel;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * Writes a root assembly incrementally, one model item at a time.
+ * <p>
+ * The methods of this writer must be called in the following order:
+ * <ol>
+ * <li>{@link #writeRootStart(IBoundObject)} once, which writes the root flags;
+ * <li>for each of the root model instances, in model order, either
+ * {@link #writeInstance(IBoundInstanceModel, IBoundObject)}, or
+ * {@link #writeItemsStart(IBoundInstanceModel, boolean)} followed by one or
+ * more calls to {@link #writeItem(IBoundInstanceModel, Object)} and a matching
+ * {@link #writeItemsEnd(IBoundInstanceModel, boolean)};
+ * <li>{@link #writeRootEnd()} once.
+ * </ol>
+ * <p>
+ * The output is the same as if the complete root object had been serialized.
+ * Closing this writer does not close the underlying {@link java.io.Writer}.
+ */
+public interface IStreamingWriter extends Closeable {
+  /**
+   * Write the start of the root object and its flags.
+   *
+   * @param root
+   *          the root object providing the flag values
+   * @throws IOException
+   *           if an error occurred while writing
+   */
+  void writeRootStart(@NonNull IBoundObject root) throws IOException;
+
+  /**
+   * Write all values of a root model instance that are held by the root object.
+   *
+   * @param instance
+   *          the root model instance to write
+   * @param root
+   *          the root object providing the values
+   * @throws IOException
+   *           if an error occurred while writing
+   */
+  void writeInstance(@NonNull IBoundInstanceModel<?> instance, @NonNull IBoundObject root) throws IOException;
+
+  /**
+   * Write the start of a sequence of items for a root model instance.
+   *
+   * @param instance
+   *          the root model instance the items belong to
+   * @param multiple
+   *          {@code true} if more than one item will be written, or
+   *          {@code false} otherwise
+   * @throws IOException
+   *           if an error occurred while writing
+   */
+  void writeItemsStart(@NonNull IBoundInstanceModel<?> instance, boolean multiple) throws IOException;
+
+  /**
+   * Write a single item of a root model instance.
+   *
+   * @param instance
+   *          the root model instance the item belongs to
+   * @param item
+   *          the item to write
+   * @throws IOException
+   *           if an error occurred while writing
+   */
+  void writeItem(@NonNull IBoundInstanceModel<?> instance, @NonNull Object item) throws IOException;
+
+  /**
+   * Write the end of a sequence of items for a root model instance.
+   *
+   * @param instance
+   *          the root model instance the items belong to
+   * @param multiple
+   *          the same value provided to
+   *          {@link #writeItemsStart(IBoundInstanceModel, boolean)}
+   * @throws IOException
+   *           if an error occurred while writing
+   */
+  void writeItemsEnd(@NonNull IBoundInstanceModel<?> instance, boolean multiple) throws IOException;
+
+  /**
+   * Write the end of the root object.
+   *
+   * @throws IOException
+   *           if an error occurred while writing
+   */
+  void writeRootEnd() throws IOException;
+}
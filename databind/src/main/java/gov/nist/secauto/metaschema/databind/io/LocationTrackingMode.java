@@ -0,0 +1,30 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.databind.io;
+
+/**
+ * Determines how the source location of each deserialized bound object is
+ * recorded.
+ *
+ * @see DeserializationFeature#DESERIALIZE_LOCATION_TRACKING
+ */
+public enum LocationTrackingMode {
+  /**
+   * Record the line, column, and character and byte offsets, where supported by
+   * the format.
+   */
+  FULL,
+  /**
+   * Record only the line and column, which is sufficient to report findings
+   * while using less memory per object.
+   */
+  COMPACT,
+  /**
+   * Do not record locations. This is useful when content is loaded for
+   * conversion or bulk processing, where locations are never reported.
+   */
+  NONE;
+}
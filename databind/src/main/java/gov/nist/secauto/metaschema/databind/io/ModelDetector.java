@@ -5,7 +5,6 @@
 
 package gov.nist.secauto.metaschema.databind.io;
 
-import com.ctc.wstx.stax.WstxInputFactory;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.io.MergedStream;
@@ -18,6 +17,7 @@ import gov.nist.secauto.metaschema.core.model.util.JsonUtil;
 import gov.nist.secauto.metaschema.core.util.ObjectUtils;
 import gov.nist.secauto.metaschema.databind.IBindingContext;
 import gov.nist.secauto.metaschema.databind.io.json.JsonFactoryFactory;
+import gov.nist.secauto.metaschema.databind.io.xml.XmlFactoryFactory;
 import gov.nist.secauto.metaschema.databind.io.yaml.impl.YamlFactoryFactory;
 
 import org.codehaus.stax2.XMLEventReader2;
@@ -34,7 +34,6 @@ import java.io.Reader;
 import java.nio.charset.Charset;
 
 import javax.xml.namespace.QName;
-import javax.xml.stream.XMLInputFactory;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.events.StartElement;
 
@@ -120,7 +119,7 @@ public class ModelDetector {
         }
         break;
       case YAML:
-        YAMLFactory factory = YamlFactoryFactory.newParserFactoryInstance(getConfiguration());
+        YAMLFactory factory = YamlFactoryFactory.parserFactoryInstance(getConfiguration());
         try (JsonParser parser = factory.createParser(bis)) {
           assert parser != null;
           clazz = detectModelJsonClass(parser);
@@ -147,10 +146,9 @@ public class ModelDetector {
   private Class<? extends IBoundObject> detectModelXmlClass(@NonNull InputStream is) throws IOException {
     QName startElementQName;
     try {
-      XMLInputFactory2 xmlInputFactory = (XMLInputFactory2) XMLInputFactory.newInstance();
-      assert xmlInputFactory instanceof WstxInputFactory;
-      xmlInputFactory.configureForXmlConformance();
-      xmlInputFactory.setProperty(XMLInputFactory.IS_COALESCING, false);
+      // only the root element is needed, so entities are never resolved and
+      // locations are not tracked
+      XMLInputFactory2 xmlInputFactory = XmlFactoryFactory.inputFactoryInstance(false, false);
 
       Reader reader = new InputStreamReader(is, Charset.forName("UTF8"));
       XMLEventReader2 eventReader = (XMLEventReader2) xmlInputFactory.createXMLEventReader(reader);
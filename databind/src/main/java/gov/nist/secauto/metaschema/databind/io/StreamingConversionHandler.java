@@ -0,0 +1,185 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.databind.io;
+
+import gov.nist.secauto.metaschema.core.model.IBoundObject;
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
+import gov.nist.secauto.metaschema.databind.model.IBoundDefinitionModelAssembly;
+import gov.nist.secauto.metaschema.databind.model.IBoundInstance;
+import gov.nist.secauto.metaschema.databind.model.IBoundInstanceFlag;
+import gov.nist.secauto.metaschema.databind.model.IBoundInstanceModel;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+/**
+ * Converts a document by writing each root item as soon as it has been read.
+ * <p>
+ * Root model instances are written in model order. The root flags and any
+ * single-valued root model instances are written from the root object when they
+ * are reached, so they must have been read by then. This is always the case for
+ * XML. For JSON and YAML, the properties must appear in model order, which is
+ * verified by {@link #finish(IBoundObject)}.
+ */
+final class StreamingConversionHandler implements IStreamingItemHandler {
+  @NonNull
+  private final IBoundDefinitionModelAssembly definition;
+  @NonNull
+  private final IStreamingWriter writer;
+  @NonNull
+  private final List<IBoundInstanceModel<?>> instances;
+  /**
+   * The values written from the root object, used to verify they did not change
+   * after being written.
+   */
+  @NonNull
+  private final Map<IBoundInstance<?>, Object> writtenValues = new LinkedHashMap<>();
+  private boolean started;
+  /**
+   * The index of the next root model instance that has not been written.
+   */
+  private int nextIndex;
+  @Nullable
+  private IBoundInstanceModel<?> currentInstance;
+  /**
+   * The first item of the current instance, which is held until it is known if
+   * there is more than one item.
+   */
+  @Nullable
+  private Object pendingItem;
+  private boolean multiple;
+
+  /**
+   * Construct a new handler.
+   *
+   * @param definition
+   *          the root definition
+   * @param writer
+   *          the writer to write the converted content to
+   */
+  StreamingConversionHandler(
+      @NonNull IBoundDefinitionModelAssembly definition,
+      @NonNull IStreamingWriter writer) {
+    this.definition = definition;
+    this.writer = writer;
+    this.instances = new ArrayList<>(definition.getModelInstances());
+  }
+
+  @Override
+  public boolean handleRootItem(IBoundObject root, IBoundInstanceModel<?> instance, Object item) throws IOException {
+    if (!started) {
+      start(root);
+    }
+
+    if (!instance.equals(currentInstance)) {
+      finishCurrentInstance();
+
+      int index = instances.indexOf(instance);
+      if (index < nextIndex) {
+        throw new IOException(String.format(
+            "The items of '%s' were not read in model order and cannot be streamed.",
+            instance.getJsonName()));
+      }
+      writeRetainedInstances(root, index);
+      nextIndex = index + 1;
+
+      currentInstance = instance;
+      pendingItem = item;
+    } else if (multiple) {
+      writer.writeItem(instance, item);
+    } else {
+      multiple = true;
+      writer.writeItemsStart(instance, true);
+      writer.writeItem(instance, ObjectUtils.requireNonNull(pendingItem));
+      writer.writeItem(instance, item);
+      pendingItem = null;
+    }
+    return true;
+  }
+
+  /**
+   * Write the remaining content of the root object, once it has been completely
+   * read.
+   *
+   * @param root
+   *          the root object
+   * @throws IOException
+   *           if an error occurred while writing, or if root values changed
+   *           after being written
+   */
+  public void finish(@NonNull IBoundObject root) throws IOException {
+    if (!started) {
+      start(root);
+    }
+    finishCurrentInstance();
+    writeRetainedInstances(root, instances.size());
+    nextIndex = instances.size();
+
+    for (Map.Entry<IBoundInstance<?>, Object> entry : writtenValues.entrySet()) {
+      IBoundInstance<?> instance = ObjectUtils.notNull(entry.getKey());
+      if (!isUnchanged(instance, entry.getValue(), instance.getValue(root))) {
+        throw new IOException(String.format(
+            "The value of '%s' was read after the following items were written. The source is not in model order"
+                + " and cannot be streamed.",
+            instance.getJsonName()));
+      }
+    }
+    writer.writeRootEnd();
+  }
+
+  private void start(@NonNull IBoundObject root) throws IOException {
+    started = true;
+    writer.writeRootStart(root);
+    for (IBoundInstanceFlag flag : definition.getFlagInstances()) {
+      writtenValues.put(flag, flag.getValue(root));
+    }
+  }
+
+  @SuppressWarnings("PMD.NullAssignment")
+  private void finishCurrentInstance() throws IOException {
+    IBoundInstanceModel<?> instance = currentInstance;
+    if (instance != null) {
+      if (!multiple) {
+        writer.writeItemsStart(instance, false);
+        writer.writeItem(instance, ObjectUtils.requireNonNull(pendingItem));
+      }
+      writer.writeItemsEnd(instance, multiple);
+
+      currentInstance = null;
+      pendingItem = null;
+      multiple = false;
+    }
+  }
+
+  private void writeRetainedInstances(@NonNull IBoundObject root, int endIndex) throws IOException {
+    for (int index = nextIndex; index < endIndex; index++) {
+      IBoundInstanceModel<?> instance = ObjectUtils.notNull(instances.get(index));
+      writtenValues.put(instance, instance.getValue(root));
+      writer.writeInstance(instance, root);
+    }
+  }
+
+  private static boolean isUnchanged(
+      @NonNull IBoundInstance<?> instance,
+      @Nullable Object written,
+      @Nullable Object current) {
+    boolean retval = Objects.equals(written, current);
+    if (!retval && instance instanceof IBoundInstanceModel) {
+      // an absent value and an empty collection are written the same way
+      IBoundInstanceModel<?> modelInstance = (IBoundInstanceModel<?>) instance;
+      retval = modelInstance.getCollectionInfo().isEmpty(written)
+          && modelInstance.getCollectionInfo().isEmpty(current);
+    }
+    return retval;
+  }
+}
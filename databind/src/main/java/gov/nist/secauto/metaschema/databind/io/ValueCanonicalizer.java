@@ -0,0 +1,61 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.databind.io;
+
+import gov.nist.secauto.metaschema.core.datatype.IDataTypeAdapter;
+import gov.nist.secauto.metaschema.core.util.BoundedValueCache;
+
+import java.net.URI;
+import java.util.function.Function;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * Shares equal string and URI values read during a single load.
+ * <p>
+ * Values from other data types are returned unchanged, as are long strings,
+ * which are unlikely to repeat. At most {@link #MAX_ENTRIES} distinct values
+ * are shared.
+ *
+ * @see DeserializationFeature#DESERIALIZE_CANONICALIZE_VALUES
+ */
+public final class ValueCanonicalizer {
+  /**
+   * The maximum number of distinct values shared during a load.
+   */
+  public static final int MAX_ENTRIES = 16_384;
+  /**
+   * The maximum length of a string value that will be shared.
+   */
+  public static final int MAX_STRING_LENGTH = 128;
+
+  @NonNull
+  private final BoundedValueCache<Object, Object> cache = new BoundedValueCache<>(MAX_ENTRIES);
+
+  /**
+   * Get a value equal to the provided value, sharing a previously read instance
+   * if possible.
+   *
+   * @param adapter
+   *          the data type adapter used to parse the value
+   * @param value
+   *          the parsed value
+   * @return the shared value, or the provided value if it is not shared
+   */
+  @NonNull
+  public Object canonicalize(@NonNull IDataTypeAdapter<?> adapter, @NonNull Object value) {
+    Class<?> javaClass = adapter.getJavaClass();
+    Object retval = value;
+    if (String.class.equals(javaClass)) {
+      if (((String) value).length() <= MAX_STRING_LENGTH) {
+        retval = cache.get(value, Function.identity());
+      }
+    } else if (URI.class.equals(javaClass)) {
+      retval = cache.get(value, Function.identity());
+    }
+    return retval;
+  }
+}
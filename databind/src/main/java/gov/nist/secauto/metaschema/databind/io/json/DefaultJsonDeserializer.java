@@ -9,12 +9,15 @@ import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonParser;
 
 import gov.nist.secauto.metaschema.core.configuration.IConfiguration;
+import gov.nist.secauto.metaschema.core.configuration.IMutableConfiguration;
 import gov.nist.secauto.metaschema.core.metapath.item.node.INodeItem;
-import gov.nist.secauto.metaschema.core.metapath.item.node.INodeItemFactory;
 import gov.nist.secauto.metaschema.core.model.IBoundObject;
 import gov.nist.secauto.metaschema.core.util.ObjectUtils;
 import gov.nist.secauto.metaschema.databind.io.AbstractDeserializer;
 import gov.nist.secauto.metaschema.databind.io.DeserializationFeature;
+import gov.nist.secauto.metaschema.databind.io.IStreamingItemHandler;
+import gov.nist.secauto.metaschema.databind.io.LocationTrackingMode;
+import gov.nist.secauto.metaschema.databind.io.ValueCanonicalizer;
 import gov.nist.secauto.metaschema.databind.model.IBoundDefinitionModelAssembly;
 
 import java.io.IOException;
@@ -22,6 +25,7 @@ import java.io.Reader;
 import java.net.URI;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
 
 public class DefaultJsonDeserializer<CLASS extends IBoundObject>
     extends AbstractDeserializer<CLASS> {
@@ -52,6 +56,14 @@ public class DefaultJsonDeserializer<CLASS extends IBoundObject>
     return JsonFactoryFactory.instance();
   }
 
+  @SuppressWarnings("PMD.NullAssignment")
+  @Override
+  protected void configurationChanged(IMutableConfiguration<DeserializationFeature<?>> config) {
+    synchronized (this) {
+      jsonFactory = null;
+    }
+  }
+
   /**
    * Get the parser factory associated with this deserializer.
    *
@@ -84,12 +96,22 @@ public class DefaultJsonDeserializer<CLASS extends IBoundObject>
     return ObjectUtils.notNull(getJsonFactory().createParser(reader));
   }
 
+  @NonNull
+  private MetaschemaJsonReader newMetaschemaJsonReader(@NonNull JsonParser jsonParser) throws IOException {
+    LocationTrackingMode locationTracking = get(DeserializationFeature.DESERIALIZE_LOCATION_TRACKING);
+    return new MetaschemaJsonReader(
+        jsonParser,
+        new DefaultJsonProblemHandler(),
+        ObjectUtils.notNull(locationTracking),
+        isFeatureEnabled(DeserializationFeature.DESERIALIZE_CANONICALIZE_VALUES) ? new ValueCanonicalizer() : null);
+  }
+
   @Override
   protected INodeItem deserializeToNodeItemInternal(@NonNull Reader reader, @NonNull URI documentUri)
       throws IOException {
     INodeItem retval;
     try (JsonParser jsonParser = newJsonParser(reader)) {
-      MetaschemaJsonReader parser = new MetaschemaJsonReader(jsonParser);
+      MetaschemaJsonReader parser = newMetaschemaJsonReader(jsonParser);
       IBoundDefinitionModelAssembly definition = getDefinition();
       IConfiguration<DeserializationFeature<?>> configuration = getConfiguration();
 
@@ -98,12 +120,12 @@ public class DefaultJsonDeserializer<CLASS extends IBoundObject>
         // now parse the root property
         CLASS value = ObjectUtils.requireNonNull(parser.readObjectRoot(definition, definition.getRootJsonName()));
 
-        retval = INodeItemFactory.instance().newDocumentNodeItem(definition, documentUri, value);
+        retval = getNodeItemFactory().newDocumentNodeItem(definition, documentUri, value);
       } else {
         // read the top-level definition
         CLASS value = ObjectUtils.asType(parser.readObject(definition));
 
-        retval = INodeItemFactory.instance().newAssemblyNodeItem(definition, documentUri, value);
+        retval = getNodeItemFactory().newAssemblyNodeItem(definition, documentUri, value);
       }
       return retval;
     }
@@ -111,8 +133,22 @@ public class DefaultJsonDeserializer<CLASS extends IBoundObject>
 
   @Override
   public CLASS deserializeToValueInternal(@NonNull Reader reader, @NonNull URI documentUri) throws IOException {
+    return deserializeToValueInternal(reader, documentUri, null);
+  }
+
+  @Override
+  public boolean isStreamingSupported() {
+    return true;
+  }
+
+  @Override
+  protected CLASS deserializeToValueInternal(
+      @NonNull Reader reader,
+      @NonNull URI documentUri,
+      @Nullable IStreamingItemHandler handler) throws IOException {
     try (JsonParser jsonParser = newJsonParser(reader)) {
-      MetaschemaJsonReader parser = new MetaschemaJsonReader(jsonParser);
+      MetaschemaJsonReader parser = newMetaschemaJsonReader(jsonParser);
+      parser.setStreamingItemHandler(handler);
       IBoundDefinitionModelAssembly definition = getDefinition();
       IConfiguration<DeserializationFeature<?>> configuration = getConfiguration();
 
@@ -13,6 +13,7 @@ import gov.nist.secauto.metaschema.core.configuration.IMutableConfiguration;
 import gov.nist.secauto.metaschema.core.model.IBoundObject;
 import gov.nist.secauto.metaschema.core.util.ObjectUtils;
 import gov.nist.secauto.metaschema.databind.io.AbstractSerializer;
+import gov.nist.secauto.metaschema.databind.io.IStreamingWriter;
 import gov.nist.secauto.metaschema.databind.io.SerializationFeature;
 import gov.nist.secauto.metaschema.databind.model.IBoundDefinitionModelAssembly;
 
@@ -98,4 +99,17 @@ public class DefaultJsonSerializer<CLASS extends IBoundObject>
       }
     }
   }
+
+  @Override
+  public boolean isStreamingSupported() {
+    return true;
+  }
+
+  @Override
+  public IStreamingWriter newStreamingWriter(Writer writer) throws IOException {
+    return new JsonStreamingWriter(
+        newJsonGenerator(writer),
+        getDefinition(),
+        get(SerializationFeature.SERIALIZE_ROOT));
+  }
 }
@@ -0,0 +1,100 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.databind.io.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import gov.nist.secauto.metaschema.core.model.IBoundObject;
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
+import gov.nist.secauto.metaschema.databind.io.IStreamingWriter;
+import gov.nist.secauto.metaschema.databind.model.IBoundDefinitionModelAssembly;
+import gov.nist.secauto.metaschema.databind.model.IBoundInstanceModel;
+
+import java.io.IOException;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * Writes a root object to a JSON or YAML generator one model item at a time.
+ */
+final class JsonStreamingWriter implements IStreamingWriter {
+  @NonNull
+  private final JsonGenerator generator;
+  @NonNull
+  private final MetaschemaJsonWriter writer;
+  @NonNull
+  private final IBoundDefinitionModelAssembly definition;
+  private final boolean serializeRoot;
+
+  /**
+   * Construct a new streaming writer.
+   *
+   * @param generator
+   *          the generator to write with, which is owned by this writer
+   * @param definition
+   *          the root definition
+   * @param serializeRoot
+   *          {@code true} if the root object is wrapped in an object using the
+   *          root name, or {@code false} otherwise
+   */
+  JsonStreamingWriter(
+      @NonNull JsonGenerator generator,
+      @NonNull IBoundDefinitionModelAssembly definition,
+      boolean serializeRoot) {
+    this.generator = generator;
+    this.writer = new MetaschemaJsonWriter(generator);
+    this.definition = definition;
+    this.serializeRoot = serializeRoot;
+  }
+
+  @Override
+  public void writeRootStart(IBoundObject root) throws IOException {
+    if (serializeRoot) {
+      generator.writeStartObject();
+      generator.writeFieldName(definition.getRootJsonName());
+    }
+    writer.writeRootStart(definition, root);
+  }
+
+  @Override
+  public void writeInstance(IBoundInstanceModel<?> instance, IBoundObject root) throws IOException {
+    writer.writeRootModelInstance(instance, root);
+  }
+
+  @Override
+  public void writeItemsStart(IBoundInstanceModel<?> instance, boolean multiple) throws IOException {
+    writer.writeRootItemsStart(instance, multiple);
+  }
+
+  @Override
+  public void writeItem(IBoundInstanceModel<?> instance, Object item) throws IOException {
+    writeTypedItem(instance, item);
+  }
+
+  private <T> void writeTypedItem(@NonNull IBoundInstanceModel<T> instance, @NonNull Object item)
+      throws IOException {
+    T value = ObjectUtils.asType(item);
+    writer.writeRootItem(instance, value);
+  }
+
+  @Override
+  public void writeItemsEnd(IBoundInstanceModel<?> instance, boolean multiple) throws IOException {
+    writer.writeRootItemsEnd(instance, multiple);
+  }
+
+  @Override
+  public void writeRootEnd() throws IOException {
+    writer.writeRootEnd();
+    if (serializeRoot) {
+      generator.writeEndObject();
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    generator.close();
+  }
+}
@@ -12,11 +12,17 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
+import gov.nist.secauto.metaschema.core.datatype.IDataTypeAdapter;
 import gov.nist.secauto.metaschema.core.model.IBoundObject;
 import gov.nist.secauto.metaschema.core.model.IMetaschemaData;
 import gov.nist.secauto.metaschema.core.model.util.JsonUtil;
+import gov.nist.secauto.metaschema.core.util.CompactOrderedMap;
 import gov.nist.secauto.metaschema.core.util.ObjectUtils;
 import gov.nist.secauto.metaschema.databind.io.BindingException;
+import gov.nist.secauto.metaschema.databind.io.CompactMetaschemaData;
+import gov.nist.secauto.metaschema.databind.io.IStreamingItemHandler;
+import gov.nist.secauto.metaschema.databind.io.LocationTrackingMode;
+import gov.nist.secauto.metaschema.databind.io.ValueCanonicalizer;
 import gov.nist.secauto.metaschema.databind.model.IBoundDefinitionModelAssembly;
 import gov.nist.secauto.metaschema.databind.model.IBoundDefinitionModelComplex;
 import gov.nist.secauto.metaschema.databind.model.IBoundDefinitionModelFieldComplex;
@@ -41,13 +47,14 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Deque;
 import java.util.HashMap;
-import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
@@ -67,6 +74,18 @@ public class MetaschemaJsonReader
   private final IJsonProblemHandler problemHandler;
   @NonNull
   private final Lazy<ObjectMapper> objectMapper;
+  @NonNull
+  private final LocationTrackingMode locationTracking;
+  @Nullable
+  private final ValueCanonicalizer valueCanonicalizer;
+  @Nullable
+  private IStreamingItemHandler streamingItemHandler;
+  /**
+   * The first object read without a parent, which is used to identify the items
+   * to pass to the {@link #streamingItemHandler}.
+   */
+  @Nullable
+  private IBoundObject rootItem;
 
   /**
    * Construct a new Module-aware JSON parser using the default problem handler.
@@ -97,8 +116,53 @@ public class MetaschemaJsonReader
   public MetaschemaJsonReader(
       @NonNull JsonParser parser,
       @NonNull IJsonProblemHandler problemHandler) throws IOException {
+    this(parser, problemHandler, LocationTrackingMode.FULL);
+  }
+
+  /**
+   * Construct a new Module-aware JSON parser.
+   *
+   * @param parser
+   *          the JSON parser to parse with
+   * @param problemHandler
+   *          the problem handler implementation to use
+   * @param locationTracking
+   *          determines how the location of each bound object is recorded
+   * @throws IOException
+   *           if an error occurred while reading the JSON
+   */
+  public MetaschemaJsonReader(
+      @NonNull JsonParser parser,
+      @NonNull IJsonProblemHandler problemHandler,
+      @NonNull LocationTrackingMode locationTracking) throws IOException {
+    this(parser, problemHandler, locationTracking, null);
+  }
+
+  /**
+   * Construct a new Module-aware JSON parser.
+   *
+   * @param parser
+   *          the JSON parser to parse with
+   * @param problemHandler
+   *          the problem handler implementation to use
+   * @param locationTracking
+   *          determines how the location of each bound object is recorded
+   * @param valueCanonicalizer
+   *          used to share equal values read by this parser, or {@code null} if
+   *          values are not shared
+   * @throws IOException
+   *           if an error occurred while reading the JSON
+   */
+  @SuppressFBWarnings(value = "CT_CONSTRUCTOR_THROW", justification = "Use of final fields")
+  public MetaschemaJsonReader(
+      @NonNull JsonParser parser,
+      @NonNull IJsonProblemHandler problemHandler,
+      @NonNull LocationTrackingMode locationTracking,
+      @Nullable ValueCanonicalizer valueCanonicalizer) throws IOException {
     this.problemHandler = problemHandler;
     this.objectMapper = ObjectUtils.notNull(Lazy.lazy(ObjectMapper::new));
+    this.locationTracking = locationTracking;
+    this.valueCanonicalizer = valueCanonicalizer;
     push(parser);
   }
 
@@ -153,6 +217,41 @@ public class MetaschemaJsonReader
     return problemHandler;
   }
 
+  /**
+   * Set a handler that receives each item of the root assembly's multi-valued
+   * model instances as soon as the item is read.
+   *
+   * @param handler
+   *          the handler, or {@code null} to retain all items in the root object
+   */
+  public void setStreamingItemHandler(@Nullable IStreamingItemHandler handler) {
+    this.streamingItemHandler = handler;
+  }
+
+  /**
+   * Determine if the item read for the instance was handled by the streaming
+   * item handler, in which case it must not be retained by the parent.
+   *
+   * @param parent
+   *          the parent object of the item
+   * @param instance
+   *          the instance the item was read for
+   * @param item
+   *          the item that was read
+   * @return {@code true} if the item was handled, or {@code false} otherwise
+   * @throws IOException
+   *           if an error occurred while handling the item
+   */
+  private boolean isStreamed(
+      @NonNull IBoundObject parent,
+      @NonNull IBoundInstanceModel<?> instance,
+      @NonNull Object item) throws IOException {
+    IStreamingItemHandler handler = streamingItemHandler;
+    return handler != null
+        && parent == rootItem // NOPMD - intentional identity check
+        && handler.handleRootItem(parent, instance, item);
+  }
+
   @NonNull
   protected ObjectMapper getObjectMapper() {
     return ObjectUtils.notNull(objectMapper.get());
@@ -355,7 +454,13 @@ public class MetaschemaJsonReader
   @NonNull
   private Object readScalarItem(@NonNull IFeatureScalarItemValueHandler handler)
       throws IOException {
-    return handler.getJavaTypeAdapter().parse(getReader());
+    IDataTypeAdapter<?> adapter = handler.getJavaTypeAdapter();
+    return canonicalize(adapter, adapter.parse(getReader()));
+  }
+
+  @NonNull
+  private Object canonicalize(@NonNull IDataTypeAdapter<?> adapter, @NonNull Object value) {
+    return valueCanonicalizer == null ? value : valueCanonicalizer.canonicalize(adapter, value);
   }
 
   @NonNull
@@ -405,13 +510,11 @@ public class MetaschemaJsonReader
         ? bodyHandler
         : new JsonKeyBodyHandler(jsonKey, bodyHandler);
 
-    JsonLocation location = getReader().currentLocation();
-
     // construct the item
-    IBoundObject item = definition.newInstance(
-        JsonLocation.NA.equals(location)
-            ? null
-            : () -> new MetaschemaData(location));
+    IBoundObject item = definition.newInstance(newMetaschemaData(getReader().currentLocation()));
+    if (parentItem == null && rootItem == null) {
+      rootItem = item;
+    }
 
     try {
       // call pre-parse initialization hook
@@ -489,7 +592,8 @@ public class MetaschemaJsonReader
 
       // the field will be the JSON key
       String key = ObjectUtils.notNull(parser.currentName());
-      Object value = jsonKey.getDefinition().getJavaTypeAdapter().parse(key);
+      IDataTypeAdapter<?> adapter = jsonKey.getDefinition().getJavaTypeAdapter();
+      Object value = canonicalize(adapter, adapter.parse(key));
       jsonKey.setValue(parent, ObjectUtils.notNull(value.toString()));
 
       // skip to the next token
@@ -653,7 +757,8 @@ public class MetaschemaJsonReader
       } else {
         // handle JSON value key
         String key = ObjectUtils.notNull(parser.currentName());
-        Object keyValue = jsonValueKyeFlag.getJavaTypeAdapter().parse(key);
+        IDataTypeAdapter<?> adapter = jsonValueKyeFlag.getJavaTypeAdapter();
+        Object keyValue = canonicalize(adapter, adapter.parse(key));
         jsonValueKyeFlag.setValue(ObjectUtils.notNull(parentItem), keyValue);
 
         // advance past the field name
@@ -686,7 +791,7 @@ public class MetaschemaJsonReader
     public List<ITEM> readList() throws IOException {
       JsonParser parser = getReader();
 
-      List<ITEM> items = new LinkedList<>();
+      ArrayList<ITEM> items = new ArrayList<>();
       switch (parser.currentToken()) {
       case START_ARRAY:
         // this is an array, we need to parse the array wrapper then each item
@@ -694,7 +799,7 @@ public class MetaschemaJsonReader
 
         // parse items
         while (!JsonToken.END_ARRAY.equals(parser.currentToken())) {
-          items.add(readItem());
+          addItem(items, readItem());
         }
 
         // this is the other side of the array wrapper, advance past it
@@ -705,9 +810,11 @@ public class MetaschemaJsonReader
         break;
       default:
         // this is a singleton, just parse the value as a single item
-        items.add(readItem());
+        addItem(items, readItem());
         break;
       }
+      // avoid retaining unused capacity in the bound object
+      items.trimToSize();
       return items;
     }
 
@@ -718,7 +825,7 @@ public class MetaschemaJsonReader
 
       IBoundInstanceModel<?> instance = getCollectionInfo().getInstance();
 
-      @SuppressWarnings("PMD.UseConcurrentHashMap") Map<String, ITEM> items = new LinkedHashMap<>();
+      CompactOrderedMap<String, ITEM> items = new CompactOrderedMap<>();
 
       // A map value is always wrapped in a START_OBJECT, since fields are used for
       // the keys
@@ -742,7 +849,9 @@ public class MetaschemaJsonReader
               jsonKey.getContainingDefinition().toCoordinates()));
         }
         String key = jsonKey.getJavaTypeAdapter().asString(keyValue);
-        items.put(key, item);
+        if (!isStreamed(getParentObject(), instance, item)) {
+          items.put(key, item);
+        }
 
         // the next item will be a FIELD_NAME, or we will encounter an END_OBJECT if all
         // items have been
@@ -753,9 +862,16 @@ public class MetaschemaJsonReader
       // A map value will always end with an end object, which needs to be consumed
       JsonUtil.assertAndAdvance(parser, JsonToken.END_OBJECT);
 
+      items.trimToSize();
       return items;
     }
 
+    private void addItem(@NonNull List<ITEM> items, @NonNull ITEM item) throws IOException {
+      if (!isStreamed(getParentObject(), getCollectionInfo().getInstance(), item)) {
+        items.add(item);
+      }
+    }
+
     @Override
     @NonNull
     public ITEM readItem() throws IOException {
@@ -764,6 +880,28 @@ public class MetaschemaJsonReader
     }
   }
 
+  @Nullable
+  private Supplier<IMetaschemaData> newMetaschemaData(@NonNull JsonLocation location) {
+    Supplier<IMetaschemaData> retval;
+    if (JsonLocation.NA.equals(location)) {
+      retval = null;
+    } else {
+      switch (locationTracking) {
+      case NONE:
+        retval = null;
+        break;
+      case COMPACT:
+        retval = () -> new CompactMetaschemaData(location.getLineNr(), location.getColumnNr());
+        break;
+      case FULL:
+      default:
+        retval = () -> new MetaschemaData(location);
+        break;
+      }
+    }
+    return retval;
+  }
+
   private static class MetaschemaData implements IMetaschemaData {
     private final int line;
     private final int column;
@@ -66,6 +66,115 @@ public class MetaschemaJsonWriter implements IJsonWritingContext, IItemWriteHand
     definition.writeItem(item, this);
   }
 
+  // ===================================================
+  // Entry points for writing a root object item by item
+  // ===================================================
+
+  /**
+   * Write the start of the root object and its flags.
+   *
+   * @param definition
+   *          the root definition
+   * @param item
+   *          the root object providing the flag values
+   * @throws IOException
+   *           if an error occurred while writing
+   */
+  public void writeRootStart(
+      @NonNull IBoundDefinitionModelAssembly definition,
+      @NonNull IBoundObject item) throws IOException {
+    generator.writeStartObject();
+    for (IBoundInstanceFlag flag : definition.getFlagInstances()) {
+      assert flag != null;
+      writeInstance(flag, item);
+    }
+  }
+
+  /**
+   * Write the values of a root model instance that are held by the root object.
+   *
+   * @param instance
+   *          the root model instance
+   * @param item
+   *          the root object providing the values
+   * @throws IOException
+   *           if an error occurred while writing
+   */
+  public void writeRootModelInstance(
+      @NonNull IBoundInstanceModel<?> instance,
+      @NonNull IBoundObject item) throws IOException {
+    writeModelInstance(instance, item);
+  }
+
+  /**
+   * Write the property name for a root model instance, and the start of an
+   * array if the instance's JSON grouping requires one.
+   *
+   * @param instance
+   *          the root model instance
+   * @param multiple
+   *          {@code true} if more than one item will be written, or
+   *          {@code false} otherwise
+   * @throws IOException
+   *           if an error occurred while writing
+   */
+  public void writeRootItemsStart(@NonNull IBoundInstanceModel<?> instance, boolean multiple) throws IOException {
+    generator.writeFieldName(instance.getJsonName());
+    if (isArray(instance, multiple)) {
+      generator.writeStartArray();
+    }
+  }
+
+  /**
+   * Write an item of a root model instance.
+   *
+   * @param <T>
+   *          the Java type of the item
+   * @param instance
+   *          the root model instance
+   * @param item
+   *          the item to write
+   * @throws IOException
+   *           if an error occurred while writing
+   */
+  public <T> void writeRootItem(@NonNull IBoundInstanceModel<T> instance, @NonNull T item) throws IOException {
+    instance.writeItem(item, this);
+  }
+
+  /**
+   * Write the end of an array started by
+   * {@link #writeRootItemsStart(IBoundInstanceModel, boolean)}, if one was
+   * started.
+   *
+   * @param instance
+   *          the root model instance
+   * @param multiple
+   *          the same value provided when starting the items
+   * @throws IOException
+   *           if an error occurred while writing
+   */
+  public void writeRootItemsEnd(@NonNull IBoundInstanceModel<?> instance, boolean multiple) throws IOException {
+    if (isArray(instance, multiple)) {
+      generator.writeEndArray();
+    }
+  }
+
+  /**
+   * Write the end of the root object.
+   *
+   * @throws IOException
+   *           if an error occurred while writing
+   */
+  public void writeRootEnd() throws IOException {
+    generator.writeEndObject();
+  }
+
+  private static boolean isArray(@NonNull IBoundInstanceModel<?> instance, boolean multiple) {
+    JsonGroupAsBehavior behavior = instance.getJsonGroupAsBehavior();
+    return JsonGroupAsBehavior.LIST.equals(behavior)
+        || JsonGroupAsBehavior.SINGLETON_OR_LIST.equals(behavior) && multiple;
+  }
+
   // ================
   // Instance writers
   // ================
@@ -335,12 +444,9 @@ public class MetaschemaJsonWriter implements IJsonWritingContext, IItemWriteHand
     public void writeList(List<ITEM> items) throws IOException {
       IBoundInstanceModel<ITEM> instance = getCollectionInfo().getInstance();
 
-      boolean writeArray = false;
-      if (JsonGroupAsBehavior.LIST.equals(instance.getJsonGroupAsBehavior())
-          || JsonGroupAsBehavior.SINGLETON_OR_LIST.equals(instance.getJsonGroupAsBehavior())
-              && items.size() > 1) {
+      boolean writeArray = isArray(instance, items.size() > 1);
+      if (writeArray) {
         // write array, then items
-        writeArray = true;
         generator.writeStartArray();
       } // only other option is a singleton value, write item
 
@@ -5,15 +5,15 @@
 
 package gov.nist.secauto.metaschema.databind.io.xml;
 
-import com.ctc.wstx.stax.WstxInputFactory;
-
 import gov.nist.secauto.metaschema.core.metapath.item.node.IDocumentNodeItem;
-import gov.nist.secauto.metaschema.core.metapath.item.node.INodeItemFactory;
 import gov.nist.secauto.metaschema.core.model.IBoundObject;
 import gov.nist.secauto.metaschema.core.util.AutoCloser;
 import gov.nist.secauto.metaschema.core.util.ObjectUtils;
 import gov.nist.secauto.metaschema.databind.io.AbstractDeserializer;
 import gov.nist.secauto.metaschema.databind.io.DeserializationFeature;
+import gov.nist.secauto.metaschema.databind.io.IStreamingItemHandler;
+import gov.nist.secauto.metaschema.databind.io.LocationTrackingMode;
+import gov.nist.secauto.metaschema.databind.io.ValueCanonicalizer;
 import gov.nist.secauto.metaschema.databind.model.IBoundDefinitionModelAssembly;
 
 import org.codehaus.stax2.XMLEventReader2;
@@ -25,11 +25,10 @@ import java.net.URI;
 
 import javax.xml.stream.EventFilter;
 import javax.xml.stream.XMLEventReader;
-import javax.xml.stream.XMLInputFactory;
-import javax.xml.stream.XMLResolver;
 import javax.xml.stream.XMLStreamException;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
 public class DefaultXmlDeserializer<CLASS extends IBoundObject>
@@ -60,40 +59,18 @@ public class DefaultXmlDeserializer<CLASS extends IBoundObject>
   /**
    * Get the XML input factory instance used to create XML parser instances.
    * <p>
-   * Uses a built-in default if a user specified factory is not provided.
+   * Uses a shared built-in default for the current configuration if a user
+   * specified factory is not provided.
    *
    * @return the factory instance
    * @see #setXMLInputFactory(XMLInputFactory2)
    */
   @NonNull
   private XMLInputFactory2 getXMLInputFactory() {
-
     synchronized (this) {
-      if (xmlInputFactory == null) {
-        xmlInputFactory = (XMLInputFactory2) XMLInputFactory.newInstance();
-        assert xmlInputFactory instanceof WstxInputFactory;
-        xmlInputFactory.configureForXmlConformance();
-        xmlInputFactory.setProperty(XMLInputFactory.IS_COALESCING, false);
-        xmlInputFactory.setProperty(XMLInputFactory2.P_PRESERVE_LOCATION, true);
-        // xmlInputFactory.configureForSpeed();
-
-        if (isFeatureEnabled(DeserializationFeature.DESERIALIZE_XML_ALLOW_ENTITY_RESOLUTION)) {
-          xmlInputFactory.setProperty(XMLInputFactory.IS_REPLACING_ENTITY_REFERENCES, true);
-          xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, true);
-          xmlInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, true);
-          xmlInputFactory.setProperty(XMLInputFactory.RESOLVER,
-              (XMLResolver) (publicID, systemID, baseURI, namespace) -> {
-                URI base = URI.create(baseURI);
-                URI resource = base.resolve(systemID);
-                try {
-                  return resource.toURL().openStream();
-                } catch (IOException ex) {
-                  throw new XMLStreamException(ex);
-                }
-              });
-        }
-      }
-      return ObjectUtils.notNull(xmlInputFactory);
+      return xmlInputFactory == null
+          ? XmlFactoryFactory.inputFactoryInstance(getConfiguration())
+          : xmlInputFactory;
     }
   }
 
@@ -123,25 +100,45 @@ public class DefaultXmlDeserializer<CLASS extends IBoundObject>
   @Override
   protected final IDocumentNodeItem deserializeToNodeItemInternal(Reader reader, URI documentUri) throws IOException {
     Object value = deserializeToValueInternal(reader, documentUri);
-    return INodeItemFactory.instance().newDocumentNodeItem(rootDefinition, documentUri, value);
+    return getNodeItemFactory().newDocumentNodeItem(rootDefinition, documentUri, value);
   }
 
   @Override
   public final CLASS deserializeToValueInternal(Reader reader, URI documentUri) throws IOException {
+    return deserializeToValueInternal(reader, documentUri, null);
+  }
+
+  @Override
+  public boolean isStreamingSupported() {
+    return true;
+  }
+
+  @Override
+  protected final CLASS deserializeToValueInternal(
+      Reader reader,
+      URI documentUri,
+      IStreamingItemHandler handler) throws IOException {
     // doesn't auto close the underlying reader
     try (AutoCloser<XMLEventReader2, XMLStreamException> closer = new AutoCloser<>(
         newXMLEventReader2(documentUri, reader), XMLEventReader::close)) {
-      return parseXmlInternal(closer.getResource());
+      return parseXmlInternal(closer.getResource(), handler);
     } catch (XMLStreamException ex) {
       throw new IOException("Unable to create a new XMLEventReader2 instance.", ex);
     }
   }
 
   @NonNull
-  private CLASS parseXmlInternal(@NonNull XMLEventReader2 reader)
-      throws IOException {
-
-    MetaschemaXmlReader parser = new MetaschemaXmlReader(reader, new DefaultXmlProblemHandler());
+  private CLASS parseXmlInternal(
+      @NonNull XMLEventReader2 reader,
+      @Nullable IStreamingItemHandler handler) throws IOException {
+
+    LocationTrackingMode locationTracking = get(DeserializationFeature.DESERIALIZE_LOCATION_TRACKING);
+    MetaschemaXmlReader parser = new MetaschemaXmlReader(
+        reader,
+        new DefaultXmlProblemHandler(),
+        ObjectUtils.notNull(locationTracking),
+        isFeatureEnabled(DeserializationFeature.DESERIALIZE_CANONICALIZE_VALUES) ? new ValueCanonicalizer() : null);
+    parser.setStreamingItemHandler(handler);
 
     try {
       return parser.read(rootDefinition);
@@ -5,12 +5,10 @@
 
 package gov.nist.secauto.metaschema.databind.io.xml;
 
-import com.ctc.wstx.api.WstxOutputProperties;
-import com.ctc.wstx.stax.WstxOutputFactory;
-
 import gov.nist.secauto.metaschema.core.model.IBoundObject;
 import gov.nist.secauto.metaschema.core.util.ObjectUtils;
 import gov.nist.secauto.metaschema.databind.io.AbstractSerializer;
+import gov.nist.secauto.metaschema.databind.io.IStreamingWriter;
 import gov.nist.secauto.metaschema.databind.io.SerializationFeature;
 import gov.nist.secauto.metaschema.databind.model.IBoundDefinitionModelAssembly;
 
@@ -20,7 +18,6 @@ import org.codehaus.stax2.XMLStreamWriter2;
 import java.io.IOException;
 import java.io.Writer;
 
-import javax.xml.stream.XMLOutputFactory;
 import javax.xml.stream.XMLStreamException;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
@@ -44,21 +41,17 @@ public class DefaultXmlSerializer<CLASS extends IBoundObject>
   /**
    * Get the configured XML output factory used to create {@link XMLStreamWriter2}
    * instances.
+   * <p>
+   * Uses a shared built-in default if a custom factory is not provided.
    *
    * @return the factory
    */
   @NonNull
   protected final XMLOutputFactory2 getXMLOutputFactory() {
     synchronized (this) {
-      if (xmlOutputFactory == null) {
-        xmlOutputFactory = (XMLOutputFactory2) XMLOutputFactory.newInstance();
-        assert xmlOutputFactory instanceof WstxOutputFactory;
-        xmlOutputFactory.configureForSpeed();
-        xmlOutputFactory.setProperty(WstxOutputProperties.P_USE_DOUBLE_QUOTES_IN_XML_DECL, true);
-        xmlOutputFactory.setProperty(XMLOutputFactory.IS_REPAIRING_NAMESPACES, true);
-      }
-      assert xmlOutputFactory != null;
-      return xmlOutputFactory;
+      return xmlOutputFactory == null
+          ? XmlFactoryFactory.outputFactoryInstance()
+          : xmlOutputFactory;
     }
   }
 
@@ -130,4 +123,17 @@ public class DefaultXmlSerializer<CLASS extends IBoundObject>
       }
     }
   }
+
+  @Override
+  public boolean isStreamingSupported() {
+    return true;
+  }
+
+  @Override
+  public IStreamingWriter newStreamingWriter(Writer writer) throws IOException {
+    return new XmlStreamingWriter(
+        newXMLStreamWriter(writer),
+        getDefinition(),
+        get(SerializationFeature.SERIALIZE_ROOT));
+  }
 }
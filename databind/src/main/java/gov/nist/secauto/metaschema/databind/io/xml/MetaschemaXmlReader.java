@@ -5,12 +5,18 @@
 
 package gov.nist.secauto.metaschema.databind.io.xml;
 
+import gov.nist.secauto.metaschema.core.datatype.IDataTypeAdapter;
 import gov.nist.secauto.metaschema.core.model.IBoundObject;
 import gov.nist.secauto.metaschema.core.model.IMetaschemaData;
 import gov.nist.secauto.metaschema.core.model.util.XmlEventUtil;
 import gov.nist.secauto.metaschema.core.util.CollectionUtil;
+import gov.nist.secauto.metaschema.core.util.CompactOrderedMap;
 import gov.nist.secauto.metaschema.core.util.ObjectUtils;
 import gov.nist.secauto.metaschema.databind.io.BindingException;
+import gov.nist.secauto.metaschema.databind.io.CompactMetaschemaData;
+import gov.nist.secauto.metaschema.databind.io.IStreamingItemHandler;
+import gov.nist.secauto.metaschema.databind.io.LocationTrackingMode;
+import gov.nist.secauto.metaschema.databind.io.ValueCanonicalizer;
 import gov.nist.secauto.metaschema.databind.model.IBoundDefinitionModelAssembly;
 import gov.nist.secauto.metaschema.databind.model.IBoundDefinitionModelComplex;
 import gov.nist.secauto.metaschema.databind.model.IBoundDefinitionModelFieldComplex;
@@ -33,14 +39,14 @@ import gov.nist.secauto.metaschema.databind.model.info.IModelInstanceCollectionI
 import org.codehaus.stax2.XMLEventReader2;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
-import java.util.LinkedHashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import javax.xml.namespace.QName;
@@ -60,6 +66,18 @@ public class MetaschemaXmlReader
   private final XMLEventReader2 reader;
   @NonNull
   private final IXmlProblemHandler problemHandler;
+  @NonNull
+  private final LocationTrackingMode locationTracking;
+  @Nullable
+  private final ValueCanonicalizer valueCanonicalizer;
+  @Nullable
+  private IStreamingItemHandler streamingItemHandler;
+  /**
+   * The first object read without a parent, which is used to identify the items
+   * to pass to the {@link #streamingItemHandler}.
+   */
+  @Nullable
+  private IBoundObject rootItem;
 
   /**
    * Construct a new Module-aware XML parser using the default problem handler.
@@ -91,8 +109,48 @@ public class MetaschemaXmlReader
   public MetaschemaXmlReader(
       @NonNull XMLEventReader2 reader,
       @NonNull IXmlProblemHandler problemHandler) {
+    this(reader, problemHandler, LocationTrackingMode.FULL);
+  }
+
+  /**
+   * Construct a new Module-aware parser.
+   *
+   * @param reader
+   *          the XML reader to parse with
+   * @param problemHandler
+   *          the problem handler implementation to use
+   * @param locationTracking
+   *          determines how the location of each bound object is recorded
+   */
+  public MetaschemaXmlReader(
+      @NonNull XMLEventReader2 reader,
+      @NonNull IXmlProblemHandler problemHandler,
+      @NonNull LocationTrackingMode locationTracking) {
+    this(reader, problemHandler, locationTracking, null);
+  }
+
+  /**
+   * Construct a new Module-aware parser.
+   *
+   * @param reader
+   *          the XML reader to parse with
+   * @param problemHandler
+   *          the problem handler implementation to use
+   * @param locationTracking
+   *          determines how the location of each bound object is recorded
+   * @param valueCanonicalizer
+   *          used to share equal values read by this parser, or {@code null} if
+   *          values are not shared
+   */
+  public MetaschemaXmlReader(
+      @NonNull XMLEventReader2 reader,
+      @NonNull IXmlProblemHandler problemHandler,
+      @NonNull LocationTrackingMode locationTracking,
+      @Nullable ValueCanonicalizer valueCanonicalizer) {
     this.reader = reader;
     this.problemHandler = problemHandler;
+    this.locationTracking = locationTracking;
+    this.valueCanonicalizer = valueCanonicalizer;
   }
 
   @Override
@@ -105,6 +163,41 @@ public class MetaschemaXmlReader
     return problemHandler;
   }
 
+  /**
+   * Set a handler that receives each item of the root assembly's multi-valued
+   * model instances as soon as the item is read.
+   *
+   * @param handler
+   *          the handler, or {@code null} to retain all items in the root object
+   */
+  public void setStreamingItemHandler(@Nullable IStreamingItemHandler handler) {
+    this.streamingItemHandler = handler;
+  }
+
+  /**
+   * Determine if the item read for the instance was handled by the streaming
+   * item handler, in which case it must not be retained by the parent.
+   *
+   * @param parent
+   *          the parent object of the item
+   * @param instance
+   *          the instance the item was read for
+   * @param item
+   *          the item that was read
+   * @return {@code true} if the item was handled, or {@code false} otherwise
+   * @throws IOException
+   *           if an error occurred while handling the item
+   */
+  private boolean isStreamed(
+      @NonNull IBoundObject parent,
+      @NonNull IBoundInstanceModel<?> instance,
+      @NonNull Object item) throws IOException {
+    IStreamingItemHandler handler = streamingItemHandler;
+    return handler != null
+        && parent == rootItem // NOPMD - intentional identity check
+        && handler.handleRootItem(parent, instance, item);
+  }
+
   /**
    * Parses XML into a bound object based on the provided {@code definition}.
    * <p>
@@ -185,7 +278,8 @@ public class MetaschemaXmlReader
         }
       } else {
         // get the attribute value
-        Object value = instance.getDefinition().getJavaTypeAdapter().parse(ObjectUtils.notNull(attribute.getValue()));
+        IDataTypeAdapter<?> adapter = instance.getDefinition().getJavaTypeAdapter();
+        Object value = canonicalize(adapter, adapter.parse(ObjectUtils.notNull(attribute.getValue())));
         // apply the value to the parentObject
         instance.setValue(targetObject, value);
         flagInstanceMap.remove(qname);
@@ -340,7 +434,7 @@ public class MetaschemaXmlReader
     public Map<String, ITEM> readMap() throws IOException {
       IBoundInstanceModel<?> instance = getCollectionInfo().getInstance();
 
-      return ObjectUtils.notNull(readCollection().stream()
+      CompactOrderedMap<String, ITEM> retval = ObjectUtils.notNull(readCollection().stream()
           .collect(Collectors.toMap(
               item -> {
                 assert item != null;
@@ -351,12 +445,14 @@ public class MetaschemaXmlReader
               },
               Function.identity(),
               (t, u) -> u,
-              LinkedHashMap::new)));
+              CompactOrderedMap::new)));
+      retval.trimToSize();
+      return retval;
     }
 
     @NonNull
     private List<ITEM> readCollection() throws IOException {
-      List<ITEM> retval = new LinkedList<>();
+      ArrayList<ITEM> retval = new ArrayList<>();
       try {
         // consume extra whitespace between elements
         XmlEventUtil.skipWhitespace(reader);
@@ -368,7 +464,9 @@ public class MetaschemaXmlReader
 
           // Consume the start element
           ITEM value = readItem();
-          retval.add(value);
+          if (!isStreamed(getParentObject(), instance, value)) {
+            retval.add(value);
+          }
 
           // consume extra whitespace between elements
           XmlEventUtil.skipWhitespace(reader);
@@ -376,6 +474,8 @@ public class MetaschemaXmlReader
       } catch (XMLStreamException ex) {
         throw new IOException(ex);
       }
+      // avoid retaining unused capacity in the bound object
+      retval.trimToSize();
       return retval;
     }
 
@@ -420,10 +520,11 @@ public class MetaschemaXmlReader
         // consume the start element
         XmlEventUtil.requireStartElement(reader, expectedQName);
 
-        Location location = start.getLocation();
-
         // construct the item
-        IBoundObject item = definition.newInstance(location == null ? null : () -> new MetaschemaData(location));
+        IBoundObject item = definition.newInstance(newMetaschemaData(start.getLocation()));
+        if (parent == null && rootItem == null) {
+          rootItem = item;
+        }
 
         // call pre-parse initialization hook
         definition.callBeforeDeserialize(item, parent);
@@ -579,7 +680,8 @@ public class MetaschemaXmlReader
     @NonNull
     private Object readScalarItem(@NonNull IFeatureScalarItemValueHandler handler)
         throws IOException {
-      return handler.getJavaTypeAdapter().parse(getReader());
+      IDataTypeAdapter<?> adapter = handler.getJavaTypeAdapter();
+      return canonicalize(adapter, adapter.parse(getReader()));
     }
 
     @Override
@@ -601,6 +703,33 @@ public class MetaschemaXmlReader
     }
   }
 
+  @NonNull
+  private Object canonicalize(@NonNull IDataTypeAdapter<?> adapter, @NonNull Object value) {
+    return valueCanonicalizer == null ? value : valueCanonicalizer.canonicalize(adapter, value);
+  }
+
+  @Nullable
+  private Supplier<IMetaschemaData> newMetaschemaData(@Nullable Location location) {
+    Supplier<IMetaschemaData> retval;
+    if (location == null) {
+      retval = null;
+    } else {
+      switch (locationTracking) {
+      case NONE:
+        retval = null;
+        break;
+      case COMPACT:
+        retval = () -> new CompactMetaschemaData(location.getLineNumber(), location.getColumnNumber());
+        break;
+      case FULL:
+      default:
+        retval = () -> new MetaschemaData(location);
+        break;
+      }
+    }
+    return retval;
+  }
+
   private static class MetaschemaData implements IMetaschemaData {
     private final int line;
     private final int column;
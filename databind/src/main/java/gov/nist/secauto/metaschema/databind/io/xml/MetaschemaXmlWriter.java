@@ -80,6 +80,131 @@ public class MetaschemaXmlWriter implements IXmlWritingContext {
     definition.writeItem(item, new ItemWriter(ObjectUtils.requireNonNull(definition.getRootXmlQName())));
   }
 
+  // ===================================================
+  // Entry points for writing a root object item by item
+  // ===================================================
+
+  /**
+   * Write the start element of the root object and its flags.
+   *
+   * @param definition
+   *          the root definition
+   * @param item
+   *          the root object providing the flag values
+   * @throws IOException
+   *           if an error occurred while writing
+   */
+  public void writeRootStart(
+      @NonNull IBoundDefinitionModelAssembly definition,
+      @NonNull IBoundObject item) throws IOException {
+    QName qname = definition.getXmlQName();
+    try {
+      writeDefinitionStartElement(qname);
+    } catch (XMLStreamException ex) {
+      throw new IOException(ex);
+    }
+    new ItemWriter(qname).writeFlags(item, definition);
+  }
+
+  /**
+   * Write the values of a root model instance that are held by the root object.
+   *
+   * @param instance
+   *          the root model instance
+   * @param item
+   *          the root object providing the values
+   * @throws IOException
+   *           if an error occurred while writing
+   */
+  public void writeRootModelInstance(
+      @NonNull IBoundInstanceModel<?> instance,
+      @NonNull IBoundObject item) throws IOException {
+    writeModelInstance(instance, item, new ItemWriter(instance.getContainingDefinition().getXmlQName()));
+  }
+
+  /**
+   * Write the grouping element for a root model instance, if the instance is
+   * grouped in XML.
+   *
+   * @param instance
+   *          the root model instance
+   * @throws IOException
+   *           if an error occurred while writing
+   */
+  public void writeRootItemsStart(@NonNull IBoundInstanceModel<?> instance) throws IOException {
+    QName groupAsQName = instance.getEffectiveXmlGroupAsQName();
+    if (groupAsQName != null) {
+      try {
+        writer.writeStartElement(groupAsQName.getNamespaceURI(), groupAsQName.getLocalPart());
+      } catch (XMLStreamException ex) {
+        throw new IOException(ex);
+      }
+    }
+  }
+
+  /**
+   * Write an item of a root model instance.
+   *
+   * @param <T>
+   *          the Java type of the item
+   * @param instance
+   *          the root model instance
+   * @param item
+   *          the item to write
+   * @throws IOException
+   *           if an error occurred while writing
+   */
+  public <T> void writeRootItem(@NonNull IBoundInstanceModel<T> instance, @NonNull T item) throws IOException {
+    QName groupAsQName = instance.getEffectiveXmlGroupAsQName();
+    QName parentQName = groupAsQName == null
+        ? instance.getContainingDefinition().getXmlQName()
+        : groupAsQName;
+    instance.writeItem(item, new ItemWriter(parentQName));
+  }
+
+  /**
+   * Write the end of the grouping element started by
+   * {@link #writeRootItemsStart(IBoundInstanceModel)}, if one was started.
+   *
+   * @param instance
+   *          the root model instance
+   * @throws IOException
+   *           if an error occurred while writing
+   */
+  public void writeRootItemsEnd(@NonNull IBoundInstanceModel<?> instance) throws IOException {
+    if (instance.getEffectiveXmlGroupAsQName() != null) {
+      try {
+        writer.writeEndElement();
+      } catch (XMLStreamException ex) {
+        throw new IOException(ex);
+      }
+    }
+  }
+
+  /**
+   * Write the end element of the root object.
+   *
+   * @throws IOException
+   *           if an error occurred while writing
+   */
+  public void writeRootEnd() throws IOException {
+    try {
+      writer.writeEndElement();
+    } catch (XMLStreamException ex) {
+      throw new IOException(ex);
+    }
+  }
+
+  private void writeDefinitionStartElement(@NonNull QName qname) throws XMLStreamException {
+    NamespaceContext nsContext = writer.getNamespaceContext();
+    String prefix = nsContext.getPrefix(qname.getNamespaceURI());
+    if (prefix == null) {
+      prefix = "";
+    }
+
+    writer.writeStartElement(prefix, qname.getLocalPart(), qname.getNamespaceURI());
+  }
+
   // ================
   // Instance writers
   // ================
@@ -249,14 +374,7 @@ public class MetaschemaXmlWriter implements IXmlWritingContext {
         @NonNull ObjectWriter<T> propertyWriter) throws IOException {
 
       try {
-        QName wrapperQName = instance.getXmlQName();
-        NamespaceContext nsContext = writer.getNamespaceContext();
-        String prefix = nsContext.getPrefix(wrapperQName.getNamespaceURI());
-        if (prefix == null) {
-          prefix = "";
-        }
-
-        writer.writeStartElement(prefix, wrapperQName.getLocalPart(), wrapperQName.getNamespaceURI());
+        writeDefinitionStartElement(instance.getXmlQName());
 
         propertyWriter.accept(parentItem, instance);
 
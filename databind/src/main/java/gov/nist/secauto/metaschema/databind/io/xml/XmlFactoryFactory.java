@@ -0,0 +1,180 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.databind.io.xml;
+
+import com.ctc.wstx.api.WstxOutputProperties;
+import com.ctc.wstx.stax.WstxInputFactory;
+import com.ctc.wstx.stax.WstxOutputFactory;
+
+import gov.nist.secauto.metaschema.core.configuration.IConfiguration;
+import gov.nist.secauto.metaschema.databind.io.DeserializationFeature;
+import gov.nist.secauto.metaschema.databind.io.LocationTrackingMode;
+
+import org.codehaus.stax2.XMLInputFactory2;
+import org.codehaus.stax2.XMLOutputFactory2;
+
+import java.io.IOException;
+import java.net.URI;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLResolver;
+import javax.xml.stream.XMLStreamException;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * Provides shared Woodstox factories used to read and write XML.
+ * <p>
+ * Woodstox factories are expensive to create and are thread-safe once
+ * configured. The factories returned by this class are shared by all callers
+ * using the same configuration, and must not be reconfigured.
+ */
+public final class XmlFactoryFactory {
+  @NonNull
+  private static final XMLInputFactory2 INPUT_FACTORY = newXMLInputFactory(false, true);
+  @NonNull
+  private static final XMLInputFactory2 ENTITY_RESOLVING_INPUT_FACTORY = newXMLInputFactory(true, true);
+  @NonNull
+  private static final XMLInputFactory2 NO_LOCATION_INPUT_FACTORY = newXMLInputFactory(false, false);
+  @NonNull
+  private static final XMLInputFactory2 NO_LOCATION_ENTITY_RESOLVING_INPUT_FACTORY
+      = newXMLInputFactory(true, false);
+  @NonNull
+  private static final XMLOutputFactory2 OUTPUT_FACTORY = newXMLOutputFactory();
+
+  private XmlFactoryFactory() {
+    // disable construction
+  }
+
+  /**
+   * Get the shared XML input factory for the provided configuration.
+   * <p>
+   * Parser locations are preserved unless location tracking is disabled using
+   * {@link DeserializationFeature#DESERIALIZE_LOCATION_TRACKING}.
+   *
+   * @param config
+   *          the deserialization configuration
+   * @return the factory
+   */
+  @NonNull
+  public static XMLInputFactory2 inputFactoryInstance(@NonNull IConfiguration<DeserializationFeature<?>> config) {
+    LocationTrackingMode locationTracking = config.get(DeserializationFeature.DESERIALIZE_LOCATION_TRACKING);
+    return inputFactoryInstance(
+        config.isFeatureEnabled(DeserializationFeature.DESERIALIZE_XML_ALLOW_ENTITY_RESOLUTION),
+        locationTracking != LocationTrackingMode.NONE);
+  }
+
+  /**
+   * Get the shared XML input factory that preserves parser locations.
+   *
+   * @param allowEntityResolution
+   *          {@code true} if DTDs and external entities are supported, or
+   *          {@code false} otherwise
+   * @return the factory
+   */
+  @NonNull
+  public static XMLInputFactory2 inputFactoryInstance(boolean allowEntityResolution) {
+    return inputFactoryInstance(allowEntityResolution, true);
+  }
+
+  /**
+   * Get the shared XML input factory.
+   *
+   * @param allowEntityResolution
+   *          {@code true} if DTDs and external entities are supported, or
+   *          {@code false} otherwise
+   * @param preserveLocation
+   *          {@code true} if the parser must track the location of each event,
+   *          or {@code false} otherwise
+   * @return the factory
+   */
+  @NonNull
+  public static XMLInputFactory2 inputFactoryInstance(boolean allowEntityResolution, boolean preserveLocation) {
+    XMLInputFactory2 retval;
+    if (preserveLocation) {
+      retval = allowEntityResolution ? ENTITY_RESOLVING_INPUT_FACTORY : INPUT_FACTORY;
+    } else {
+      retval = allowEntityResolution ? NO_LOCATION_ENTITY_RESOLVING_INPUT_FACTORY : NO_LOCATION_INPUT_FACTORY;
+    }
+    return retval;
+  }
+
+  /**
+   * Get the shared XML output factory.
+   *
+   * @return the factory
+   */
+  @NonNull
+  public static XMLOutputFactory2 outputFactoryInstance() {
+    return OUTPUT_FACTORY;
+  }
+
+  /**
+   * Create a new XML input factory that preserves parser locations.
+   *
+   * @param allowEntityResolution
+   *          {@code true} if DTDs and external entities are supported, or
+   *          {@code false} otherwise
+   * @return the factory
+   */
+  @NonNull
+  public static XMLInputFactory2 newXMLInputFactory(boolean allowEntityResolution) {
+    return newXMLInputFactory(allowEntityResolution, true);
+  }
+
+  /**
+   * Create a new XML input factory.
+   *
+   * @param allowEntityResolution
+   *          {@code true} if DTDs and external entities are supported, or
+   *          {@code false} otherwise
+   * @param preserveLocation
+   *          {@code true} if the parser must track the location of each event,
+   *          or {@code false} otherwise
+   * @return the factory
+   */
+  @NonNull
+  public static XMLInputFactory2 newXMLInputFactory(boolean allowEntityResolution, boolean preserveLocation) {
+    XMLInputFactory2 retval = (XMLInputFactory2) XMLInputFactory.newInstance();
+    assert retval instanceof WstxInputFactory;
+    retval.configureForXmlConformance();
+    retval.setProperty(XMLInputFactory.IS_COALESCING, false);
+    retval.setProperty(XMLInputFactory2.P_PRESERVE_LOCATION, preserveLocation);
+
+    if (allowEntityResolution) {
+      retval.setProperty(XMLInputFactory.IS_REPLACING_ENTITY_REFERENCES, true);
+      retval.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, true);
+      retval.setProperty(XMLInputFactory.SUPPORT_DTD, true);
+      retval.setProperty(XMLInputFactory.RESOLVER,
+          (XMLResolver) (publicID, systemID, baseURI, namespace) -> {
+            URI base = URI.create(baseURI);
+            URI resource = base.resolve(systemID);
+            try {
+              return resource.toURL().openStream();
+            } catch (IOException ex) {
+              throw new XMLStreamException(ex);
+            }
+          });
+    }
+    return retval;
+  }
+
+  /**
+   * Create a new XML output factory.
+   *
+   * @return the factory
+   */
+  @NonNull
+  public static XMLOutputFactory2 newXMLOutputFactory() {
+    XMLOutputFactory2 retval = (XMLOutputFactory2) XMLOutputFactory.newInstance();
+    assert retval instanceof WstxOutputFactory;
+    retval.configureForSpeed();
+    retval.setProperty(WstxOutputProperties.P_USE_DOUBLE_QUOTES_IN_XML_DECL, true);
+    retval.setProperty(XMLOutputFactory.IS_REPAIRING_NAMESPACES, true);
+    return retval;
+  }
+}
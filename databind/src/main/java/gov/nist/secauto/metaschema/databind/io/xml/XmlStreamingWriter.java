@@ -0,0 +1,114 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.databind.io.xml;
+
+import gov.nist.secauto.metaschema.core.model.IBoundObject;
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
+import gov.nist.secauto.metaschema.databind.io.IStreamingWriter;
+import gov.nist.secauto.metaschema.databind.model.IBoundDefinitionModelAssembly;
+import gov.nist.secauto.metaschema.databind.model.IBoundInstanceModel;
+
+import org.codehaus.stax2.XMLStreamWriter2;
+
+import java.io.IOException;
+
+import javax.xml.stream.XMLStreamException;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * Writes a root object to an XML stream writer one model item at a time.
+ */
+final class XmlStreamingWriter implements IStreamingWriter {
+  @NonNull
+  private final XMLStreamWriter2 streamWriter;
+  @NonNull
+  private final MetaschemaXmlWriter writer;
+  @NonNull
+  private final IBoundDefinitionModelAssembly definition;
+  private final boolean serializeRoot;
+
+  /**
+   * Construct a new streaming writer.
+   *
+   * @param streamWriter
+   *          the stream writer to write with, which is owned by this writer
+   * @param definition
+   *          the root definition
+   * @param serializeRoot
+   *          {@code true} if the root object is written as an XML document, or
+   *          {@code false} otherwise
+   */
+  XmlStreamingWriter(
+      @NonNull XMLStreamWriter2 streamWriter,
+      @NonNull IBoundDefinitionModelAssembly definition,
+      boolean serializeRoot) {
+    this.streamWriter = streamWriter;
+    this.writer = new MetaschemaXmlWriter(streamWriter);
+    this.definition = definition;
+    this.serializeRoot = serializeRoot;
+  }
+
+  @Override
+  public void writeRootStart(IBoundObject root) throws IOException {
+    if (serializeRoot) {
+      try {
+        streamWriter.writeStartDocument("UTF-8", "1.0");
+      } catch (XMLStreamException ex) {
+        throw new IOException(ex);
+      }
+    }
+    writer.writeRootStart(definition, root);
+  }
+
+  @Override
+  public void writeInstance(IBoundInstanceModel<?> instance, IBoundObject root) throws IOException {
+    writer.writeRootModelInstance(instance, root);
+  }
+
+  @Override
+  public void writeItemsStart(IBoundInstanceModel<?> instance, boolean multiple) throws IOException {
+    writer.writeRootItemsStart(instance);
+  }
+
+  @Override
+  public void writeItem(IBoundInstanceModel<?> instance, Object item) throws IOException {
+    writeTypedItem(instance, item);
+  }
+
+  private <T> void writeTypedItem(@NonNull IBoundInstanceModel<T> instance, @NonNull Object item)
+      throws IOException {
+    T value = ObjectUtils.asType(item);
+    writer.writeRootItem(instance, value);
+  }
+
+  @Override
+  public void writeItemsEnd(IBoundInstanceModel<?> instance, boolean multiple) throws IOException {
+    writer.writeRootItemsEnd(instance);
+  }
+
+  @Override
+  public void writeRootEnd() throws IOException {
+    writer.writeRootEnd();
+    try {
+      streamWriter.flush();
+      if (serializeRoot) {
+        streamWriter.writeEndDocument();
+      }
+    } catch (XMLStreamException ex) {
+      throw new IOException(ex);
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      streamWriter.close();
+    } catch (XMLStreamException ex) {
+      throw new IOException(ex);
+    }
+  }
+}
@@ -38,7 +38,7 @@ public class DefaultYamlDeserializer<CLASS extends IBoundObject>
    */
   @Override
   protected YAMLFactory newJsonFactoryInstance() {
-    return YamlFactoryFactory.newParserFactoryInstance(getConfiguration());
+    return YamlFactoryFactory.parserFactoryInstance(getConfiguration());
   }
 
 }
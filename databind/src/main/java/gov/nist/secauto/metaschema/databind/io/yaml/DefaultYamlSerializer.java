@@ -31,6 +31,6 @@ public class DefaultYamlSerializer<CLASS extends IBoundObject>
 
   @Override
   protected JsonFactory getJsonFactoryInstance() {
-    return YamlFactoryFactory.newGeneratorFactoryInstance(getConfiguration());
+    return YamlFactoryFactory.generatorFactoryInstance();
   }
 }
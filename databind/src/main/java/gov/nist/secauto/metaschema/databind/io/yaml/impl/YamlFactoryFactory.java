@@ -18,13 +18,58 @@ import gov.nist.secauto.metaschema.databind.io.json.JsonFactoryFactory;
 
 import org.yaml.snakeyaml.LoaderOptions;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import edu.umd.cs.findbugs.annotations.NonNull;
 
 public final class YamlFactoryFactory {
+  /**
+   * Shared parser factories, keyed by the code point limit. Jackson factories
+   * are thread-safe once configured.
+   */
+  @NonNull
+  private static final Map<Integer, YAMLFactory> PARSER_FACTORIES = new ConcurrentHashMap<>();
+  @NonNull
+  private static final YAMLFactory GENERATOR_FACTORY = newGeneratorFactoryInstance();
+
   private YamlFactoryFactory() {
     // disable construction
   }
 
+  /**
+   * Get a shared {@link YAMLFactory} configured to parse YAML.
+   * <p>
+   * The returned factory is shared with other callers using the same
+   * configuration, and must not be reconfigured.
+   *
+   * @param config
+   *          the deserialization configuration
+   *
+   * @return the factory
+   */
+  @NonNull
+  public static YAMLFactory parserFactoryInstance(
+      @NonNull IConfiguration<DeserializationFeature<?>> config) {
+    int codePointLimit = config.get(DeserializationFeature.YAML_CODEPOINT_LIMIT);
+    return ObjectUtils.notNull(PARSER_FACTORIES.computeIfAbsent(
+        codePointLimit,
+        limit -> newParserFactoryInstance(ObjectUtils.notNull(limit))));
+  }
+
+  /**
+   * Get a shared {@link YAMLFactory} configured to generate YAML.
+   * <p>
+   * The returned factory is shared with other callers, and must not be
+   * reconfigured.
+   *
+   * @return the factory
+   */
+  @NonNull
+  public static YAMLFactory generatorFactoryInstance() {
+    return GENERATOR_FACTORY;
+  }
+
   /**
    * Create a new {@link YAMLFactory} configured to parse YAML.
    *
@@ -36,13 +81,18 @@ public final class YamlFactoryFactory {
   @NonNull
   public static YAMLFactory newParserFactoryInstance(
       @NonNull IConfiguration<DeserializationFeature<?>> config) {
+    int codePointLimit = config.get(DeserializationFeature.YAML_CODEPOINT_LIMIT);
+    return newParserFactoryInstance(codePointLimit);
+  }
+
+  @NonNull
+  private static YAMLFactory newParserFactoryInstance(int codePointLimit) {
     YAMLFactoryBuilder builder = YAMLFactory.builder();
     LoaderOptions loaderOptions = builder.loaderOptions();
     if (loaderOptions == null) {
       loaderOptions = new LoaderOptions();
     }
 
-    int codePointLimit = config.get(DeserializationFeature.YAML_CODEPOINT_LIMIT);
     loaderOptions.setCodePointLimit(codePointLimit);
     builder.loaderOptions(loaderOptions);
 
@@ -62,6 +112,11 @@ public final class YamlFactoryFactory {
   @NonNull
   public static YAMLFactory newGeneratorFactoryInstance(
       @NonNull IMutableConfiguration<SerializationFeature<?>> config) {
+    return newGeneratorFactoryInstance();
+  }
+
+  @NonNull
+  private static YAMLFactory newGeneratorFactoryInstance() {
     YAMLFactoryBuilder builder = YAMLFactory.builder();
     YAMLFactory retval = ObjectUtils.notNull(builder
         .enable(YAMLGenerator.Feature.MINIMIZE_QUOTES)
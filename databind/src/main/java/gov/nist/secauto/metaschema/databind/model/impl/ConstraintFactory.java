@@ -9,6 +9,7 @@ import gov.nist.secauto.metaschema.core.datatype.DataTypeService;
 import gov.nist.secauto.metaschema.core.datatype.IDataTypeAdapter;
 import gov.nist.secauto.metaschema.core.datatype.markup.MarkupLine;
 import gov.nist.secauto.metaschema.core.datatype.markup.MarkupMultiline;
+import gov.nist.secauto.metaschema.core.metapath.function.RegexUtils;
 import gov.nist.secauto.metaschema.core.model.IAttributable;
 import gov.nist.secauto.metaschema.core.model.constraint.AbstractConstraintBuilder;
 import gov.nist.secauto.metaschema.core.model.constraint.AbstractKeyConstraintBuilder;
@@ -154,7 +155,7 @@ final class ConstraintFactory {
 
   @Nullable
   static Pattern toPattern(@NonNull String pattern) {
-    return pattern.isBlank() ? null : Pattern.compile(pattern);
+    return pattern.isBlank() ? null : RegexUtils.compile(pattern);
   }
 
   @Nullable
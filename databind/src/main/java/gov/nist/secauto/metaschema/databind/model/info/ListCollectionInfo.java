@@ -13,7 +13,7 @@ import gov.nist.secauto.metaschema.databind.model.IBoundInstanceModel;
 
 import java.io.IOException;
 import java.lang.reflect.ParameterizedType;
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
@@ -62,8 +62,9 @@ class ListCollectionInfo<ITEM>
       throws BindingException {
     IBoundInstanceModel<ITEM> instance = getInstance();
 
-    List<ITEM> copy = emptyValue();
-    for (ITEM item : getItemsFromParentInstance(fromInstance)) {
+    List<ITEM> items = getItemsFromParentInstance(fromInstance);
+    List<ITEM> copy = new ArrayList<>(items.size());
+    for (ITEM item : items) {
       copy.add(instance.deepCopyItem(ObjectUtils.requireNonNull(item), toInstance));
     }
     return copy;
@@ -71,7 +72,7 @@ class ListCollectionInfo<ITEM>
 
   @Override
   public List<ITEM> emptyValue() {
-    return new LinkedList<>();
+    return new ArrayList<>();
   }
 
   @Override
@@ -7,6 +7,7 @@ package gov.nist.secauto.metaschema.databind.model.info;
 
 import gov.nist.secauto.metaschema.core.model.IBoundObject;
 import gov.nist.secauto.metaschema.core.util.CollectionUtil;
+import gov.nist.secauto.metaschema.core.util.CompactOrderedMap;
 import gov.nist.secauto.metaschema.core.util.ObjectUtils;
 import gov.nist.secauto.metaschema.databind.io.BindingException;
 import gov.nist.secauto.metaschema.databind.model.IBoundInstanceFlag;
@@ -15,7 +16,6 @@ import gov.nist.secauto.metaschema.databind.model.IBoundInstanceModel;
 import java.io.IOException;
 import java.lang.reflect.ParameterizedType;
 import java.util.Collection;
-import java.util.LinkedHashMap;
 import java.util.Map;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
@@ -70,7 +70,7 @@ class MapCollectionInfo<ITEM>
       throws BindingException {
 
     IBoundInstanceModel<ITEM> instance = getInstance();
-    Map<String, ITEM> copy = emptyValue();
+    CompactOrderedMap<String, ITEM> copy = new CompactOrderedMap<>();
     for (ITEM item : getItemsFromParentInstance(fromInstance)) {
       assert item != null;
 
@@ -81,12 +81,13 @@ class MapCollectionInfo<ITEM>
       String key = ObjectUtils.requireNonNull(jsonKey.getValue(itemCopy)).toString();
       copy.put(key, itemCopy);
     }
+    copy.trimToSize();
     return copy;
   }
 
   @Override
   public Map<String, ITEM> emptyValue() {
-    return new LinkedHashMap<>();
+    return new CompactOrderedMap<>();
   }
 
   @Override
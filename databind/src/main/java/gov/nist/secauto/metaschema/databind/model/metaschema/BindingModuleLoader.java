@@ -87,7 +87,11 @@ public class BindingModuleLoader
 
   @Override
   protected METASCHEMA parseModule(URI resource) throws IOException {
-    return getLoader().load(METASCHEMA.class, resource);
+    // imports are parsed concurrently, so each parse uses its own loader
+    // configured using this loader's features
+    IBoundLoader parseLoader = bindingContext.newBoundLoader();
+    parseLoader.applyConfiguration(getLoader());
+    return parseLoader.load(METASCHEMA.class, resource);
   }
 
   protected IBoundLoader getLoader() {
@@ -7,6 +7,7 @@ package gov.nist.secauto.metaschema.databind.model.metaschema.impl;
 
 import gov.nist.secauto.metaschema.core.datatype.IDataTypeAdapter;
 import gov.nist.secauto.metaschema.core.datatype.markup.MarkupLine;
+import gov.nist.secauto.metaschema.core.metapath.function.RegexUtils;
 import gov.nist.secauto.metaschema.core.model.constraint.AbstractConstraintBuilder;
 import gov.nist.secauto.metaschema.core.model.constraint.AbstractKeyConstraintBuilder;
 import gov.nist.secauto.metaschema.core.model.constraint.IAllowedValuesConstraint;
@@ -430,7 +431,7 @@ public final class ConstraintBindingSupport {
 
   @Nullable
   private static Pattern pattern(@Nullable String pattern) {
-    return pattern == null ? null : Pattern.compile(pattern);
+    return pattern == null ? null : RegexUtils.compile(pattern);
   }
 
 }
@@ -0,0 +1,168 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.databind.codegen;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import gov.nist.secauto.metaschema.core.model.IMetaschemaModule;
+import gov.nist.secauto.metaschema.core.model.MetaschemaException;
+import gov.nist.secauto.metaschema.core.model.xml.ModuleLoader;
+import gov.nist.secauto.metaschema.core.util.CollectionUtil;
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
+import gov.nist.secauto.metaschema.databind.codegen.ModuleBindingCache.CachedProduction;
+import gov.nist.secauto.metaschema.databind.codegen.config.DefaultBindingConfiguration;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.TimeUnit;
+
+class ModuleBindingCacheTest {
+  private static IMetaschemaModule loadModule(String path) throws IOException, MetaschemaException {
+    return new ModuleLoader().load(Paths.get(path));
+  }
+
+  @Test
+  void testCacheReuse() throws IOException, MetaschemaException {
+    IMetaschemaModule module = loadModule("src/test/resources/metaschema/simple/metaschema.xml");
+
+    Path cacheDir = Paths.get("target/binding-cache");
+    ModuleBindingCache cache = new ModuleBindingCache(cacheDir, Long.MAX_VALUE);
+    cache.invalidate();
+
+    CachedProduction first = cache.getOrCompile(module);
+    CachedProduction second = cache.getOrCompile(module);
+
+    assertAll(
+        () -> assertFalse(first.getModuleClassNames().isEmpty(), "expected module classes"),
+        () -> assertEquals(first.getClassDir(), second.getClassDir(), "expected the cached entry to be reused"),
+        () -> assertEquals(first.getModuleClassNames(), second.getModuleClassNames()));
+
+    // the entry is retained while in use
+    first.close();
+    cache.invalidate();
+    assertTrue(Files.exists(second.getClassDir()), "expected the entry in use to be retained");
+
+    second.close();
+    cache.invalidate();
+    assertTrue(Files.notExists(first.getClassDir()), "expected the entry to be removed");
+  }
+
+  @Test
+  void testBindingConfigurationIsPartOfKey() throws IOException, MetaschemaException {
+    IMetaschemaModule module = loadModule("src/test/resources/metaschema/simple/metaschema.xml");
+    String namespace = ObjectUtils.notNull(module.getXmlNamespace().toASCIIString());
+
+    Path cacheDir = Paths.get("target/binding-cache-config");
+    ModuleBindingCache cache = new ModuleBindingCache(cacheDir, Long.MAX_VALUE);
+    cache.invalidate();
+
+    DefaultBindingConfiguration configuration = new DefaultBindingConfiguration();
+    configuration.addModelBindingConfig(namespace, "com.example.configured");
+    // built separately, but with the same settings
+    DefaultBindingConfiguration sameConfiguration = new DefaultBindingConfiguration();
+    sameConfiguration.addModelBindingConfig(namespace, "com.example.configured");
+
+    try (CachedProduction defaults = cache.getOrCompile(module);
+        CachedProduction configured = cache.getOrCompile(module, configuration, CollectionUtil.emptyList());
+        CachedProduction same = cache.getOrCompile(module, sameConfiguration, CollectionUtil.emptyList())) {
+      assertAll(
+          () -> assertNotEquals(defaults.getClassDir(), configured.getClassDir(),
+              "expected a different configuration to use a different entry"),
+          () -> assertTrue(configured.getModuleClassNames().stream()
+              .allMatch(name -> name.startsWith("com.example.configured.")),
+              configured.getModuleClassNames().toString()),
+          () -> assertEquals(configured.getClassDir(), same.getClassDir(),
+              "expected an equivalent configuration to reuse the entry"));
+    }
+  }
+
+  @Test
+  void testEviction() throws IOException, MetaschemaException {
+    IMetaschemaModule simple = loadModule("src/test/resources/metaschema/simple/metaschema.xml");
+    IMetaschemaModule fields = loadModule("src/test/resources/metaschema/fields_with_flags/metaschema.xml");
+
+    Path cacheDir = Paths.get("target/binding-cache-eviction");
+    new ModuleBindingCache(cacheDir, Long.MAX_VALUE).invalidate();
+
+    // any entry exceeds this size, so only entries in use are retained
+    ModuleBindingCache cache = new ModuleBindingCache(cacheDir, 1);
+
+    CachedProduction first = cache.getOrCompile(simple);
+    first.close();
+    CachedProduction second = cache.getOrCompile(fields);
+
+    assertAll(
+        () -> assertNotEquals(first.getClassDir(), second.getClassDir()),
+        () -> assertTrue(Files.notExists(first.getClassDir()), "expected the unused entry to be evicted"),
+        () -> assertTrue(Files.exists(second.getClassDir()), "expected the new entry to be retained"));
+
+    // an entry in use is never evicted
+    CachedProduction third = cache.getOrCompile(simple);
+    assertAll(
+        () -> assertTrue(Files.exists(second.getClassDir()), "expected the entry in use to be retained"),
+        () -> assertTrue(Files.exists(third.getClassDir())));
+
+    second.close();
+    third.close();
+    cache.invalidate();
+  }
+
+  @Test
+  void testStagingCleanup() throws IOException, MetaschemaException {
+    IMetaschemaModule module = loadModule("src/test/resources/metaschema/simple/metaschema.xml");
+
+    Path cacheDir = Paths.get("target/binding-cache-staging");
+    ModuleBindingCache cache = new ModuleBindingCache(cacheDir, Long.MAX_VALUE);
+    cache.invalidate();
+    Files.createDirectories(cacheDir);
+
+    FileTime old = FileTime.fromMillis(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(1));
+
+    // left behind by a process that terminated while compiling
+    Path abandoned = Files.createDirectories(cacheDir.resolve(".staging-abandoned"));
+    Files.writeString(abandoned.resolve("Partial.java"), "class Partial {}");
+    Files.setLastModifiedTime(abandoned, old);
+
+    // still being compiled by another process
+    Path active = Files.createDirectories(cacheDir.resolve(".staging-active"));
+    Files.setLastModifiedTime(active, old);
+
+    // a recently created staging directory is not yet considered abandoned
+    Path recent = Files.createDirectories(cacheDir.resolve(".staging-recent"));
+
+    try (FileChannel channel = FileChannel.open(
+        active.resolve(".lock"),
+        StandardOpenOption.CREATE,
+        StandardOpenOption.READ,
+        StandardOpenOption.WRITE);
+        FileLock lock = channel.lock()) {
+      Files.setLastModifiedTime(active, old);
+
+      try (CachedProduction production = cache.getOrCompile(module)) {
+        assertAll(
+            () -> assertTrue(Files.exists(production.getClassDir())),
+            () -> assertTrue(Files.notExists(abandoned), "expected the abandoned staging directory to be removed"),
+            () -> assertTrue(Files.exists(active), "expected the locked staging directory to be retained"),
+            () -> assertTrue(Files.exists(recent), "expected the recent staging directory to be retained"));
+      }
+    }
+
+    cache.invalidate();
+    assertTrue(Files.notExists(active), "expected the unlocked staging directory to be removed");
+  }
+}
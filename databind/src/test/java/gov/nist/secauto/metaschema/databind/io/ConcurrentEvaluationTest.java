@@ -0,0 +1,82 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.databind.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import gov.nist.secauto.metaschema.core.metapath.DynamicContext;
+import gov.nist.secauto.metaschema.core.metapath.ISequence;
+import gov.nist.secauto.metaschema.core.metapath.MetapathEvaluationFeature;
+import gov.nist.secauto.metaschema.core.metapath.MetapathExpression;
+import gov.nist.secauto.metaschema.core.metapath.item.node.IDocumentNodeItem;
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
+import gov.nist.secauto.metaschema.databind.IBindingContext;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+class ConcurrentEvaluationTest {
+  @NonNull
+  private static final List<String> METAPATHS = ObjectUtils.notNull(List.of(
+      "for $node in //* return ($node, count($node/@*))",
+      "//* ! (., position(), last())",
+      "some $a in //@*, $b in //@* satisfies string($a) = 'missing' and string($b) = 'missing'",
+      "every $node in //* satisfies count($node/..) = 1"));
+
+  @NonNull
+  private static IDocumentNodeItem load(boolean lightweight) throws IOException {
+    IBoundLoader loader = IBindingContext.instance().newBoundLoader();
+    loader.set(DeserializationFeature.DESERIALIZE_LIGHTWEIGHT_NODE_ITEMS, lightweight);
+    return loader.loadAsNodeItem(Format.XML,
+        ObjectUtils.notNull(Paths.get("src/test/resources/metaschema/fields_with_flags/metaschema.xml")));
+  }
+
+  @NonNull
+  private static List<ISequence<?>> evaluate(@NonNull IDocumentNodeItem document, @NonNull DynamicContext context) {
+    return ObjectUtils.notNull(METAPATHS.stream()
+        .<ISequence<?>>map(metapath -> MetapathExpression.compile(metapath).evaluate(document, context))
+        .collect(Collectors.toList()));
+  }
+
+  @ParameterizedTest
+  @ValueSource(booleans = { false, true })
+  void testConcurrentParallelEvaluation(boolean lightweight) throws Exception {
+    IDocumentNodeItem document = load(lightweight);
+    List<ISequence<?>> expected = evaluate(document, new DynamicContext());
+
+    // the context is shared by all threads, which each evaluate in parallel
+    DynamicContext parallelContext = new DynamicContext()
+        .set(MetapathEvaluationFeature.METAPATH_EVALUATE_IN_PARALLEL, true)
+        .set(MetapathEvaluationFeature.METAPATH_PARALLEL_THRESHOLD, 2);
+
+    int threads = 8;
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      List<Callable<List<ISequence<?>>>> tasks = new ArrayList<>();
+      for (int i = 0; i < threads * 4; i++) {
+        tasks.add(() -> evaluate(document, parallelContext));
+      }
+
+      for (Future<List<ISequence<?>>> result : executor.invokeAll(tasks)) {
+        assertEquals(expected, result.get());
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
@@ -0,0 +1,65 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.databind.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
+import gov.nist.secauto.metaschema.databind.IBindingContext;
+import gov.nist.secauto.metaschema.databind.model.binding.metaschema.METASCHEMA;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.net.URI;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+class DefaultBoundLoaderTest {
+  @NonNull
+  private static final URI SOURCE = ObjectUtils.notNull(
+      Paths.get("src/test/resources/metaschema/fields_with_flags/metaschema.xml").toUri());
+
+  @Test
+  void testConcurrentLoads() throws Exception {
+    IBindingContext bindingContext = IBindingContext.instance();
+    IBoundLoader loader = bindingContext.newBoundLoader();
+
+    String expected = toXml(bindingContext, loader.load(METASCHEMA.class, SOURCE));
+
+    int threads = 8;
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      List<Callable<String>> tasks = new ArrayList<>();
+      for (int i = 0; i < threads * 4; i++) {
+        tasks.add(() -> toXml(bindingContext, loader.load(METASCHEMA.class, SOURCE)));
+      }
+
+      // the same loader is used by all threads at once
+      for (Future<String> result : executor.invokeAll(tasks)) {
+        assertEquals(expected, result.get());
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @NonNull
+  private static String toXml(@NonNull IBindingContext bindingContext, @NonNull METASCHEMA module)
+      throws IOException {
+    StringWriter writer = new StringWriter();
+    bindingContext.newSerializer(Format.XML, METASCHEMA.class).serialize(module, writer);
+    return ObjectUtils.notNull(writer.toString());
+  }
+}
@@ -0,0 +1,85 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.databind.io;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
+import gov.nist.secauto.metaschema.databind.IBindingContext;
+import gov.nist.secauto.metaschema.databind.model.binding.metaschema.METASCHEMA;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+class StreamingConversionTest {
+  @NonNull
+  private static final URI SOURCE = ObjectUtils.notNull(
+      Paths.get("src/test/resources/metaschema/fields_with_flags/metaschema.xml").toUri());
+
+  @Test
+  void testStreamingMatchesConversion() throws IOException {
+    IBoundLoader loader = IBindingContext.instance().newBoundLoader();
+
+    String xml = convert(loader, SOURCE, Format.XML, false);
+    String streamedXml = convert(loader, SOURCE, Format.XML, true);
+    String json = convert(loader, SOURCE, Format.JSON, false);
+    String streamedJson = convert(loader, SOURCE, Format.JSON, true);
+
+    // use the streamed JSON, which is in model order, as a streaming source
+    Path jsonFile = Files.createTempFile("streaming", ".json");
+    try {
+      Files.writeString(jsonFile, streamedJson, StandardCharsets.UTF_8);
+      String roundTripXml = convert(loader, ObjectUtils.notNull(jsonFile.toUri()), Format.XML, true);
+
+      ObjectMapper mapper = new ObjectMapper();
+      assertAll(
+          () -> assertEquals(xml, streamedXml),
+          () -> assertEquals(mapper.readTree(json), mapper.readTree(streamedJson)),
+          () -> assertEquals(xml, roundTripXml));
+    } finally {
+      Files.delete(jsonFile);
+    }
+  }
+
+  @ParameterizedTest
+  @EnumSource(Format.class)
+  void testStreamingSupported(@NonNull Format format) {
+    IBindingContext bindingContext = IBindingContext.instance();
+    assertAll(
+        () -> assertTrue(bindingContext.newDeserializer(format, METASCHEMA.class).isStreamingSupported()),
+        () -> assertTrue(bindingContext.newSerializer(format, METASCHEMA.class).isStreamingSupported()));
+  }
+
+  @NonNull
+  private static String convert(
+      @NonNull IBoundLoader loader,
+      @NonNull URI source,
+      @NonNull Format toFormat,
+      boolean streaming) throws IOException {
+    StringWriter writer = new StringWriter();
+    if (streaming) {
+      loader.convertStreaming(source, writer, toFormat, METASCHEMA.class);
+    } else {
+      loader.convert(source, writer, toFormat, METASCHEMA.class);
+    }
+    return ObjectUtils.notNull(writer.toString());
+  }
+}
@@ -5,20 +5,42 @@
 
 package gov.nist.secauto.metaschema.databind.io.json;
 
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertIterableEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.fasterxml.jackson.core.JsonParser;
+
+import gov.nist.secauto.metaschema.core.model.IBoundObject;
+import gov.nist.secauto.metaschema.core.model.IMetaschemaData;
 import gov.nist.secauto.metaschema.core.model.IMetaschemaModule;
 import gov.nist.secauto.metaschema.core.model.MetaschemaException;
 import gov.nist.secauto.metaschema.core.model.xml.ModuleLoader;
 import gov.nist.secauto.metaschema.databind.IBindingContext;
+import gov.nist.secauto.metaschema.databind.io.CompactMetaschemaData;
 import gov.nist.secauto.metaschema.databind.io.DeserializationFeature;
 import gov.nist.secauto.metaschema.databind.io.IBoundLoader;
+import gov.nist.secauto.metaschema.databind.io.LocationTrackingMode;
+import gov.nist.secauto.metaschema.databind.io.ValueCanonicalizer;
 import gov.nist.secauto.metaschema.databind.model.AbstractBoundModelTestSupport;
+import gov.nist.secauto.metaschema.databind.model.IBoundDefinitionModelComplex;
+import gov.nist.secauto.metaschema.databind.model.test.MultiFieldAssembly;
 
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
+import java.io.StringReader;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 class JsonParserTest
     extends AbstractBoundModelTestSupport {
@@ -36,4 +58,98 @@ class JsonParserTest
     Object obj = loader.load(Paths.get("src/test/resources/metaschema/308-choice-regression/example.json"));
     assertNotNull(obj);
   }
+
+  @Test
+  void testLocationTracking() throws IOException, MetaschemaException {
+    ModuleLoader moduleLoader = new ModuleLoader();
+    IMetaschemaModule module
+        = moduleLoader.load(Paths.get("src/test/resources/metaschema/308-choice-regression/metaschema.xml"));
+
+    IBindingContext context = IBindingContext.instance();
+    context.registerModule(module, Paths.get("target/generated-test-sources/308-choice-regression"));
+
+    IBoundLoader loader = context.newBoundLoader();
+    IBoundObject full = loader.load(Paths.get("src/test/resources/metaschema/308-choice-regression/example.json"));
+
+    loader.set(DeserializationFeature.DESERIALIZE_LOCATION_TRACKING, LocationTrackingMode.COMPACT);
+    IBoundObject compact = loader.load(Paths.get("src/test/resources/metaschema/308-choice-regression/example.json"));
+
+    loader.set(DeserializationFeature.DESERIALIZE_LOCATION_TRACKING, LocationTrackingMode.NONE);
+    IBoundObject none = loader.load(Paths.get("src/test/resources/metaschema/308-choice-regression/example.json"));
+
+    IMetaschemaData fullData = full.getMetaschemaData();
+    IMetaschemaData compactData = compact.getMetaschemaData();
+    assertAll(
+        () -> assertNotNull(fullData),
+        () -> assertTrue(compactData instanceof CompactMetaschemaData),
+        () -> assertEquals(fullData.getLine(), compactData.getLine()),
+        () -> assertEquals(fullData.getColumn(), compactData.getColumn()),
+        () -> assertEquals(-1, compactData.getCharOffset()),
+        () -> assertNull(none.getMetaschemaData()));
+  }
+
+  @Test
+  void testReadCollectionIsTrimmed() throws IOException, ReflectiveOperationException {
+    // more values than the default capacity of an ArrayList
+    List<String> values = IntStream.range(0, 11)
+        .mapToObj(index -> "value" + index)
+        .collect(Collectors.toList());
+    String json = values.stream()
+        .map(value -> '"' + value + '"')
+        .collect(Collectors.joining(", ", "{ \"fields2\": [ ", " ] }"));
+
+    try (JsonParser jsonParser = newJsonParser(new StringReader(json))) {
+      // get first token
+      jsonParser.nextToken();
+
+      IBoundDefinitionModelComplex definition
+          = getBindingContext().getBoundDefinitionForClass(MultiFieldAssembly.class);
+      assert definition != null;
+
+      MultiFieldAssembly obj = (MultiFieldAssembly) new MetaschemaJsonReader(jsonParser).readObject(definition);
+
+      List<String> field2 = obj.getField2();
+      assertTrue(field2 instanceof ArrayList);
+      int capacity = getCapacity((ArrayList<?>) field2);
+      assertAll(
+          () -> assertIterableEquals(values, field2),
+          () -> assertEquals(values.size(), capacity, "expected the collection to be trimmed to size"));
+    }
+  }
+
+  @Test
+  void testCanonicalizeValues() throws IOException {
+    String json = "{ \"fields2\": [ \"alpha\", \"alpha\" ] }";
+
+    IBoundDefinitionModelComplex definition
+        = getBindingContext().getBoundDefinitionForClass(MultiFieldAssembly.class);
+    assert definition != null;
+
+    MultiFieldAssembly shared;
+    try (JsonParser jsonParser = newJsonParser(new StringReader(json))) {
+      jsonParser.nextToken();
+      shared = (MultiFieldAssembly) new MetaschemaJsonReader(
+          jsonParser,
+          new DefaultJsonProblemHandler(),
+          LocationTrackingMode.FULL,
+          new ValueCanonicalizer()).readObject(definition);
+    }
+
+    MultiFieldAssembly unshared;
+    try (JsonParser jsonParser = newJsonParser(new StringReader(json))) {
+      jsonParser.nextToken();
+      unshared = (MultiFieldAssembly) new MetaschemaJsonReader(
+          jsonParser,
+          new DefaultJsonProblemHandler(),
+          LocationTrackingMode.FULL,
+          null).readObject(definition);
+    }
+
+    assertAll(
+        // canonicalization is opt-in
+        () -> assertFalse(DeserializationFeature.DESERIALIZE_CANONICALIZE_VALUES.getDefault()),
+        () -> assertIterableEquals(shared.getField2(), unshared.getField2()),
+        () -> assertSame(shared.getField2().get(0), shared.getField2().get(1)),
+        () -> assertNotSame(unshared.getField2().get(0), unshared.getField2().get(1)));
+  }
 }
@@ -5,6 +5,7 @@
 
 package gov.nist.secauto.metaschema.databind.io.xml;
 
+import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertIterableEquals;
@@ -13,8 +14,12 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import com.ctc.wstx.stax.WstxInputFactory;
 import com.fasterxml.jackson.core.JsonParseException;
 
+import gov.nist.secauto.metaschema.core.configuration.DefaultConfiguration;
+import gov.nist.secauto.metaschema.core.configuration.IMutableConfiguration;
 import gov.nist.secauto.metaschema.core.util.ObjectUtils;
 import gov.nist.secauto.metaschema.databind.IBindingContext;
+import gov.nist.secauto.metaschema.databind.io.DeserializationFeature;
+import gov.nist.secauto.metaschema.databind.io.LocationTrackingMode;
 import gov.nist.secauto.metaschema.databind.model.AbstractBoundModelTestSupport;
 import gov.nist.secauto.metaschema.databind.model.IBoundDefinitionModelAssembly;
 import gov.nist.secauto.metaschema.databind.model.IBoundInstanceFlag;
@@ -23,11 +28,16 @@ import gov.nist.secauto.metaschema.databind.model.test.FlaggedAssembly;
 import gov.nist.secauto.metaschema.databind.model.test.MultiFieldAssembly;
 
 import org.codehaus.stax2.XMLEventReader2;
+import org.codehaus.stax2.XMLInputFactory2;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
 import java.io.StringReader;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import javax.xml.namespace.QName;
 import javax.xml.stream.XMLInputFactory;
@@ -157,4 +167,61 @@ class XmlParserTest
     assertIterableEquals(Collections.singleton("field2value"),
         obj.getField2());
   }
+
+  @Test
+  void testXmlReadCollectionIsTrimmed() throws IOException, XMLStreamException, ReflectiveOperationException {
+    // more values than the default capacity of an ArrayList
+    List<String> values = IntStream.range(0, 11)
+        .mapToObj(index -> "value" + index)
+        .collect(Collectors.toList());
+
+    StringBuilder builder = new StringBuilder()
+        .append("<test xmlns='https://csrc.nist.gov/ns/test/xml'>\n")
+        .append(" <fields2>\n");
+    values.forEach(value -> builder.append("   <field2>").append(value).append("</field2>\n"));
+    builder
+        .append(" </fields2>\n")
+        .append("</test>");
+
+    XMLInputFactory factory = XMLInputFactory.newInstance();
+    assert factory instanceof WstxInputFactory;
+    XMLEventReader2 eventReader
+        = (XMLEventReader2) factory.createXMLEventReader(new StringReader(builder.toString()));
+
+    assertEquals(XMLStreamConstants.START_DOCUMENT, eventReader.nextEvent().getEventType());
+    assertEquals(XMLStreamConstants.START_ELEMENT, eventReader.nextEvent().getEventType());
+
+    IBoundDefinitionModelAssembly assembly
+        = ObjectUtils.requireNonNull(
+            (IBoundDefinitionModelAssembly) getBindingContext().getBoundDefinitionForClass(MultiFieldAssembly.class));
+    IBoundInstanceModelField<?> field2Instance
+        = ObjectUtils.requireNonNull(assembly.getFieldInstanceByName(new QName(NS, "field2")));
+
+    MultiFieldAssembly obj = new MultiFieldAssembly();
+    assertTrue(new MetaschemaXmlReader(eventReader).readItems(field2Instance, obj, true));
+
+    List<String> field2 = obj.getField2();
+    assertTrue(field2 instanceof ArrayList);
+    int capacity = getCapacity((ArrayList<?>) field2);
+    assertAll(
+        () -> assertIterableEquals(values, field2),
+        () -> assertEquals(values.size(), capacity, "expected the collection to be trimmed to size"));
+  }
+
+  @Test
+  void testInputFactoryPreservesLocationOnlyWhenTracked() {
+    IMutableConfiguration<DeserializationFeature<?>> config = new DefaultConfiguration<>();
+    XMLInputFactory2 fullFactory = XmlFactoryFactory.inputFactoryInstance(config);
+
+    config.set(DeserializationFeature.DESERIALIZE_LOCATION_TRACKING, LocationTrackingMode.COMPACT);
+    XMLInputFactory2 compactFactory = XmlFactoryFactory.inputFactoryInstance(config);
+
+    config.set(DeserializationFeature.DESERIALIZE_LOCATION_TRACKING, LocationTrackingMode.NONE);
+    XMLInputFactory2 noneFactory = XmlFactoryFactory.inputFactoryInstance(config);
+
+    assertAll(
+        () -> assertEquals(Boolean.TRUE, fullFactory.getProperty(XMLInputFactory2.P_PRESERVE_LOCATION)),
+        () -> assertEquals(Boolean.TRUE, compactFactory.getProperty(XMLInputFactory2.P_PRESERVE_LOCATION)),
+        () -> assertEquals(Boolean.FALSE, noneFactory.getProperty(XMLInputFactory2.P_PRESERVE_LOCATION)));
+  }
 }
@@ -5,6 +5,8 @@
 
 package gov.nist.secauto.metaschema.databind.model;
 
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
 import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.core.JsonParser;
@@ -20,6 +22,8 @@ import org.junit.jupiter.api.extension.RegisterExtension;
 
 import java.io.IOException;
 import java.io.Reader;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
 
@@ -75,6 +79,25 @@ public class AbstractBoundModelTestSupport {
         .getBoundDefinitionForClass(RootBoundAssembly.class));
   }
 
+  /**
+   * Get the length of the array backing the provided list, which is used to
+   * verify that parsed collections do not retain unused capacity.
+   * <p>
+   * The calling test is skipped if the JDK does not allow access to the list's
+   * internals.
+   *
+   * @param list
+   *          the list to inspect
+   * @return the capacity of the list
+   * @throws ReflectiveOperationException
+   *           if the list's backing array could not be read
+   */
+  protected static int getCapacity(@NonNull ArrayList<?> list) throws ReflectiveOperationException {
+    Field field = ArrayList.class.getDeclaredField("elementData");
+    assumeTrue(field.trySetAccessible(), "the ArrayList internals are not accessible");
+    return ((Object[]) field.get(list)).length;
+  }
+
   @SuppressWarnings("resource")
   @NonNull
   protected JsonParser newJsonParser(@NonNull Reader reader) throws JsonParseException, IOException {
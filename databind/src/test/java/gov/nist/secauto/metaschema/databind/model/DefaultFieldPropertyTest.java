@@ -27,8 +27,8 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.LinkedList;
 
 class DefaultFieldPropertyTest {
   @RegisterExtension
@@ -86,7 +86,7 @@ class DefaultFieldPropertyTest {
 
       assertAll(
           () -> assertEquals("field1value", obj.getField1()),
-          () -> assertTrue(obj.getField2() instanceof LinkedList),
+          () -> assertTrue(obj.getField2() instanceof ArrayList),
           () -> assertIterableEquals(Collections.singleton("field2value"), obj.getField2()));
 
       // assertEquals(JsonToken.START_OBJECT, jsonParser.nextToken());
@@ -119,7 +119,7 @@ class DefaultFieldPropertyTest {
 
       assertAll(
           () -> assertNull(obj.getField1()),
-          () -> assertTrue(obj.getField2() instanceof LinkedList),
+          () -> assertTrue(obj.getField2() instanceof ArrayList),
           () -> assertIterableEquals(Collections.singleton("field2value"), obj.getField2()));
     }
   }
@@ -5,13 +5,24 @@
 
 package gov.nist.secauto.metaschema.databind.model.metaschema;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import gov.nist.secauto.metaschema.core.model.IModule;
 import gov.nist.secauto.metaschema.core.model.MetaschemaException;
 import gov.nist.secauto.metaschema.databind.DefaultBindingContext;
 
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 class BindingModuleLoaderTest {
 
@@ -22,4 +33,27 @@ class BindingModuleLoaderTest {
 
     loader.load(Paths.get("src/test/resources/test-content/legacy-metaschema-data-types-module.xml"));
   }
+
+  @Test
+  void testConcurrentLoads() throws InterruptedException, ExecutionException {
+    BindingModuleLoader loader = new BindingModuleLoader(new DefaultBindingContext());
+    Path root = Paths.get("../core/src/test/resources/content/imports/root.xml");
+
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<IBindingMetaschemaModule>> futures = IntStream.range(0, 8)
+          .mapToObj(index -> executor.submit(() -> loader.load(root)))
+          .collect(Collectors.toList());
+
+      for (Future<IBindingMetaschemaModule> future : futures) {
+        List<String> importNames = future.get().getImportedModules().stream()
+            .map(IModule::getShortName)
+            .collect(Collectors.toList());
+        assertEquals(List.of("import-test-a", "import-test-b"), importNames);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    assertEquals(4, loader.getLoadedResources().size());
+  }
 }
@@ -7,8 +7,10 @@ package gov.nist.secauto.metaschema.cli;
 
 import gov.nist.secauto.metaschema.cli.commands.MetaschemaCommands;
 import gov.nist.secauto.metaschema.cli.processor.CLIProcessor;
+import gov.nist.secauto.metaschema.cli.processor.ExitCode;
 import gov.nist.secauto.metaschema.cli.processor.ExitStatus;
 import gov.nist.secauto.metaschema.cli.processor.command.CommandService;
+import gov.nist.secauto.metaschema.cli.util.RemoteCommandClient;
 import gov.nist.secauto.metaschema.core.MetaschemaJavaVersion;
 import gov.nist.secauto.metaschema.core.model.MetaschemaVersion;
 import gov.nist.secauto.metaschema.core.util.IVersionInfo;
@@ -21,8 +23,35 @@ import edu.umd.cs.findbugs.annotations.NonNull;
 
 @SuppressWarnings("PMD.ShortClassName")
 public final class CLI {
+  /**
+   * The environment variable used to identify a server, started using the
+   * {@code serve} command, that commands should be forwarded to.
+   */
+  @NonNull
+  public static final String SERVER_ENV = "METASCHEMA_CLI_SERVER";
+  /**
+   * The environment variable used to identify the file containing the access
+   * token of the server identified by {@link #SERVER_ENV}, if the server was not
+   * started using the default token file.
+   */
+  @NonNull
+  public static final String SERVER_TOKEN_FILE_ENV = "METASCHEMA_CLI_SERVER_TOKEN_FILE";
+
   public static void main(String[] args) {
-    System.exit(runCli(args).getExitCode().getStatusCode());
+    ExitCode exitCode = null;
+
+    String server = System.getenv(SERVER_ENV);
+    if (server != null && !server.isBlank()) {
+      RemoteCommandClient client = RemoteCommandClient.newInstance(server, System.getenv(SERVER_TOKEN_FILE_ENV));
+      if (client != null) {
+        exitCode = client.run(args);
+      }
+    }
+
+    if (exitCode == null) {
+      exitCode = runCli(args).getExitCode();
+    }
+    System.exit(exitCode.getStatusCode());
   }
 
   @NonNull
@@ -14,12 +14,15 @@ import gov.nist.secauto.metaschema.cli.processor.command.AbstractCommandExecutor
 import gov.nist.secauto.metaschema.cli.processor.command.AbstractTerminalCommand;
 import gov.nist.secauto.metaschema.cli.processor.command.DefaultExtraArgument;
 import gov.nist.secauto.metaschema.cli.processor.command.ExtraArgument;
+import gov.nist.secauto.metaschema.core.model.IBoundObject;
 import gov.nist.secauto.metaschema.core.util.CustomCollectors;
 import gov.nist.secauto.metaschema.core.util.ObjectUtils;
 import gov.nist.secauto.metaschema.core.util.UriUtils;
 import gov.nist.secauto.metaschema.databind.IBindingContext;
+import gov.nist.secauto.metaschema.databind.io.DeserializationFeature;
 import gov.nist.secauto.metaschema.databind.io.Format;
 import gov.nist.secauto.metaschema.databind.io.IBoundLoader;
+import gov.nist.secauto.metaschema.databind.io.LocationTrackingMode;
 
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.Option;
@@ -33,9 +36,11 @@ import java.io.Writer;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
 import java.util.Collection;
 import java.util.List;
@@ -68,6 +73,13 @@ public abstract class AbstractConvertSubcommand
           .hasArg().argName("FORMAT")
           .desc("convert to format: xml, json, or yaml")
           .build());
+  @NonNull
+  private static final Option STREAMING_OPTION = ObjectUtils.notNull(
+      Option.builder()
+          .longOpt("streaming")
+          .desc("convert one top-level item at a time, without loading the whole source into memory;"
+              + " JSON and YAML sources must be in model order")
+          .build());
 
   @Override
   public String getName() {
@@ -76,9 +88,28 @@ public abstract class AbstractConvertSubcommand
 
   @Override
   public Collection<? extends Option> gatherOptions() {
-    return ObjectUtils.notNull(List.of(
-        OVERWRITE_OPTION,
-        TO_OPTION));
+    return ObjectUtils.notNull(isStreamingSupported()
+        ? List.of(
+            OVERWRITE_OPTION,
+            TO_OPTION,
+            STREAMING_OPTION)
+        : List.of(
+            OVERWRITE_OPTION,
+            TO_OPTION));
+  }
+
+  /**
+   * Determine if this command supports the {@code --streaming} option.
+   * <p>
+   * The option is only offered by commands that return {@code true}. The
+   * executors of these commands must perform the conversion using
+   * {@link AbstractConversionCommandExecutor#convert(URI, Format, Writer, IBoundLoader, Class)},
+   * which honors the option.
+   *
+   * @return {@code true} if streaming is supported, or {@code false} otherwise
+   */
+  protected boolean isStreamingSupported() {
+    return false;
   }
 
   @Override
@@ -178,6 +209,8 @@ public abstract class AbstractConvertSubcommand
       IBindingContext bindingContext = getBindingContext();
       try {
         IBoundLoader loader = bindingContext.newBoundLoader();
+        // source locations are not used when converting
+        loader.set(DeserializationFeature.DESERIALIZE_LOCATION_TRACKING, LocationTrackingMode.NONE);
         if (LOGGER.isInfoEnabled()) {
           LOGGER.info("Converting '{}'.", source);
         }
@@ -187,15 +220,7 @@ public abstract class AbstractConvertSubcommand
           OutputStreamWriter writer = new OutputStreamWriter(System.out, StandardCharsets.UTF_8);
           handleConversion(source, toFormat, writer, loader);
         } else {
-          try (Writer writer = Files.newBufferedWriter(
-              destination,
-              StandardCharsets.UTF_8,
-              StandardOpenOption.CREATE,
-              StandardOpenOption.WRITE,
-              StandardOpenOption.TRUNCATE_EXISTING)) {
-            assert writer != null;
-            handleConversion(source, toFormat, writer, loader);
-          }
+          convertToFile(source, toFormat, destination, loader);
         }
       } catch (IOException | IllegalArgumentException ex) {
         return ExitCode.PROCESSING_ERROR.exit().withThrowable(ex); // NOPMD readability
@@ -206,10 +231,83 @@ public abstract class AbstractConvertSubcommand
       return ExitCode.OK.exit();
     }
 
+    /**
+     * Convert the source into a temporary file next to the destination, which
+     * replaces the destination only once the conversion succeeds. This ensures a
+     * failed conversion, such as a streamed source that is not in model order,
+     * never leaves a partial destination behind.
+     */
+    private void convertToFile(
+        @NonNull URI source,
+        @NonNull Format toFormat,
+        @NonNull Path destination,
+        @NonNull IBoundLoader loader) throws IOException {
+      Path temp = Files.createTempFile(
+          destination.getParent(),
+          "." + destination.getFileName() + "-",
+          ".tmp");
+      try {
+        try (Writer writer = Files.newBufferedWriter(
+            temp,
+            StandardCharsets.UTF_8,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING)) {
+          assert writer != null;
+          handleConversion(source, toFormat, writer, loader);
+        }
+        try {
+          Files.move(temp, destination, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException ex) {
+          Files.move(temp, destination, StandardCopyOption.REPLACE_EXISTING);
+        }
+      } finally {
+        Files.deleteIfExists(temp);
+      }
+    }
+
     protected abstract void handleConversion(
         @NonNull URI source,
         @NonNull Format toFormat,
         @NonNull Writer writer,
         @NonNull IBoundLoader loader) throws FileNotFoundException, IOException;
+
+    /**
+     * Convert the source to the requested format. The conversion is streamed if
+     * the {@code --streaming} option was provided, which is only offered when
+     * {@link AbstractConvertSubcommand#isStreamingSupported()} is {@code true}.
+     * <p>
+     * Implementations of
+     * {@link #handleConversion(URI, Format, Writer, IBoundLoader)} can use this
+     * method once the root class of the source is known.
+     *
+     * @param <CLASS>
+     *          the Java type to load data into
+     * @param source
+     *          the resource to convert
+     * @param toFormat
+     *          the format to convert to
+     * @param writer
+     *          the writer to write converted content to
+     * @param loader
+     *          the loader used to read the source
+     * @param rootClass
+     *          the class for the Java type to load data into
+     * @throws FileNotFoundException
+     *           the the provided source file was not found
+     * @throws IOException
+     *           if an error occurred while converting the source
+     */
+    protected <CLASS extends IBoundObject> void convert(
+        @NonNull URI source,
+        @NonNull Format toFormat,
+        @NonNull Writer writer,
+        @NonNull IBoundLoader loader,
+        @NonNull Class<CLASS> rootClass) throws FileNotFoundException, IOException {
+      if (getCommandLine().hasOption(STREAMING_OPTION)) {
+        loader.convertStreaming(source, writer, toFormat, rootClass);
+      } else {
+        loader.convert(source, writer, toFormat, rootClass);
+      }
+    }
   }
 }
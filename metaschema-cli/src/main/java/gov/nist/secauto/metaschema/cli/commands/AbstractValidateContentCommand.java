@@ -5,6 +5,9 @@
 
 package gov.nist.secauto.metaschema.cli.commands;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
 import gov.nist.secauto.metaschema.cli.processor.CLIProcessor;
 import gov.nist.secauto.metaschema.cli.processor.CLIProcessor.CallingContext;
 import gov.nist.secauto.metaschema.cli.processor.ExitCode;
@@ -17,6 +20,7 @@ import gov.nist.secauto.metaschema.cli.processor.command.DefaultExtraArgument;
 import gov.nist.secauto.metaschema.cli.processor.command.ExtraArgument;
 import gov.nist.secauto.metaschema.cli.util.LoggingValidationHandler;
 import gov.nist.secauto.metaschema.core.configuration.DefaultConfiguration;
+import gov.nist.secauto.metaschema.core.configuration.IConfiguration;
 import gov.nist.secauto.metaschema.core.configuration.IMutableConfiguration;
 import gov.nist.secauto.metaschema.core.metapath.MetapathException;
 import gov.nist.secauto.metaschema.core.model.IConstraintLoader;
@@ -25,6 +29,9 @@ import gov.nist.secauto.metaschema.core.model.constraint.IConstraintSet;
 import gov.nist.secauto.metaschema.core.model.constraint.ValidationFeature;
 import gov.nist.secauto.metaschema.core.model.validation.AggregateValidationResult;
 import gov.nist.secauto.metaschema.core.model.validation.IValidationResult;
+import gov.nist.secauto.metaschema.core.model.validation.JsonSchemaContentValidator;
+import gov.nist.secauto.metaschema.core.model.validation.XmlSchemaContentValidator;
+import gov.nist.secauto.metaschema.core.profile.Profiler;
 import gov.nist.secauto.metaschema.core.util.CollectionUtil;
 import gov.nist.secauto.metaschema.core.util.CustomCollectors;
 import gov.nist.secauto.metaschema.core.util.IVersionInfo;
@@ -34,29 +41,55 @@ import gov.nist.secauto.metaschema.databind.IBindingContext;
 import gov.nist.secauto.metaschema.databind.IBindingContext.ISchemaValidationProvider;
 import gov.nist.secauto.metaschema.databind.io.Format;
 import gov.nist.secauto.metaschema.databind.io.IBoundLoader;
+import gov.nist.secauto.metaschema.databind.io.yaml.YamlOperations;
 import gov.nist.secauto.metaschema.databind.model.metaschema.BindingConstraintLoader;
-import gov.nist.secauto.metaschema.modules.sarif.SarifValidationHandler;
+import gov.nist.secauto.metaschema.modules.sarif.StreamingSarifValidationHandler;
 
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.Option;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+import org.xml.sax.SAXException;
 
+import java.io.BufferedInputStream;
+import java.io.Closeable;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.net.URL;
 import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.PathMatcher;
 import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
 
 public abstract class AbstractValidateContentCommand
     extends AbstractTerminalCommand {
@@ -65,7 +98,9 @@ public abstract class AbstractValidateContentCommand
   private static final String COMMAND = "validate";
   @NonNull
   private static final List<ExtraArgument> EXTRA_ARGUMENTS = ObjectUtils.notNull(List.of(
-      new DefaultExtraArgument("file-or-URI-to-validate", true)));
+      new DefaultExtraArgument("file-or-URI-to-validate", false, Integer.MAX_VALUE)));
+  @NonNull
+  private static final Pattern GLOB_PATTERN = ObjectUtils.notNull(Pattern.compile("[*?\\[{]"));
 
   @NonNull
   private static final Option AS_OPTION = ObjectUtils.notNull(
@@ -77,7 +112,7 @@ public abstract class AbstractValidateContentCommand
           .numberOfArgs(1)
           .build());
   @NonNull
-  private static final Option CONSTRAINTS_OPTION = ObjectUtils.notNull(
+  protected static final Option CONSTRAINTS_OPTION = ObjectUtils.notNull(
       Option.builder("c")
           .hasArgs()
           .argName("URI")
@@ -97,6 +132,49 @@ public abstract class AbstractValidateContentCommand
           .longOpt("sarif-include-pass")
           .desc("include pass results in SARIF")
           .build());
+  @NonNull
+  private static final Option FILE_LIST_OPTION = ObjectUtils.notNull(
+      Option.builder()
+          .longOpt("file-list")
+          .hasArg()
+          .argName("FILE")
+          .desc("validate the files or URIs listed in FILE, one per line")
+          .numberOfArgs(1)
+          .build());
+  @NonNull
+  private static final Option THREADS_OPTION = ObjectUtils.notNull(
+      Option.builder()
+          .longOpt("threads")
+          .hasArg()
+          .argName("COUNT")
+          .desc("the maximum number of sources to validate concurrently (default: available processors)")
+          .numberOfArgs(1)
+          .build());
+  @NonNull
+  private static final Option SUMMARY_OUTPUT_FILE_OPTION = ObjectUtils.notNull(
+      Option.builder()
+          .longOpt("summary")
+          .hasArg()
+          .argName("FILE")
+          .desc("write a JSON summary of the per-source results to the provided FILE")
+          .numberOfArgs(1)
+          .build());
+  @NonNull
+  private static final Option PROFILE_OPTION = ObjectUtils.notNull(
+      Option.builder()
+          .longOpt("profile")
+          .hasArg()
+          .argName("FILE")
+          .desc("write a JSON report of the time spent evaluating each constraint and Metapath expression to the "
+              + "provided FILE, along with collapsed stacks for a flame graph to FILE.folded")
+          .numberOfArgs(1)
+          .build());
+
+  /**
+   * Loads and caches the constraint sets used by executions of this command.
+   * This is created on first use.
+   */
+  private IConstraintLoader constraintLoader;
 
   @Override
   public String getName() {
@@ -110,7 +188,11 @@ public abstract class AbstractValidateContentCommand
         AS_OPTION,
         CONSTRAINTS_OPTION,
         SARIF_OUTPUT_FILE_OPTION,
-        SARIF_INCLUDE_PASS_OPTION);
+        SARIF_INCLUDE_PASS_OPTION,
+        FILE_LIST_OPTION,
+        THREADS_OPTION,
+        SUMMARY_OUTPUT_FILE_OPTION,
+        PROFILE_OPTION);
   }
 
   @Override
@@ -118,11 +200,27 @@ public abstract class AbstractValidateContentCommand
     return EXTRA_ARGUMENTS;
   }
 
+  /**
+   * Get the loader used to load the constraint sets provided to this command.
+   * <p>
+   * The loader is shared by all executions of this command, so a constraint set
+   * is only loaded the first time it is used.
+   *
+   * @return the loader
+   */
+  @NonNull
+  protected synchronized IConstraintLoader getConstraintLoader() {
+    if (constraintLoader == null) {
+      constraintLoader = new BindingConstraintLoader(IBindingContext.instance());
+    }
+    return ObjectUtils.notNull(constraintLoader);
+  }
+
   @SuppressWarnings("PMD.PreserveStackTrace") // intended
   @Override
   public void validateOptions(CallingContext callingContext, CommandLine cmdLine) throws InvalidArgumentException {
     List<String> extraArgs = cmdLine.getArgList();
-    if (extraArgs.size() != 1) {
+    if (extraArgs.isEmpty() && !cmdLine.hasOption(FILE_LIST_OPTION)) {
       throw new InvalidArgumentException("The source to validate must be provided.");
     }
 
@@ -141,11 +239,152 @@ public abstract class AbstractValidateContentCommand
         throw newEx;
       }
     }
+
+    if (cmdLine.hasOption(THREADS_OPTION)) {
+      String threadsText = cmdLine.getOptionValue(THREADS_OPTION);
+      try {
+        if (Integer.parseInt(threadsText) < 1) {
+          throw new NumberFormatException("must be positive");
+        }
+      } catch (NumberFormatException ex) {
+        InvalidArgumentException newEx = new InvalidArgumentException(
+            String.format("Invalid '%s' argument '%s'. The value must be a positive integer.",
+                OptionUtils.toArgument(THREADS_OPTION),
+                threadsText));
+        newEx.addSuppressed(ex);
+        throw newEx;
+      }
+    }
+  }
+
+  /**
+   * Expand the provided source arguments and file list into the ordered set of
+   * source locations to validate.
+   * <p>
+   * Arguments containing glob characters are expanded against the local file
+   * system. All other arguments are used as provided.
+   *
+   * @param cmdLine
+   *          the parsed command line
+   * @return the source locations in the order they were provided
+   * @throws IOException
+   *           if an error occurred while reading the file list or expanding a
+   *           glob
+   */
+  @NonNull
+  private static List<String> resolveSourceNames(@NonNull CommandLine cmdLine) throws IOException {
+    List<String> names = new ArrayList<>(cmdLine.getArgList());
+    if (cmdLine.hasOption(FILE_LIST_OPTION)) {
+      Path fileList = resolvePathAgainstCWD(ObjectUtils.notNull(Paths.get(cmdLine.getOptionValue(FILE_LIST_OPTION))));
+      for (String line : Files.readAllLines(fileList, StandardCharsets.UTF_8)) {
+        String trimmed = line.trim();
+        if (!trimmed.isEmpty() && trimmed.charAt(0) != '#') {
+          names.add(trimmed);
+        }
+      }
+    }
+
+    Set<String> retval = new LinkedHashSet<>();
+    for (String name : names) {
+      assert name != null;
+      if (GLOB_PATTERN.matcher(name).find() && !name.contains("://")) {
+        retval.addAll(expandGlob(name));
+      } else {
+        retval.add(name);
+      }
+    }
+    return CollectionUtil.unmodifiableList(new ArrayList<>(retval));
+  }
+
+  @NonNull
+  private static List<String> expandGlob(@NonNull String glob) throws IOException {
+    Path cwd = Paths.get("").toAbsolutePath();
+    Path pattern = cwd.resolve(glob).normalize();
+
+    // walk from the deepest directory that does not contain a glob character
+    Path base = pattern.getRoot();
+    for (Path segment : pattern) {
+      if (GLOB_PATTERN.matcher(segment.toString()).find()) {
+        break;
+      }
+      base = base == null ? segment : base.resolve(segment);
+    }
+
+    if (base == null || !Files.isDirectory(base)) {
+      return CollectionUtil.emptyList();
+    }
+
+    String matcherPattern = pattern.toString().replace("\\", "\\\\");
+    PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + matcherPattern);
+    try (Stream<Path> paths = Files.walk(base)) {
+      return ObjectUtils.notNull(paths
+          .filter(Files::isRegularFile)
+          .filter(matcher::matches)
+          .map(Path::toString)
+          .sorted()
+          .collect(Collectors.toList()));
+    }
+  }
+
+  /**
+   * The outcome of validating a single source.
+   */
+  private static final class SourceResult {
+    @NonNull
+    private final String sourceName;
+    @Nullable
+    private final URI source;
+    @Nullable
+    private final Format format;
+    @NonNull
+    private final ExitStatus status;
+    @Nullable
+    private final IValidationResult validationResult;
+
+    private SourceResult(
+        @NonNull String sourceName,
+        @Nullable URI source,
+        @Nullable Format format,
+        @NonNull ExitStatus status,
+        @Nullable IValidationResult validationResult) {
+      this.sourceName = sourceName;
+      this.source = source;
+      this.format = format;
+      this.status = status;
+      this.validationResult = validationResult;
+    }
+
+    @NonNull
+    public String getSourceName() {
+      return sourceName;
+    }
+
+    @Nullable
+    public URI getSource() {
+      return source;
+    }
+
+    @Nullable
+    public Format getFormat() {
+      return format;
+    }
+
+    @NonNull
+    public ExitStatus getStatus() {
+      return status;
+    }
+
+    @Nullable
+    public IValidationResult getValidationResult() {
+      return validationResult;
+    }
   }
 
   protected abstract class AbstractValidationCommandExecutor
       extends AbstractCommandExecutor
       implements ISchemaValidationProvider {
+    private JsonSchemaContentValidator jsonSchemaValidator;
+    private XmlSchemaContentValidator xmlSchemaValidator;
 
     public AbstractValidationCommandExecutor(
         @NonNull CallingContext callingContext,
@@ -157,6 +396,82 @@ public abstract class AbstractValidateContentCommand
     protected abstract IBindingContext getBindingContext(@NonNull Set<IConstraintSet> constraintSets)
         throws MetaschemaException, IOException;
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The schema used by this command does not vary by source. The compiled schema
+     * is created on first use and reused for all subsequent sources.
+     */
+    @Override
+    public IValidationResult validateWithSchema(@NonNull URI target, @NonNull Format asFormat)
+        throws FileNotFoundException, IOException {
+      URL targetResource = ObjectUtils.notNull(target.toURL());
+
+      IValidationResult retval;
+      switch (asFormat) {
+      case JSON: {
+        JSONObject json;
+        try (InputStream is = new BufferedInputStream(ObjectUtils.notNull(targetResource.openStream()))) {
+          json = new JSONObject(new JSONTokener(is));
+        }
+        retval = getJsonSchemaValidator(json).validate(json, target);
+        break;
+      }
+      case XML:
+        retval = getXmlSchemaValidator(targetResource).validate(target);
+        break;
+      case YAML: {
+        JSONObject json = YamlOperations.yamlToJson(YamlOperations.parseYaml(target));
+        assert json != null;
+        retval = getJsonSchemaValidator(json).validate(json, target);
+        break;
+      }
+      default:
+        throw new UnsupportedOperationException("Unsupported format: " + asFormat.name());
+      }
+      return retval;
+    }
+
+    /**
+     * Get the JSON schema validator, creating it on first use.
+     *
+     * @param json
+     *          the content being validated
+     * @return the validator
+     * @throws IOException
+     *           if an error occurred while generating or loading the schema
+     */
+    @NonNull
+    protected synchronized JsonSchemaContentValidator getJsonSchemaValidator(@NonNull JSONObject json)
+        throws IOException {
+      if (jsonSchemaValidator == null) {
+        jsonSchemaValidator = new JsonSchemaContentValidator(getJsonSchema(json));
+      }
+      return ObjectUtils.notNull(jsonSchemaValidator);
+    }
+
+    /**
+     * Get the XML schema validator, creating it on first use.
+     *
+     * @param targetResource
+     *          the content being validated
+     * @return the validator
+     * @throws IOException
+     *           if an error occurred while generating or loading the schema
+     */
+    @NonNull
+    protected synchronized XmlSchemaContentValidator getXmlSchemaValidator(@NonNull URL targetResource)
+        throws IOException {
+      if (xmlSchemaValidator == null) {
+        try {
+          xmlSchemaValidator = new XmlSchemaContentValidator(getXmlSchemas(targetResource));
+        } catch (SAXException ex) {
+          throw new IOException(ex);
+        }
+      }
+      return ObjectUtils.notNull(xmlSchemaValidator);
+    }
+
     @SuppressWarnings("PMD.OnlyOneReturn") // readability
     @Override
     public ExitStatus execute() {
@@ -165,7 +480,7 @@ public abstract class AbstractValidateContentCommand
 
       Set<IConstraintSet> constraintSets;
       if (cmdLine.hasOption(CONSTRAINTS_OPTION)) {
-        IConstraintLoader constraintLoader = new BindingConstraintLoader(IBindingContext.instance());
+        IConstraintLoader constraintLoader = getConstraintLoader();
         constraintSets = new LinkedHashSet<>();
         String[] args = cmdLine.getOptionValues(CONSTRAINTS_OPTION);
         for (String arg : args) {
@@ -190,21 +505,19 @@ public abstract class AbstractValidateContentCommand
             .withThrowable(ex);
       }
 
-      IBoundLoader loader = bindingContext.newBoundLoader();
-
-      List<String> extraArgs = cmdLine.getArgList();
-
-      String sourceName = ObjectUtils.requireNonNull(extraArgs.get(0));
-      URI source;
-
+      List<String> sourceNames;
       try {
-        source = UriUtils.toUri(sourceName, cwd);
-      } catch (URISyntaxException ex) {
-        return ExitCode.IO_ERROR.exitMessage("Cannot load source '%s' as it is not a valid file or URI.")
+        sourceNames = resolveSourceNames(cmdLine);
+      } catch (IOException ex) {
+        return ExitCode.IO_ERROR.exitMessage("Unable to resolve the sources to validate. " + ex.getMessage())
             .withThrowable(ex);
       }
 
-      Format asFormat;
+      if (sourceNames.isEmpty()) {
+        return ExitCode.INVALID_TARGET.exitMessage("No sources to validate were found.");
+      }
+
+      Format asFormat = null;
       if (cmdLine.hasOption(AS_OPTION)) {
         try {
           String toFormatText = cmdLine.getOptionValue(AS_OPTION);
@@ -217,21 +530,198 @@ public abstract class AbstractValidateContentCommand
                       .collect(CustomCollectors.joiningWithOxfordComma("or")))
               .withThrowable(ex);
         }
+      }
+
+      IMutableConfiguration<ValidationFeature<?>> configuration = new DefaultConfiguration<>();
+      if (cmdLine.hasOption(SARIF_OUTPUT_FILE_OPTION) && cmdLine.hasOption(SARIF_INCLUDE_PASS_OPTION)) {
+        configuration.enableFeature(ValidationFeature.VALIDATE_GENERATE_PASS_FINDINGS);
+      }
+
+      Profiler profiler = null;
+      if (cmdLine.hasOption(PROFILE_OPTION)) {
+        profiler = new Profiler();
+        configuration.set(ValidationFeature.VALIDATE_PROFILER, profiler);
+      }
+
+      ExitStatus retval;
+      if (sourceNames.size() == 1) {
+        SourceResult result = validateSource(
+            ObjectUtils.notNull(sourceNames.get(0)),
+            cwd,
+            asFormat,
+            bindingContext,
+            configuration);
+        retval = handleResult(result);
+        if (retval == null) {
+          retval = result.getStatus();
+        }
       } else {
+        retval = validateSources(sourceNames, cwd, asFormat, bindingContext, configuration);
+      }
+
+      if (profiler != null) {
+        try {
+          writeProfile(profiler, ObjectUtils.notNull(Paths.get(cmdLine.getOptionValue(PROFILE_OPTION))));
+        } catch (IOException ex) {
+          return ExitCode.IO_ERROR.exitMessage("Unable to write the profile. " + ex.getMessage()).withThrowable(ex);
+        }
+      }
+      return retval;
+    }
+
+    /**
+     * Validate multiple sources using a bounded pool of workers that share the
+     * same binding context and compiled schema.
+     * <p>
+     * Results are reported in the order the sources were provided. Each result is
+     * written to the requested outputs as soon as it is reported and is then
+     * discarded, so only a bounded window of pending results is retained at any
+     * time. A source that fails unexpectedly is reported as a failed result, and
+     * the remaining sources are still validated.
+     *
+     * @return the aggregate exit status, which is the most severe per-source
+     *         status
+     */
+    @SuppressWarnings("PMD.OnlyOneReturn") // readability
+    @NonNull
+    private ExitStatus validateSources(
+        @NonNull List<String> sourceNames,
+        @NonNull URI cwd,
+        @Nullable Format asFormat,
+        @NonNull IBindingContext bindingContext,
+        @NonNull IConfiguration<ValidationFeature<?>> configuration) {
+      CommandLine cmdLine = getCommandLine();
+      int threads = cmdLine.hasOption(THREADS_OPTION)
+          ? Integer.parseInt(cmdLine.getOptionValue(THREADS_OPTION))
+          : Runtime.getRuntime().availableProcessors();
+      threads = Math.min(threads, sourceNames.size());
+      boolean showStackTrace = cmdLine.hasOption(CLIProcessor.SHOW_STACK_TRACE_OPTION);
+
+      ExitStatus retval;
+      try (ResultWriter resultWriter = new ResultWriter()) {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+          Deque<Map.Entry<String, Future<SourceResult>>> pending = new ArrayDeque<>();
+          Iterator<String> iter = sourceNames.iterator();
+          while (iter.hasNext() || !pending.isEmpty()) {
+            while (iter.hasNext() && pending.size() < threads * 2) {
+              String sourceName = ObjectUtils.notNull(iter.next());
+              pending.add(Map.entry(sourceName, executor.submit(
+                  () -> validateSource(sourceName, cwd, asFormat, bindingContext, configuration))));
+            }
+
+            Map.Entry<String, Future<SourceResult>> next = pending.removeFirst();
+            SourceResult result = awaitResult(
+                ObjectUtils.notNull(next.getKey()),
+                ObjectUtils.notNull(next.getValue()));
+            reportResult(result);
+            if (result.getValidationResult() == null) {
+              result.getStatus().generateMessage(showStackTrace);
+            }
+            resultWriter.write(result);
+          }
+        } finally {
+          executor.shutdownNow();
+        }
+
+        int total = resultWriter.getTotal();
+        int failed = total - resultWriter.getPassed();
+        if (failed == 0) {
+          retval = ExitCode.OK.exitMessage(
+              String.format("All %d sources are valid.", total));
+        } else {
+          retval = resultWriter.getHighestExitCode().exitMessage(
+              String.format("%d of %d sources are invalid or could not be validated.", failed, total));
+        }
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        return ExitCode.PROCESSING_ERROR.exitMessage("Validation was interrupted.").withThrowable(ex);
+      } catch (IOException ex) {
+        return ExitCode.IO_ERROR.exit().withThrowable(ex);
+      }
+      return retval;
+    }
+
+    /**
+     * Wait for the result of validating a source.
+     * <p>
+     * An uncaught error thrown while validating the source is converted into a
+     * failed result for that source.
+     *
+     * @param sourceName
+     *          the source name as provided by the user
+     * @param future
+     *          the pending validation
+     * @return the source result
+     * @throws InterruptedException
+     *           if interrupted while waiting
+     */
+    @NonNull
+    private SourceResult awaitResult(
+        @NonNull String sourceName,
+        @NonNull Future<SourceResult> future) throws InterruptedException {
+      SourceResult retval;
+      try {
+        retval = ObjectUtils.notNull(future.get());
+      } catch (ExecutionException ex) {
+        Throwable cause = ex.getCause() == null ? ex : ex.getCause();
+        retval = new SourceResult(sourceName, null, null,
+            ExitCode.RUNTIME_ERROR
+                .exitMessage(String.format("An uncaught runtime error occurred while validating '%s'. %s",
+                    sourceName,
+                    cause.getMessage()))
+                .withThrowable(ObjectUtils.notNull(cause)),
+            null);
+      }
+      return retval;
+    }
+
+    /**
+     * Validate a single source, capturing the outcome.
+     * <p>
+     * This method is safe to call concurrently.
+     */
+    @SuppressWarnings("PMD.OnlyOneReturn") // readability
+    @NonNull
+    private SourceResult validateSource(
+        @NonNull String sourceName,
+        @NonNull URI cwd,
+        @Nullable Format requestedFormat,
+        @NonNull IBindingContext bindingContext,
+        @NonNull IConfiguration<ValidationFeature<?>> configuration) {
+      URI source;
+
+      try {
+        source = UriUtils.toUri(sourceName, cwd);
+      } catch (URISyntaxException ex) {
+        return new SourceResult(sourceName, null, null,
+            ExitCode.IO_ERROR.exitMessage(
+                String.format("Cannot load source '%s' as it is not a valid file or URI.", sourceName))
+                .withThrowable(ex),
+            null);
+      }
+
+      Format asFormat = requestedFormat;
+      if (asFormat == null) {
         // attempt to determine the format
+        IBoundLoader loader = bindingContext.newBoundLoader();
         try {
           asFormat = loader.detectFormat(source);
         } catch (FileNotFoundException ex) {
           // this case was already checked for
-          return ExitCode.IO_ERROR.exitMessage("The provided source file '" + source + "' does not exist.");
+          return new SourceResult(sourceName, source, null,
+              ExitCode.IO_ERROR.exitMessage("The provided source file '" + source + "' does not exist."),
+              null);
         } catch (IOException ex) {
-          return ExitCode.PROCESSING_ERROR.exit().withThrowable(ex);
+          return new SourceResult(sourceName, source, null, ExitCode.PROCESSING_ERROR.exit().withThrowable(ex), null);
         } catch (IllegalArgumentException ex) {
-          return ExitCode.IO_ERROR.exitMessage(
-              "Source file has unrecognizable format. Use '--as' to specify the format. The format must be one of: "
-                  + Arrays.stream(Format.values())
-                      .map(format -> format.name())
-                      .collect(CustomCollectors.joiningWithOxfordComma("or")));
+          return new SourceResult(sourceName, source, null,
+              ExitCode.IO_ERROR.exitMessage(
+                  "Source file has unrecognizable format. Use '--as' to specify the format. The format must be one of: "
+                      + Arrays.stream(Format.values())
+                          .map(format -> format.name())
+                          .collect(CustomCollectors.joiningWithOxfordComma("or"))),
+              null);
         }
       }
 
@@ -239,11 +729,6 @@ public abstract class AbstractValidateContentCommand
         LOGGER.info("Validating '{}' as {}.", source, asFormat.name());
       }
 
-      IMutableConfiguration<ValidationFeature<?>> configuration = new DefaultConfiguration<>();
-      if (cmdLine.hasOption(SARIF_OUTPUT_FILE_OPTION) && cmdLine.hasOption(SARIF_INCLUDE_PASS_OPTION)) {
-        configuration.enableFeature(ValidationFeature.VALIDATE_GENERATE_PASS_FINDINGS);
-      }
-
       IValidationResult validationResult;
       try {
         // perform schema validation
@@ -255,44 +740,291 @@ public abstract class AbstractValidateContentCommand
           validationResult = AggregateValidationResult.aggregate(validationResult, constraintValidationResult);
         }
       } catch (FileNotFoundException ex) {
-        return ExitCode.IO_ERROR.exitMessage(String.format("Resource not found at '%s'", source)).withThrowable(ex);
-
+        return new SourceResult(sourceName, source, asFormat,
+            ExitCode.IO_ERROR.exitMessage(String.format("Resource not found at '%s'", source)).withThrowable(ex),
+            null);
       } catch (UnknownHostException ex) {
-        return ExitCode.IO_ERROR.exitMessage(String.format("Unknown host for '%s'.", source)).withThrowable(ex);
+        return new SourceResult(sourceName, source, asFormat,
+            ExitCode.IO_ERROR.exitMessage(String.format("Unknown host for '%s'.", source)).withThrowable(ex),
+            null);
+      } catch (IOException ex) {
+        return new SourceResult(sourceName, source, asFormat, ExitCode.IO_ERROR.exit().withThrowable(ex), null);
+      } catch (MetapathException ex) {
+        return new SourceResult(sourceName, source, asFormat, ExitCode.PROCESSING_ERROR.exit().withThrowable(ex),
+            null);
+      }
+
+      return new SourceResult(sourceName, source, asFormat,
+          (validationResult.isPassing() ? ExitCode.OK : ExitCode.FAIL).exit(),
+          validationResult);
+    }
+
+    /**
+     * Log the findings and validity of a validated source.
+     * <p>
+     * Findings are logged only when SARIF output was not requested.
+     *
+     * @param result
+     *          the source result to report
+     */
+    private void reportResult(@NonNull SourceResult result) {
+      IValidationResult validationResult = result.getValidationResult();
+      // a null result indicates validation did not complete
+      if (validationResult != null) {
+        if (!(getCommandLine().hasOption(SARIF_OUTPUT_FILE_OPTION) && LOGGER.isInfoEnabled())
+            && !validationResult.getFindings().isEmpty()) {
+          LOGGER.info("Validation of '{}' identified the following issues:", result.getSource());
+          LoggingValidationHandler.instance().handleValidationResults(validationResult);
+        }
+
+        if (validationResult.isPassing()) {
+          if (LOGGER.isInfoEnabled()) {
+            LOGGER.info("The file '{}' is valid.", result.getSource());
+          }
+        } else if (LOGGER.isErrorEnabled()) {
+          LOGGER.error("The file '{}' is invalid.", result.getSource());
+        }
+      }
+    }
+
+    /**
+     * Write the requested SARIF and summary outputs for the provided result.
+     *
+     * @param result
+     *          the validation result
+     * @return an exit status if validation did not complete or an error occurred,
+     *         or {@code null} otherwise
+     */
+    @Nullable
+    private ExitStatus handleResult(@NonNull SourceResult result) {
+      if (result.getValidationResult() == null) {
+        // validation did not complete, report the error status
+        return result.getStatus();
+      }
 
+      try (ResultWriter resultWriter = new ResultWriter()) {
+        resultWriter.write(result);
       } catch (IOException ex) {
         return ExitCode.IO_ERROR.exit().withThrowable(ex);
-      } catch (MetapathException ex) {
-        return ExitCode.PROCESSING_ERROR.exit().withThrowable(ex);
       }
+      reportResult(result);
+      return null;
+    }
 
-      if (cmdLine.hasOption(SARIF_OUTPUT_FILE_OPTION) && LOGGER.isInfoEnabled()) {
-        Path sarifFile = Paths.get(cmdLine.getOptionValue(SARIF_OUTPUT_FILE_OPTION));
+    /**
+     * Write the profile as a JSON report to the provided file, and as collapsed
+     * stacks to a sibling file with the {@code .folded} extension appended.
+     *
+     * @param profiler
+     *          the profiler that recorded the validation
+     * @param profileFile
+     *          the file to write the JSON report to
+     * @throws IOException
+     *           if an error occurred while writing the files
+     */
+    @SuppressWarnings("static-method")
+    private void writeProfile(@NonNull Profiler profiler, @NonNull Path profileFile) throws IOException {
+      Path parent = profileFile.toAbsolutePath().getParent();
+      if (parent != null) {
+        Files.createDirectories(parent);
+      }
 
-        IVersionInfo version
-            = getCallingContext().getCLIProcessor().getVersionInfos().get(CLIProcessor.COMMAND_VERSION);
+      try (Writer writer = Files.newBufferedWriter(profileFile, StandardCharsets.UTF_8)) {
+        profiler.writeJson(writer);
+      }
 
-        try {
-          SarifValidationHandler sarifHandler = new SarifValidationHandler(source, version);
-          sarifHandler.addFindings(validationResult.getFindings());
-          sarifHandler.write(sarifFile);
-        } catch (IOException ex) {
-          return ExitCode.IO_ERROR.exit().withThrowable(ex);
+      Path foldedFile = profileFile.resolveSibling(profileFile.getFileName() + ".folded");
+      try (Writer writer = Files.newBufferedWriter(foldedFile, StandardCharsets.UTF_8)) {
+        profiler.writeCollapsedStacks(writer);
+      }
+    }
+
+    /**
+     * Writes the requested SARIF and summary outputs incrementally, as each
+     * source result is provided.
+     * <p>
+     * Only the running totals are retained. The SARIF findings of a source are
+     * added when its result is written, and the summary entry for a source is
+     * written immediately, with the totals following the entries when the writer
+     * is closed.
+     */
+    private final class ResultWriter implements Closeable {
+      @Nullable
+      private final Path sarifFile;
+      @Nullable
+      private StreamingSarifValidationHandler sarifHandler;
+      @Nullable
+      private final Writer summaryWriter;
+      @Nullable
+      private final JsonGenerator summaryGenerator;
+      private int total;
+      private int passed;
+      @NonNull
+      private ExitCode highestExitCode = ExitCode.OK;
+
+      @SuppressWarnings("resource")
+      private ResultWriter() throws IOException {
+        CommandLine cmdLine = getCommandLine();
+
+        this.sarifFile = cmdLine.hasOption(SARIF_OUTPUT_FILE_OPTION) && LOGGER.isInfoEnabled()
+            ? Paths.get(cmdLine.getOptionValue(SARIF_OUTPUT_FILE_OPTION))
+            : null;
+
+        if (cmdLine.hasOption(SUMMARY_OUTPUT_FILE_OPTION)) {
+          Path summaryFile = ObjectUtils.notNull(Paths.get(cmdLine.getOptionValue(SUMMARY_OUTPUT_FILE_OPTION)));
+          Path parent = summaryFile.toAbsolutePath().getParent();
+          if (parent != null) {
+            Files.createDirectories(parent);
+          }
+
+          Writer writer = Files.newBufferedWriter(summaryFile, StandardCharsets.UTF_8);
+          JsonGenerator generator;
+          try {
+            generator = new JsonFactory().createGenerator(writer);
+            generator.useDefaultPrettyPrinter();
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("sources");
+          } catch (IOException ex) {
+            writer.close();
+            throw ex;
+          }
+          this.summaryWriter = writer;
+          this.summaryGenerator = generator;
+        } else {
+          this.summaryWriter = null;
+          this.summaryGenerator = null;
         }
-      } else if (!validationResult.getFindings().isEmpty()) {
-        LOGGER.info("Validation identified the following issues:", source);
-        LoggingValidationHandler.instance().handleValidationResults(validationResult);
       }
 
-      if (validationResult.isPassing()) {
-        if (LOGGER.isInfoEnabled()) {
-          LOGGER.info("The file '{}' is valid.", source);
+      public int getTotal() {
+        return total;
+      }
+
+      public int getPassed() {
+        return passed;
+      }
+
+      @NonNull
+      public ExitCode getHighestExitCode() {
+        return highestExitCode;
+      }
+
+      /**
+       * Write the provided result to the requested outputs and update the
+       * totals.
+       *
+       * @param result
+       *          the result to write
+       * @throws IOException
+       *           if an error occurred while writing the result
+       */
+      public void write(@NonNull SourceResult result) throws IOException {
+        ExitCode exitCode = result.getStatus().getExitCode();
+        total++;
+        if (ExitCode.OK.equals(exitCode)) {
+          passed++;
+        }
+        if (exitCode.getStatusCode() > highestExitCode.getStatusCode()) {
+          highestExitCode = exitCode;
+        }
+
+        writeSarif(result);
+
+        JsonGenerator generator = summaryGenerator;
+        if (generator != null) {
+          writeSummary(result, generator);
         }
-      } else if (LOGGER.isErrorEnabled()) {
-        LOGGER.error("The file '{}' is invalid.", source);
       }
 
-      return (validationResult.isPassing() ? ExitCode.OK : ExitCode.FAIL).exit();
+      /**
+       * Write the findings of the provided result to the SARIF file as they are
+       * reported, so that findings are not retained across sources.
+       */
+      private void writeSarif(@NonNull SourceResult result) throws IOException {
+        Path file = sarifFile;
+        URI source = result.getSource();
+        IValidationResult validationResult = result.getValidationResult();
+        if (file != null && source != null && validationResult != null) {
+          StreamingSarifValidationHandler handler = sarifHandler;
+          if (handler == null) {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+              Files.createDirectories(parent);
+            }
+
+            IVersionInfo version
+                = getCallingContext().getCLIProcessor().getVersionInfos().get(CLIProcessor.COMMAND_VERSION);
+            handler = new StreamingSarifValidationHandler(source, version, file);
+            sarifHandler = handler;
+          } else {
+            handler.addSource(source);
+          }
+          handler.addFindings(validationResult.getFindings());
+        }
+      }
+
+      @SuppressWarnings("static-method")
+      private void writeSummary(@NonNull SourceResult result, @NonNull JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        URI source = result.getSource();
+        generator.writeStringField("source", source == null ? result.getSourceName() : source.toASCIIString());
+        Format format = result.getFormat();
+        if (format != null) {
+          generator.writeStringField("format", format.name());
+        }
+        ExitCode exitCode = result.getStatus().getExitCode();
+        generator.writeStringField("status", exitCode.name());
+        generator.writeNumberField("exit-code", exitCode.getStatusCode());
+
+        IValidationResult validationResult = result.getValidationResult();
+        if (validationResult != null) {
+          generator.writeStringField("highest-severity", validationResult.getHighestSeverity().name());
+          generator.writeNumberField("findings", validationResult.getFindings().size());
+        }
+
+        Throwable throwable = result.getStatus().getThrowable();
+        if (throwable != null && throwable.getLocalizedMessage() != null) {
+          generator.writeStringField("error", throwable.getLocalizedMessage());
+        }
+        generator.writeEndObject();
+        // make the entry visible before the next source completes
+        generator.flush();
+      }
+
+      /**
+       * Write the summary totals and the SARIF trailer, then close the outputs.
+       *
+       * @throws IOException
+       *           if an error occurred while writing the outputs
+       */
+      @Override
+      public void close() throws IOException {
+        try {
+          JsonGenerator generator = summaryGenerator;
+          Writer writer = summaryWriter;
+          if (generator != null && writer != null) {
+            try {
+              // end sources
+              generator.writeEndArray();
+              generator.writeNumberField("total", total);
+              generator.writeNumberField("passed", passed);
+              generator.writeNumberField("failed", total - passed);
+              generator.writeEndObject();
+            } finally {
+              try {
+                generator.close();
+              } finally {
+                writer.close();
+              }
+            }
+          }
+        } finally {
+          StreamingSarifValidationHandler handler = sarifHandler;
+          if (handler != null) {
+            handler.close();
+          }
+        }
+      }
     }
   }
 }
@@ -15,7 +15,8 @@ public final class MetaschemaCommands {
       new ValidateModuleCommand(),
       new GenerateSchemaCommand(),
       new ValidateContentUsingModuleCommand(),
-      new MetapathCommand());
+      new MetapathCommand(),
+      new ServeCommand());
 
   private MetaschemaCommands() {
     // disable construction
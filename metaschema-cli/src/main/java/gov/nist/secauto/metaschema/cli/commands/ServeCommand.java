@@ -0,0 +1,877 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.cli.commands;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import gov.nist.secauto.metaschema.cli.processor.CLIProcessor;
+import gov.nist.secauto.metaschema.cli.processor.CLIProcessor.CallingContext;
+import gov.nist.secauto.metaschema.cli.processor.ExitCode;
+import gov.nist.secauto.metaschema.cli.processor.ExitStatus;
+import gov.nist.secauto.metaschema.cli.processor.InvalidArgumentException;
+import gov.nist.secauto.metaschema.cli.processor.OptionUtils;
+import gov.nist.secauto.metaschema.cli.processor.command.AbstractCommandExecutor;
+import gov.nist.secauto.metaschema.cli.processor.command.AbstractTerminalCommand;
+import gov.nist.secauto.metaschema.cli.processor.command.ICommandExecutor;
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
+
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.Option;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.Appender;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.appender.AbstractAppender;
+import org.apache.logging.log4j.core.config.AppenderRef;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.LoggerConfig;
+import org.apache.logging.log4j.core.config.Property;
+import org.apache.logging.log4j.core.layout.PatternLayout;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+/**
+ * Runs a long-lived server that executes CLI commands on behalf of clients.
+ * <p>
+ * The server listens on the loopback interface only. Commands run in the
+ * server's JVM, so loaded modules, compiled bindings, and compiled schemas are
+ * reused across requests.
+ * <p>
+ * When started, the server writes a random token to a file that only the
+ * current user can read. Each request must provide this token using an
+ * {@code Authorization: Bearer <token>} header, which limits use of the server
+ * to users that can read the token file.
+ * <p>
+ * A request is a {@code POST} to {@value #RUN_PATH} with a JSON body of the
+ * form <code>{"cwd": "...", "args": ["validate-content", ...], "quiet":
+ * false}</code>. The response is a stream of JSON objects, one per line. Output
+ * written by the command is provided as <code>{"out": "..."}</code> or
+ * <code>{"err": "..."}</code> objects as it is produced, and the final object
+ * provides the {@code exit-code} and {@code status} of the command. A
+ * {@code POST} to {@value #SHUTDOWN_PATH} stops the server.
+ * <p>
+ * Options that change process-wide state, such as {@code --no-color}, or that
+ * describe the local installation, such as {@code --help}, are rejected, so that
+ * the client can run these commands locally. The {@code quiet} request property
+ * is applied to the output of the request only. Output produced by threads
+ * other than the request's worker thread is written to the server's console.
+ */
+public class ServeCommand
+    extends AbstractTerminalCommand {
+  private static final Logger LOGGER = LogManager.getLogger(ServeCommand.class);
+
+  @NonNull
+  private static final String COMMAND = "serve";
+  /**
+   * The request path used to run a command.
+   */
+  @NonNull
+  public static final String RUN_PATH = "/run";
+  /**
+   * The request path used to stop the server.
+   */
+  @NonNull
+  public static final String SHUTDOWN_PATH = "/shutdown";
+  /**
+   * The authorization scheme used to provide the server's token.
+   */
+  @NonNull
+  public static final String AUTHORIZATION_SCHEME = "Bearer ";
+  /**
+   * The default port used by the server and client.
+   */
+  public static final int DEFAULT_PORT = 8709;
+  private static final int DEFAULT_TIMEOUT_SECONDS = 300;
+  private static final int MAX_PORT = 65_535;
+  private static final int TOKEN_BYTES = 32;
+
+  /**
+   * The global options that are not supported by the server.
+   */
+  @NonNull
+  private static final List<Option> LOCAL_ONLY_OPTIONS = ObjectUtils.notNull(List.of(
+      CLIProcessor.HELP_OPTION,
+      CLIProcessor.NO_COLOR_OPTION,
+      CLIProcessor.QUIET_OPTION,
+      CLIProcessor.VERSION_OPTION));
+
+  /**
+   * The output of the request being run by the current thread.
+   */
+  @NonNull
+  private static final ThreadLocal<RequestOutput> CURRENT_OUTPUT = new ThreadLocal<>();
+
+  @NonNull
+  private static final Option PORT_OPTION = ObjectUtils.notNull(
+      Option.builder()
+          .longOpt("port")
+          .hasArg()
+          .argName("PORT")
+          .desc("the loopback port to listen on, or 0 to use any free port (default: " + DEFAULT_PORT + ")")
+          .numberOfArgs(1)
+          .build());
+  @NonNull
+  private static final Option THREADS_OPTION = ObjectUtils.notNull(
+      Option.builder()
+          .longOpt("threads")
+          .hasArg()
+          .argName("COUNT")
+          .desc("the maximum number of requests to handle concurrently (default: available processors)")
+          .numberOfArgs(1)
+          .build());
+  @NonNull
+  private static final Option TIMEOUT_OPTION = ObjectUtils.notNull(
+      Option.builder()
+          .longOpt("timeout")
+          .hasArg()
+          .argName("SECONDS")
+          .desc("the maximum time a request may run (default: " + DEFAULT_TIMEOUT_SECONDS + ")")
+          .numberOfArgs(1)
+          .build());
+  @NonNull
+  private static final Option TOKEN_FILE_OPTION = ObjectUtils.notNull(
+      Option.builder()
+          .longOpt("token-file")
+          .hasArg()
+          .argName("FILE")
+          .desc("the file to write the client access token to (default: " + defaultTokenFile() + ")")
+          .numberOfArgs(1)
+          .build());
+
+  /**
+   * Get the default location of the file containing the server's access token.
+   *
+   * @return the file path
+   */
+  @NonNull
+  public static Path defaultTokenFile() {
+    return ObjectUtils.notNull(Paths.get(System.getProperty("user.home"), ".metaschema-cli", "serve.token"));
+  }
+
+  /**
+   * Determine if the provided command arguments can be run by the server.
+   *
+   * @param args
+   *          the command arguments
+   * @return {@code true} if the arguments can be run remotely, or {@code false}
+   *         if they must be run locally
+   */
+  public static boolean isRemoteSupported(@NonNull List<String> args) {
+    boolean retval = true;
+    boolean commandFound = false;
+    for (String arg : args) {
+      if (!retval || "--".equals(arg)) {
+        break;
+      }
+
+      if (arg.startsWith("-")) {
+        retval = LOCAL_ONLY_OPTIONS.stream().noneMatch(option -> isOption(arg, ObjectUtils.notNull(option)));
+      } else if (!commandFound) {
+        // as with the CLI processor, the command is the first argument that is not
+        // an option, which may follow the global options
+        commandFound = true;
+        retval = !COMMAND.equals(arg);
+      }
+    }
+    return retval;
+  }
+
+  /**
+   * Determine if the provided argument is the provided option, without an
+   * argument.
+   *
+   * @param arg
+   *          the command argument
+   * @param option
+   *          the option to match
+   * @return {@code true} if the argument matches the option, or {@code false}
+   *         otherwise
+   */
+  public static boolean isOption(@NonNull String arg, @NonNull Option option) {
+    return (option.hasLongOpt() && arg.equals("--" + option.getLongOpt()))
+        || (option.getOpt() != null && arg.equals("-" + option.getOpt()));
+  }
+
+  @Override
+  public String getName() {
+    return COMMAND;
+  }
+
+  @Override
+  public String getDescription() {
+    return "Run a local server that executes commands using a warm JVM with cached modules and bindings.";
+  }
+
+  @SuppressWarnings("null")
+  @Override
+  public Collection<? extends Option> gatherOptions() {
+    return List.of(
+        PORT_OPTION,
+        THREADS_OPTION,
+        TIMEOUT_OPTION,
+        TOKEN_FILE_OPTION);
+  }
+
+  @Override
+  public void validateOptions(CallingContext callingContext, CommandLine cmdLine) throws InvalidArgumentException {
+    if (cmdLine.hasOption(PORT_OPTION)) {
+      requireIntInRange(cmdLine, PORT_OPTION, 0, MAX_PORT);
+    }
+
+    for (Option option : List.of(THREADS_OPTION, TIMEOUT_OPTION)) {
+      assert option != null;
+      if (cmdLine.hasOption(option)) {
+        requireIntInRange(cmdLine, option, 1, Integer.MAX_VALUE);
+      }
+    }
+  }
+
+  private static void requireIntInRange(@NonNull CommandLine cmdLine, @NonNull Option option, int min, int max)
+      throws InvalidArgumentException {
+    String text = cmdLine.getOptionValue(option);
+    boolean valid;
+    try {
+      int value = Integer.parseInt(text);
+      valid = value >= min && value <= max;
+    } catch (NumberFormatException ex) {
+      valid = false;
+    }
+
+    if (!valid) {
+      throw new InvalidArgumentException(
+          String.format("Invalid '%s' argument '%s'. The value must be an integer from %d to %d.",
+              OptionUtils.toArgument(option),
+              text,
+              min,
+              max));
+    }
+  }
+
+  private static int getIntOption(@NonNull CommandLine cmdLine, @NonNull Option option, int defaultValue) {
+    return cmdLine.hasOption(option) ? Integer.parseInt(cmdLine.getOptionValue(option)) : defaultValue;
+  }
+
+  @Override
+  public ICommandExecutor newExecutor(CallingContext callingContext, CommandLine commandLine) {
+    return new ServeCommandExecutor(callingContext, commandLine);
+  }
+
+  /**
+   * Write the token to a new file that can only be read and written by the
+   * current user.
+   *
+   * @param tokenFile
+   *          the file to write
+   * @param token
+   *          the token
+   * @throws IOException
+   *           if an error occurred while writing the file
+   */
+  private static void writeTokenFile(@NonNull Path tokenFile, @NonNull String token) throws IOException {
+    Path parent = tokenFile.toAbsolutePath().getParent();
+    if (parent != null) {
+      Files.createDirectories(parent);
+    }
+
+    // never reuse an existing file, which may have broader permissions
+    Files.deleteIfExists(tokenFile);
+    if (FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+      Files.createFile(tokenFile, PosixFilePermissions.asFileAttribute(
+          EnumSet.of(PosixFilePermission.OWNER_READ, PosixFilePermission.OWNER_WRITE)));
+    } else {
+      Files.createFile(tokenFile);
+      File file = tokenFile.toFile();
+      if (!(file.setReadable(false, false) && file.setReadable(true, true)
+          && file.setWritable(false, false) && file.setWritable(true, true))
+          && LOGGER.isWarnEnabled()) {
+        LOGGER.warn("Unable to restrict access to the token file '{}' to the current user.", tokenFile);
+      }
+    }
+    Files.write(tokenFile, token.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private final class ServeCommandExecutor
+      extends AbstractCommandExecutor {
+    @NonNull
+    private final CountDownLatch shutdownLatch = new CountDownLatch(1);
+    @NonNull
+    private final String cwd = Paths.get("").toAbsolutePath().toString();
+    private ThreadPoolExecutor workers;
+    private int timeoutSeconds;
+    private byte[] token;
+
+    private ServeCommandExecutor(
+        @NonNull CallingContext callingContext,
+        @NonNull CommandLine commandLine) {
+      super(callingContext, commandLine);
+    }
+
+    @SuppressWarnings("PMD.OnlyOneReturn") // readability
+    @Override
+    public ExitStatus execute() {
+      CommandLine cmdLine = getCommandLine();
+      int port = getIntOption(cmdLine, PORT_OPTION, DEFAULT_PORT);
+      int threads = getIntOption(cmdLine, THREADS_OPTION, Runtime.getRuntime().availableProcessors());
+      timeoutSeconds = getIntOption(cmdLine, TIMEOUT_OPTION, DEFAULT_TIMEOUT_SECONDS);
+      Path tokenFile = cmdLine.hasOption(TOKEN_FILE_OPTION)
+          ? ObjectUtils.notNull(Paths.get(cmdLine.getOptionValue(TOKEN_FILE_OPTION)))
+          : defaultTokenFile();
+
+      HttpServer server;
+      try {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+      } catch (IOException ex) {
+        return ExitCode.IO_ERROR.exitMessage(
+            String.format("Unable to listen on port %d. %s", port, ex.getLocalizedMessage())).withThrowable(ex);
+      }
+
+      byte[] tokenBytes = new byte[TOKEN_BYTES];
+      new SecureRandom().nextBytes(tokenBytes);
+      String tokenText = ObjectUtils.notNull(Base64.getUrlEncoder().withoutPadding().encodeToString(tokenBytes));
+      token = tokenText.getBytes(StandardCharsets.UTF_8);
+      try {
+        writeTokenFile(tokenFile, tokenText);
+      } catch (IOException ex) {
+        server.stop(0);
+        return ExitCode.IO_ERROR.exitMessage(
+            String.format("Unable to write the token file '%s'. %s", tokenFile, ex.getLocalizedMessage()))
+            .withThrowable(ex);
+      }
+
+      workers = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>());
+      // requests are accepted on a separate pool, since they block on the workers
+      ExecutorService acceptors = Executors.newCachedThreadPool();
+      server.setExecutor(acceptors);
+      server.createContext(RUN_PATH, this::handleRun);
+      server.createContext(SHUTDOWN_PATH, this::handleShutdown);
+
+      RequestOutputCapture capture = new RequestOutputCapture();
+      capture.install();
+      try {
+        server.start();
+
+        if (LOGGER.isInfoEnabled()) {
+          LOGGER.info("Listening on http://{}:{}{} using the token in '{}'.",
+              server.getAddress().getHostString(),
+              server.getAddress().getPort(),
+              RUN_PATH,
+              tokenFile);
+        }
+
+        shutdownLatch.await();
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+      } finally {
+        server.stop(0);
+        workers.shutdownNow();
+        acceptors.shutdownNow();
+        capture.uninstall();
+        try {
+          Files.deleteIfExists(tokenFile);
+        } catch (IOException ex) {
+          LOGGER.atWarn().withThrowable(ex).log("Unable to delete the token file '{}'.", tokenFile);
+        }
+      }
+      return ExitCode.OK.exit();
+    }
+
+    private boolean isAuthorized(@NonNull HttpExchange exchange) {
+      String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+      return authorization != null
+          && authorization.startsWith(AUTHORIZATION_SCHEME)
+          && MessageDigest.isEqual(
+              token,
+              authorization.substring(AUTHORIZATION_SCHEME.length()).trim().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void handleShutdown(@NonNull HttpExchange exchange) throws IOException {
+      try {
+        if (!"POST".equals(exchange.getRequestMethod())) {
+          exchange.sendResponseHeaders(HttpURLConnection.HTTP_BAD_METHOD, -1);
+        } else if (isAuthorized(exchange)) {
+          exchange.sendResponseHeaders(HttpURLConnection.HTTP_NO_CONTENT, -1);
+          shutdownLatch.countDown();
+        } else {
+          exchange.sendResponseHeaders(HttpURLConnection.HTTP_UNAUTHORIZED, -1);
+        }
+      } finally {
+        exchange.close();
+      }
+    }
+
+    @SuppressWarnings("PMD.OnlyOneReturn") // readability
+    private void handleRun(@NonNull HttpExchange exchange) throws IOException {
+      try {
+        if (!"POST".equals(exchange.getRequestMethod())) {
+          exchange.sendResponseHeaders(HttpURLConnection.HTTP_BAD_METHOD, -1);
+          return;
+        }
+
+        if (!isAuthorized(exchange)) {
+          sendError(exchange, HttpURLConnection.HTTP_UNAUTHORIZED, ExitCode.INVALID_ARGUMENTS,
+              "The request did not provide a valid token.");
+          return;
+        }
+
+        List<String> args = new ArrayList<>();
+        String requestCwd;
+        boolean quiet;
+        try (InputStream is = exchange.getRequestBody()) {
+          JSONObject request = new JSONObject(new JSONTokener(is));
+          requestCwd = request.optString("cwd", cwd);
+          quiet = request.optBoolean("quiet", false);
+          JSONArray argsArray = request.getJSONArray("args");
+          for (int i = 0; i < argsArray.length(); i++) {
+            args.add(argsArray.getString(i));
+          }
+        } catch (JSONException ex) {
+          sendError(exchange, HttpURLConnection.HTTP_BAD_REQUEST, ExitCode.INVALID_ARGUMENTS,
+              "Malformed request. " + ex.getLocalizedMessage());
+          return;
+        }
+
+        if (!cwd.equals(requestCwd)) {
+          // relative paths in the arguments would resolve differently
+          sendError(exchange, HttpURLConnection.HTTP_CONFLICT, ExitCode.INVALID_ARGUMENTS,
+              String.format("The server working directory '%s' does not match the client's '%s'.", cwd, requestCwd));
+          return;
+        }
+
+        if (!isRemoteSupported(args)) {
+          sendError(exchange, HttpURLConnection.HTTP_BAD_REQUEST, ExitCode.INVALID_COMMAND,
+              "The command or one of its options cannot be run remotely.");
+          return;
+        }
+
+        // stream the output as it is produced
+        exchange.getResponseHeaders().set("Content-Type", "application/x-ndjson");
+        exchange.sendResponseHeaders(HttpURLConnection.HTTP_OK, 0);
+        RequestOutput output = new RequestOutput(
+            new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8),
+            quiet);
+
+        RunningRequest request = new RunningRequest(
+            getCallingContext().getCLIProcessor(),
+            ObjectUtils.notNull(args.toArray(new String[0])),
+            output);
+        Future<ExitStatus> future = workers.submit(request);
+
+        ExitCode exitCode;
+        String message = null;
+        try {
+          exitCode = future.get(timeoutSeconds, TimeUnit.SECONDS).getExitCode();
+        } catch (TimeoutException ex) {
+          request.abandon(future);
+          exitCode = ExitCode.PROCESSING_ERROR;
+          message = String.format("The request did not complete within %d seconds.", timeoutSeconds);
+        } catch (InterruptedException ex) {
+          Thread.currentThread().interrupt();
+          request.abandon(future);
+          exitCode = ExitCode.PROCESSING_ERROR;
+          message = "The request was interrupted.";
+        } catch (ExecutionException ex) {
+          exitCode = ExitCode.RUNTIME_ERROR;
+          message = ex.getCause().getLocalizedMessage();
+        }
+        output.finish(exitCode, message);
+      } finally {
+        exchange.close();
+      }
+    }
+
+    private void sendError(
+        @NonNull HttpExchange exchange,
+        int httpStatus,
+        @NonNull ExitCode exitCode,
+        @NonNull String message) throws IOException {
+      byte[] body = RequestOutput.newResult(exitCode, message).toString().getBytes(StandardCharsets.UTF_8);
+      exchange.getResponseHeaders().set("Content-Type", "application/json");
+      exchange.sendResponseHeaders(httpStatus, body.length);
+      try (OutputStream os = exchange.getResponseBody()) {
+        os.write(body);
+      }
+    }
+
+    /**
+     * Increase the number of workers to replace a worker that is still running
+     * an abandoned request.
+     */
+    private void addWorker() {
+      synchronized (workers) {
+        // the maximum must be increased first, since it cannot be less than the
+        // core size
+        workers.setMaximumPoolSize(workers.getMaximumPoolSize() + 1);
+        workers.setCorePoolSize(workers.getCorePoolSize() + 1);
+      }
+    }
+
+    /**
+     * Decrease the number of workers once an abandoned request has completed.
+     */
+    private void removeWorker() {
+      synchronized (workers) {
+        workers.setCorePoolSize(workers.getCorePoolSize() - 1);
+        workers.setMaximumPoolSize(workers.getMaximumPoolSize() - 1);
+      }
+    }
+
+    /**
+     * A command run by a worker on behalf of a client.
+     * <p>
+     * Since a command may not respond to interruption, a request that exceeds
+     * its timeout is abandoned instead of waiting for it to stop. Its output is
+     * detached from the client, and an additional worker is provided until the
+     * request completes, so that abandoned requests do not starve the server.
+     */
+    private final class RunningRequest implements Callable<ExitStatus> {
+      @NonNull
+      private final CLIProcessor processor;
+      @NonNull
+      private final String[] args;
+      @NonNull
+      private final RequestOutput output;
+      private boolean done;
+      private boolean abandoned;
+
+      private RunningRequest(
+          @NonNull CLIProcessor processor,
+          @NonNull String[] args,
+          @NonNull RequestOutput output) {
+        this.processor = processor;
+        this.args = args.clone();
+        this.output = output;
+      }
+
+      @Override
+      public ExitStatus call() {
+        CURRENT_OUTPUT.set(output);
+        try {
+          return processor.process(args);
+        } finally {
+          CURRENT_OUTPUT.remove();
+          complete();
+        }
+      }
+
+      private void complete() {
+        synchronized (this) {
+          done = true;
+          if (abandoned) {
+            removeWorker();
+            if (LOGGER.isWarnEnabled()) {
+              LOGGER.warn("An abandoned request has completed: {}", String.join(" ", args));
+            }
+          }
+        }
+      }
+
+      /**
+       * Stop reporting the output of this request and request that it stop.
+       *
+       * @param future
+       *          the future for this request
+       */
+      private void abandon(@NonNull Future<ExitStatus> future) {
+        output.detach();
+        future.cancel(true);
+        synchronized (this) {
+          if (!done && !abandoned) {
+            abandoned = true;
+            addWorker();
+            if (LOGGER.isWarnEnabled()) {
+              LOGGER.warn("Abandoned a request that did not complete in time: {}", String.join(" ", args));
+            }
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * The streamed output of a request.
+   * <p>
+   * This class is thread-safe.
+   */
+  private static final class RequestOutput {
+    @NonNull
+    private final Writer writer;
+    private final boolean quiet;
+    private boolean detached;
+
+    private RequestOutput(@NonNull Writer writer, boolean quiet) {
+      this.writer = writer;
+      this.quiet = quiet;
+    }
+
+    @NonNull
+    private static JSONObject newResult(@NonNull ExitCode exitCode, @Nullable String message) {
+      JSONObject retval = new JSONObject();
+      retval.put("exit-code", exitCode.getStatusCode());
+      retval.put("status", exitCode.name());
+      if (message != null) {
+        retval.put("message", message);
+      }
+      return retval;
+    }
+
+    /**
+     * Write a log message.
+     *
+     * @param error
+     *          {@code true} if the message has a level of error or higher
+     * @param text
+     *          the formatted message
+     */
+    public void log(boolean error, @NonNull String text) {
+      if (error || !quiet) {
+        write(error ? "err" : "out", text);
+      }
+    }
+
+    /**
+     * Write text to the provided stream of the client.
+     *
+     * @param stream
+     *          the stream, which is either {@code out} or {@code err}
+     * @param text
+     *          the text
+     */
+    public void write(@NonNull String stream, @NonNull String text) {
+      JSONObject message = new JSONObject();
+      message.put(stream, text);
+      synchronized (this) {
+        if (!detached) {
+          try {
+            writeLine(message);
+          } catch (IOException ex) {
+            // the client has disconnected
+            detached = true;
+          }
+        }
+      }
+    }
+
+    /**
+     * Write the final result of the request, after which no further output is
+     * written.
+     *
+     * @param exitCode
+     *          the exit code of the command
+     * @param message
+     *          an optional message describing the result
+     * @throws IOException
+     *           if an error occurred while writing the result
+     */
+    public void finish(@NonNull ExitCode exitCode, @Nullable String message) throws IOException {
+      synchronized (this) {
+        detached = true;
+        writeLine(newResult(exitCode, message));
+        writer.close();
+      }
+    }
+
+    /**
+     * Stop writing output to the client.
+     */
+    public void detach() {
+      synchronized (this) {
+        detached = true;
+      }
+    }
+
+    private void writeLine(@NonNull JSONObject message) throws IOException {
+      writer.write(message.toString());
+      writer.write('\n');
+      writer.flush();
+    }
+  }
+
+  /**
+   * Redirects the standard output and error streams, and log messages, written
+   * by a thread running a request to the client of the request.
+   * <p>
+   * Output written by other threads is passed through unchanged.
+   */
+  private static final class RequestOutputCapture {
+    @NonNull
+    private static final String APPENDER_NAME = "serve-request";
+    private PrintStream originalOut;
+    private PrintStream originalErr;
+    private RequestLogAppender appender;
+    private Level originalRootLevel;
+
+    public void install() {
+      originalOut = System.out;
+      originalErr = System.err;
+      System.setOut(new PrintStream(new RequestOutputStream("out", originalOut), true, StandardCharsets.UTF_8));
+      System.setErr(new PrintStream(new RequestOutputStream("err", originalErr), true, StandardCharsets.UTF_8));
+
+      appender = new RequestLogAppender();
+      appender.start();
+      LoggerContext ctx = (LoggerContext) LogManager.getContext(false); // NOPMD not closable here
+      Configuration config = ctx.getConfiguration();
+      LoggerConfig rootLogger = config.getRootLogger();
+      originalRootLevel = rootLogger.getLevel();
+      if (!originalRootLevel.isLessSpecificThan(Level.INFO)) {
+        // the root level is more specific than the request output, such as when the
+        // server is run using -q, so the server's appenders are limited to the
+        // original level instead
+        setAppenderLevels(rootLogger, originalRootLevel);
+        rootLogger.setLevel(Level.INFO);
+      }
+      config.addAppender(appender);
+      // a request's informational messages are written unless the request is quiet
+      rootLogger.addAppender(appender, Level.INFO, null);
+      ctx.updateLoggers();
+    }
+
+    public void uninstall() {
+      LoggerContext ctx = (LoggerContext) LogManager.getContext(false); // NOPMD not closable here
+      Configuration config = ctx.getConfiguration();
+      LoggerConfig rootLogger = config.getRootLogger();
+      rootLogger.removeAppender(APPENDER_NAME);
+      if (!originalRootLevel.equals(rootLogger.getLevel())) {
+        setAppenderLevels(rootLogger, null);
+        rootLogger.setLevel(originalRootLevel);
+      }
+      ctx.updateLoggers();
+      appender.stop();
+
+      System.setOut(originalOut);
+      System.setErr(originalErr);
+    }
+
+    /**
+     * Add the logger's configured appenders again using the provided minimum
+     * level.
+     *
+     * @param logger
+     *          the logger to update
+     * @param minimumLevel
+     *          the least specific level to use, or {@code null} to use the
+     *          configured levels
+     */
+    private static void setAppenderLevels(@NonNull LoggerConfig logger, @Nullable Level minimumLevel) {
+      Map<String, Appender> appenders = logger.getAppenders();
+      for (AppenderRef ref : logger.getAppenderRefs()) {
+        Appender refAppender = appenders.get(ref.getRef());
+        if (refAppender != null) {
+          Level level = ref.getLevel();
+          if (minimumLevel != null && (level == null || level.isLessSpecificThan(minimumLevel))) {
+            level = minimumLevel;
+          }
+          logger.removeAppender(ref.getRef());
+          logger.addAppender(refAppender, level, ref.getFilter());
+        }
+      }
+    }
+
+    private static final class RequestLogAppender
+        extends AbstractAppender {
+
+      private RequestLogAppender() {
+        super(
+            APPENDER_NAME,
+            null,
+            PatternLayout.newBuilder()
+                .withPattern("%m%n")
+                .withCharset(StandardCharsets.UTF_8)
+                .build(),
+            true,
+            Property.EMPTY_ARRAY);
+      }
+
+      @Override
+      public void append(LogEvent event) {
+        RequestOutput output = CURRENT_OUTPUT.get();
+        if (output != null) {
+          output.log(
+              event.getLevel().isMoreSpecificThan(Level.ERROR),
+              ObjectUtils.notNull(getLayout().toSerializable(event).toString()));
+        }
+      }
+    }
+
+    private static final class RequestOutputStream
+        extends OutputStream {
+      @NonNull
+      private final String stream;
+      @NonNull
+      private final PrintStream fallback;
+
+      private RequestOutputStream(@NonNull String stream, @NonNull PrintStream fallback) {
+        this.stream = stream;
+        this.fallback = fallback;
+      }
+
+      @Override
+      public void write(int value) {
+        write(new byte[] { (byte) value }, 0, 1);
+      }
+
+      @Override
+      public void write(byte[] bytes, int off, int len) {
+        RequestOutput output = CURRENT_OUTPUT.get();
+        if (output == null) {
+          fallback.write(bytes, off, len);
+        } else {
+          output.write(stream, new String(bytes, off, len, StandardCharsets.UTF_8));
+        }
+      }
+
+      @Override
+      public void flush() {
+        if (CURRENT_OUTPUT.get() == null) {
+          fallback.flush();
+        }
+      }
+    }
+  }
+}
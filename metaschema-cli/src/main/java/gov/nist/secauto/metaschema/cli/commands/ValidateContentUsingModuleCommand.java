@@ -6,14 +6,18 @@
 package gov.nist.secauto.metaschema.cli.commands;
 
 import gov.nist.secauto.metaschema.cli.processor.CLIProcessor.CallingContext;
+import gov.nist.secauto.metaschema.cli.processor.ExitStatus;
 import gov.nist.secauto.metaschema.cli.processor.command.ICommandExecutor;
 import gov.nist.secauto.metaschema.core.configuration.DefaultConfiguration;
 import gov.nist.secauto.metaschema.core.configuration.IMutableConfiguration;
 import gov.nist.secauto.metaschema.core.model.IModule;
 import gov.nist.secauto.metaschema.core.model.MetaschemaException;
+import gov.nist.secauto.metaschema.core.model.constraint.DefaultConstraintSet;
 import gov.nist.secauto.metaschema.core.model.constraint.IConstraintSet;
 import gov.nist.secauto.metaschema.core.model.util.JsonUtil;
 import gov.nist.secauto.metaschema.core.model.util.XmlUtil;
+import gov.nist.secauto.metaschema.core.model.validation.JsonSchemaContentValidator;
+import gov.nist.secauto.metaschema.core.model.validation.XmlSchemaContentValidator;
 import gov.nist.secauto.metaschema.core.model.xml.ExternalConstraintsModulePostProcessor;
 import gov.nist.secauto.metaschema.core.model.xml.ModuleLoader;
 import gov.nist.secauto.metaschema.core.util.CollectionUtil;
@@ -21,12 +25,16 @@ import gov.nist.secauto.metaschema.core.util.ObjectUtils;
 import gov.nist.secauto.metaschema.core.util.UriUtils;
 import gov.nist.secauto.metaschema.databind.DefaultBindingContext;
 import gov.nist.secauto.metaschema.databind.IBindingContext;
+import gov.nist.secauto.metaschema.databind.codegen.ModuleBindingCache;
+import gov.nist.secauto.metaschema.databind.codegen.config.DefaultBindingConfiguration;
 import gov.nist.secauto.metaschema.schemagen.ISchemaGenerator;
 import gov.nist.secauto.metaschema.schemagen.ISchemaGenerator.SchemaFormat;
 import gov.nist.secauto.metaschema.schemagen.SchemaGenerationFeature;
 
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.Option;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.json.JSONObject;
 
 import java.io.BufferedReader;
@@ -36,12 +44,22 @@ import java.net.URISyntaxException;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import javax.xml.transform.Source;
 
@@ -49,8 +67,58 @@ import edu.umd.cs.findbugs.annotations.NonNull;
 
 public class ValidateContentUsingModuleCommand
     extends AbstractValidateContentCommand {
+  private static final Logger LOGGER = LogManager.getLogger(ValidateContentUsingModuleCommand.class);
   @NonNull
   private static final String COMMAND = "validate-content";
+  private static final int MAX_CACHED_MODULES = 8;
+  private static final long BINDING_CACHE_MAX_SIZE = 512L * 1024 * 1024;
+
+  @NonNull
+  private static final Option BINDING_CACHE_OPTION = ObjectUtils.notNull(
+      Option.builder()
+          .longOpt("binding-cache")
+          .hasArg()
+          .argName("DIR")
+          .desc("reuse module bindings compiled in previous runs, which are stored in DIR")
+          .numberOfArgs(1)
+          .build());
+
+  /**
+   * Loaded modules and their compiled bindings, keyed by the requested module and
+   * constraint locations.
+   * <p>
+   * This allows repeated executions in the same JVM, such as requests handled by
+   * the {@code serve} command, to skip module loading and binding compilation. A
+   * cached value is only reused while none of the resources in the transitive
+   * closure of the module's imports and the constraints' imports have changed.
+   * <p>
+   * The map only guards creation of the future for a key. The bindings are
+   * loaded outside of the map's lock by the execution that created the future,
+   * so loading different modules does not serialize, and concurrent executions
+   * for the same module wait on the same future.
+   */
+  @NonNull
+  private final Map<String, CompletableFuture<ModuleBindings>> moduleBindingsCache
+      = ObjectUtils.notNull(Collections.synchronizedMap(
+          new LinkedHashMap<>(MAX_CACHED_MODULES, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CompletableFuture<ModuleBindings>> eldest) {
+              boolean retval = size() > MAX_CACHED_MODULES;
+              if (retval) {
+                // the files are deleted once no execution is using the bindings
+                eldest.getValue().thenAccept(ModuleBindings::retire);
+              }
+              return retval;
+            }
+          }));
+
+  /**
+   * The directory containing the temporary files of this command, which is
+   * created on first use.
+   */
+  private Path tempDir;
 
   @Override
   public String getName() {
@@ -66,9 +134,10 @@ public class ValidateContentUsingModuleCommand
   public Collection<? extends Option> gatherOptions() {
     Collection<? extends Option> orig = super.gatherOptions();
 
-    List<Option> retval = new ArrayList<>(orig.size() + 1);
+    List<Option> retval = new ArrayList<>(orig.size() + 2);
     retval.addAll(orig);
     retval.add(MetaschemaCommandSupport.METASCHEMA_OPTION);
+    retval.add(BINDING_CACHE_OPTION);
 
     return CollectionUtil.unmodifiableCollection(retval);
   }
@@ -78,11 +147,237 @@ public class ValidateContentUsingModuleCommand
     return new OscalCommandExecutor(callingContext, commandLine);
   }
 
+  /**
+   * Get the directory containing the temporary files used by executions of this
+   * command, creating it on first use.
+   * <p>
+   * The directory and its contents are deleted when the JVM exits. The files used
+   * by a set of module bindings are deleted sooner, once the bindings are no
+   * longer cached or in use.
+   *
+   * @return the directory
+   * @throws IOException
+   *           if an error occurred while creating the directory
+   */
+  @NonNull
+  private synchronized Path getTempDir() throws IOException {
+    if (tempDir == null) {
+      Path dir = ObjectUtils.notNull(Files.createTempDirectory("validation-"));
+      Runtime.getRuntime().addShutdownHook(new Thread( // NOPMD - this is not a webapp
+          () -> deleteRecursively(dir)));
+      tempDir = dir;
+    }
+    return ObjectUtils.notNull(tempDir);
+  }
+
+  private static void deleteRecursively(@NonNull Path dir) {
+    try (Stream<Path> stream = Files.walk(dir)) {
+      List<Path> paths = stream.sorted(Comparator.reverseOrder()).collect(Collectors.toList());
+      for (Path path : paths) {
+        Files.deleteIfExists(path);
+      }
+    } catch (NoSuchFileException ex) {
+      // already deleted
+    } catch (IOException ex) {
+      LOGGER.atWarn().withThrowable(ex).log("Unable to delete the temporary directory '{}'.", dir);
+    }
+  }
+
+  /**
+   * Build a cache key that identifies the module and constraints requested by a
+   * command execution.
+   *
+   * @param moduleUri
+   *          the module location
+   * @param constraintUris
+   *          the constraint locations
+   * @return the key
+   */
+  @NonNull
+  private static String toCacheKey(@NonNull URI moduleUri, @NonNull List<URI> constraintUris) {
+    StringBuilder builder = new StringBuilder(moduleUri.toASCIIString());
+    for (URI constraintUri : constraintUris) {
+      builder.append('|').append(constraintUri.toASCIIString());
+    }
+    return ObjectUtils.notNull(builder.toString());
+  }
+
+  /**
+   * Get the locations of the module and constraint resources used to build the
+   * bindings, including all transitive imports.
+   *
+   * @param module
+   *          the loaded module
+   * @param constraintSets
+   *          the loaded constraint sets applied to the module
+   * @return the resource locations
+   */
+  @NonNull
+  private static Set<URI> collectSources(@NonNull IModule module, @NonNull Set<IConstraintSet> constraintSets) {
+    Set<URI> retval = new HashSet<>();
+    collectModuleSources(module, new HashSet<>(), retval);
+    Set<IConstraintSet> visited = new HashSet<>();
+    for (IConstraintSet constraintSet : constraintSets) {
+      collectConstraintSources(ObjectUtils.notNull(constraintSet), visited, retval);
+    }
+    return retval;
+  }
+
+  private static void collectModuleSources(
+      @NonNull IModule module,
+      @NonNull Set<IModule> visited,
+      @NonNull Set<URI> sources) {
+    if (visited.add(module)) {
+      URI location = module.getLocation();
+      if (location != null) {
+        sources.add(location);
+      }
+      for (IModule imported : module.getImportedModules()) {
+        collectModuleSources(ObjectUtils.notNull(imported), visited, sources);
+      }
+    }
+  }
+
+  private static void collectConstraintSources(
+      @NonNull IConstraintSet constraintSet,
+      @NonNull Set<IConstraintSet> visited,
+      @NonNull Set<URI> sources) {
+    if (visited.add(constraintSet)) {
+      if (constraintSet instanceof DefaultConstraintSet) {
+        sources.add(((DefaultConstraintSet) constraintSet).getResourceLocation());
+      }
+      for (IConstraintSet imported : constraintSet.getImportedConstraintSets()) {
+        collectConstraintSources(ObjectUtils.notNull(imported), visited, sources);
+      }
+    }
+  }
+
+  /**
+   * Get the modification time of a local resource.
+   *
+   * @param uri
+   *          the resource location
+   * @return the modification time, or {@code -1} if the resource is not a local
+   *         file or does not exist
+   */
+  private static long getModifiedTime(@NonNull URI uri) {
+    long retval = -1;
+    if ("file".equals(uri.getScheme())) {
+      try {
+        retval = Files.getLastModifiedTime(Paths.get(uri)).toMillis();
+      } catch (IOException | IllegalArgumentException ex) {
+        // treat as missing
+      }
+    }
+    return retval;
+  }
+
+  /**
+   * A loaded module, the binding context with the module's compiled bindings, and
+   * the lazily compiled schema validators for the module.
+   * <p>
+   * An execution acquires the bindings while using them. Once the bindings are
+   * retired, because they are no longer cached, the directory containing their
+   * generated files is deleted when the last execution using them releases them.
+   */
+  private static final class ModuleBindings {
+    @NonNull
+    private final IModule module;
+    @NonNull
+    private final IBindingContext bindingContext;
+    /**
+     * The directory containing the generated classes, unless a binding cache is
+     * used, and schemas.
+     */
+    @NonNull
+    private final Path dir;
+    /**
+     * The modification times of the module and constraint resources, including
+     * all transitive imports, when the module was loaded.
+     */
+    @NonNull
+    private final Map<URI, Long> sourceModifiedTimes;
+    private JsonSchemaContentValidator jsonSchemaValidator;
+    private XmlSchemaContentValidator xmlSchemaValidator;
+    private int users;
+    private boolean retired;
+
+    private ModuleBindings(
+        @NonNull IModule module,
+        @NonNull IBindingContext bindingContext,
+        @NonNull Map<URI, Long> sourceModifiedTimes,
+        @NonNull Path dir) {
+      this.module = module;
+      this.bindingContext = bindingContext;
+      this.sourceModifiedTimes = sourceModifiedTimes;
+      this.dir = dir;
+    }
+
+    /**
+     * Record that an execution is using the bindings.
+     *
+     * @return {@code true} if the bindings can be used, or {@code false} if they
+     *         have been retired
+     */
+    public synchronized boolean acquire() {
+      if (!retired) {
+        users++;
+      }
+      return !retired;
+    }
+
+    /**
+     * Record that an execution is no longer using the bindings.
+     */
+    public synchronized void release() {
+      users--;
+      if (retired && users == 0) {
+        deleteRecursively(dir);
+      }
+    }
+
+    /**
+     * Record that the bindings are no longer cached, so they can be deleted once
+     * they are not in use.
+     */
+    public synchronized void retire() {
+      retired = true;
+      if (users == 0) {
+        deleteRecursively(dir);
+      }
+    }
+
+    /**
+     * Determine if any of the resources used to build the bindings have changed.
+     *
+     * @return {@code true} if the bindings are current, or {@code false}
+     *         otherwise
+     */
+    public boolean isCurrent() {
+      return sourceModifiedTimes.entrySet().stream()
+          .allMatch(entry -> getModifiedTime(ObjectUtils.notNull(entry.getKey())) == entry.getValue());
+    }
+
+    @NonNull
+    public IModule getModule() {
+      return module;
+    }
+
+    @NonNull
+    public IBindingContext getBindingContext() {
+      return bindingContext;
+    }
+
+    @NonNull
+    public Path getDir() {
+      return dir;
+    }
+  }
+
   private final class OscalCommandExecutor
       extends AbstractValidationCommandExecutor {
 
-    private Path tempDir;
-    private IModule module;
+    private ModuleBindings moduleBindings;
 
     private OscalCommandExecutor(
         @NonNull CallingContext callingContext,
@@ -90,69 +385,195 @@ public class ValidateContentUsingModuleCommand
       super(callingContext, commandLine);
     }
 
-    private Path getTempDir() throws IOException {
-      if (tempDir == null) {
-        tempDir = Files.createTempDirectory("validation-");
-        tempDir.toFile().deleteOnExit();
+    @Override
+    public ExitStatus execute() {
+      try {
+        return super.execute();
+      } finally {
+        if (moduleBindings != null) {
+          moduleBindings.release();
+        }
       }
-      return tempDir;
     }
 
     @NonNull
-    private IModule getModule(@NonNull Set<IConstraintSet> constraintSets)
+    private ModuleBindings getModuleBindings(@NonNull Set<IConstraintSet> constraintSets)
         throws MetaschemaException, IOException {
-      URI cwd = Paths.get("").toAbsolutePath().toUri();
+      if (moduleBindings == null) {
+        URI cwd = ObjectUtils.notNull(Paths.get("").toAbsolutePath().toUri());
 
-      if (module == null) {
         String moduleName
             = ObjectUtils.requireNonNull(getCommandLine().getOptionValue(MetaschemaCommandSupport.METASCHEMA_OPTION));
-        URI moduleUri;
+        URI moduleUri = toUri(moduleName, cwd, "Cannot load module as '%s' is not a valid file or URL.");
 
+        List<URI> constraintUris = new ArrayList<>();
+        String[] constraintArgs = getCommandLine().getOptionValues(CONSTRAINTS_OPTION);
+        if (constraintArgs != null) {
+          for (String arg : constraintArgs) {
+            constraintUris.add(toUri(ObjectUtils.notNull(arg), cwd, "'%s' is not a valid file or URL."));
+          }
+        }
+
+        String key = toCacheKey(moduleUri, constraintUris);
+        moduleBindings = getOrLoadModuleBindings(key, moduleUri, constraintUris, constraintSets);
+      }
+      return ObjectUtils.notNull(moduleBindings);
+    }
+
+    @NonNull
+    private ModuleBindings getOrLoadModuleBindings(
+        @NonNull String key,
+        @NonNull URI moduleUri,
+        @NonNull List<URI> constraintUris,
+        @NonNull Set<IConstraintSet> constraintSets) throws MetaschemaException, IOException {
+      CompletableFuture<ModuleBindings> created = new CompletableFuture<>();
+      CompletableFuture<ModuleBindings> future = ObjectUtils.notNull(moduleBindingsCache.computeIfAbsent(
+          key,
+          k -> created));
+
+      if (future == created) {
         try {
-          moduleUri = UriUtils.toUri(moduleName, cwd);
-        } catch (URISyntaxException ex) {
-          IOException newEx = new IOException( // NOPMD - intentional
-              String.format("Cannot load module as '%s' is not a valid file or URL.", moduleName));
-          newEx.addSuppressed(ex);
-          throw newEx;
+          created.complete(loadModuleBindings(moduleUri, constraintUris, constraintSets));
+        } catch (MetaschemaException | IOException | RuntimeException ex) {
+          // do not cache the failure
+          moduleBindingsCache.remove(key, created);
+          created.completeExceptionally(ex);
+          throw ex;
         }
+      }
 
-        assert moduleUri != null;
+      ModuleBindings retval;
+      try {
+        retval = future.join();
+      } catch (CompletionException ex) {
+        Throwable cause = ex.getCause();
+        if (cause instanceof MetaschemaException) {
+          throw (MetaschemaException) cause;
+        }
+        if (cause instanceof IOException) {
+          throw (IOException) cause;
+        }
+        throw ex;
+      }
 
-        ExternalConstraintsModulePostProcessor postProcessor
-            = new ExternalConstraintsModulePostProcessor(constraintSets);
+      if (future != created && !retval.isCurrent()) {
+        // a module, constraint, or imported resource changed; replace the stale
+        // bindings, unless another execution already has
+        if (moduleBindingsCache.remove(key, future)) {
+          retval.retire();
+        }
+        retval = getOrLoadModuleBindings(key, moduleUri, constraintUris, constraintSets);
+      } else if (!retval.acquire()) {
+        // the bindings were retired concurrently
+        retval = getOrLoadModuleBindings(key, moduleUri, constraintUris, constraintSets);
+      }
+      return ObjectUtils.notNull(retval);
+    }
 
-        ModuleLoader loader = new ModuleLoader(CollectionUtil.singletonList(postProcessor));
+    @NonNull
+    private ModuleBindings loadModuleBindings(
+        @NonNull URI moduleUri,
+        @NonNull List<URI> constraintUris,
+        @NonNull Set<IConstraintSet> constraintSets) throws MetaschemaException, IOException {
+      // record the modification times before loading, so that a change made while
+      // loading causes a later reload
+      Map<URI, Long> modifiedTimes = new LinkedHashMap<>();
+      modifiedTimes.put(moduleUri, getModifiedTime(moduleUri));
+      for (URI constraintUri : constraintUris) {
+        modifiedTimes.put(constraintUri, getModifiedTime(ObjectUtils.notNull(constraintUri)));
+      }
 
-        // BindingModuleLoader loader
-        // = new BindingModuleLoader(new DefaultBindingContext(),
-        // CollectionUtil.singletonList(postProcessor));
+      IModule module = loadModule(moduleUri, constraintSets);
+      for (URI source : collectSources(module, constraintSets)) {
+        modifiedTimes.computeIfAbsent(source, uri -> getModifiedTime(ObjectUtils.notNull(uri)));
+      }
 
-        loader.allowEntityResolution();
-        module = loader.load(moduleUri);
+      Path dir = ObjectUtils.notNull(Files.createTempDirectory(getTempDir(), "module-"));
+      DefaultBindingContext bindingContext = new DefaultBindingContext();
+      try {
+        if (getCommandLine().hasOption(BINDING_CACHE_OPTION)) {
+          Path cacheDir = resolvePathAgainstCWD(
+              ObjectUtils.notNull(Paths.get(getCommandLine().getOptionValue(BINDING_CACHE_OPTION))));
+          bindingContext.registerModule(
+              module,
+              new ModuleBindingCache(ObjectUtils.notNull(cacheDir), BINDING_CACHE_MAX_SIZE),
+              new DefaultBindingConfiguration(),
+              constraintUris);
+        } else {
+          bindingContext.registerModule(module, dir);
+        }
+      } catch (IOException | RuntimeException ex) {
+        deleteRecursively(dir);
+        throw ex;
       }
-      assert module != null;
-      return module;
+      return new ModuleBindings(module, bindingContext, modifiedTimes, dir);
+    }
+
+    @NonNull
+    private URI toUri(@NonNull String location, @NonNull URI cwd, @NonNull String errorMessage) throws IOException {
+      try {
+        return UriUtils.toUri(location, cwd);
+      } catch (URISyntaxException ex) {
+        IOException newEx = new IOException( // NOPMD - intentional
+            String.format(errorMessage, location));
+        newEx.addSuppressed(ex);
+        throw newEx;
+      }
+    }
+
+    @NonNull
+    private IModule loadModule(@NonNull URI moduleUri, @NonNull Set<IConstraintSet> constraintSets)
+        throws MetaschemaException, IOException {
+      ExternalConstraintsModulePostProcessor postProcessor
+          = new ExternalConstraintsModulePostProcessor(constraintSets);
+
+      ModuleLoader loader = new ModuleLoader(CollectionUtil.singletonList(postProcessor));
+
+      // BindingModuleLoader loader
+      // = new BindingModuleLoader(new DefaultBindingContext(),
+      // CollectionUtil.singletonList(postProcessor));
+
+      loader.allowEntityResolution();
+      return loader.load(moduleUri);
     }
 
     @NonNull
     private IModule getModule() {
       // should be initialized already
-      return ObjectUtils.requireNonNull(module);
+      return ObjectUtils.requireNonNull(moduleBindings).getModule();
     }
 
     @Override
     protected IBindingContext getBindingContext(@NonNull Set<IConstraintSet> constraintSets)
         throws MetaschemaException, IOException {
+      return getModuleBindings(constraintSets).getBindingContext();
+    }
 
-      IBindingContext retval = new DefaultBindingContext();
-      retval.registerModule(getModule(constraintSets), getTempDir());
-      return retval;
+    @Override
+    protected JsonSchemaContentValidator getJsonSchemaValidator(@NonNull JSONObject json) throws IOException {
+      ModuleBindings bindings = ObjectUtils.requireNonNull(moduleBindings);
+      synchronized (bindings) {
+        if (bindings.jsonSchemaValidator == null) {
+          bindings.jsonSchemaValidator = super.getJsonSchemaValidator(json);
+        }
+        return ObjectUtils.notNull(bindings.jsonSchemaValidator);
+      }
+    }
+
+    @Override
+    protected XmlSchemaContentValidator getXmlSchemaValidator(@NonNull URL targetResource) throws IOException {
+      ModuleBindings bindings = ObjectUtils.requireNonNull(moduleBindings);
+      synchronized (bindings) {
+        if (bindings.xmlSchemaValidator == null) {
+          bindings.xmlSchemaValidator = super.getXmlSchemaValidator(targetResource);
+        }
+        return ObjectUtils.notNull(bindings.xmlSchemaValidator);
+      }
     }
 
     @Override
     public List<Source> getXmlSchemas(@NonNull URL targetResource) throws IOException {
-      Path schemaFile = Files.createTempFile(getTempDir(), "schema-", ".xml");
+      Path schemaFile = Files.createTempFile(ObjectUtils.requireNonNull(moduleBindings).getDir(), "schema-", ".xml");
       assert schemaFile != null;
       IMutableConfiguration<SchemaGenerationFeature<?>> configuration = new DefaultConfiguration<>();
       ISchemaGenerator.generateSchema(getModule(), schemaFile, SchemaFormat.XML, configuration);
@@ -162,7 +583,7 @@ public class ValidateContentUsingModuleCommand
 
     @Override
     public JSONObject getJsonSchema(@NonNull JSONObject json) throws IOException {
-      Path schemaFile = Files.createTempFile(getTempDir(), "schema-", ".json");
+      Path schemaFile = Files.createTempFile(ObjectUtils.requireNonNull(moduleBindings).getDir(), "schema-", ".json");
       assert schemaFile != null;
       IMutableConfiguration<SchemaGenerationFeature<?>> configuration = new DefaultConfiguration<>();
       ISchemaGenerator.generateSchema(getModule(), schemaFile, SchemaFormat.JSON, configuration);
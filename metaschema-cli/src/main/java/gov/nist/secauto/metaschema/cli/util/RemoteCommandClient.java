@@ -0,0 +1,305 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.cli.util;
+
+import gov.nist.secauto.metaschema.cli.commands.ServeCommand;
+import gov.nist.secauto.metaschema.cli.processor.CLIProcessor;
+import gov.nist.secauto.metaschema.cli.processor.ExitCode;
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.URL;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+/**
+ * Forwards a command to a server started using the {@code serve} command.
+ * <p>
+ * The output of the command is written to this client's output and error
+ * streams as it is produced, and the command's exit code is the same as it
+ * would be if run locally.
+ */
+public final class RemoteCommandClient {
+  private static final Logger LOGGER = LogManager.getLogger(RemoteCommandClient.class);
+  private static final int CONNECT_TIMEOUT_MILLIS = 1000;
+
+  @NonNull
+  private final URI server;
+  @NonNull
+  private final Path tokenFile;
+  @NonNull
+  private final PrintStream out;
+  @NonNull
+  private final PrintStream err;
+
+  /**
+   * Create a client for the provided server, if the server's location is
+   * usable.
+   *
+   * @param server
+   *          the base URI of the server (e.g., {@code http://127.0.0.1:8709})
+   * @param tokenFile
+   *          the file containing the server's access token, or {@code null} to
+   *          use the default location
+   * @return the client, or {@code null} if the server URI or token file location
+   *         is malformed or the server is not on a loopback address, in which
+   *         case commands should be run locally
+   */
+  @SuppressWarnings("PMD.OnlyOneReturn") // readability
+  @Nullable
+  public static RemoteCommandClient newInstance(@NonNull String server, @Nullable String tokenFile) {
+    URI serverUri;
+    Path tokenPath;
+    try {
+      serverUri = URI.create(server.trim());
+      tokenPath = tokenFile == null || tokenFile.isBlank()
+          ? ServeCommand.defaultTokenFile()
+          : Paths.get(tokenFile.trim());
+    } catch (IllegalArgumentException | InvalidPathException ex) {
+      if (LOGGER.isWarnEnabled()) {
+        LOGGER.warn("Ignoring the malformed server location. Running locally. {}", ex.getLocalizedMessage());
+      }
+      return null;
+    }
+
+    if (!"http".equals(serverUri.getScheme()) || serverUri.getHost() == null) {
+      if (LOGGER.isWarnEnabled()) {
+        LOGGER.warn("Ignoring the server location '{}', which is not an http URI. Running locally.", server);
+      }
+      return null;
+    }
+
+    if (!isLoopback(serverUri)) {
+      if (LOGGER.isWarnEnabled()) {
+        LOGGER.warn("Ignoring the server location '{}', which is not a loopback address. Running locally.", server);
+      }
+      return null;
+    }
+    return new RemoteCommandClient(
+        ObjectUtils.notNull(serverUri),
+        ObjectUtils.notNull(tokenPath),
+        ObjectUtils.notNull(System.out),
+        ObjectUtils.notNull(System.err));
+  }
+
+  /**
+   * Construct a new client.
+   *
+   * @param server
+   *          the base URI of the server (e.g., {@code http://127.0.0.1:8709})
+   * @param tokenFile
+   *          the file containing the server's access token
+   * @param out
+   *          the stream to write the command's output to
+   * @param err
+   *          the stream to write the command's error output to
+   */
+  public RemoteCommandClient(
+      @NonNull URI server,
+      @NonNull Path tokenFile,
+      @NonNull PrintStream out,
+      @NonNull PrintStream err) {
+    this.server = server;
+    this.tokenFile = tokenFile;
+    this.out = out;
+    this.err = err;
+  }
+
+  /**
+   * Run the command on the server.
+   * <p>
+   * Commands that the server does not support, such as those using
+   * {@code --help} or {@code --no-color}, are not forwarded. The {@code -q}
+   * option is applied to the forwarded command's output.
+   *
+   * @param args
+   *          the command arguments
+   * @return the command's exit code, or {@code null} if the server is unavailable
+   *         or cannot run the command, in which case the command should be run
+   *         locally
+   */
+  @SuppressWarnings("PMD.OnlyOneReturn") // readability
+  @Nullable
+  public ExitCode run(@NonNull String... args) {
+    // quiet is applied by the server to this request only
+    boolean quiet = false;
+    List<String> forwardedArgs = new ArrayList<>(args.length);
+    boolean endArgs = false;
+    for (String arg : args) {
+      assert arg != null;
+      endArgs = endArgs || "--".equals(arg);
+      if (!endArgs && ServeCommand.isOption(arg, CLIProcessor.QUIET_OPTION)) {
+        quiet = true;
+      } else {
+        forwardedArgs.add(arg);
+      }
+    }
+
+    if (!ServeCommand.isRemoteSupported(forwardedArgs)) {
+      return null;
+    }
+
+    JSONObject request = new JSONObject();
+    request.put("cwd", Paths.get("").toAbsolutePath().toString());
+    request.put("args", new JSONArray(forwardedArgs));
+    request.put("quiet", quiet);
+
+    HttpURLConnection connection;
+    try {
+      connection = connect(ServeCommand.RUN_PATH);
+      connection.setRequestProperty("Content-Type", "application/json");
+      connection.setDoOutput(true);
+      try (OutputStream os = connection.getOutputStream()) {
+        os.write(request.toString().getBytes(StandardCharsets.UTF_8));
+      }
+
+      if (connection.getResponseCode() != HttpURLConnection.HTTP_OK) {
+        if (LOGGER.isDebugEnabled()) {
+          LOGGER.debug("Server '{}' declined the request with status {}. Running locally.",
+              server, connection.getResponseCode());
+        }
+        return null;
+      }
+    } catch (IOException ex) {
+      if (LOGGER.isDebugEnabled()) {
+        LOGGER.debug(String.format("Unable to use server '%s'. Running locally.", server), ex);
+      }
+      return null;
+    }
+
+    // the command has started, so it must not be run again locally
+    return readResponse(connection);
+  }
+
+  @NonNull
+  private ExitCode readResponse(@NonNull HttpURLConnection connection) {
+    JSONObject result = null;
+    try (BufferedReader reader = new BufferedReader(
+        new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8))) {
+      String line;
+      while (result == null && (line = reader.readLine()) != null) {
+        JSONObject message = new JSONObject(line);
+        if (message.has("exit-code")) {
+          result = message;
+        } else if (message.has("out")) {
+          out.print(message.getString("out"));
+          out.flush();
+        } else if (message.has("err")) {
+          err.print(message.getString("err"));
+          err.flush();
+        }
+      }
+    } catch (IOException | JSONException ex) {
+      if (LOGGER.isDebugEnabled()) {
+        LOGGER.debug(String.format("Error reading the response from server '%s'.", server), ex);
+      }
+    }
+
+    ExitCode retval;
+    if (result == null) {
+      err.println(String.format("The server '%s' did not complete the command.", server));
+      retval = ExitCode.RUNTIME_ERROR;
+    } else {
+      String message = result.optString("message", null);
+      if (message != null) {
+        err.println(message);
+      }
+
+      int statusCode = result.getInt("exit-code");
+      retval = ObjectUtils.notNull(Arrays.stream(ExitCode.values())
+          .filter(code -> code.getStatusCode() == statusCode)
+          .findFirst()
+          .orElse(ExitCode.RUNTIME_ERROR));
+    }
+    return retval;
+  }
+
+  /**
+   * Request that the server stop.
+   *
+   * @return {@code true} if the server accepted the request, or {@code false}
+   *         otherwise
+   */
+  public boolean shutdown() {
+    boolean retval;
+    try {
+      HttpURLConnection connection = connect(ServeCommand.SHUTDOWN_PATH);
+      connection.setDoOutput(true);
+      connection.getOutputStream().close();
+      retval = connection.getResponseCode() == HttpURLConnection.HTTP_NO_CONTENT;
+    } catch (IOException ex) {
+      if (LOGGER.isDebugEnabled()) {
+        LOGGER.debug(String.format("Unable to stop server '%s'.", server), ex);
+      }
+      retval = false;
+    }
+    return retval;
+  }
+
+  /**
+   * Determine if the host of the provided server URI is a loopback address.
+   * <p>
+   * The server only listens on the loopback interface, so the token must never
+   * be sent to any other host.
+   *
+   * @param server
+   *          the base URI of the server
+   * @return {@code true} if the host is a loopback address, or {@code false}
+   *         otherwise
+   */
+  private static boolean isLoopback(@NonNull URI server) {
+    boolean retval;
+    try {
+      retval = InetAddress.getByName(server.getHost()).isLoopbackAddress();
+    } catch (UnknownHostException ex) {
+      retval = false;
+    }
+    return retval;
+  }
+
+  @NonNull
+  private HttpURLConnection connect(@NonNull String path) throws IOException {
+    if (!isLoopback(server)) {
+      throw new IOException(String.format("The server '%s' is not a loopback address.", server));
+    }
+    String token = Files.readString(tokenFile, StandardCharsets.UTF_8).trim();
+
+    URL url;
+    try {
+      url = ObjectUtils.notNull(server.resolve(path).toURL());
+    } catch (IllegalArgumentException ex) {
+      throw new IOException(ex);
+    }
+    HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+    connection.setConnectTimeout(CONNECT_TIMEOUT_MILLIS);
+    connection.setRequestMethod("POST");
+    connection.setRequestProperty("Authorization", ServeCommand.AUTHORIZATION_SCHEME + token);
+    return connection;
+  }
+}
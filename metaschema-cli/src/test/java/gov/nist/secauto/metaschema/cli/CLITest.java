@@ -7,18 +7,33 @@ package gov.nist.secauto.metaschema.cli;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import gov.nist.secauto.metaschema.cli.processor.ExitCode;
 import gov.nist.secauto.metaschema.cli.processor.ExitStatus;
 
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
 
@@ -55,6 +70,10 @@ public class CLITest {
             NO_EXCEPTION_CLASS));
         add(Arguments.of(new String[] { "validate-content", "--help" }, ExitCode.OK,
             NO_EXCEPTION_CLASS));
+        add(Arguments.of(new String[] { "serve", "--help" }, ExitCode.OK,
+            NO_EXCEPTION_CLASS));
+        add(Arguments.of(new String[] { "serve", "--port=65536" }, ExitCode.INVALID_COMMAND,
+            NO_EXCEPTION_CLASS));
         add(Arguments.of(
             new String[] { "validate",
                 "../databind/src/test/resources/metaschema/fields_with_flags/metaschema.xml"
@@ -77,6 +96,31 @@ public class CLITest {
                 "-m=../databind/src/test/resources/metaschema/bad_index-has-key/metaschema.xml",
                 "../databind/src/test/resources/metaschema/bad_index-has-key/example.json", "--show-stack-trace" },
             ExitCode.FAIL, NO_EXCEPTION_CLASS));
+        add(Arguments.of(
+            new String[] { "validate-content",
+                "-m=../databind/src/test/resources/metaschema/index-key-lookup/metaschema.xml",
+                "../databind/src/test/resources/metaschema/index-key-lookup/example.xml",
+                "--show-stack-trace" },
+            ExitCode.OK, NO_EXCEPTION_CLASS));
+        add(Arguments.of(
+            new String[] { "validate-content",
+                "-m=../databind/src/test/resources/metaschema/index-key-lookup/metaschema.xml",
+                "../databind/src/test/resources/metaschema/index-key-lookup/example-missing.xml",
+                "--show-stack-trace" },
+            ExitCode.FAIL, NO_EXCEPTION_CLASS));
+        add(Arguments.of(
+            new String[] { "validate-content", "--threads=2",
+                "-m=../databind/src/test/resources/metaschema/bad_index-has-key/metaschema.xml",
+                "../databind/src/test/resources/metaschema/bad_index-has-key/example.xml",
+                "../databind/src/test/resources/metaschema/bad_index-has-key/example.json",
+                "--summary=target/batch-summary.json",
+                "--show-stack-trace" },
+            ExitCode.FAIL, NO_EXCEPTION_CLASS));
+        add(Arguments.of(
+            new String[] { "validate",
+                "../databind/src/test/resources/metaschema/fields_with_flags/meta*.xml",
+                "../databind/src/test/resources/metaschema/simple/metaschema.xml" },
+            ExitCode.OK, NO_EXCEPTION_CLASS));
         add(Arguments.of(
             new String[] { "validate",
                 "https://raw.githubusercontent.com/usnistgov/metaschema-java/28468999d802e69273df7e725d183c132e2b15d8/databind/src/test/resources/metaschema/simple/metaschema.xml",
@@ -148,4 +192,38 @@ public class CLITest {
       evaluateResult(CLI.runCli(fullArgs), expectedExitCode, expectedThrownClass);
     }
   }
+
+  @Test
+  void testValidateContentProfile(@TempDir Path tempDir) throws IOException {
+    Path profile = tempDir.resolve("validate-profile.json");
+    Path folded = tempDir.resolve("validate-profile.json.folded");
+
+    evaluateResult(CLI.runCli(
+        "validate-content",
+        "-m=../databind/src/test/resources/metaschema/bad_index-has-key/metaschema.xml",
+        "../databind/src/test/resources/metaschema/bad_index-has-key/example.xml",
+        "--profile=" + profile,
+        "--show-stack-trace"), ExitCode.FAIL);
+
+    JsonNode entries = new ObjectMapper().readTree(profile.toFile()).get("entries");
+    Set<String> categories = StreamSupport.stream(entries.spliterator(), false)
+        .map(entry -> entry.get("category").asText())
+        .collect(Collectors.toSet());
+
+    // each line is a stack of frames followed by the self time
+    Pattern stackLine = Pattern.compile("^\\S.* \\d+$");
+    List<String> stacks = Files.readAllLines(folded, StandardCharsets.UTF_8);
+
+    assertAll(
+        () -> assertTrue(entries.isArray() && entries.size() > 0, "no profile entries"),
+        () -> assertEquals(Set.of("constraint", "metapath"), categories),
+        () -> assertTrue(StreamSupport.stream(entries.spliterator(), false)
+            .allMatch(entry -> entry.get("label").isTextual()
+                && entry.get("invocations").asLong() > 0
+                && entry.get("self-time-us").asLong() <= entry.get("total-time-us").asLong()
+                && entry.get("result-items").asLong() >= 0),
+            entries.toString()),
+        () -> assertFalse(stacks.isEmpty(), "no collapsed stacks"),
+        () -> assertTrue(stacks.stream().allMatch(line -> stackLine.matcher(line).matches()), stacks.toString()));
+  }
 }
@@ -0,0 +1,192 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.cli;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import gov.nist.secauto.metaschema.cli.processor.ExitCode;
+import gov.nist.secauto.metaschema.cli.processor.ExitStatus;
+import gov.nist.secauto.metaschema.cli.util.RemoteCommandClient;
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+class ServeCommandTest {
+  @NonNull
+  private static final Path TOKEN_FILE = ObjectUtils.notNull(Paths.get("target/serve-test/serve.token"));
+
+  private static ExecutorService serverExecutor;
+  private static Future<ExitStatus> serverStatus;
+  private static URI serverUri;
+
+  @BeforeAll
+  static void startServer() throws Exception {
+    int port;
+    try (ServerSocket socket = new ServerSocket(0)) {
+      port = socket.getLocalPort();
+    }
+    serverUri = URI.create("http://127.0.0.1:" + port);
+
+    Files.deleteIfExists(TOKEN_FILE);
+    serverExecutor = Executors.newSingleThreadExecutor();
+    serverStatus = serverExecutor.submit(() -> CLI.runCli(
+        "serve",
+        "--port=" + port,
+        "--token-file=" + TOKEN_FILE));
+
+    // the token file is written once the server is listening
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+    while (!Files.exists(TOKEN_FILE) && !serverStatus.isDone() && System.nanoTime() < deadline) {
+      Thread.sleep(50);
+    }
+    assertTrue(Files.exists(TOKEN_FILE), "the server did not start");
+  }
+
+  @AfterAll
+  static void stopServer() throws Exception {
+    assertTrue(newClient(TOKEN_FILE, new ByteArrayOutputStream(), new ByteArrayOutputStream()).shutdown());
+    assertEquals(ExitCode.OK, serverStatus.get(30, TimeUnit.SECONDS).getExitCode());
+    serverExecutor.shutdown();
+    assertFalse(Files.exists(TOKEN_FILE), "the token file was not removed");
+  }
+
+  @NonNull
+  private static RemoteCommandClient newClient(
+      @NonNull Path tokenFile,
+      @NonNull ByteArrayOutputStream out,
+      @NonNull ByteArrayOutputStream err) {
+    return new RemoteCommandClient(
+        ObjectUtils.notNull(serverUri),
+        tokenFile,
+        new PrintStream(out, true, StandardCharsets.UTF_8),
+        new PrintStream(err, true, StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void testValidCommandOutput() {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+    ExitCode exitCode = newClient(TOKEN_FILE, out, err).run(
+        "validate",
+        "../databind/src/test/resources/metaschema/simple/metaschema.xml");
+
+    String output = out.toString(StandardCharsets.UTF_8);
+    assertAll(
+        () -> assertEquals(ExitCode.OK, exitCode),
+        () -> assertTrue(output.contains("is valid"), output));
+  }
+
+  @Test
+  void testInvalidCommandOutput() {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+    ExitCode exitCode = newClient(TOKEN_FILE, out, err).run(
+        "validate-content",
+        "-m=../databind/src/test/resources/metaschema/bad_index-has-key/metaschema.xml",
+        "../databind/src/test/resources/metaschema/bad_index-has-key/example.xml");
+
+    String output = out.toString(StandardCharsets.UTF_8);
+    String errors = err.toString(StandardCharsets.UTF_8);
+    assertAll(
+        () -> assertEquals(ExitCode.FAIL, exitCode),
+        () -> assertTrue(output.contains("identified the following issues"), output),
+        () -> assertTrue(errors.contains("is invalid"), errors));
+  }
+
+  @Test
+  void testQuietAppliesToRequest() {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+    ExitCode exitCode = newClient(TOKEN_FILE, out, err).run(
+        "validate",
+        "-q",
+        "../databind/src/test/resources/metaschema/simple/metaschema.xml");
+
+    ByteArrayOutputStream laterOut = new ByteArrayOutputStream();
+    ExitCode laterExitCode = newClient(TOKEN_FILE, laterOut, new ByteArrayOutputStream()).run(
+        "validate",
+        "../databind/src/test/resources/metaschema/simple/metaschema.xml");
+
+    assertAll(
+        () -> assertEquals(ExitCode.OK, exitCode),
+        () -> assertFalse(out.toString(StandardCharsets.UTF_8).contains("is valid")),
+        // quiet must not affect later requests
+        () -> assertEquals(ExitCode.OK, laterExitCode),
+        () -> assertTrue(laterOut.toString(StandardCharsets.UTF_8).contains("is valid")));
+  }
+
+  @Test
+  void testLocalOnlyOptionsAreNotForwarded() {
+    RemoteCommandClient client = newClient(TOKEN_FILE, new ByteArrayOutputStream(), new ByteArrayOutputStream());
+
+    assertAll(
+        () -> assertNull(client.run("validate", "--no-color",
+            "../databind/src/test/resources/metaschema/simple/metaschema.xml")),
+        () -> assertNull(client.run("validate", "--help")),
+        () -> assertNull(client.run("serve")),
+        () -> assertNull(client.run("--show-stack-trace", "serve")));
+  }
+
+  @Test
+  void testHelpOutputIsForwarded() {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+    // the missing source causes the command's help to be shown
+    ExitCode exitCode = newClient(TOKEN_FILE, out, err).run("validate");
+
+    String output = out.toString(StandardCharsets.UTF_8);
+    assertAll(
+        () -> assertEquals(ExitCode.INVALID_COMMAND, exitCode),
+        () -> assertTrue(output.contains("usage:"), output));
+  }
+
+  @Test
+  void testInvalidToken() throws IOException {
+    Path badTokenFile = ObjectUtils.notNull(Paths.get("target/serve-test/bad.token"));
+    Files.writeString(badTokenFile, "not-the-token", StandardCharsets.UTF_8);
+
+    RemoteCommandClient client = newClient(badTokenFile, new ByteArrayOutputStream(), new ByteArrayOutputStream());
+
+    assertAll(
+        () -> assertNull(client.run("validate", "../databind/src/test/resources/metaschema/simple/metaschema.xml")),
+        () -> assertFalse(client.shutdown()));
+  }
+
+  @Test
+  void testMalformedServerLocation() {
+    assertAll(
+        () -> assertNull(RemoteCommandClient.newInstance("http://[bad", null)),
+        () -> assertNull(RemoteCommandClient.newInstance("ftp://127.0.0.1:8709", null)),
+        // the token is only sent to a loopback address
+        () -> assertNull(RemoteCommandClient.newInstance("http://192.0.2.1:8709", null)));
+  }
+}
@@ -0,0 +1,160 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.cli.commands;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import gov.nist.secauto.metaschema.cli.processor.CLIProcessor;
+import gov.nist.secauto.metaschema.cli.processor.CLIProcessor.CallingContext;
+import gov.nist.secauto.metaschema.cli.processor.ExitCode;
+import gov.nist.secauto.metaschema.cli.processor.command.ICommandExecutor;
+import gov.nist.secauto.metaschema.databind.IBindingContext;
+import gov.nist.secauto.metaschema.databind.io.Format;
+import gov.nist.secauto.metaschema.databind.io.IBoundLoader;
+import gov.nist.secauto.metaschema.databind.model.binding.metaschema.METASCHEMA;
+
+import org.apache.commons.cli.CommandLine;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+class AbstractConvertSubcommandTest {
+  @NonNull
+  private static final String SOURCE = "../databind/src/test/resources/metaschema/fields_with_flags/metaschema.xml";
+
+  @NonNull
+  private static ExitCode run(boolean streamingSupported, @NonNull String... args) {
+    CLIProcessor processor = new CLIProcessor("test");
+    processor.addCommandHandler(new TestConvertCommand(streamingSupported));
+    return processor.process(args).getExitCode();
+  }
+
+  @ParameterizedTest
+  @EnumSource(Format.class)
+  void testStreamingToEachFormat(@NonNull Format format, @TempDir Path tempDir) throws IOException {
+    String extension = format.name().toLowerCase(Locale.ROOT);
+    Path streamed = tempDir.resolve("streamed." + extension);
+    Path converted = tempDir.resolve("converted." + extension);
+    Path roundTrip = tempDir.resolve("round-trip.xml");
+    Path expectedRoundTrip = tempDir.resolve("expected.xml");
+
+    assertAll(
+        () -> assertEquals(ExitCode.OK, run(true, "convert", "--to=" + extension, "--streaming", SOURCE,
+            streamed.toString())),
+        () -> assertEquals(ExitCode.OK, run(true, "convert", "--to=" + extension, SOURCE, converted.toString())),
+        // the streamed output is usable as a streaming source
+        () -> assertEquals(ExitCode.OK, run(true, "convert", "--to=xml", "--streaming", streamed.toString(),
+            roundTrip.toString())),
+        () -> assertEquals(ExitCode.OK, run(true, "convert", "--to=xml", SOURCE, expectedRoundTrip.toString())),
+        () -> assertEquals(Files.readString(expectedRoundTrip), Files.readString(roundTrip)),
+        () -> assertTrue(Files.exists(converted)),
+        () -> assertEquals(4, countFiles(tempDir), "temporary files were left behind"));
+  }
+
+  @Test
+  void testOutOfOrderJsonLeavesNoDestination(@TempDir Path tempDir) throws IOException {
+    Path json = tempDir.resolve("source.json");
+    assertEquals(ExitCode.OK, run(true, "convert", "--to=json", SOURCE, json.toString()));
+
+    // move a single-valued root property after the items that follow it in the
+    // model
+    ObjectMapper mapper = new ObjectMapper();
+    JsonNode document = mapper.readTree(json.toFile());
+    ObjectNode root = (ObjectNode) document.get("METASCHEMA");
+    JsonNode shortName = root.remove("short-name");
+    root.set("short-name", shortName);
+    Path outOfOrder = tempDir.resolve("out-of-order.json");
+    mapper.writeValue(outOfOrder.toFile(), document);
+
+    Path destination = tempDir.resolve("destination.xml");
+    Path existing = tempDir.resolve("existing.xml");
+    Files.writeString(existing, "existing", StandardCharsets.UTF_8);
+
+    assertAll(
+        () -> assertEquals(ExitCode.PROCESSING_ERROR,
+            run(true, "convert", "--to=xml", "--streaming", outOfOrder.toString(), destination.toString())),
+        () -> assertFalse(Files.exists(destination), "a partial destination was written"),
+        () -> assertEquals(ExitCode.PROCESSING_ERROR,
+            run(true, "convert", "--to=xml", "--streaming", "--overwrite", outOfOrder.toString(),
+                existing.toString())),
+        () -> assertEquals("existing", Files.readString(existing), "the existing destination was replaced"),
+        // the same source converts without streaming
+        () -> assertEquals(ExitCode.OK,
+            run(true, "convert", "--to=xml", outOfOrder.toString(), destination.toString())),
+        () -> assertTrue(Files.exists(destination)),
+        () -> assertEquals(4, countFiles(tempDir), "temporary files were left behind"));
+  }
+
+  @Test
+  void testStreamingOnlyOfferedWhenSupported() {
+    assertAll(
+        () -> assertTrue(new TestConvertCommand(true).gatherOptions().stream()
+            .anyMatch(option -> "streaming".equals(option.getLongOpt()))),
+        () -> assertFalse(new TestConvertCommand(false).gatherOptions().stream()
+            .anyMatch(option -> "streaming".equals(option.getLongOpt()))),
+        () -> assertEquals(ExitCode.INVALID_COMMAND, run(false, "convert", "--to=xml", "--streaming", SOURCE)));
+  }
+
+  private static long countFiles(@NonNull Path dir) throws IOException {
+    try (Stream<Path> files = Files.list(dir)) {
+      return files.count();
+    }
+  }
+
+  private static final class TestConvertCommand
+      extends AbstractConvertSubcommand {
+    private final boolean streamingSupported;
+
+    private TestConvertCommand(boolean streamingSupported) {
+      this.streamingSupported = streamingSupported;
+    }
+
+    @Override
+    public String getDescription() {
+      return "Convert a Metaschema module";
+    }
+
+    @Override
+    protected boolean isStreamingSupported() {
+      return streamingSupported;
+    }
+
+    @Override
+    public ICommandExecutor newExecutor(CallingContext callingContext, CommandLine commandLine) {
+      return new AbstractConversionCommandExecutor(callingContext, commandLine) {
+        @Override
+        protected IBindingContext getBindingContext() {
+          return IBindingContext.instance();
+        }
+
+        @Override
+        protected void handleConversion(URI source, Format toFormat, Writer writer, IBoundLoader loader)
+            throws IOException {
+          convert(source, toFormat, writer, loader, METASCHEMA.class);
+        }
+      };
+    }
+  }
+}